@@ -0,0 +1,103 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.digest;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kse.KSE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Digests a large file once per digest type through an InputStream versus all digest types in a single pass over
+ * a FileChannel. Divide the file size by the score for the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FileDigestBenchmark {
+
+    @Param({ "256", "4096" })
+    private int sizeMb;
+
+    @Param({ "SHA256", "SHA256,SHA1,MD5" })
+    private String digestTypes;
+
+    private File file;
+    private DigestType[] types;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        types = Arrays.stream(digestTypes.split(",")).map(DigestType::valueOf).toArray(DigestType[]::new);
+
+        file = File.createTempFile("kse-digest", ".bin");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            for (int i = 0; i < sizeMb; i++) {
+                os.write(chunk);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public byte[] inputStreamPerDigest() throws Exception {
+        byte[] digest = null;
+        for (DigestType type : types) {
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                digest = DigestUtil.getMessageDigest(is, type);
+            }
+        }
+        return digest;
+    }
+
+    @Benchmark
+    public Map<DigestType, byte[]> singlePass() throws Exception {
+        return DigestUtil.getMessageDigests(file.toPath(), types);
+    }
+}
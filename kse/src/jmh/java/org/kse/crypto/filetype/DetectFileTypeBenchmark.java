@@ -0,0 +1,76 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.filetype;
+
+import java.io.File;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.kse.KSE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures file type detection throughput: dispatching to the parser selected by the magic bytes, DER prefix or PEM
+ * label versus trying every parser in turn. "random.bin" is 1 MB of random data, as found in a bulk scan of a
+ * directory with arbitrary files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DetectFileTypeBenchmark {
+
+    @Param({ "cert.pem.cer", "cert.der.cer", "rsa.unenc.der.key", "keystore.p12", "keystore.jks", "test.jwt",
+             "unknown.txt", "random.bin" })
+    private String fileName;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        if (fileName.equals("random.bin")) {
+            data = new byte[1024 * 1024];
+            new Random(1).nextBytes(data);
+        } else {
+            data = FileUtils.readFileToByteArray(
+                    new File("src/test/resources/testdata/CryptoFileUtilTest", fileName));
+        }
+    }
+
+    @Benchmark
+    public CryptoFileType dispatch() throws Exception {
+        return CryptoFileUtil.detectFileType(data);
+    }
+
+    @Benchmark
+    public CryptoFileType allParsers() throws Exception {
+        return CryptoFileUtil.detectFileTypeWithAllParsers(data);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.keystore;
+
+import java.io.File;
+import java.security.KeyStore;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.kse.KSE;
+import org.kse.crypto.x509.X509CertUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of deriving the next undo state for a single edit: full copy of the KeyStore (serialize and
+ * deserialize) versus copy-on-write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyStoreCopyBenchmark {
+
+    @Param({ "JKS", "PKCS12", "BKS" })
+    private KeyStoreType keyStoreType;
+
+    @Param({ "1000", "20000" })
+    private int entries;
+
+    private KeyStore keyStore;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        X509Certificate cert = X509CertUtil.loadCertificates(certBytes)[0];
+
+        keyStore = KeyStoreUtil.create(keyStoreType);
+        for (int i = 0; i < entries; i++) {
+            keyStore.setCertificateEntry("cert" + i, cert);
+        }
+    }
+
+    @Benchmark
+    public KeyStore fullCopy() throws Exception {
+        KeyStore copy = KeyStoreUtil.copy(keyStore);
+        copy.deleteEntry(nextAlias());
+        return copy;
+    }
+
+    @Benchmark
+    public KeyStore copyOnWrite() throws Exception {
+        KeyStore copy = CopyOnWriteKeyStore.create(keyStore);
+        copy.deleteEntry(nextAlias());
+        return copy;
+    }
+
+    @Benchmark
+    public KeyStore copyOnWriteAndStore() throws Exception {
+        // worst case for copy-on-write: every edit is followed by a save
+        KeyStore copy = CopyOnWriteKeyStore.create(keyStore);
+        copy.deleteEntry(nextAlias());
+        return KeyStoreUtil.copy(copy);
+    }
+
+    private String nextAlias() {
+        next = (next + 1) % entries;
+        return "cert" + next;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.kse.KSE;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the time to get the status of 20 certificates of an issuer from a local stub responder that answers after
+ * the given delay: one request per certificate, one request for all of them, and from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OcspClientBenchmark {
+
+    private static final int CERTIFICATES = 20;
+
+    @Param({ "0", "20" })
+    private long delay;
+
+    private OcspStubResponder responder;
+    private X509Certificate caCert;
+    private List<X509Certificate> certs;
+    private OcspClient singleClient;
+    private OcspClient batchClient;
+    private OcspClient cachingClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        KeyPair keyPair = KeyPairUtil.generateKeyPair(KeyPairType.RSA, 2048, KSE.BC);
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        X500Name caName = new X500Name("CN=OCSP CA");
+
+        caCert = generator.generateSelfSigned(caName, TimeUnit.DAYS.toMillis(30), keyPair.getPublic(),
+                                              keyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+
+        certs = new ArrayList<>();
+        Date start = new Date();
+        Date end = new Date(start.getTime() + TimeUnit.DAYS.toMillis(30));
+        for (int i = 0; i < CERTIFICATES; i++) {
+            certs.add(generator.generate(new X500Name("CN=Client " + i), caName, start, end, keyPair.getPublic(),
+                                         keyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.valueOf(i + 2)));
+        }
+
+        responder = new OcspStubResponder(caCert, keyPair.getPrivate());
+        responder.setDelay(delay);
+
+        // a nonce makes every request go to the responder
+        singleClient = new OcspClient(new OcspResponseCache(0));
+        singleClient.setMaxBatchSize(1);
+        singleClient.setIncludeNonce(true);
+
+        batchClient = new OcspClient(new OcspResponseCache(0));
+        batchClient.setIncludeNonce(true);
+
+        cachingClient = new OcspClient(new OcspResponseCache(OcspResponseCache.DEFAULT_MAX_SIZE));
+        cachingClient.check(responder.getUrl(), caCert, certs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        responder.close();
+    }
+
+    @Benchmark
+    public Map<BigInteger, OcspResult> single() throws Exception {
+        return singleClient.check(responder.getUrl(), caCert, certs);
+    }
+
+    @Benchmark
+    public Map<BigInteger, OcspResult> batch() throws Exception {
+        return batchClient.check(responder.getUrl(), caCert, certs);
+    }
+
+    @Benchmark
+    public Map<BigInteger, OcspResult> cached() throws Exception {
+        return cachingClient.check(responder.getUrl(), caCert, certs);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.signing;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.kse.KSE;
+import org.kse.crypto.digest.DigestType;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signs a synthetic JAR sequentially (digest pass, then inflate and deflate every entry) and in parallel (digests
+ * on all cores, entries copied raw in the same pass).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JarSignerBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    @Param({ "5000", "50000" })
+    private int entries;
+
+    @Param({ "8192" })
+    private int entrySize;
+
+    private File jarFile;
+    private File signedJarFile;
+    private KeyPair keyPair;
+    private X509Certificate cert;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        keyPair = KeyPairUtil.generateKeyPair(KeyPairType.RSA, 2048, KSE.BC);
+        Date now = new Date();
+        cert = new X509CertificateGenerator(X509CertificateVersion.VERSION3).generateSelfSigned(
+                new X500Name("CN=JarSignerBenchmark"), now, new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)),
+                keyPair.getPublic(), keyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+
+        jarFile = File.createTempFile("kse-bench", ".jar");
+        signedJarFile = File.createTempFile("kse-bench-signed", ".jar");
+
+        // class file like content: compresses to roughly a third
+        Random random = new Random(42);
+        byte[] content = new byte[entrySize];
+        try (OutputStream os = Files.newOutputStream(jarFile.toPath()); JarOutputStream jos = new JarOutputStream(os)) {
+            for (int i = 0; i < entries; i++) {
+                for (int j = 0; j < content.length; j++) {
+                    content[j] = (byte) random.nextInt(24);
+                }
+                jos.putNextEntry(new JarEntry("org/example/p" + (i % 100) + "/Class" + i + ".class"));
+                jos.write(content);
+                jos.closeEntry();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jarFile.delete();
+        signedJarFile.delete();
+    }
+
+    @Benchmark
+    public File sign() throws Exception {
+        JarSigner.sign(jarFile, signedJarFile, keyPair.getPrivate(), new X509Certificate[] { cert },
+                       SignatureType.SHA256_RSA, "bench", "KSE", DigestType.SHA256, null, KSE.BC, parallel);
+        return signedJarFile;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.kse.KSE;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures certificate conversion with and without the parsed-certificate cache: converting every certificate of a
+ * KeyStore (what opening a KeyStore does) and building a chain against the KeyStore entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CertificateConversionBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean cached;
+
+    @Param({ "1000" })
+    private int entries;
+
+    private KeyStore keyStore;
+    private X509Certificate leaf;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        KeyPair keyPair = KeyPairUtil.generateKeyPair(KeyPairType.RSA, 2048, KSE.BC);
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        Date start = new Date();
+        Date end = new Date(start.getTime() + TimeUnit.DAYS.toMillis(365));
+
+        keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        X500Name issuer = new X500Name("CN=Root");
+        X509Certificate root = generator.generateSelfSigned(issuer, start, end, keyPair.getPublic(),
+                                                            keyPair.getPrivate(), SignatureType.SHA256_RSA,
+                                                            BigInteger.ONE);
+        keyStore.setCertificateEntry("root", root);
+
+        // two intermediate CAs between the root and the leaf
+        for (int i = 0; i < 2; i++) {
+            X500Name subject = new X500Name("CN=CA " + i);
+            X509Certificate ca = generator.generate(subject, issuer, start, end, keyPair.getPublic(),
+                                                    keyPair.getPrivate(), SignatureType.SHA256_RSA,
+                                                    BigInteger.valueOf(i + 2));
+            keyStore.setCertificateEntry("ca" + i, ca);
+            issuer = subject;
+        }
+        leaf = generator.generate(new X500Name("CN=Leaf"), issuer, start, end, keyPair.getPublic(),
+                                  keyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ZERO);
+
+        // unrelated certificates that are converted and compared but never part of the chain
+        for (int i = keyStore.size(); i < entries; i++) {
+            X500Name name = new X500Name("CN=Other " + i);
+            keyStore.setCertificateEntry("other" + i, generator.generateSelfSigned(name, start, end,
+                                                                                   keyPair.getPublic(),
+                                                                                   keyPair.getPrivate(),
+                                                                                   SignatureType.SHA256_RSA,
+                                                                                   BigInteger.valueOf(i)));
+        }
+
+        X509CertUtil.getCertificateCache().clear();
+    }
+
+    @Benchmark
+    public List<X509Certificate> convertAllEntries(CacheCounters counters) throws Exception {
+        clearIfUncached();
+        counters.start();
+        List<X509Certificate> certs = new ArrayList<>(entries);
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate cert = keyStore.getCertificate(alias);
+            certs.add(X509CertUtil.convertCertificate(cert));
+        }
+        counters.stop();
+        return certs;
+    }
+
+    @Benchmark
+    public X509Certificate[] establishTrust(CacheCounters counters) throws Exception {
+        clearIfUncached();
+        counters.start();
+        X509Certificate[] chain = X509CertUtil.establishTrust(leaf, new KeyStore[] { keyStore });
+        counters.stop();
+        return chain;
+    }
+
+    private void clearIfUncached() {
+        if (!cached) {
+            X509CertUtil.getCertificateCache().clear();
+        }
+    }
+
+    /**
+     * Reports the cache hits and misses of each iteration as secondary results next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheCounters {
+        public long hits;
+        public long misses;
+
+        private long hitsBefore;
+        private long missesBefore;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+
+        void start() {
+            X509CertificateCache cache = X509CertUtil.getCertificateCache();
+            hitsBefore = cache.getHits();
+            missesBefore = cache.getMisses();
+        }
+
+        void stop() {
+            X509CertificateCache cache = X509CertUtil.getCertificateCache();
+            hits += cache.getHits() - hitsBefore;
+            misses += cache.getMisses() - missesBefore;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.oid;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the OID registry: loading it in a fresh JVM (what the first dialog showing an OID pays), looking up friendly
+ * names and listing the OIDs below a prefix for the OID editor. The "hashMap" benchmarks are the previous
+ * implementation, a map filtered and sorted on every prefix query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectIdRegistryBenchmark {
+
+    @Param({ "2.5.4.", "1.3.6.1.4.1." })
+    private String prefix;
+
+    private final String[] oids = { "2.5.4.3", "1.2.840.113549.1.1.11", "1.3.6.1.4.1.311.20.2", "1.2.3.4.5" };
+
+    private ObjectIdRegistry registry;
+    private Map<String, String> map;
+
+    @Setup
+    public void setUp() {
+        registry = ObjectIdRegistry.load();
+
+        map = new HashMap<>();
+        for (ObjectOid oid : registry.getAllOidsStartingWith("")) {
+            map.put(oid.getIdentifier(), oid.getRepresentation());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Fork(10)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public String firstLookup() {
+        return ObjectIdUtil.getFriendlyName("2.5.4.3");
+    }
+
+    @Benchmark
+    public ObjectIdRegistry load() {
+        return ObjectIdRegistry.load();
+    }
+
+    @Benchmark
+    public int friendlyNames() {
+        int found = 0;
+        for (String oid : oids) {
+            if (registry.getFriendlyName(oid) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashMapFriendlyNames() {
+        int found = 0;
+        for (String oid : oids) {
+            if (map.get(oid) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public ObjectOid[] prefix() {
+        return registry.getAllOidsStartingWith(prefix);
+    }
+
+    @Benchmark
+    public ObjectOid[] hashMapPrefix() {
+        return map.entrySet().stream().filter(e -> e.getKey().startsWith(prefix))
+                  .map(e -> new ObjectOid(prefix, e.getKey(), e.getValue())).sorted().toArray(ObjectOid[]::new);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.ssl;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.kse.KSE;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the time to examine 64 endpoints of a local TLS server that waits the given delay before each handshake,
+ * with the given number of concurrent handshakes. One thread corresponds to examining the endpoints one after
+ * another.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SslScannerBenchmark {
+
+    private static final int ENDPOINTS = 64;
+
+    @Param({ "1", "8", "32" })
+    private int threads;
+
+    @Param({ "0", "20" })
+    private long delay;
+
+    private TlsTestServer server;
+    private List<InetSocketAddress> endpoints;
+    private SslScanner scanner;
+
+    @Setup
+    public void setUp() throws Exception {
+        Security.addProvider(KSE.BC);
+
+        KeyPair keyPair = KeyPairUtil.generateKeyPair(KeyPairType.RSA, 2048, KSE.BC);
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        X509Certificate cert = generator.generateSelfSigned(new X500Name("CN=localhost"), TimeUnit.DAYS.toMillis(30),
+                                                            keyPair.getPublic(), keyPair.getPrivate(),
+                                                            SignatureType.SHA256_RSA, BigInteger.ONE);
+
+        server = new TlsTestServer(keyPair, cert);
+        server.setDelay(delay);
+
+        endpoints = Collections.nCopies(ENDPOINTS,
+                                        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+
+        scanner = new SslScanner();
+        scanner.setThreads(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Benchmark
+    public SslScanner.Summary scan() throws Exception {
+        SslScanner.Summary summary = scanner.scan(endpoints, result -> {
+        });
+
+        if (summary.getFailed() > 0) {
+            throw new IllegalStateException(summary.getFailed() + " handshakes failed");
+        }
+        return summary;
+    }
+}
@@ -27,9 +27,15 @@ import java.security.KeyStore;
 import org.kse.crypto.CryptoException;
 import org.kse.crypto.keystore.KeyStoreUtil;
 import org.kse.crypto.keystore.MsCapiStoreType;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
+import org.kse.gui.passwordmanager.Password;
 
 /**
  * Singleton that maintains authority certificates KeyStores.
+ * <p>
+ * Besides the KeyStores themselves a decoded and indexed snapshot of their trusted certificates is kept, so that
+ * trust checks do not have to convert all certificates again. If the CA Certificates KeyStore was set together with
+ * its file, it is reloaded when the modification time or size of the file changes.
  */
 public class AuthorityCertificates {
 
@@ -37,7 +43,13 @@ public class AuthorityCertificates {
 
     private static AuthorityCertificates authorityCertificates;
     private KeyStore caCertificates;
+    private TrustedCertificateSnapshot caCertificatesSnapshot;
+    private File caCertificatesFile;
+    private Password caCertificatesPassword;
+    private long caCertificatesLastModified;
+    private long caCertificatesLength;
     private KeyStore windowsTrustedRootCertificates;
+    private TrustedCertificateSnapshot windowsTrustedRootCertificatesSnapshot;
 
     private AuthorityCertificates() {
     }
@@ -61,7 +73,8 @@ public class AuthorityCertificates {
      *
      * @return CA Certificates KeyStore
      */
-    public KeyStore getCaCertificates() {
+    public synchronized KeyStore getCaCertificates() {
+        checkCaCertificatesFile();
         return caCertificates;
     }
 
@@ -70,8 +83,70 @@ public class AuthorityCertificates {
      *
      * @param caCertificates CA Certificates KeyStore
      */
-    public void setCaCertificates(KeyStore caCertificates) {
+    public synchronized void setCaCertificates(KeyStore caCertificates) {
+        setCaCertificates(caCertificates, null, null);
+    }
+
+    /**
+     * Set CA Certificates KeyStore and the file it was loaded from. The KeyStore is reloaded with the same password
+     * when the file changes.
+     *
+     * @param caCertificates     CA Certificates KeyStore
+     * @param caCertificatesFile File the KeyStore was loaded from, null if it should not be watched
+     * @param password           Password the KeyStore was loaded with
+     */
+    public synchronized void setCaCertificates(KeyStore caCertificates, File caCertificatesFile, Password password) {
+        if (caCertificatesPassword != null) {
+            caCertificatesPassword.nullPassword();
+        }
+
         this.caCertificates = caCertificates;
+        this.caCertificatesSnapshot = null;
+        this.caCertificatesFile = (caCertificates != null) ? caCertificatesFile : null;
+        this.caCertificatesPassword = (this.caCertificatesFile != null) ? new Password(password) : null;
+
+        if (this.caCertificatesFile != null) {
+            caCertificatesLastModified = caCertificatesFile.lastModified();
+            caCertificatesLength = caCertificatesFile.length();
+        }
+    }
+
+    /**
+     * Get the decoded and indexed trusted certificates of the CA Certificates KeyStore.
+     *
+     * @return The snapshot or null if the CA Certificates KeyStore is not set
+     * @throws CryptoException If a problem occurred reading the certificates
+     */
+    public synchronized TrustedCertificateSnapshot getCaCertificatesSnapshot() throws CryptoException {
+        checkCaCertificatesFile();
+
+        if (caCertificatesSnapshot == null && caCertificates != null) {
+            caCertificatesSnapshot = TrustedCertificateSnapshot.create(caCertificates);
+        }
+
+        return caCertificatesSnapshot;
+    }
+
+    private void checkCaCertificatesFile() {
+        if (caCertificatesFile == null) {
+            return;
+        }
+
+        if (caCertificatesFile.lastModified() == caCertificatesLastModified &&
+            caCertificatesFile.length() == caCertificatesLength) {
+            return;
+        }
+
+        File file = caCertificatesFile;
+        Password password = new Password(caCertificatesPassword);
+        try {
+            setCaCertificates(KeyStoreUtil.load(file, password), file, password);
+        } catch (CryptoException | IOException ex) {
+            // the file is gone or cannot be opened with the old password anymore, let the caller load it again
+            setCaCertificates(null);
+        } finally {
+            password.nullPassword();
+        }
     }
 
     /**
@@ -96,11 +171,28 @@ public class AuthorityCertificates {
      * @return Windows Trusted Root Certificates KeyStore
      * @throws CryptoException If a problem occurred getting the KeyStore
      */
-    public KeyStore getWindowsTrustedRootCertificates() throws CryptoException {
+    public synchronized KeyStore getWindowsTrustedRootCertificates() throws CryptoException {
         if (windowsTrustedRootCertificates == null) {
             windowsTrustedRootCertificates = KeyStoreUtil.loadMsCapiStore(MsCapiStoreType.ROOT);
         }
 
         return windowsTrustedRootCertificates;
     }
+
+    /**
+     * Get the decoded and indexed trusted certificates of the Windows Trusted Root Certificates KeyStore. If not set
+     * the KeyStore is loaded.
+     *
+     * @return The snapshot
+     * @throws CryptoException If a problem occurred getting the KeyStore or reading the certificates
+     */
+    public synchronized TrustedCertificateSnapshot getWindowsTrustedRootCertificatesSnapshot()
+            throws CryptoException {
+        if (windowsTrustedRootCertificatesSnapshot == null) {
+            windowsTrustedRootCertificatesSnapshot = TrustedCertificateSnapshot.create(
+                    getWindowsTrustedRootCertificates());
+        }
+
+        return windowsTrustedRootCertificatesSnapshot;
+    }
 }
@@ -27,6 +27,7 @@ import java.security.Provider;
 import java.security.Security;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -37,7 +38,10 @@ import javax.swing.SwingUtilities;
 
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.kse.cli.BatchCli;
 import org.kse.crypto.csr.pkcs12.Pkcs12Util;
+import org.kse.crypto.dh.DHParametersUtil;
+import org.kse.crypto.keypair.KeyPairUtil;
 import org.kse.crypto.x509.KseX500NameStyle;
 import org.kse.gui.CreateApplicationGui;
 import org.kse.gui.CurrentDirectory;
@@ -87,11 +91,17 @@ public class KSE {
 
     /**
      * Start the KeyStore Explorer application. Takes one optional argument -
-     * the location of a KeyStore file to open upon startup.
+     * the location of a KeyStore file to open upon startup. If the first argument
+     * is <code>--batch</code>, the remaining arguments are handed to {@link BatchCli}
+     * and no GUI is started.
      *
      * @param args the command line arguments
      */
     public static void main(String[] args) {
+        if (args.length > 0 && BatchCli.BATCH_OPTION.equals(args[0])) {
+            System.exit(BatchCli.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+        }
+
         try {
             // To take effect these must be set before the splash screen is instantiated
             if (OperatingSystem.isMacOs()) {
@@ -119,6 +129,12 @@ public class KSE {
 
             Pkcs12Util.setEncryptionStrength(preferences.getPkcs12EncryptionSetting());
 
+            KeyPairUtil.getKeyPairPool().setDepth(preferences.getKeyGenerationDefaults().getKeyPairPoolDepth());
+
+            if (preferences.getKeyGenerationDefaults().isDhParametersCacheEnabled()) {
+                DHParametersUtil.getCache().setFile(PreferencesManager.getDHParametersCacheFile());
+            }
+
             setProperties(preferences.getProperties());
 
             // list of files to open after start
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.Security;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.kse.KSE;
+
+/**
+ * Headless entry point for running keystore operations from a manifest, see <code>kse --batch --help</code>.
+ * <p>
+ * Jobs are independent of each other and are executed on a fixed pool of worker threads. Results are reported in
+ * manifest order once all jobs have finished. Neither AWT nor the user preferences are initialised.
+ */
+public class BatchCli {
+    private static final ResourceBundle res = ResourceBundle.getBundle("org/kse/cli/resources");
+
+    /** Command line option that selects batch mode */
+    public static final String BATCH_OPTION = "--batch";
+
+    /** Exit code if all jobs succeeded */
+    public static final int EXIT_OK = 0;
+
+    /** Exit code if at least one job failed */
+    public static final int EXIT_JOB_FAILED = 1;
+
+    /** Exit code for invalid arguments or an unreadable manifest */
+    public static final int EXIT_USAGE = 2;
+
+    private static final String STDIN = "-";
+
+    private BatchCli() {
+    }
+
+    /**
+     * Run the batch mode and exit.
+     *
+     * @param args Command line arguments without the batch option
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Run the batch mode.
+     *
+     * @param args Command line arguments without the batch option
+     * @param out  Stream for job results
+     * @param err  Stream for usage and manifest errors and statistics of jobs
+     * @return Exit code
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        System.setProperty("java.awt.headless", "true");
+        Security.addProvider(KSE.BC);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        String manifest = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                out.println(res.getString("BatchCli.Usage.message"));
+                return EXIT_OK;
+            } else if (("--threads".equals(arg) || "-t".equals(arg)) && i + 1 < args.length) {
+                String value = args[++i];
+                try {
+                    threads = Integer.parseInt(value);
+                } catch (NumberFormatException ex) {
+                    threads = 0;
+                }
+                if (threads < 1) {
+                    err.println(MessageFormat.format(res.getString("BatchCli.InvalidThreads.message"), value));
+                    return EXIT_USAGE;
+                }
+            } else if (manifest == null) {
+                manifest = arg;
+            } else {
+                err.println(res.getString("BatchCli.Usage.message"));
+                return EXIT_USAGE;
+            }
+        }
+
+        if (manifest == null) {
+            err.println(res.getString("BatchCli.Usage.message"));
+            return EXIT_USAGE;
+        }
+
+        List<BatchJob> jobs;
+        try {
+            jobs = BatchJob.parseManifest(readManifest(manifest));
+        } catch (IOException ex) {
+            err.println(MessageFormat.format(res.getString("BatchCli.NoReadManifest.message"), manifest,
+                                             ex.getMessage()));
+            return EXIT_USAGE;
+        } catch (BatchException ex) {
+            err.println(ex.getMessage());
+            return EXIT_USAGE;
+        }
+
+        return execute(jobs, threads, out, err);
+    }
+
+    private static List<String> readManifest(String manifest) throws IOException {
+        if (STDIN.equals(manifest)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            return reader.lines().collect(Collectors.toList());
+        }
+        return Files.readAllLines(new File(manifest).toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static int execute(List<BatchJob> jobs, int threads, PrintStream out, PrintStream err) {
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, jobs.size())), r -> {
+            Thread thread = new Thread(r, "kse-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<Long>> results = new ArrayList<>(jobs.size());
+        for (BatchJob job : jobs) {
+            results.add(executor.submit(() -> {
+                long jobStart = System.nanoTime();
+                try {
+                    job.getOperation().execute(job, err);
+                } catch (Exception ex) {
+                    throw new TimedException(ex, System.nanoTime() - jobStart);
+                }
+                return System.nanoTime() - jobStart;
+            }));
+        }
+        executor.shutdown();
+
+        int failed = 0;
+        long jobTime = 0;
+
+        for (int i = 0; i < jobs.size(); i++) {
+            BatchJob job = jobs.get(i);
+            try {
+                long elapsed = results.get(i).get();
+                jobTime += elapsed;
+                out.println(MessageFormat.format(res.getString("BatchCli.JobResult.message"), job.getLineNumber(),
+                                                 job.getOperation(), res.getString("BatchOperation.Ok.message"),
+                                                 TimeUnit.NANOSECONDS.toMillis(elapsed)));
+            } catch (ExecutionException ex) {
+                failed++;
+                long elapsed = 0;
+                Throwable cause = ex.getCause();
+                if (cause instanceof TimedException) {
+                    elapsed = ((TimedException) cause).elapsed;
+                    cause = cause.getCause();
+                }
+                jobTime += elapsed;
+                out.println(MessageFormat.format(res.getString("BatchCli.JobFailed.message"), job.getLineNumber(),
+                                                 job.getOperation(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                                                 getMessage(cause)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                return EXIT_JOB_FAILED;
+            }
+        }
+
+        out.println(MessageFormat.format(res.getString("BatchCli.Summary.message"), jobs.size(), failed,
+                                         TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads,
+                                         TimeUnit.NANOSECONDS.toMillis(jobTime)));
+
+        return (failed == 0) ? EXIT_OK : EXIT_JOB_FAILED;
+    }
+
+    private static String getMessage(Throwable throwable) {
+        String message = throwable.getMessage();
+        return (message != null) ? message : throwable.getClass().getSimpleName();
+    }
+
+    private static class TimedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final long elapsed;
+
+        TimedException(Exception cause, long elapsed) {
+            super(cause);
+            this.elapsed = elapsed;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.kse.gui.passwordmanager.Password;
+
+/**
+ * A single job of a batch manifest: an operation and its parameters.
+ * <p>
+ * A manifest line has the form <code>operation name=value name="value with spaces" ...</code>. Empty lines and lines
+ * starting with <code>#</code> are ignored.
+ */
+public class BatchJob {
+    private static final ResourceBundle res = ResourceBundle.getBundle("org/kse/cli/resources");
+
+    private static final String ENV_PREFIX = "env:";
+    private static final String FILE_PREFIX = "file:";
+
+    private final int lineNumber;
+    private final BatchOperation operation;
+    private final Map<String, String> parameters;
+
+    BatchJob(int lineNumber, BatchOperation operation, Map<String, String> parameters) {
+        this.lineNumber = lineNumber;
+        this.operation = operation;
+        this.parameters = Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * Parse a manifest.
+     *
+     * @param lines Lines of the manifest
+     * @return The jobs in manifest order
+     * @throws BatchException If a line is malformed
+     */
+    public static List<BatchJob> parseManifest(List<String> lines) throws BatchException {
+        List<BatchJob> jobs = new ArrayList<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            jobs.add(parse(line, i + 1));
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Parse a single manifest line.
+     *
+     * @param line       The line
+     * @param lineNumber Number of the line in the manifest, for messages
+     * @return The job
+     * @throws BatchException If the line is malformed
+     */
+    public static BatchJob parse(String line, int lineNumber) throws BatchException {
+        List<String> tokens = tokenize(line, lineNumber);
+
+        BatchOperation operation = BatchOperation.resolveName(tokens.get(0));
+        if (operation == null) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchJob.UnknownOperation.message"),
+                                                          tokens.get(0), lineNumber));
+        }
+
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (String token : tokens.subList(1, tokens.size())) {
+            int index = token.indexOf('=');
+            if (index <= 0) {
+                throw new BatchException(MessageFormat.format(res.getString("BatchJob.InvalidParameter.message"),
+                                                              token, lineNumber));
+            }
+            parameters.put(token.substring(0, index), token.substring(index + 1));
+        }
+
+        return new BatchJob(lineNumber, operation, parameters);
+    }
+
+    private static List<String> tokenize(String line, int lineNumber) throws BatchException {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        boolean inToken = false;
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                token.append(c);
+                inToken = true;
+            }
+        }
+
+        if (quoted) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchJob.UnterminatedQuote.message"),
+                                                          lineNumber));
+        }
+        if (inToken) {
+            tokens.add(token.toString());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Get the number of the manifest line this job was read from.
+     *
+     * @return Line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Get the operation.
+     *
+     * @return Operation
+     */
+    public BatchOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get all parameters.
+     *
+     * @return Parameters in manifest order
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Get an optional parameter.
+     *
+     * @param name         Parameter name
+     * @param defaultValue Value if the parameter is not set
+     * @return The value
+     */
+    public String get(String name, String defaultValue) {
+        return parameters.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Get a required parameter.
+     *
+     * @param name Parameter name
+     * @return The value
+     * @throws BatchException If the parameter is not set
+     */
+    public String getRequired(String name) throws BatchException {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchJob.MissingParameter.message"), name));
+        }
+        return value;
+    }
+
+    /**
+     * Get a required file parameter.
+     *
+     * @param name Parameter name
+     * @return The file
+     * @throws BatchException If the parameter is not set
+     */
+    public File getFile(String name) throws BatchException {
+        return new File(getRequired(name));
+    }
+
+    /**
+     * Get a boolean parameter.
+     *
+     * @param name         Parameter name
+     * @param defaultValue Value if the parameter is not set
+     * @return The value
+     * @throws BatchException If the value is neither true nor false
+     */
+    public boolean getBoolean(String name, boolean defaultValue) throws BatchException {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw invalidValue(name);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Get a password parameter. The value is either the password itself, <code>env:VARIABLE</code> or
+     * <code>file:PATH</code>; in the last case the first line of the file is the password.
+     *
+     * @param name Parameter name
+     * @return The password or null if the parameter is not set
+     * @throws BatchException If the environment variable is not set or the file cannot be read
+     */
+    public Password getPassword(String name) throws BatchException {
+        String value = parameters.get(name);
+        if (value == null) {
+            return null;
+        }
+
+        if (value.startsWith(ENV_PREFIX)) {
+            String variable = value.substring(ENV_PREFIX.length());
+            String password = System.getenv(variable);
+            if (password == null) {
+                throw new BatchException(MessageFormat.format(res.getString("BatchJob.NoEnvironmentVariable.message"),
+                                                              variable));
+            }
+            return new Password(password.toCharArray());
+        }
+
+        if (value.startsWith(FILE_PREFIX)) {
+            try {
+                List<String> lines = Files.readAllLines(new File(value.substring(FILE_PREFIX.length())).toPath(),
+                                                        StandardCharsets.UTF_8);
+                return new Password(lines.isEmpty() ? new char[0] : lines.get(0).toCharArray());
+            } catch (IOException ex) {
+                throw invalidValue(name);
+            }
+        }
+
+        return new Password(value.toCharArray());
+    }
+
+    /**
+     * Create an exception for an invalid parameter value. Password values are not included in the message.
+     *
+     * @param name Parameter name
+     * @return The exception
+     */
+    BatchException invalidValue(String name) {
+        String value = name.endsWith("pass") ? "***" : parameters.get(name);
+        return new BatchException(MessageFormat.format(res.getString("BatchJob.InvalidValue.message"), name, value));
+    }
+}
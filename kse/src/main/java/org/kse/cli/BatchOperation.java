@@ -0,0 +1,481 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.cli;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kse.KSE;
+import org.kse.crypto.csr.CsrBatchSigner;
+import org.kse.crypto.digest.DigestType;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.privatekey.Pkcs8PbeType;
+import org.kse.crypto.privatekey.Pkcs8Util;
+import org.kse.crypto.signing.CmsSigner;
+import org.kse.crypto.signing.JarSigner;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.crypto.x509.X509ExtensionSet;
+import org.kse.gui.passwordmanager.Password;
+import org.kse.utilities.io.FileNameUtil;
+
+/**
+ * Operations of the batch command line interface.
+ */
+public enum BatchOperation {
+
+    CONVERT("convert", BatchOperation::convert),
+    IMPORT_CERT("import-cert", BatchOperation::importCertificate),
+    EXPORT_CERT("export-cert", BatchOperation::exportCertificate),
+    EXPORT_KEY("export-key", BatchOperation::exportPrivateKey),
+    SIGN_JAR("sign-jar", BatchOperation::signJar),
+    SIGN_FILE("sign-file", BatchOperation::signFile),
+    SIGN_CSRS("sign-csrs", BatchOperation::signCsrs);
+
+    private static final ResourceBundle res = ResourceBundle.getBundle("org/kse/cli/resources");
+
+    private static final String KEYSTORE = "keystore";
+    private static final String STOREPASS = "storepass";
+    private static final String KEYPASS = "keypass";
+    private static final String ALIAS = "alias";
+    private static final String OUT = "out";
+    private static final String OUTPASS = "outpass";
+    private static final String FORMAT = "format";
+    private static final String FORMAT_PEM = "pem";
+    private static final String FORMAT_DER = "der";
+
+    private interface Task {
+        void run(BatchJob job) throws Exception;
+    }
+
+    private interface ReportingTask {
+        void run(BatchJob job, PrintStream err) throws Exception;
+    }
+
+    private final String name;
+    private final ReportingTask task;
+
+    BatchOperation(String name, Task task) {
+        this(name, (job, err) -> task.run(job));
+    }
+
+    BatchOperation(String name, ReportingTask task) {
+        this.name = name;
+        this.task = task;
+    }
+
+    /**
+     * Get the name used in manifests.
+     *
+     * @return Name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Execute a job of this operation.
+     *
+     * @param job The job
+     * @param err Stream for progress and statistics of the job
+     * @throws Exception If the job failed
+     */
+    public void execute(BatchJob job, PrintStream err) throws Exception {
+        task.run(job, err);
+    }
+
+    /**
+     * Resolve the supplied name to an operation.
+     *
+     * @param name Name used in manifests
+     * @return Operation or null if none
+     */
+    public static BatchOperation resolveName(String name) {
+        for (BatchOperation operation : values()) {
+            if (operation.name.equals(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    private static void convert(BatchJob job) throws Exception {
+        KeyStore source = loadKeyStore(job);
+        Password storePassword = job.getPassword(STOREPASS);
+        Password keyPassword = getKeyPassword(job);
+        Password outPassword = (job.getPassword(OUTPASS) != null) ? job.getPassword(OUTPASS) : storePassword;
+
+        KeyStore target = KeyStoreUtil.create(getKeyStoreType(job, "outtype"));
+
+        for (String alias : Collections.list(source.aliases())) {
+            if (source.isCertificateEntry(alias)) {
+                target.setCertificateEntry(alias, source.getCertificate(alias));
+            } else {
+                Key key = source.getKey(alias, keyPassword.toCharArray());
+                target.setKeyEntry(alias, key, outPassword.toCharArray(), source.getCertificateChain(alias));
+            }
+        }
+
+        KeyStoreUtil.save(target, job.getFile(OUT), outPassword);
+    }
+
+    private static void importCertificate(BatchJob job) throws Exception {
+        File keyStoreFile = job.getFile(KEYSTORE);
+        String alias = job.getRequired(ALIAS);
+        File certFile = job.getFile("cert");
+
+        KeyStore keyStore;
+        if (!keyStoreFile.exists() && job.get("type", null) != null) {
+            job.getRequired(STOREPASS);
+            keyStore = KeyStoreUtil.create(getKeyStoreType(job, "type"));
+        } else {
+            keyStore = loadKeyStore(job);
+        }
+
+        X509Certificate[] certs = X509CertUtil.loadCertificates(Files.readAllBytes(certFile.toPath()));
+        if (certs.length == 0) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.NoCertificate.message"),
+                                                          certFile));
+        }
+
+        keyStore.setCertificateEntry(alias, certs[0]);
+
+        File outFile = new File(job.get(OUT, keyStoreFile.getPath()));
+        KeyStoreUtil.save(keyStore, outFile, job.getPassword(STOREPASS));
+    }
+
+    private static void exportCertificate(BatchJob job) throws Exception {
+        KeyStore keyStore = loadKeyStore(job);
+        String alias = job.getRequired(ALIAS);
+
+        Certificate cert = keyStore.getCertificate(alias);
+        if (cert == null) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.NoSuchEntry.message"), alias));
+        }
+        X509Certificate x509Cert = X509CertUtil.convertCertificate(cert);
+
+        byte[] encoded;
+        if (isPem(job, FORMAT_PEM)) {
+            encoded = X509CertUtil.getCertEncodedX509Pem(x509Cert).getBytes(StandardCharsets.US_ASCII);
+        } else {
+            encoded = X509CertUtil.getCertEncodedX509(x509Cert);
+        }
+
+        Files.write(job.getFile(OUT).toPath(), encoded);
+    }
+
+    private static void exportPrivateKey(BatchJob job) throws Exception {
+        KeyStore keyStore = loadKeyStore(job);
+        String alias = job.getRequired(ALIAS);
+        PrivateKey privateKey = getPrivateKey(job, keyStore, alias);
+        Password outPassword = job.getPassword(OUTPASS);
+        boolean pem = isPem(job, FORMAT_PEM);
+
+        byte[] encoded;
+        if (outPassword == null) {
+            encoded = pem ? Pkcs8Util.getPem(privateKey).getBytes(StandardCharsets.US_ASCII) : Pkcs8Util.get(privateKey);
+        } else {
+            Pkcs8PbeType pbeType;
+            try {
+                pbeType = Pkcs8PbeType.valueOf(job.get("pbe", Pkcs8PbeType.PBES2_AES256_SHA256.name()));
+            } catch (IllegalArgumentException ex) {
+                throw job.invalidValue("pbe");
+            }
+
+            encoded = pem ?
+                      Pkcs8Util.getEncryptedPem(privateKey, pbeType, outPassword).getBytes(StandardCharsets.US_ASCII) :
+                      Pkcs8Util.getEncrypted(privateKey, pbeType, outPassword);
+        }
+
+        Files.write(job.getFile(OUT).toPath(), encoded);
+    }
+
+    private static void signJar(BatchJob job) throws Exception {
+        KeyStore keyStore = loadKeyStore(job);
+        String alias = job.getRequired(ALIAS);
+        PrivateKey privateKey = getPrivateKey(job, keyStore, alias);
+        X509Certificate[] certs = getCertificateChain(keyStore, alias);
+        SignatureType signatureType = getSignatureType(job, privateKey);
+        String signatureName = job.get("name", alias);
+        String tsaUrl = job.get("tsa", null);
+
+        DigestType digestType = DigestType.resolveJce(job.get("digest", DigestType.SHA256.jce()));
+        if (digestType == null) {
+            throw job.invalidValue("digest");
+        }
+
+        File jarFile = job.getFile("jar");
+        String signer = KSE.getFullApplicationName();
+
+        if (job.get(OUT, null) == null) {
+            JarSigner.sign(jarFile, privateKey, certs, signatureType, signatureName, signer, digestType, tsaUrl, null);
+        } else {
+            JarSigner.sign(jarFile, job.getFile(OUT), privateKey, certs, signatureType, signatureName, signer,
+                           digestType, tsaUrl, null);
+        }
+    }
+
+    private static void signFile(BatchJob job) throws Exception {
+        KeyStore keyStore = loadKeyStore(job);
+        String alias = job.getRequired(ALIAS);
+        PrivateKey privateKey = getPrivateKey(job, keyStore, alias);
+        X509Certificate[] certs = getCertificateChain(keyStore, alias);
+        SignatureType signatureType = getSignatureType(job, privateKey);
+        boolean detached = job.getBoolean("detached", true);
+
+        File inputFile = job.getFile("file");
+        File outputFile = new File(job.get(OUT, inputFile.getPath() + ".p7s"));
+
+        CmsSigner.sign(inputFile, outputFile, privateKey, certs, detached, signatureType, job.get("tsa", null),
+                       isPem(job, FORMAT_DER), null, null);
+    }
+
+    private static void signCsrs(BatchJob job, PrintStream err) throws Exception {
+        KeyStore keyStore = loadKeyStore(job);
+        String alias = job.getRequired(ALIAS);
+        PrivateKey privateKey = getPrivateKey(job, keyStore, alias);
+        X509Certificate[] certs = getCertificateChain(keyStore, alias);
+        File csrs = job.getFile("csrs");
+        File outDir = job.getFile(OUT);
+        boolean includeChain = job.getBoolean("chain", false);
+
+        CsrBatchSigner signer = new CsrBatchSigner(privateKey, certs[0], getSignatureType(job, privateKey), null);
+        signer.setValidity(TimeUnit.DAYS.toMillis(getInt(job, "validity", 365)));
+        signer.setTransferCsrExtensions(job.getBoolean("transfer", false));
+        signer.setThreads(getInt(job, "threads", Runtime.getRuntime().availableProcessors()));
+
+        String version = job.get("version", "3");
+        if ("1".equals(version)) {
+            signer.setVersion(X509CertificateVersion.VERSION1);
+        } else if (!"3".equals(version)) {
+            throw job.invalidValue("version");
+        }
+
+        int serialNumberLength = getInt(job, "snlength", 20);
+        if (serialNumberLength < 8 || serialNumberLength > 20) {
+            throw job.invalidValue("snlength");
+        }
+        signer.setSerialNumberLength(serialNumberLength);
+
+        if (job.get("extensions", null) != null) {
+            try (InputStream is = new FileInputStream(job.getFile("extensions"))) {
+                signer.setExtensions(X509ExtensionSet.load(is));
+            }
+        }
+
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw job.invalidValue(OUT);
+        }
+        File reportFile = new File(job.get("report", new File(outDir, "report.csv").getPath()));
+
+        // different request names may still be cleaned to the same file name
+        Set<String> fileNames = new HashSet<>();
+
+        CsrBatchSigner.Summary summary;
+        try (BufferedWriter report = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+            report.write("name,file,status,serial,subject,not_after,message");
+            report.newLine();
+
+            // each certificate and report line is written as soon as it is signed
+            summary = signer.sign(csrs, result -> {
+                X509Certificate cert = result.getCertificate();
+                String fileName = "";
+
+                if (cert != null) {
+                    String pem;
+                    if (includeChain) {
+                        X509Certificate[] chain = new X509Certificate[certs.length + 1];
+                        chain[0] = cert;
+                        System.arraycopy(certs, 0, chain, 1, certs.length);
+                        pem = X509CertUtil.getCertsEncodedX509Pem(chain);
+                    } else {
+                        pem = X509CertUtil.getCertEncodedX509Pem(cert);
+                    }
+                    fileName = getUniqueFileName(fileNames, FileNameUtil.cleanFileName(result.getName()), ".cer");
+                    Files.write(new File(outDir, fileName).toPath(), pem.getBytes(StandardCharsets.US_ASCII));
+                }
+
+                report.write(String.join(",", csv(result.getName()), csv(fileName), result.getStatus().name(),
+                                         (cert != null) ? cert.getSerialNumber().toString(16) : "",
+                                         csv((cert != null) ? cert.getSubjectX500Principal().getName() : ""),
+                                         (cert != null) ? cert.getNotAfter().toInstant().toString() : "",
+                                         csv((result.getMessage() != null) ? result.getMessage() : "")));
+                report.newLine();
+            });
+        }
+
+        err.println(MessageFormat.format(res.getString("BatchOperation.CsrSummary.message"), job.getLineNumber(),
+                                         summary.getSigned(), summary.getRejected(), summary.getFailed(),
+                                         summary.getElapsed()));
+
+        if (summary.getRejected() > 0 || summary.getFailed() > 0) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.CsrsNotSigned.message"),
+                                                          summary.getRejected() + summary.getFailed(),
+                                                          reportFile));
+        }
+    }
+
+    private static String getUniqueFileName(Set<String> fileNames, String baseName, String extension) {
+        // compared ignoring case for case-insensitive file systems
+        String fileName = baseName + extension;
+        for (int i = 2; !fileNames.add(fileName.toLowerCase(Locale.ROOT)); i++) {
+            fileName = baseName + "-" + i + extension;
+        }
+        return fileName;
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static int getInt(BatchJob job, String name, int defaultValue) throws BatchException {
+        String value = job.get(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1) {
+                throw job.invalidValue(name);
+            }
+            return parsed;
+        } catch (NumberFormatException ex) {
+            throw job.invalidValue(name);
+        }
+    }
+
+    private static KeyStore loadKeyStore(BatchJob job) throws Exception {
+        File keyStoreFile = job.getFile(KEYSTORE);
+        job.getRequired(STOREPASS);
+
+        KeyStore keyStore = KeyStoreUtil.load(keyStoreFile, job.getPassword(STOREPASS));
+        if (keyStore == null) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.NoKeyStore.message"),
+                                                          keyStoreFile));
+        }
+        return keyStore;
+    }
+
+    private static Password getKeyPassword(BatchJob job) throws BatchException {
+        Password keyPassword = job.getPassword(KEYPASS);
+        return (keyPassword != null) ? keyPassword : job.getPassword(STOREPASS);
+    }
+
+    private static PrivateKey getPrivateKey(BatchJob job, KeyStore keyStore, String alias) throws Exception {
+        if (!keyStore.containsAlias(alias)) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.NoSuchEntry.message"), alias));
+        }
+        if (!KeyStoreUtil.isKeyPairEntry(alias, keyStore)) {
+            throw new BatchException(MessageFormat.format(res.getString("BatchOperation.NoKeyPairEntry.message"),
+                                                          alias));
+        }
+        return (PrivateKey) keyStore.getKey(alias, getKeyPassword(job).toCharArray());
+    }
+
+    private static X509Certificate[] getCertificateChain(KeyStore keyStore, String alias) throws Exception {
+        return X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(keyStore.getCertificateChain(alias)));
+    }
+
+    private static KeyStoreType getKeyStoreType(BatchJob job, String name) throws BatchException {
+        String value = job.getRequired(name);
+
+        for (KeyStoreType keyStoreType : KeyStoreType.values()) {
+            if (keyStoreType.isFileBased() &&
+                (keyStoreType.jce().equalsIgnoreCase(value) || keyStoreType.name().equalsIgnoreCase(value))) {
+                return keyStoreType;
+            }
+        }
+        throw job.invalidValue(name);
+    }
+
+    private static SignatureType getSignatureType(BatchJob job, PrivateKey privateKey) throws BatchException {
+        String sigAlg = job.get("sigalg", null);
+        if (sigAlg != null) {
+            SignatureType signatureType = SignatureType.resolveJce(sigAlg);
+            if (signatureType == null) {
+                throw job.invalidValue("sigalg");
+            }
+            return signatureType;
+        }
+
+        KeyPairType keyPairType = KeyPairUtil.getKeyPairType(privateKey);
+        switch (keyPairType) {
+        case RSA:
+            return SignatureType.SHA256_RSA;
+        case DSA:
+            return SignatureType.SHA256_DSA;
+        case EC:
+        case ECDSA:
+            return SignatureType.SHA256_ECDSA;
+        case ED25519:
+            return SignatureType.ED25519;
+        case ED448:
+            return SignatureType.ED448;
+        case MLDSA44:
+            return SignatureType.MLDSA44;
+        case MLDSA65:
+            return SignatureType.MLDSA65;
+        case MLDSA87:
+            return SignatureType.MLDSA87;
+        default:
+            throw new BatchException(MessageFormat.format(
+                    res.getString("BatchOperation.NoDefaultSignatureType.message"), keyPairType.jce()));
+        }
+    }
+
+    private static boolean isPem(BatchJob job, String defaultFormat) throws BatchException {
+        String format = job.get(FORMAT, defaultFormat);
+        if (FORMAT_PEM.equalsIgnoreCase(format)) {
+            return true;
+        } else if (FORMAT_DER.equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw job.invalidValue(FORMAT);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
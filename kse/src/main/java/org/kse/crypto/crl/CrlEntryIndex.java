@@ -0,0 +1,681 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.ResourceBundle;
+
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.Time;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.utilities.pem.PemInfo;
+import org.kse.utilities.pem.PemUtil;
+
+/**
+ * Positions of the revoked certificate entries in a DER encoded CRL, sorted by serial number.
+ * <p>
+ * Indexing walks the encoding once without decoding the entries, so that a CRL with millions of entries costs an
+ * offset per entry on top of its encoding. Entries are decoded on demand, which makes this suitable for paging
+ * through the entries of very large CRLs. Unlike {@link IndexedCrl}, all entries are kept, including those of other
+ * certificate issuers of an indirect CRL and serial numbers that are listed more than once. The other fields of the
+ * CRL are read from the same walk by {@link #readHeader(byte[])}.
+ */
+public final class CrlEntryIndex {
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/crl/resources");
+
+    private static final int SEQUENCE = 0x30;
+    private static final int INTEGER = 0x02;
+    private static final int UTC_TIME = 0x17;
+    private static final int GENERALIZED_TIME = 0x18;
+    private static final int EXTENSIONS = 0xa0;
+
+    private final byte[] encoded;
+    // offsets of the entries in encoded, ordered by serial number like in IndexedCrl
+    private final int[] entries;
+
+    private CrlEntryIndex(byte[] encoded, int[] entries) {
+        this.encoded = encoded;
+        this.entries = entries;
+    }
+
+    /**
+     * Index the entries of a CRL. Its signature is not verified.
+     *
+     * @param crl The CRL
+     * @return The index
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static CrlEntryIndex index(X509CRL crl) throws CryptoException {
+        try {
+            return index(crl.getEncoded());
+        } catch (CRLException ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Index the entries of a DER encoded CRL. Its signature is not verified.
+     *
+     * @param encoded The DER encoded CRL, which must not be modified afterwards
+     * @return The index
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static CrlEntryIndex index(byte[] encoded) throws CryptoException {
+        try {
+            Layout layout = new Layout(encoded);
+
+            // revoked certificates are optional
+            if (layout.revokedCerts == -1) {
+                return new CrlEntryIndex(encoded, new int[0]);
+            }
+
+            int revokedEnd = end(encoded, layout.revokedCerts, layout.tbsCertListEnd);
+            int[] entries = new int[1024];
+            int count = 0;
+
+            for (int pos = content(encoded, layout.revokedCerts); pos < revokedEnd; pos = end(encoded, pos,
+                                                                                              revokedEnd)) {
+                int serial = expect(encoded, content(encoded, expect(encoded, pos, SEQUENCE, revokedEnd)), INTEGER,
+                                    revokedEnd);
+                if (contentLength(encoded, serial) == 0) {
+                    throw new IllegalArgumentException("Empty serial number");
+                }
+
+                if (count == entries.length) {
+                    entries = Arrays.copyOf(entries, count * 2);
+                }
+                entries[count++] = pos;
+            }
+
+            entries = Arrays.copyOf(entries, count);
+            CrlEntryIndex index = new CrlEntryIndex(encoded, entries);
+            index.sort();
+            return index;
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Read the fields of a DER encoded CRL apart from its entries, which are skipped without being looked at.
+     * Its signature is not verified.
+     *
+     * @param encoded The DER encoded CRL
+     * @return The fields
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static Header readHeader(byte[] encoded) throws CryptoException {
+        try {
+            Layout layout = new Layout(encoded);
+
+            int version = 1;
+            if (layout.version != -1) {
+                version = ASN1Integer.getInstance(decode(encoded, layout.version)).intValueExact() + 1;
+            }
+
+            X500Name issuer = X500Name.getInstance(decode(encoded, layout.issuer));
+            long thisUpdate = IndexedCrl.toMillis(Time.getInstance(decode(encoded, layout.thisUpdate)));
+            Long nextUpdate = null;
+            if (layout.nextUpdate != -1) {
+                nextUpdate = IndexedCrl.toMillis(Time.getInstance(decode(encoded, layout.nextUpdate)));
+            }
+
+            Extensions extensions = null;
+            if (layout.extensions != -1) {
+                extensions = Extensions.getInstance((ASN1TaggedObject) decode(encoded, layout.extensions), true);
+            }
+
+            AlgorithmIdentifier signatureAlgorithm = AlgorithmIdentifier.getInstance(
+                    decode(encoded, layout.signatureAlgorithm));
+
+            return new Header(version, issuer, thisUpdate, nextUpdate, extensions, signatureAlgorithm);
+        } catch (Exception ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Get the DER encoding of a CRL. PEM is decoded, other encodings are converted by the provider.
+     *
+     * @param data The encoded CRL
+     * @return The DER encoded CRL
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static byte[] toDer(byte[] data) throws CryptoException {
+        byte[] der = data;
+
+        if (PemUtil.isPemFormat(data)) {
+            try {
+                PemInfo pemInfo = PemUtil.decode(data);
+                if (pemInfo != null) {
+                    der = pemInfo.getContent();
+                }
+            } catch (IOException ex) {
+                throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+            }
+        }
+
+        try {
+            new Layout(der);
+            return der;
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException ex) {
+            // e.g. BER or plain Base64, the parsed CRL is only needed for its DER encoding
+            try {
+                return X509CertUtil.loadCRL(data).getEncoded();
+            } catch (CRLException ex2) {
+                throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex2);
+            }
+        }
+    }
+
+    private static ASN1Primitive decode(byte[] encoded, int pos) throws IOException {
+        return ASN1Primitive.fromByteArray(Arrays.copyOfRange(encoded, pos, end(encoded, pos, encoded.length)));
+    }
+
+    /**
+     * Offsets of the elements of a DER encoded CRL, -1 for optional elements that are not present.
+     */
+    private static final class Layout {
+        private final int tbsCertListEnd;
+        private final int version;
+        private final int issuer;
+        private final int thisUpdate;
+        private final int nextUpdate;
+        private final int revokedCerts;
+        private final int extensions;
+        private final int signatureAlgorithm;
+
+        private Layout(byte[] encoded) {
+            int certList = expect(encoded, 0, SEQUENCE, encoded.length);
+            int certListEnd = end(encoded, certList, encoded.length);
+
+            int tbsCertList = expect(encoded, content(encoded, certList), SEQUENCE, certListEnd);
+            tbsCertListEnd = end(encoded, tbsCertList, certListEnd);
+
+            int pos = content(encoded, tbsCertList);
+
+            // version is optional
+            if (pos < tbsCertListEnd && encoded[pos] == INTEGER) {
+                version = pos;
+                pos = end(encoded, pos, tbsCertListEnd);
+            } else {
+                version = -1;
+            }
+
+            // signature and issuer
+            pos = end(encoded, expect(encoded, pos, SEQUENCE, tbsCertListEnd), tbsCertListEnd);
+            issuer = expect(encoded, pos, SEQUENCE, tbsCertListEnd);
+            pos = end(encoded, issuer, tbsCertListEnd);
+
+            // this update and optional next update
+            thisUpdate = expectTime(encoded, pos, tbsCertListEnd);
+            pos = end(encoded, thisUpdate, tbsCertListEnd);
+            if (pos < tbsCertListEnd && isTime(encoded[pos])) {
+                nextUpdate = pos;
+                pos = end(encoded, pos, tbsCertListEnd);
+            } else {
+                nextUpdate = -1;
+            }
+
+            // revoked certificates and extensions are optional as well
+            if (pos < tbsCertListEnd && encoded[pos] == SEQUENCE) {
+                revokedCerts = pos;
+                pos = end(encoded, pos, tbsCertListEnd);
+            } else {
+                revokedCerts = -1;
+            }
+            if (pos < tbsCertListEnd && (encoded[pos] & 0xff) == EXTENSIONS) {
+                extensions = pos;
+                pos = end(encoded, pos, tbsCertListEnd);
+            } else {
+                extensions = -1;
+            }
+            if (pos != tbsCertListEnd) {
+                throw new IllegalArgumentException("Unexpected element at offset " + pos);
+            }
+
+            signatureAlgorithm = expect(encoded, tbsCertListEnd, SEQUENCE, certListEnd);
+        }
+    }
+
+    private static boolean isTime(byte tag) {
+        return tag == UTC_TIME || tag == GENERALIZED_TIME;
+    }
+
+    private static int expectTime(byte[] encoded, int pos, int limit) {
+        if (pos >= limit || !isTime(encoded[pos])) {
+            throw new IllegalArgumentException("Expected time at offset " + pos);
+        }
+        return pos;
+    }
+
+    private static int expect(byte[] encoded, int pos, int tag, int limit) {
+        if (pos >= limit || (encoded[pos] & 0xff) != tag) {
+            throw new IllegalArgumentException("Expected tag " + tag + " at offset " + pos);
+        }
+        return pos;
+    }
+
+    // offset of the contents of the element at pos, only single byte tags occur in a CRL
+    private static int content(byte[] encoded, int pos) {
+        int first = encoded[pos + 1] & 0xff;
+        return (first < 0x80) ? pos + 2 : pos + 2 + (first & 0x7f);
+    }
+
+    private static int contentLength(byte[] encoded, int pos) {
+        int first = encoded[pos + 1] & 0xff;
+        if (first < 0x80) {
+            return first;
+        }
+
+        int count = first & 0x7f;
+        if (count == 0 || count > 4) {
+            throw new IllegalArgumentException("Unsupported length encoding at offset " + pos);
+        }
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length = (length << 8) | (encoded[pos + 2 + i] & 0xff);
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid length at offset " + pos);
+        }
+        return length;
+    }
+
+    // offset after the element at pos, which must end before limit
+    private static int end(byte[] encoded, int pos, int limit) {
+        long end = (long) content(encoded, pos) + contentLength(encoded, pos);
+        if (end > limit) {
+            throw new IllegalArgumentException("Truncated element at offset " + pos);
+        }
+        return (int) end;
+    }
+
+    private int serialOffset(int entry) {
+        return content(encoded, content(encoded, entry));
+    }
+
+    private int serialLength(int entry) {
+        return contentLength(encoded, content(encoded, entry));
+    }
+
+    private int compare(int entryA, int entryB) {
+        int aLength = serialLength(entryA);
+        int bLength = serialLength(entryB);
+        if (aLength != bLength) {
+            return Integer.compare(aLength, bLength);
+        }
+
+        int aOffset = serialOffset(entryA);
+        int bOffset = serialOffset(entryB);
+        return Arrays.compareUnsigned(encoded, aOffset, aOffset + aLength, encoded, bOffset, bOffset + bLength);
+    }
+
+    private void sort() {
+        // CAs usually list the entries in order already
+        boolean sorted = true;
+        for (int i = 1; i < entries.length && sorted; i++) {
+            sorted = compare(entries[i - 1], entries[i]) <= 0;
+        }
+
+        if (!sorted) {
+            mergeSort(entries.clone(), entries, 0, entries.length);
+        }
+    }
+
+    // stable merge sort of src[from, to) into dst, without boxing the offsets
+    private void mergeSort(int[] src, int[] dst, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid);
+        mergeSort(dst, src, mid, to);
+
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && compare(src[p], src[q]) <= 0)) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Get the serial number of an entry without decoding the rest of it.
+     *
+     * @param position Position of the entry in serial number order
+     * @return Serial number
+     */
+    public BigInteger getSerialNumber(int position) {
+        int entry = entries[position];
+        int offset = serialOffset(entry);
+        return new BigInteger(Arrays.copyOfRange(encoded, offset, offset + serialLength(entry)));
+    }
+
+    /**
+     * Decode an entry.
+     *
+     * @param position Position of the entry in serial number order
+     * @return The entry
+     * @throws CryptoException If the entry could not be decoded
+     */
+    public Entry getEntry(int position) throws CryptoException {
+        int entry = entries[position];
+
+        try {
+            TBSCertList.CRLEntry crlEntry = TBSCertList.CRLEntry.getInstance(
+                    ASN1Primitive.fromByteArray(Arrays.copyOfRange(encoded, entry, end(encoded, entry,
+                                                                                       encoded.length))));
+            Extensions extensions = crlEntry.getExtensions();
+            int reason = -1;
+
+            if (extensions != null) {
+                Extension reasonExtension = extensions.getExtension(Extension.reasonCode);
+                if (reasonExtension != null) {
+                    reason = CRLReason.getInstance(reasonExtension.getParsedValue()).getValue().intValue();
+                }
+            }
+
+            return new Entry(crlEntry.getUserCertificate().getValue(),
+                             IndexedCrl.toMillis(crlEntry.getRevocationDate()), reason, extensions != null);
+        } catch (Exception ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Get the extensions of an entry.
+     *
+     * @param position Position of the entry in serial number order
+     * @return The extensions or null if the entry has none
+     * @throws CryptoException If the entry could not be decoded
+     */
+    public Extensions getEntryExtensions(int position) throws CryptoException {
+        int entry = entries[position];
+
+        try {
+            return TBSCertList.CRLEntry.getInstance(
+                    ASN1Primitive.fromByteArray(Arrays.copyOfRange(encoded, entry, end(encoded, entry,
+                                                                                       encoded.length))))
+                                       .getExtensions();
+        } catch (Exception ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Get the DER encoding of the CRL. The array is not copied and must not be modified.
+     *
+     * @return The DER encoded CRL
+     */
+    public byte[] getEncoded() {
+        return encoded;
+    }
+
+    /**
+     * Find an entry by serial number with a binary search.
+     *
+     * @param serialNumber Serial number
+     * @return Position of an entry with the serial number or -1 if the serial number is not on the CRL
+     */
+    public int find(BigInteger serialNumber) {
+        byte[] key = serialNumber.toByteArray();
+
+        int low = 0;
+        int high = entries.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = entries[mid];
+            int length = serialLength(entry);
+            int offset = serialOffset(entry);
+
+            int cmp = (length != key.length) ?
+                      Integer.compare(length, key.length) :
+                      Arrays.compareUnsigned(encoded, offset, offset + length, key, 0, key.length);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the entries whose serial number contains a sequence of hex digits, as displayed by
+     * {@link org.kse.utilities.io.HexUtil#getHexString(BigInteger)}. A "0x" prefix, blanks and colons are ignored.
+     *
+     * @param hex Hex digits
+     * @return Positions of the matching entries in serial number order
+     */
+    public int[] search(String hex) {
+        String digits = hex.trim();
+        if (digits.startsWith("0x") || digits.startsWith("0X")) {
+            digits = digits.substring(2);
+        }
+        digits = digits.replaceAll("[\\s:]", "").toUpperCase();
+
+        if (!digits.matches("[0-9A-F]*")) {
+            return new int[0];
+        }
+
+        char[] pattern = digits.toCharArray();
+        char[] serial = new char[64];
+        int[] matches = new int[16];
+        int count = 0;
+
+        for (int i = 0; i < entries.length; i++) {
+            int entry = entries[i];
+            int offset = serialOffset(entry);
+            int length = serialLength(entry);
+
+            if (serial.length < length * 2) {
+                serial = new char[length * 2];
+            }
+            for (int j = 0; j < length; j++) {
+                int b = encoded[offset + j] & 0xff;
+                serial[j * 2] = Character.toUpperCase(Character.forDigit(b >> 4, 16));
+                serial[j * 2 + 1] = Character.toUpperCase(Character.forDigit(b & 0xf, 16));
+            }
+
+            if (contains(serial, length * 2, pattern)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static boolean contains(char[] text, int textLength, char[] pattern) {
+        outer:
+        for (int i = 0; i <= textLength - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (text[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A decoded revoked certificate entry.
+     */
+    public static final class Entry {
+        private final BigInteger serialNumber;
+        private final long revocationDate;
+        private final int reason;
+        private final boolean extensions;
+
+        Entry(BigInteger serialNumber, long revocationDate, int reason, boolean extensions) {
+            this.serialNumber = serialNumber;
+            this.revocationDate = revocationDate;
+            this.reason = reason;
+            this.extensions = extensions;
+        }
+
+        /**
+         * Get the serial number of the revoked certificate.
+         *
+         * @return Serial number
+         */
+        public BigInteger getSerialNumber() {
+            return serialNumber;
+        }
+
+        /**
+         * Get the revocation date.
+         *
+         * @return Revocation date
+         */
+        public Date getRevocationDate() {
+            return new Date(revocationDate);
+        }
+
+        /**
+         * Get the revocation reason.
+         *
+         * @return One of the CRLReason constants or -1 if the entry has no reason
+         */
+        public int getReason() {
+            return reason;
+        }
+
+        /**
+         * Does the entry have extensions?
+         *
+         * @return True if it has
+         */
+        public boolean hasExtensions() {
+            return extensions;
+        }
+    }
+
+    /**
+     * The fields of a CRL apart from its entries.
+     */
+    public static final class Header {
+        private final int version;
+        private final X500Name issuer;
+        private final long thisUpdate;
+        private final Long nextUpdate;
+        private final Extensions extensions;
+        private final AlgorithmIdentifier signatureAlgorithm;
+
+        Header(int version, X500Name issuer, long thisUpdate, Long nextUpdate, Extensions extensions,
+               AlgorithmIdentifier signatureAlgorithm) {
+            this.version = version;
+            this.issuer = issuer;
+            this.thisUpdate = thisUpdate;
+            this.nextUpdate = nextUpdate;
+            this.extensions = extensions;
+            this.signatureAlgorithm = signatureAlgorithm;
+        }
+
+        /**
+         * Get the version, as returned by {@link X509CRL#getVersion()}.
+         *
+         * @return Version
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * Get the issuer.
+         *
+         * @return Issuer
+         */
+        public X500Name getIssuer() {
+            return issuer;
+        }
+
+        /**
+         * Get the this update date.
+         *
+         * @return This update
+         */
+        public Date getThisUpdate() {
+            return new Date(thisUpdate);
+        }
+
+        /**
+         * Get the next update date.
+         *
+         * @return Next update or null if the CRL has none
+         */
+        public Date getNextUpdate() {
+            return (nextUpdate != null) ? new Date(nextUpdate) : null;
+        }
+
+        /**
+         * Get the CRL extensions.
+         *
+         * @return Extensions or null if the CRL has none
+         */
+        public Extensions getExtensions() {
+            return extensions;
+        }
+
+        /**
+         * Get the algorithm the CRL is signed with.
+         *
+         * @return Signature algorithm
+         */
+        public AlgorithmIdentifier getSignatureAlgorithm() {
+            return signatureAlgorithm;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertPathValidatorException.BasicReason;
+import java.security.cert.Certificate;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.x509.X509Ext;
+import org.kse.crypto.x509.X509ExtensionType;
+import org.kse.utilities.StringUtils;
+
+/**
+ * Certificate path checker that checks the revocation status of each certificate against the CRLs of a CrlStore.
+ * <p>
+ * The CRLs are taken from the supplied locations first and then from the CRL distribution points of the
+ * certificate. Unlike the revocation checkers of the providers, no system or security properties have to be set to
+ * enable the distribution points. Add it to the PKIXParameters and disable their revocation checking.
+ */
+public class CrlRevocationChecker extends PKIXCertPathChecker {
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/crl/resources");
+    private static ResourceBundle resCryptoX509 = ResourceBundle.getBundle("org/kse/crypto/x509/resources");
+
+    private static final CrlStore STORE = new CrlStore(CrlStore.DEFAULT_MAX_SIZE);
+
+    private final CrlStore store;
+    private final List<X509Certificate> trustAnchors;
+    private final List<String> crlLocations;
+    private X509Certificate previous;
+
+    /**
+     * Construct a checker that uses the shared store.
+     *
+     * @param trustAnchors Trusted certificates, one of them issued the first certificate of the path
+     * @param crlLocations Locations of CRLs to check before the distribution points, may be empty
+     */
+    public CrlRevocationChecker(Collection<X509Certificate> trustAnchors, List<String> crlLocations) {
+        this(STORE, trustAnchors, crlLocations);
+    }
+
+    /**
+     * Construct a checker.
+     *
+     * @param store        Store for the CRLs
+     * @param trustAnchors Trusted certificates, one of them issued the first certificate of the path
+     * @param crlLocations Locations of CRLs to check before the distribution points, may be empty
+     */
+    public CrlRevocationChecker(CrlStore store, Collection<X509Certificate> trustAnchors, List<String> crlLocations) {
+        this.store = store;
+        this.trustAnchors = new ArrayList<>(trustAnchors);
+        this.crlLocations = new ArrayList<>(crlLocations);
+    }
+
+    /**
+     * Get the store shared by all checkers that were constructed without a store of their own.
+     *
+     * @return The store
+     */
+    public static CrlStore getCrlStore() {
+        return STORE;
+    }
+
+    @Override
+    public void init(boolean forward) throws CertPathValidatorException {
+        if (forward) {
+            throw new CertPathValidatorException(res.getString("NoForwardChecking.exception.message"));
+        }
+        previous = null;
+    }
+
+    @Override
+    public boolean isForwardCheckingSupported() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getSupportedExtensions() {
+        return null;
+    }
+
+    @Override
+    public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+        X509Certificate x509Cert = (X509Certificate) cert;
+        X509Certificate issuer = (previous != null) ? previous : findTrustAnchor(x509Cert);
+        previous = x509Cert;
+
+        if (issuer == null) {
+            throw new CertPathValidatorException(MessageFormat.format(res.getString("NoIssuer.exception.message"),
+                                                                      x509Cert.getSubjectX500Principal()), null,
+                                                 null, -1, BasicReason.UNDETERMINED_REVOCATION_STATUS);
+        }
+
+        Date now = new Date();
+        IndexedCrl crl = getCrl(x509Cert, issuer, now);
+        IndexedCrl.Entry entry = crl.lookup(x509Cert.getSerialNumber());
+
+        if (entry != null && !entry.getRevocationDate().after(now)) {
+            throw new CertPathValidatorException(
+                    MessageFormat.format(res.getString("CertificateRevoked.exception.message"),
+                                         x509Cert.getSubjectX500Principal(),
+                                         StringUtils.formatDate(entry.getRevocationDate()),
+                                         getReasonText(entry.getReason())), null, null, -1, BasicReason.REVOKED);
+        }
+    }
+
+    private static String getReasonText(int reason) {
+        try {
+            return resCryptoX509.getString("CrlReason." + reason + ".text");
+        } catch (MissingResourceException ex) {
+            return resCryptoX509.getString("CrlReason.0.text");
+        }
+    }
+
+    private X509Certificate findTrustAnchor(X509Certificate cert) {
+        for (X509Certificate trustAnchor : trustAnchors) {
+            if (!trustAnchor.getSubjectX500Principal().equals(cert.getIssuerX500Principal())) {
+                continue;
+            }
+            try {
+                cert.verify(trustAnchor.getPublicKey(), KSE.BC);
+                return trustAnchor;
+            } catch (GeneralSecurityException ex) {
+                // another key with the same name
+            }
+        }
+        return null;
+    }
+
+    private IndexedCrl getCrl(X509Certificate cert, X509Certificate issuer, Date now)
+            throws CertPathValidatorException {
+        List<String> locations = new ArrayList<>(crlLocations);
+        locations.addAll(getDistributionPoints(cert));
+
+        CryptoException lastError = null;
+        for (String location : locations) {
+            try {
+                IndexedCrl crl = store.get(location, issuer);
+                if (crl.isCurrent(now)) {
+                    return crl;
+                }
+                lastError = new CryptoException(MessageFormat.format(
+                        res.getString("CrlNotCurrent.exception.message"), location));
+            } catch (CryptoException ex) {
+                lastError = ex;
+            }
+        }
+
+        String message = MessageFormat.format(res.getString("NoCrl.exception.message"),
+                                              cert.getSubjectX500Principal());
+        if (lastError != null) {
+            message += " " + lastError.getMessage();
+        }
+        throw new CertPathValidatorException(message, lastError, null, -1,
+                                             BasicReason.UNDETERMINED_REVOCATION_STATUS);
+    }
+
+    /**
+     * Get the URLs in the CRL distribution points of a certificate.
+     *
+     * @param cert The certificate
+     * @return URLs of the distribution points with a full name, in order
+     */
+    public static List<String> getDistributionPoints(X509Certificate cert) {
+        List<String> urls = new ArrayList<>();
+        byte[] value = cert.getExtensionValue(X509ExtensionType.CRL_DISTRIBUTION_POINTS.oid());
+
+        if (value == null) {
+            return urls;
+        }
+
+        try {
+            CRLDistPoint crlDistPoint = CRLDistPoint.getInstance(X509Ext.unwrapExtension(value));
+            for (DistributionPoint distributionPoint : crlDistPoint.getDistributionPoints()) {
+                DistributionPointName name = distributionPoint.getDistributionPoint();
+
+                // distribution points of indirect CRLs are not supported
+                if (name == null || name.getType() != DistributionPointName.FULL_NAME ||
+                    distributionPoint.getCRLIssuer() != null) {
+                    continue;
+                }
+
+                for (GeneralName generalName : GeneralNames.getInstance(name.getName()).getNames()) {
+                    if (generalName.getTagNo() == GeneralName.uniformResourceIdentifier) {
+                        urls.add(generalName.getName().toString());
+                    }
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            // malformed extension, no distribution points
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.apache.commons.io.IOUtils;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.x509.X509CertUtil;
+
+/**
+ * Bounded LRU store of indexed CRLs, keyed by location and issuer key.
+ * <p>
+ * Each CRL is downloaded or read, verified against the key of its issuer and indexed once. It is fetched again when
+ * its next update is due or, for files, when the file has changed. A CRL without next update, or one that is already
+ * outdated when it is fetched, is fetched again after the retry interval. Concurrent requests for the same CRL wait
+ * for a single download.
+ * <p>
+ * Supported locations are http, https and file URLs.
+ */
+public final class CrlStore {
+
+    /** Default maximum number of stored CRLs */
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    /** Time after which a CRL without usable next update is fetched again */
+    public static final long RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    /** Connect and read timeout for downloads in milliseconds */
+    public static final int TIMEOUT = 15000;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/crl/resources");
+
+    private final int maxSize;
+    private final Map<Key, Slot> slots;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Construct a store.
+     *
+     * @param maxSize Maximum number of stored CRLs
+     */
+    public CrlStore(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+
+        this.maxSize = maxSize;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Slot> eldest) {
+                return size() > CrlStore.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the CRL at a location, fetching it if it is not stored or due for an update.
+     *
+     * @param location http, https or file URL of the CRL
+     * @param issuer   Certificate of the CRL issuer
+     * @return The indexed CRL, its signature has been verified with the issuer key
+     * @throws CryptoException If the CRL could not be fetched or was not issued by the issuer
+     */
+    public IndexedCrl get(String location, X509Certificate issuer) throws CryptoException {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.computeIfAbsent(new Key(location, issuer.getPublicKey().getEncoded()), k -> new Slot());
+        }
+
+        synchronized (slot) {
+            File file = getFile(location);
+            long lastModified = (file != null) ? file.lastModified() : 0;
+            long now = System.currentTimeMillis();
+
+            if (slot.crl != null && now < slot.expires && lastModified == slot.lastModified) {
+                // the same key may belong to a CA with another name
+                checkIssuer(slot.crl.getIssuer(), location, issuer);
+                hits.incrementAndGet();
+                return slot.crl;
+            }
+            misses.incrementAndGet();
+
+            byte[] data = (file != null) ? read(file, location) : download(location);
+            IndexedCrl crl = verifyAndIndex(X509CertUtil.loadCRL(data), location, issuer);
+
+            long nextUpdate = (crl.getNextUpdate() != null) ? crl.getNextUpdate().getTime() : 0;
+            slot.crl = crl;
+            slot.expires = (nextUpdate > now) ? nextUpdate : now + RETRY_INTERVAL;
+            slot.lastModified = lastModified;
+            return crl;
+        }
+    }
+
+    private static void checkIssuer(X500Principal crlIssuer, String location, X509Certificate issuer)
+            throws CryptoException {
+        if (!crlIssuer.equals(issuer.getSubjectX500Principal())) {
+            throw new CryptoException(MessageFormat.format(res.getString("CrlIssuerMismatch.exception.message"),
+                                                           location, issuer.getSubjectX500Principal()));
+        }
+    }
+
+    private static IndexedCrl verifyAndIndex(X509CRL crl, String location, X509Certificate issuer)
+            throws CryptoException {
+        checkIssuer(crl.getIssuerX500Principal(), location, issuer);
+
+        try {
+            crl.verify(issuer.getPublicKey(), KSE.BC);
+        } catch (GeneralSecurityException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoVerifyCrl.exception.message"), location),
+                                      ex);
+        }
+
+        return IndexedCrl.index(crl);
+    }
+
+    private static File getFile(String location) throws CryptoException {
+        String scheme = null;
+        URI uri = null;
+        try {
+            uri = new URI(location);
+            scheme = uri.getScheme();
+        } catch (URISyntaxException ex) {
+            // reported below
+        }
+
+        if ("file".equalsIgnoreCase(scheme)) {
+            try {
+                return new File(uri);
+            } catch (IllegalArgumentException ex) {
+                // reported below
+            }
+        } else if ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) {
+            return null;
+        }
+
+        throw new CryptoException(MessageFormat.format(res.getString("InvalidCrlLocation.exception.message"),
+                                                       location));
+    }
+
+    private static byte[] read(File file, String location) throws CryptoException {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoFetchCrl.exception.message"), location),
+                                      ex);
+        }
+    }
+
+    private static byte[] download(String location) throws CryptoException {
+        try {
+            URLConnection con = new URL(location).openConnection();
+            con.setConnectTimeout(TIMEOUT);
+            con.setReadTimeout(TIMEOUT);
+
+            int responseCode = ((HttpURLConnection) con).getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + responseCode);
+            }
+
+            try (InputStream in = con.getInputStream()) {
+                return IOUtils.toByteArray(in);
+            }
+        } catch (IOException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoFetchCrl.exception.message"), location),
+                                      ex);
+        }
+    }
+
+    /**
+     * Remove all CRLs from the store and reset the counters.
+     */
+    public void clear() {
+        synchronized (slots) {
+            slots.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get the number of stored CRLs.
+     *
+     * @return Number of CRLs
+     */
+    public int size() {
+        synchronized (slots) {
+            return (int) slots.values().stream().filter(slot -> slot.crl != null).count();
+        }
+    }
+
+    /**
+     * Get the number of requests that were served from the store.
+     *
+     * @return Number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests that had to fetch the CRL.
+     *
+     * @return Number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Slot {
+        private volatile IndexedCrl crl;
+        private long expires;
+        private long lastModified;
+    }
+
+    private static final class Key {
+        private final String location;
+        private final byte[] issuerKey;
+
+        Key(String location, byte[] issuerKey) {
+            this.location = location;
+            this.issuerKey = issuerKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * location.hashCode() + Arrays.hashCode(issuerKey);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return location.equals(other.location) && Arrays.equals(issuerKey, other.issuerKey);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.CertificateList;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.Time;
+import org.kse.crypto.CryptoException;
+
+/**
+ * Revoked serial numbers of a CRL in a compact sorted index.
+ * <p>
+ * The serial numbers are stored back to back in one byte array, so that a CRL with hundreds of thousands of entries
+ * takes a few bytes per entry instead of an X509CRLEntry object each, and a lookup is a binary search. Only the
+ * revocation date and reason of each entry are kept, the CRL itself can be discarded once it has been indexed.
+ * <p>
+ * Entries of an indirect CRL that belong to another certificate issuer are not indexed.
+ */
+public final class IndexedCrl {
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/crl/resources");
+
+    private final X500Principal issuer;
+    private final Date thisUpdate;
+    private final Date nextUpdate;
+
+    // two's complement encodings of the serial numbers, ordered by length and then by unsigned bytes
+    private final byte[] serials;
+    // offset of each serial number in serials, plus the end of the last one
+    private final int[] offsets;
+    private final long[] revocationDates;
+    private final byte[] reasons;
+
+    private IndexedCrl(X500Principal issuer, Date thisUpdate, Date nextUpdate, byte[] serials, int[] offsets,
+                       long[] revocationDates, byte[] reasons) {
+        this.issuer = issuer;
+        this.thisUpdate = thisUpdate;
+        this.nextUpdate = nextUpdate;
+        this.serials = serials;
+        this.offsets = offsets;
+        this.revocationDates = revocationDates;
+        this.reasons = reasons;
+    }
+
+    /**
+     * Index the entries of a CRL. Its signature is not verified.
+     *
+     * @param crl The CRL
+     * @return The index
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static IndexedCrl index(X509CRL crl) throws CryptoException {
+        try {
+            return index(CertificateList.getInstance(crl.getEncoded()));
+        } catch (CRLException | IllegalArgumentException ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Index the entries of a CRL. Its signature is not verified.
+     *
+     * @param crl The CRL
+     * @return The index
+     * @throws CryptoException If the CRL could not be read
+     */
+    public static IndexedCrl index(CertificateList crl) throws CryptoException {
+        try {
+            TBSCertList tbsCertList = crl.getTBSCertList();
+            X500Name crlIssuer = tbsCertList.getIssuer();
+            X500Name certificateIssuer = crlIssuer;
+
+            List<byte[]> keys = new ArrayList<>();
+            List<Long> dates = new ArrayList<>();
+            List<Byte> entryReasons = new ArrayList<>();
+
+            Enumeration<?> entries = tbsCertList.getRevokedCertificateEnumeration();
+            while (entries.hasMoreElements()) {
+                TBSCertList.CRLEntry entry = (TBSCertList.CRLEntry) entries.nextElement();
+                Extensions extensions = entry.getExtensions();
+                int reason = -1;
+
+                if (extensions != null) {
+                    // the certificate issuer applies to this and all following entries
+                    Extension issuerExtension = extensions.getExtension(Extension.certificateIssuer);
+                    if (issuerExtension != null) {
+                        certificateIssuer = getDirectoryName(issuerExtension);
+                    }
+
+                    Extension reasonExtension = extensions.getExtension(Extension.reasonCode);
+                    if (reasonExtension != null) {
+                        reason = CRLReason.getInstance(reasonExtension.getParsedValue()).getValue().intValue();
+                    }
+                }
+
+                if (!crlIssuer.equals(certificateIssuer)) {
+                    continue;
+                }
+
+                keys.add(entry.getUserCertificate().getValue().toByteArray());
+                dates.add(toMillis(entry.getRevocationDate()));
+                entryReasons.add((byte) reason);
+            }
+
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> compare(keys.get(a), keys.get(b)));
+
+            int length = 0;
+            for (byte[] key : keys) {
+                length += key.length;
+            }
+
+            byte[] serials = new byte[length];
+            int[] offsets = new int[order.length + 1];
+            long[] revocationDates = new long[order.length];
+            byte[] reasons = new byte[order.length];
+
+            int count = 0;
+            byte[] last = null;
+            for (int i : order) {
+                byte[] key = keys.get(i);
+
+                // a serial number listed twice keeps its first entry, the sort is stable
+                if (last != null && compare(last, key) == 0) {
+                    continue;
+                }
+                last = key;
+
+                System.arraycopy(key, 0, serials, offsets[count], key.length);
+                offsets[count + 1] = offsets[count] + key.length;
+                revocationDates[count] = dates.get(i);
+                reasons[count] = entryReasons.get(i);
+                count++;
+            }
+
+            Date nextUpdate = (tbsCertList.getNextUpdate() != null) ? tbsCertList.getNextUpdate().getDate() : null;
+
+            return new IndexedCrl(new X500Principal(crlIssuer.getEncoded()), tbsCertList.getThisUpdate().getDate(),
+                                  nextUpdate, Arrays.copyOf(serials, offsets[count]),
+                                  Arrays.copyOf(offsets, count + 1), Arrays.copyOf(revocationDates, count),
+                                  Arrays.copyOf(reasons, count));
+        } catch (Exception ex) {
+            throw new CryptoException(res.getString("NoIndexCrl.exception.message"), ex);
+        }
+    }
+
+    static long toMillis(Time time) throws IOException {
+        byte[] encoded = time.toASN1Primitive().getEncoded(ASN1Encoding.DER);
+        int length = encoded.length - 2;
+
+        // parsing the DER forms "YYMMDDHHMMSSZ" and "YYYYMMDDHHMMSSZ" directly is much faster than Time.getDate()
+        if ((length == 13 || length == 15) && encoded[encoded.length - 1] == 'Z') {
+            int pos = 2;
+            int year;
+            if (length == 13) {
+                year = digits(encoded, pos, 2);
+                year += (year < 50) ? 2000 : 1900;
+                pos += 2;
+            } else {
+                year = digits(encoded, pos, 4);
+                pos += 4;
+            }
+
+            int month = digits(encoded, pos, 2);
+            int day = digits(encoded, pos + 2, 2);
+            int hour = digits(encoded, pos + 4, 2);
+            int minute = digits(encoded, pos + 6, 2);
+            int second = digits(encoded, pos + 8, 2);
+
+            if (month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute, second).toEpochSecond(ZoneOffset.UTC) *
+                           1000;
+                } catch (DateTimeException ex) {
+                    // fall through
+                }
+            }
+        }
+
+        return time.getDate().getTime();
+    }
+
+    private static int digits(byte[] data, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static X500Name getDirectoryName(Extension issuerExtension) {
+        for (GeneralName name : GeneralNames.getInstance(issuerExtension.getParsedValue()).getNames()) {
+            if (name.getTagNo() == GeneralName.directoryName) {
+                return X500Name.getInstance(name.getName());
+            }
+        }
+        return null;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        return compare(a, 0, a.length, b, 0, b.length);
+    }
+
+    private static int compare(byte[] a, int aOffset, int aLength, byte[] b, int bOffset, int bLength) {
+        if (aLength != bLength) {
+            return Integer.compare(aLength, bLength);
+        }
+        return Arrays.compareUnsigned(a, aOffset, aOffset + aLength, b, bOffset, bOffset + bLength);
+    }
+
+    /**
+     * Look up the entry of a serial number.
+     *
+     * @param serialNumber Serial number of a certificate of the CRL issuer
+     * @return The entry or null if the serial number is not on the CRL
+     */
+    public Entry lookup(BigInteger serialNumber) {
+        byte[] key = serialNumber.toByteArray();
+
+        int low = 0;
+        int high = revocationDates.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(serials, offsets[mid], offsets[mid + 1] - offsets[mid], key, 0, key.length);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return new Entry(serialNumber, revocationDates[mid], reasons[mid]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the issuer of the CRL.
+     *
+     * @return Issuer
+     */
+    public X500Principal getIssuer() {
+        return issuer;
+    }
+
+    /**
+     * Get the issue date of the CRL.
+     *
+     * @return This update
+     */
+    public Date getThisUpdate() {
+        return thisUpdate;
+    }
+
+    /**
+     * Get the date by which the next CRL will be issued.
+     *
+     * @return Next update or null if the CRL does not announce one
+     */
+    public Date getNextUpdate() {
+        return nextUpdate;
+    }
+
+    /**
+     * Is the CRL current at the supplied date, i.e. issued before it and not superseded by the next CRL?
+     *
+     * @param date The date
+     * @return True if it is current
+     */
+    public boolean isCurrent(Date date) {
+        return !thisUpdate.after(date) && (nextUpdate == null || nextUpdate.after(date));
+    }
+
+    /**
+     * Get the number of indexed entries.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return revocationDates.length;
+    }
+
+    /**
+     * A revoked certificate.
+     */
+    public static final class Entry {
+        private final BigInteger serialNumber;
+        private final long revocationDate;
+        private final int reason;
+
+        Entry(BigInteger serialNumber, long revocationDate, int reason) {
+            this.serialNumber = serialNumber;
+            this.revocationDate = revocationDate;
+            this.reason = reason;
+        }
+
+        /**
+         * Get the serial number of the revoked certificate.
+         *
+         * @return Serial number
+         */
+        public BigInteger getSerialNumber() {
+            return serialNumber;
+        }
+
+        /**
+         * Get the revocation date.
+         *
+         * @return Revocation date
+         */
+        public Date getRevocationDate() {
+            return new Date(revocationDate);
+        }
+
+        /**
+         * Get the revocation reason.
+         *
+         * @return One of the CRLReason constants or -1 if the entry has no reason
+         */
+        public int getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,622 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.csr;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequest;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.csr.pkcs10.Pkcs10Util;
+import org.kse.crypto.csr.spkac.Spkac;
+import org.kse.crypto.filetype.CryptoFileType;
+import org.kse.crypto.filetype.CryptoFileUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X500NameUtils;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.crypto.x509.X509ExtensionSet;
+import org.kse.crypto.x509.X509ExtensionSetUpdater;
+import org.kse.utilities.SerialNumbers;
+import org.kse.utilities.io.FileNameUtil;
+
+/**
+ * Signs many CSRs with one CA key and one certificate template (version, validity, extensions and signature type).
+ * <p>
+ * The requests are parsed, verified and signed on a pool of worker threads. Requests are read lazily and only a few
+ * of them per worker are in progress at any time, results are passed to a {@link ResultHandler} on the calling
+ * thread as soon as they are available. A batch of any size therefore needs little memory.
+ * <p>
+ * All workers share the CA private key, each certificate is signed with its own signature engine. Keys of an
+ * explicit provider (PKCS#11 token, Windows key store) are only used by one worker at a time, because their
+ * handles are bound to provider sessions.
+ */
+public class CsrBatchSigner {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/csr/resources");
+
+    private static final String PEM_BEGIN = "-----BEGIN ";
+    private static final String PEM_END = "-----END ";
+
+    // requests in progress per worker, bounds the memory used for large batches
+    private static final int REQUESTS_PER_WORKER = 4;
+
+    /**
+     * Outcome of signing a single CSR.
+     */
+    public enum Status {
+        /** Certificate issued */
+        SIGNED,
+        /** The CSR's signature is invalid */
+        REJECTED,
+        /** The CSR could not be read or the certificate could not be generated */
+        FAILED
+    }
+
+    /**
+     * A CSR to sign.
+     */
+    public static final class Request {
+        private final String name;
+        private final byte[] data;
+
+        /**
+         * Construct a request.
+         *
+         * @param name Name of the request, e.g. the file name
+         * @param data PKCS#10 CSR (PEM or DER) or SPKAC
+         */
+        public Request(String name, byte[] data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        /**
+         * Get the name of the request.
+         *
+         * @return Name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Result of signing a single CSR.
+     */
+    public static final class Result {
+        private final String name;
+        private final Status status;
+        private final X509Certificate certificate;
+        private final String message;
+
+        private Result(String name, Status status, X509Certificate certificate, String message) {
+            this.name = name;
+            this.status = status;
+            this.certificate = certificate;
+            this.message = message;
+        }
+
+        /**
+         * Get the name of the request.
+         *
+         * @return Name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the outcome.
+         *
+         * @return Status
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Get the issued certificate.
+         *
+         * @return Certificate or null if none was issued
+         */
+        public X509Certificate getCertificate() {
+            return certificate;
+        }
+
+        /**
+         * Get the reason why no certificate was issued.
+         *
+         * @return Message or null if a certificate was issued
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Receives the results of a batch on the thread that runs the batch, in the order the requests are finished.
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+        /**
+         * Handle the result of a request.
+         *
+         * @param result The result
+         * @throws IOException If the result could not be written, this stops the batch
+         */
+        void handle(Result result) throws IOException;
+    }
+
+    /**
+     * Counts of a finished batch.
+     */
+    public static final class Summary {
+        private final int signed;
+        private final int rejected;
+        private final int failed;
+        private final long elapsed;
+
+        private Summary(int signed, int rejected, int failed, long elapsed) {
+            this.signed = signed;
+            this.rejected = rejected;
+            this.failed = failed;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the number of issued certificates.
+         *
+         * @return Number of certificates
+         */
+        public int getSigned() {
+            return signed;
+        }
+
+        /**
+         * Get the number of CSRs with an invalid signature.
+         *
+         * @return Number of CSRs
+         */
+        public int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Get the number of CSRs that could not be processed.
+         *
+         * @return Number of CSRs
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Get the duration of the batch.
+         *
+         * @return Duration in msecs
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+
+    private final PrivateKey privateKey;
+    private final X509Certificate signingCert;
+    private final SignatureType signatureType;
+    private final Provider provider;
+    private X509CertificateVersion version = X509CertificateVersion.VERSION3;
+    private long validity = TimeUnit.DAYS.toMillis(365);
+    private X509ExtensionSet extensions = new X509ExtensionSet();
+    private boolean transferCsrExtensions;
+    private int serialNumberLength = 20;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Construct a batch signer.
+     *
+     * @param privateKey    CA private key
+     * @param signingCert   CA certificate, its subject becomes the issuer of the certificates
+     * @param signatureType Signature type
+     * @param provider      Explicit provider of the private key, null for software keys
+     */
+    public CsrBatchSigner(PrivateKey privateKey, X509Certificate signingCert, SignatureType signatureType,
+                          Provider provider) {
+        this.privateKey = privateKey;
+        this.signingCert = signingCert;
+        this.signatureType = signatureType;
+        this.provider = provider;
+    }
+
+    /**
+     * Set the version of the issued certificates, version 3 by default.
+     *
+     * @param version Certificate version
+     */
+    public void setVersion(X509CertificateVersion version) {
+        this.version = version;
+    }
+
+    /**
+     * Set the validity of the issued certificates, which starts when the batch starts. One year by default.
+     *
+     * @param validity Validity period in msecs
+     */
+    public void setValidity(long validity) {
+        this.validity = validity;
+    }
+
+    /**
+     * Set the extensions of the issued certificates. Subject and authority key identifiers are recalculated for
+     * every certificate.
+     *
+     * @param extensions Extensions template
+     */
+    public void setExtensions(X509ExtensionSet extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * Also add the extensions requested in PKCS#10 CSRs, as far as the template does not contain them.
+     *
+     * @param transferCsrExtensions True to add requested extensions
+     */
+    public void setTransferCsrExtensions(boolean transferCsrExtensions) {
+        this.transferCsrExtensions = transferCsrExtensions;
+    }
+
+    /**
+     * Set the length of the random serial numbers.
+     *
+     * @param serialNumberLength Length in bytes, between 8 and 20
+     */
+    public void setSerialNumberLength(int serialNumberLength) {
+        this.serialNumberLength = serialNumberLength;
+    }
+
+    /**
+     * Set the number of worker threads, by default the number of processors.
+     *
+     * @param threads Number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sign all CSRs of a directory or a PEM bundle.
+     * <p>
+     * Requests of a directory are named after their file, those of a bundle after the bundle file without
+     * extension and their position, e.g. <code>bundle-1</code>.
+     *
+     * @param input   Directory with one CSR per file or a file with one or more PEM encoded PKCS#10 CSRs
+     * @param handler Receives the result of each CSR
+     * @return Summary of the batch
+     * @throws IOException          If the input could not be read or the handler failed
+     * @throws InterruptedException If the calling thread was interrupted
+     */
+    public Summary sign(File input, ResultHandler handler) throws IOException, InterruptedException {
+        if (input.isDirectory()) {
+            return sign(new DirectoryReader(input), handler);
+        }
+
+        try (BundleReader reader = new BundleReader(input)) {
+            return sign(reader, handler);
+        }
+    }
+
+    /**
+     * Sign the supplied CSRs.
+     *
+     * @param requests CSRs, read lazily
+     * @param handler  Receives the result of each CSR
+     * @return Summary of the batch
+     * @throws IOException          If a request could not be read or the handler failed
+     * @throws InterruptedException If the calling thread was interrupted
+     */
+    public Summary sign(Iterator<Request> requests, ResultHandler handler) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        Date validityStart = new Date(start);
+        Date validityEnd = new Date(start + validity);
+
+        X509CertificateGenerator generator = new X509CertificateGenerator(version);
+        int[] counts = new int[Status.values().length];
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "kse-csr-signer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+            int maxInProgress = threads * REQUESTS_PER_WORKER;
+            int inProgress = 0;
+
+            while (hasNext(requests)) {
+                if (inProgress == maxInProgress) {
+                    handle(completionService, handler, counts);
+                    inProgress--;
+                }
+
+                Request request = next(requests);
+                completionService.submit(() -> sign(request, generator, validityStart, validityEnd));
+                inProgress++;
+            }
+
+            for (; inProgress > 0; inProgress--) {
+                handle(completionService, handler, counts);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Summary(counts[Status.SIGNED.ordinal()], counts[Status.REJECTED.ordinal()],
+                           counts[Status.FAILED.ordinal()], System.currentTimeMillis() - start);
+    }
+
+    private static boolean hasNext(Iterator<Request> requests) throws IOException {
+        try {
+            return requests.hasNext();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Request next(Iterator<Request> requests) throws IOException {
+        try {
+            return requests.next();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static void handle(CompletionService<Result> completionService, ResultHandler handler, int[] counts)
+            throws IOException, InterruptedException {
+        Result result;
+        try {
+            result = completionService.take().get();
+        } catch (ExecutionException ex) {
+            // sign(Request) reports all exceptions as results
+            throw new IllegalStateException(ex.getCause());
+        }
+
+        counts[result.getStatus().ordinal()]++;
+        handler.handle(result);
+    }
+
+    private Result sign(Request request, X509CertificateGenerator generator, Date validityStart, Date validityEnd) {
+        try {
+            X500Name subject;
+            PublicKey publicKey;
+            X509ExtensionSet certExtensions = (X509ExtensionSet) extensions.clone();
+
+            CryptoFileType fileType = CryptoFileUtil.detectFileType(request.data);
+
+            if (fileType == CryptoFileType.PKCS10_CSR) {
+                PKCS10CertificationRequest pkcs10Csr = Pkcs10Util.loadCsr(request.data);
+
+                if (!Pkcs10Util.verifyCsr(pkcs10Csr)) {
+                    return new Result(request.name, Status.REJECTED, null,
+                                      res.getString("CsrBatchSigner.NoVerifyCsr.message"));
+                }
+
+                subject = pkcs10Csr.getSubject();
+                publicKey = new JcaPKCS10CertificationRequest(pkcs10Csr).getPublicKey();
+
+                if (transferCsrExtensions) {
+                    addMissing(certExtensions, Pkcs10Util.getExtensions(pkcs10Csr));
+                }
+            } else if (fileType == CryptoFileType.SPKAC_CSR) {
+                Spkac spkacCsr = new Spkac(request.data);
+
+                if (!spkacCsr.verify()) {
+                    return new Result(request.name, Status.REJECTED, null,
+                                      res.getString("CsrBatchSigner.NoVerifyCsr.message"));
+                }
+
+                subject = spkacCsr.getSubject().getName();
+                publicKey = spkacCsr.getPublicKey();
+            } else {
+                return new Result(request.name, Status.FAILED, null, res.getString("CsrBatchSigner.NotCsr.message"));
+            }
+
+            X500Name issuer = X500NameUtils.x500PrincipalToX500Name(signingCert.getSubjectX500Principal());
+
+            // key identifiers of the template belong to another subject key
+            X509ExtensionSetUpdater.update(certExtensions, publicKey, signingCert.getPublicKey(), issuer,
+                                           signingCert.getSerialNumber());
+
+            BigInteger serialNumber = SerialNumbers.generate(serialNumberLength);
+
+            X509Certificate certificate;
+            if (provider == null) {
+                certificate = generator.generate(subject, issuer, validityStart, validityEnd, publicKey, privateKey,
+                                                 signatureType, serialNumber, certExtensions, null);
+            } else {
+                synchronized (privateKey) {
+                    certificate = generator.generate(subject, issuer, validityStart, validityEnd, publicKey,
+                                                     privateKey, signatureType, serialNumber, certExtensions,
+                                                     provider);
+                }
+            }
+
+            return new Result(request.name, Status.SIGNED, certificate, null);
+        } catch (Exception ex) {
+            String message = ex.getMessage();
+            return new Result(request.name, Status.FAILED, null,
+                              (message != null) ? message : ex.getClass().getSimpleName());
+        }
+    }
+
+    private static void addMissing(X509ExtensionSet extensions, X509ExtensionSet csrExtensions) {
+        for (String oid : csrExtensions.getCriticalExtensionOIDs()) {
+            if (extensions.getExtensionValue(oid) == null) {
+                extensions.addExtension(oid, true, csrExtensions.getExtensionValue(oid));
+            }
+        }
+        for (String oid : csrExtensions.getNonCriticalExtensionOIDs()) {
+            if (extensions.getExtensionValue(oid) == null) {
+                extensions.addExtension(oid, false, csrExtensions.getExtensionValue(oid));
+            }
+        }
+    }
+
+    /**
+     * Reads the files of a directory in name order, one CSR per file.
+     */
+    private static class DirectoryReader implements Iterator<Request> {
+        private final File[] files;
+        private int index;
+
+        DirectoryReader(File dir) throws IOException {
+            File[] listed = dir.listFiles(File::isFile);
+            if (listed == null) {
+                throw new IOException(MessageFormat.format(res.getString("CsrBatchSigner.NoReadInput.message"), dir));
+            }
+            Arrays.sort(listed, Comparator.comparing(File::getName));
+            files = listed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < files.length;
+        }
+
+        @Override
+        public Request next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            File file = files[index++];
+            try {
+                // with extension, a.csr and a.pem are different requests
+                return new Request(file.getName(), Files.readAllBytes(file.toPath()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the PEM blocks of a file one at a time. A file without PEM blocks is a single DER or SPKAC request.
+     */
+    private static class BundleReader implements Iterator<Request>, AutoCloseable {
+        private final File file;
+        private final String baseName;
+        private final BufferedReader reader;
+        private Request next;
+        private int count;
+        private boolean done;
+
+        BundleReader(File file) throws IOException {
+            this.file = file;
+            this.baseName = FileNameUtil.removeExtension(file.getName());
+            // Latin-1 maps every byte, so that DER files can be read as well
+            this.reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()),
+                                                                   StandardCharsets.ISO_8859_1));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readNext();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                done = (next == null);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Request next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Request request = next;
+            next = null;
+            return request;
+        }
+
+        private Request readNext() throws IOException {
+            StringBuilder block = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+
+                if (block == null) {
+                    if (trimmed.startsWith(PEM_BEGIN)) {
+                        block = new StringBuilder();
+                        block.append(trimmed).append('\n');
+                    }
+                } else {
+                    block.append(trimmed).append('\n');
+
+                    if (trimmed.startsWith(PEM_END)) {
+                        count++;
+                        return new Request(baseName + "-" + count,
+                                           block.toString().getBytes(StandardCharsets.US_ASCII));
+                    }
+                }
+            }
+
+            if (count == 0) {
+                // no PEM blocks, the whole file is a single request
+                count++;
+                return new Request(baseName, Files.readAllBytes(file.toPath()));
+            }
+
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
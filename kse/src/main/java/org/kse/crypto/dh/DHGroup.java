@@ -0,0 +1,80 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.dh;
+
+import org.bouncycastle.crypto.agreement.DHStandardGroups;
+import org.bouncycastle.crypto.params.DHParameters;
+
+/**
+ * Enumeration of the finite field Diffie-Hellman groups of RFC 7919. Unlike generated parameters they are available
+ * immediately and are widely supported by TLS implementations.
+ */
+public enum DHGroup {
+    FFDHE2048("ffdhe2048", DHStandardGroups.rfc7919_ffdhe2048),
+    FFDHE3072("ffdhe3072", DHStandardGroups.rfc7919_ffdhe3072),
+    FFDHE4096("ffdhe4096", DHStandardGroups.rfc7919_ffdhe4096),
+    FFDHE6144("ffdhe6144", DHStandardGroups.rfc7919_ffdhe6144),
+    FFDHE8192("ffdhe8192", DHStandardGroups.rfc7919_ffdhe8192);
+
+    private final String name;
+    private final DHParameters parameters;
+
+    DHGroup(String name, DHParameters parameters) {
+        this.name = name;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Get the group name as used in RFC 7919.
+     *
+     * @return Group name
+     */
+    public String groupName() {
+        return name;
+    }
+
+    /**
+     * Get the group's DH parameters.
+     *
+     * @return DH parameters
+     */
+    public DHParameters parameters() {
+        return parameters;
+    }
+
+    /**
+     * Get the size of the group's prime.
+     *
+     * @return Size in bits
+     */
+    public int bitLength() {
+        return parameters.getP().bitLength();
+    }
+
+    /**
+     * Returns the group name with its origin.
+     *
+     * @return String representation of the group
+     */
+    @Override
+    public String toString() {
+        return name + " (RFC 7919)";
+    }
+}
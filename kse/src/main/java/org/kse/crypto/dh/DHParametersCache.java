@@ -0,0 +1,228 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.dh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.crypto.params.DHParameters;
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.io.pem.PemObject;
+import org.bouncycastle.util.io.pem.PemReader;
+import org.kse.crypto.CryptoException;
+import org.kse.utilities.pem.PemInfo;
+import org.kse.utilities.pem.PemUtil;
+
+/**
+ * Local cache of generated DH parameters, one set per prime size. The parameters are stored as "DH PARAMETERS" PEM
+ * blocks in a file, so that generating large parameters only takes long the first time. Parameters read from the
+ * file are checked once per session to be a safe prime group before they are served.
+ * <p>
+ * The cache is disabled until a file is set.
+ */
+public final class DHParametersCache {
+    private static final String PEM_TYPE = "DH PARAMETERS";
+
+    private final Map<Integer, DHParameters> cache = new TreeMap<>();
+    private final Set<Integer> validated = new HashSet<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private File file;
+    private boolean loaded;
+
+    /**
+     * Set the file the parameters are stored in. Parameters are read from it when first needed.
+     *
+     * @param file Cache file, null to disable the cache
+     */
+    public synchronized void setFile(File file) {
+        this.file = file;
+        cache.clear();
+        validated.clear();
+        loaded = false;
+    }
+
+    /**
+     * Get the file the parameters are stored in.
+     *
+     * @return Cache file, null if the cache is disabled
+     */
+    public synchronized File getFile() {
+        return file;
+    }
+
+    /**
+     * Get cached parameters of the supplied size. Checking parameters that were read from the cache file takes a
+     * moment for large primes, this is done only once for each size.
+     *
+     * @param keySize Size of the prime in bits
+     * @return DH parameters or null if there are none or the cache is disabled
+     */
+    public DHParameters get(int keySize) {
+        DHParameters dhParameters;
+
+        synchronized (this) {
+            if (file == null) {
+                return null;
+            }
+            load();
+
+            dhParameters = cache.get(keySize);
+
+            if (dhParameters != null && validated.contains(keySize)) {
+                hits.incrementAndGet();
+                return dhParameters;
+            }
+        }
+
+        if (dhParameters != null && DHParametersUtil.isSafePrimeGroup(dhParameters)) {
+            synchronized (this) {
+                validated.add(keySize);
+            }
+            hits.incrementAndGet();
+            return dhParameters;
+        }
+
+        if (dhParameters != null) {
+            // damaged or manipulated cache file
+            synchronized (this) {
+                if (cache.remove(keySize, dhParameters)) {
+                    store();
+                }
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Add generated parameters to the cache, replacing parameters of the same size.
+     *
+     * @param dhParameters DH parameters with a safe prime
+     */
+    public synchronized void put(DHParameters dhParameters) {
+        if (file == null) {
+            return;
+        }
+        load();
+
+        int keySize = dhParameters.getP().bitLength();
+        cache.put(keySize, dhParameters);
+        validated.add(keySize);
+
+        store();
+    }
+
+    /**
+     * Discard all cached parameters, delete the cache file and reset the counters.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        validated.clear();
+        hits.set(0);
+        misses.set(0);
+
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Get the number of cached parameter sets.
+     *
+     * @return Number of parameter sets
+     */
+    public synchronized int size() {
+        if (file != null) {
+            load();
+        }
+        return cache.size();
+    }
+
+    /**
+     * Get the number of requests that were served from the cache.
+     *
+     * @return Number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests for which there were no valid cached parameters.
+     *
+     * @return Number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!file.isFile()) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.US_ASCII);
+             PemReader pemReader = new PemReader(reader)) {
+            PemObject pemObject;
+
+            while ((pemObject = pemReader.readPemObject()) != null) {
+                if (PEM_TYPE.equals(pemObject.getType())) {
+                    DHParameters dhParameters = DHParametersUtil.decode(pemObject.getContent());
+                    cache.put(dhParameters.getP().bitLength(), dhParameters);
+                }
+            }
+        } catch (IOException | DecoderException | CryptoException ex) {
+            // Ignore - parameters that could not be read are generated again and replace the damaged file
+        }
+    }
+
+    private void store() {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            for (DHParameters dhParameters : cache.values()) {
+                sb.append(PemUtil.encode(new PemInfo(PEM_TYPE, null, DHParametersUtil.getEncoded(dhParameters))));
+            }
+
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+            Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException | CryptoException ex) {
+            // Ignore - the cache only saves time
+        }
+    }
+}
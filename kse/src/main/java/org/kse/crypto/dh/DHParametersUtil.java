@@ -0,0 +1,291 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.dh;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.pkcs.DHParameter;
+import org.bouncycastle.crypto.params.DHParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.PrimeCertaintyCalculator;
+import org.bouncycastle.math.ec.WNafUtil;
+import org.kse.crypto.CryptoException;
+
+/**
+ * Provides utility methods relating to Diffie-Hellman parameters.
+ */
+public final class DHParametersUtil {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/dh/resources");
+
+    /** Minimum size of generated parameters */
+    public static final int MIN_KEY_SIZE = 512;
+
+    // generator 2, as used by OpenSSL
+    private static final BigInteger GENERATOR = BigInteger.valueOf(2);
+
+    // odd primes below this bound are used to sieve candidates before any primality test
+    private static final int SIEVE_BOUND = 1 << 14;
+
+    // number of candidates sieved from one random starting point
+    private static final int SIEVE_WINDOW = 1 << 18;
+
+    // candidates for q are 11 mod 12, so that p = 2q + 1 is 23 mod 24 and 2 generates the subgroup of order q
+    private static final int CANDIDATE_STEP = 12;
+    private static final int CANDIDATE_RESIDUE = 11;
+
+    private static final int[] SMALL_PRIMES = smallPrimes();
+
+    private static final int SEARCHES = Runtime.getRuntime().availableProcessors();
+
+    private static final ExecutorService SEARCHERS = Executors.newFixedThreadPool(SEARCHES, runnable -> {
+        Thread thread = new Thread(runnable, "kse-dh-parameters");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private static final DHParametersCache CACHE = new DHParametersCache();
+
+    private DHParametersUtil() {
+    }
+
+    /**
+     * Get the cache of generated DH parameters.
+     *
+     * @return The cache, disabled until a file is set
+     */
+    public static DHParametersCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Get DH parameters with a safe prime of the supplied size. Parameters of that size from the cache are validated
+     * and returned immediately, otherwise new parameters are generated on all cores and added to the cache.
+     *
+     * @param keySize Size of the prime in bits
+     * @return DH parameters with generator 2
+     * @throws CryptoException      If there was a problem generating the parameters
+     * @throws InterruptedException If the calling thread was interrupted, the search is then stopped
+     */
+    public static DHParameters generateDHParameters(int keySize) throws CryptoException, InterruptedException {
+        DHParameters dhParameters = CACHE.get(keySize);
+
+        if (dhParameters == null) {
+            dhParameters = generateSafePrimeParameters(keySize, SEARCHES);
+            CACHE.put(dhParameters);
+        }
+
+        return dhParameters;
+    }
+
+    /**
+     * Generate DH parameters with a safe prime of the supplied size. The supplied number of independent searches run
+     * in parallel, the remaining searches are cancelled as soon as one of them has found a safe prime.
+     *
+     * @param keySize  Size of the prime in bits
+     * @param searches Number of parallel searches
+     * @return DH parameters with generator 2
+     * @throws CryptoException      If there was a problem generating the parameters
+     * @throws InterruptedException If the calling thread was interrupted, the search is then stopped
+     */
+    public static DHParameters generateSafePrimeParameters(int keySize, int searches)
+            throws CryptoException, InterruptedException {
+        if (keySize < MIN_KEY_SIZE) {
+            throw new CryptoException(
+                    MessageFormat.format(res.getString("InvalidDHKeySize.exception.message"),
+                                         Integer.toString(keySize), Integer.toString(MIN_KEY_SIZE)));
+        }
+
+        int certainty = PrimeCertaintyCalculator.getDefaultCertainty(keySize);
+
+        List<Callable<BigInteger>> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, searches); i++) {
+            tasks.add(() -> searchSafePrime(keySize, certainty, new SecureRandom()));
+        }
+
+        try {
+            // cancels and interrupts the other searches when the first one completes or this thread is interrupted
+            BigInteger p = SEARCHERS.invokeAny(tasks);
+            return new DHParameters(p, GENERATOR, p.shiftRight(1));
+        } catch (ExecutionException ex) {
+            throw new CryptoException(
+                    MessageFormat.format(res.getString("NoGenerateDHParameters.exception.message"),
+                                         Integer.toString(keySize)),
+                    ex.getCause());
+        }
+    }
+
+    /**
+     * Search a safe prime p = 2q + 1 of the supplied size. Candidates for q are taken from a window of numbers
+     * congruent to 11 mod 12 after a random starting point. For p = 23 mod 24, as used by OpenSSL, 2 is a quadratic
+     * residue and therefore generates the subgroup of prime order q rather than the whole group of order 2q.
+     * Candidates where q or p has a small factor are sieved out using the residues of the starting point, the rest get
+     * a cheap Fermat test before the full primality tests.
+     */
+    private static BigInteger searchSafePrime(int keySize, int certainty, SecureRandom random)
+            throws InterruptedException {
+        int qLength = keySize - 1;
+        int minWeight = keySize >>> 2;
+        int[] residues = new int[SMALL_PRIMES.length];
+
+        while (true) {
+            BigInteger start = new BigInteger(qLength, random).setBit(qLength - 1);
+            start = start.subtract(start.mod(BigInteger.valueOf(CANDIDATE_STEP)))
+                         .add(BigInteger.valueOf(CANDIDATE_RESIDUE));
+
+            for (int i = 0; i < SMALL_PRIMES.length; i++) {
+                residues[i] = start.mod(BigInteger.valueOf(SMALL_PRIMES[i])).intValue();
+            }
+
+            for (int offset = 0; offset < SIEVE_WINDOW * CANDIDATE_STEP; offset += CANDIDATE_STEP) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+
+                if (!passesSieve(residues, offset)) {
+                    continue;
+                }
+
+                BigInteger q = start.add(BigInteger.valueOf(offset));
+                if (q.bitLength() != qLength) {
+                    break;
+                }
+
+                BigInteger p = q.shiftLeft(1).setBit(0);
+
+                if (!passesFermatTest(q) || !passesFermatTest(p)) {
+                    continue;
+                }
+
+                if (q.isProbablePrime(certainty) && p.isProbablePrime(certainty) &&
+                    WNafUtil.getNafWeight(p) >= minWeight) {
+                    return p;
+                }
+            }
+        }
+    }
+
+    private static boolean passesSieve(int[] residues, int offset) {
+        for (int i = 0; i < SMALL_PRIMES.length; i++) {
+            int prime = SMALL_PRIMES[i];
+            int qResidue = (residues[i] + offset) % prime;
+
+            // q or 2q + 1 divisible by the small prime
+            if (qResidue == 0 || (2 * qResidue + 1) % prime == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean passesFermatTest(BigInteger n) {
+        return GENERATOR.modPow(n.subtract(BigInteger.ONE), n).equals(BigInteger.ONE);
+    }
+
+    private static int[] smallPrimes() {
+        BitSet composite = new BitSet(SIEVE_BOUND);
+        List<Integer> primes = new ArrayList<>();
+
+        for (int i = 3; i < SIEVE_BOUND; i += 2) {
+            if (!composite.get(i)) {
+                primes.add(i);
+                for (int j = i * i; j < SIEVE_BOUND; j += 2 * i) {
+                    composite.set(j);
+                }
+            }
+        }
+
+        return primes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Check that the supplied parameters have a safe prime modulus and a generator of the subgroup of prime order.
+     *
+     * @param dhParameters DH parameters
+     * @return True if p and q = (p - 1) / 2 are prime, 1 &lt; g &lt; p - 1 and g^q = 1 mod p
+     */
+    public static boolean isSafePrimeGroup(DHParameters dhParameters) {
+        BigInteger p = dhParameters.getP();
+        BigInteger g = dhParameters.getG();
+
+        if (p.bitLength() < MIN_KEY_SIZE || !p.testBit(0) || g.compareTo(BigInteger.ONE) <= 0 ||
+            g.compareTo(p.subtract(BigInteger.ONE)) >= 0) {
+            return false;
+        }
+
+        int certainty = PrimeCertaintyCalculator.getDefaultCertainty(p.bitLength());
+        BigInteger q = p.shiftRight(1);
+
+        // otherwise g has order 2q, and public keys fail the subgroup check y^q = 1 mod p
+        if (!g.modPow(q, p).equals(BigInteger.ONE)) {
+            return false;
+        }
+
+        return passesFermatTest(p) && q.isProbablePrime(certainty) && p.isProbablePrime(certainty);
+    }
+
+    /**
+     * DER encode DH parameters as a PKCS#3 DHParameter structure, the format used by OpenSSL.
+     *
+     * @param dhParameters DH parameters
+     * @return DER encoding
+     * @throws CryptoException If there was a problem encoding the parameters
+     */
+    public static byte[] getEncoded(DHParameters dhParameters) throws CryptoException {
+        try {
+            ASN1EncodableVector vec = new ASN1EncodableVector();
+            vec.add(new ASN1Integer(dhParameters.getP()));
+            vec.add(new ASN1Integer(dhParameters.getG()));
+            return new DERSequence(vec).getEncoded(ASN1Encoding.DER);
+        } catch (IOException ex) {
+            throw new CryptoException(res.getString("NoEncodeDHParameters.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Decode DER encoded DH parameters.
+     *
+     * @param encoded PKCS#3 DHParameter structure
+     * @return DH parameters
+     * @throws CryptoException If the encoding is invalid
+     */
+    public static DHParameters decode(byte[] encoded) throws CryptoException {
+        try {
+            DHParameter dhParameter = DHParameter.getInstance(encoded);
+            return new DHParameters(dhParameter.getP(), dhParameter.getG());
+        } catch (IllegalArgumentException ex) {
+            throw new CryptoException(res.getString("NoDecodeDHParameters.exception.message"), ex);
+        }
+    }
+}
@@ -21,14 +21,23 @@ package org.kse.crypto.digest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.commons.io.IOUtils;
 import org.kse.crypto.CryptoException;
 import org.kse.utilities.io.HexUtil;
+import org.kse.utilities.io.ProgressListener;
 
 /**
  * Provides utility methods for the creation of message digests.
@@ -36,6 +45,13 @@ import org.kse.utilities.io.HexUtil;
 public final class DigestUtil {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/digest/resources");
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int CHANNEL_BUFFER_SIZE = 1024 * 1024;
+
+    // MessageDigest instances are not thread-safe, but creating them goes through the provider lookup every time
+    private static final ThreadLocal<Map<DigestType, MessageDigest>> DIGESTERS = ThreadLocal.withInitial(
+            () -> new EnumMap<>(DigestType.class));
+
     private DigestUtil() {
     }
 
@@ -48,10 +64,10 @@ public final class DigestUtil {
      * @throws CryptoException If message digester could not be created
      */
     public static byte[] getMessageDigest(InputStream istream, DigestType digestType) throws CryptoException {
-        MessageDigest messageDigester = getMessageDigester(digestType);
+        MessageDigest messageDigester = getPooledMessageDigester(digestType);
 
         try {
-            byte[] buffer = new byte[2048];
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
             int read = 0;
 
             while ((read = istream.read(buffer)) != -1) {
@@ -75,11 +91,184 @@ public final class DigestUtil {
      * @throws CryptoException If message digester could not be created
      */
     public static byte[] getMessageDigest(byte[] message, DigestType digestType) throws CryptoException {
-        MessageDigest messageDigester = getMessageDigester(digestType);
+        MessageDigest messageDigester = getPooledMessageDigester(digestType);
 
         return messageDigester.digest(message);
     }
 
+    /**
+     * Get a digest of a file.
+     *
+     * @param path       File to digest
+     * @param digestType The message digest algorithm
+     * @return The message digest
+     * @throws CryptoException If message digester could not be created or the file could not be read
+     */
+    public static byte[] getMessageDigest(Path path, DigestType digestType) throws CryptoException {
+        return getMessageDigests(path, digestType).get(digestType);
+    }
+
+    /**
+     * Get several digests of a file in a single pass over its content.
+     *
+     * @param path        File to digest
+     * @param digestTypes The message digest algorithms
+     * @return The message digests
+     * @throws CryptoException If a message digester could not be created or the file could not be read
+     */
+    public static Map<DigestType, byte[]> getMessageDigests(Path path, DigestType... digestTypes)
+            throws CryptoException {
+        return getMessageDigests(path, null, digestTypes);
+    }
+
+    /**
+     * Get several digests of a file in a single pass over its content and report the progress.
+     *
+     * @param path        File to digest
+     * @param listener    Listener for the progress of reading the file, may be null
+     * @param digestTypes The message digest algorithms
+     * @return The message digests
+     * @throws CryptoException If a message digester could not be created or the file could not be read
+     */
+    public static Map<DigestType, byte[]> getMessageDigests(Path path, ProgressListener listener,
+                                                            DigestType... digestTypes) throws CryptoException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return getMessageDigests(channel, 0, channel.size(), listener, digestTypes);
+        } catch (IOException ex) {
+            throw new CryptoException(res.getString("NoCreateDigest.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Get several digests of a region of a file channel in a single pass over the data. The position of the
+     * channel is not changed.
+     * <p>
+     * The data is read in large chunks. On multicore machines the next chunk is read while the digests of the
+     * current chunk are calculated, each digest on its own thread.
+     *
+     * @param channel     File channel to digest
+     * @param position    Start of the region
+     * @param size        Size of the region
+     * @param digestTypes The message digest algorithms
+     * @return The message digests
+     * @throws CryptoException If a message digester could not be created or the channel could not be read
+     */
+    public static Map<DigestType, byte[]> getMessageDigests(FileChannel channel, long position, long size,
+                                                            DigestType... digestTypes) throws CryptoException {
+        return getMessageDigests(channel, position, size, null, digestTypes);
+    }
+
+    /**
+     * Get several digests of a region of a file channel in a single pass over the data and report the progress.
+     * The position of the channel is not changed.
+     *
+     * @param channel     File channel to digest
+     * @param position    Start of the region
+     * @param size        Size of the region
+     * @param listener    Listener for the progress of reading the region, may be null
+     * @param digestTypes The message digest algorithms
+     * @return The message digests
+     * @throws CryptoException If a message digester could not be created or the channel could not be read
+     */
+    public static Map<DigestType, byte[]> getMessageDigests(FileChannel channel, long position, long size,
+                                                            ProgressListener listener, DigestType... digestTypes)
+            throws CryptoException {
+        Map<DigestType, MessageDigest> digesters = new EnumMap<>(DigestType.class);
+        for (DigestType digestType : digestTypes) {
+            digesters.put(digestType, getPooledMessageDigester(digestType));
+        }
+        MessageDigest[] messageDigesters = digesters.values().toArray(new MessageDigest[0]);
+
+        try {
+            if (size > CHANNEL_BUFFER_SIZE && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                digestReadAhead(channel, position, size, messageDigesters, listener);
+            } else {
+                digest(channel, position, size, messageDigesters, listener);
+            }
+        } catch (IOException ex) {
+            throw new CryptoException(res.getString("NoCreateDigest.exception.message"), ex);
+        }
+
+        Map<DigestType, byte[]> digests = new EnumMap<>(DigestType.class);
+        for (Map.Entry<DigestType, MessageDigest> entry : digesters.entrySet()) {
+            digests.put(entry.getKey(), entry.getValue().digest());
+        }
+        return digests;
+    }
+
+    private static void digest(FileChannel channel, long position, long size, MessageDigest[] messageDigesters,
+                               ProgressListener listener) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1, Math.min(size, CHANNEL_BUFFER_SIZE)));
+        long start = position;
+        long end = position + size;
+
+        while (position < end) {
+            int read = read(channel, buffer, position, end);
+            for (MessageDigest messageDigester : messageDigesters) {
+                messageDigester.update(buffer.array(), 0, read);
+            }
+            position += read;
+            reportProgress(listener, position - start, size);
+        }
+    }
+
+    private static void digestReadAhead(FileChannel channel, long position, long size,
+                                        MessageDigest[] messageDigesters, ProgressListener listener)
+            throws IOException {
+        ByteBuffer current = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        ByteBuffer next = ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[messageDigesters.length];
+        long start = position;
+        long end = position + size;
+
+        int read = read(channel, current, position, end);
+        position += read;
+
+        while (read > 0) {
+            // every digester is only ever used by one task at a time, join() makes its state visible again
+            byte[] data = current.array();
+            int length = read;
+            for (int i = 0; i < messageDigesters.length; i++) {
+                MessageDigest messageDigester = messageDigesters[i];
+                tasks[i] = ForkJoinPool.commonPool().submit(() -> messageDigester.update(data, 0, length));
+            }
+
+            try {
+                read = (position < end) ? read(channel, next, position, end) : 0;
+                position += read;
+            } finally {
+                for (ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+            }
+
+            reportProgress(listener, position - start, size);
+
+            ByteBuffer swap = current;
+            current = next;
+            next = swap;
+        }
+    }
+
+    private static void reportProgress(ProgressListener listener, long processed, long total) {
+        if (listener != null) {
+            listener.progress(processed, total);
+        }
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer, long position, long end) throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), end - position));
+
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.position();
+    }
+
     /**
      * Get the digest of a message as a formatted String. Returned in base-16
      * with ':' separators every two characters padded with a leading 0 if
@@ -111,4 +300,21 @@ public final class DigestUtil {
                     MessageFormat.format(res.getString("NoCreateDigester.exception.message"), digestType.jce()), ex);
         }
     }
+
+    /*
+     * Get the message digester of the supplied type that is reused by the current thread. The digester is reset,
+     * it must not be handed out of DigestUtil.
+     */
+    private static MessageDigest getPooledMessageDigester(DigestType digestType) throws CryptoException {
+        Map<DigestType, MessageDigest> digesters = DIGESTERS.get();
+
+        MessageDigest messageDigester = digesters.get(digestType);
+        if (messageDigester == null) {
+            messageDigester = getMessageDigester(digestType);
+            digesters.put(digestType, messageDigester);
+        } else {
+            messageDigester.reset();
+        }
+        return messageDigester;
+    }
 }
@@ -44,10 +44,17 @@ import static org.kse.crypto.privatekey.EncryptionType.UNENCRYPTED;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
 import org.bouncycastle.asn1.ASN1Encodable;
@@ -81,22 +88,92 @@ public class CryptoFileUtil {
     private static final int ZIP_MAGIC_NUMBER3 = 0x504B0506;
     private static final int ZIP_MAGIC_NUMBER4 = 0x504B0708;
 
+    private static final int MS_PVK_MAGIC_NUMBER = 0x1EF1B5B0;
+
+    // Enough for the magic numbers, the DER tag/length prefix and a PEM armour label after a short preamble
+    private static final int HEAD_LENGTH = 8192;
+
+    private static final byte DER_SEQUENCE = 0x30;
+    private static final byte DER_INTEGER = 0x02;
+    private static final byte DER_OID = 0x06;
+
+    private static final String PEM_BEGIN_MARKER = "-----BEGIN ";
+    private static final String PEM_FIVE_DASHES = "-----";
+    private static final String EC_PARAMS_PEM_TYPE = "EC PARAMETERS";
+
+    /**
+     * The parsers that detectFileType can dispatch to. The declaration order is the order in which they are tried
+     * if more than one of them might match.
+     */
+    private enum Parser {
+        JAR, PKCS8_PVK, MS_PVK, OPENSSL_PVK, OPENSSL_PUB, CERT, CRL, PKCS10_CSR, SPKAC_CSR, KEYSTORE, JWT
+    }
+
+    private static final Set<Parser> ALL_PARSERS = EnumSet.allOf(Parser.class);
+    private static final Set<Parser> DER_PARSERS = EnumSet.of(Parser.PKCS8_PVK, Parser.OPENSSL_PVK,
+                                                              Parser.OPENSSL_PUB, Parser.CERT, Parser.CRL,
+                                                              Parser.PKCS10_CSR, Parser.KEYSTORE);
+    private static final Set<Parser> TEXT_PARSERS = EnumSet.of(Parser.CERT, Parser.SPKAC_CSR, Parser.JWT);
+
+    private static final Map<String, Set<Parser>> PEM_PARSERS = new HashMap<>();
+
+    static {
+        PEM_PARSERS.put("PRIVATE KEY", EnumSet.of(Parser.PKCS8_PVK));
+        PEM_PARSERS.put("ENCRYPTED PRIVATE KEY", EnumSet.of(Parser.PKCS8_PVK));
+        PEM_PARSERS.put("RSA PRIVATE KEY", EnumSet.of(Parser.OPENSSL_PVK));
+        PEM_PARSERS.put("DSA PRIVATE KEY", EnumSet.of(Parser.OPENSSL_PVK));
+        PEM_PARSERS.put("EC PRIVATE KEY", EnumSet.of(Parser.OPENSSL_PVK));
+        PEM_PARSERS.put("PUBLIC KEY", EnumSet.of(Parser.OPENSSL_PUB));
+        PEM_PARSERS.put("CERTIFICATE", EnumSet.of(Parser.CERT));
+        PEM_PARSERS.put("X509 CERTIFICATE", EnumSet.of(Parser.CERT));
+        PEM_PARSERS.put("PKCS7", EnumSet.of(Parser.CERT, Parser.CRL));
+        PEM_PARSERS.put("X509 CRL", EnumSet.of(Parser.CRL));
+        PEM_PARSERS.put("CERTIFICATE REQUEST", EnumSet.of(Parser.PKCS10_CSR));
+        PEM_PARSERS.put("NEW CERTIFICATE REQUEST", EnumSet.of(Parser.PKCS10_CSR));
+    }
+
     private CryptoFileUtil() {
     }
 
     /**
      * Detect the cryptographic file type of the supplied input stream.
+     * <p>
+     * Only the start of the file is read if that is sufficient to recognise the type (e.g. for JARs, JKS and JCEKS
+     * KeyStores or binary files of an unknown type).
      *
      * @param file File with cryptographic data
      * @return Type or null if file not of a recognised type
      * @throws IOException If an I/O problem occurred
      */
     public static CryptoFileType detectFileType(File file) throws IOException {
+        byte[] head;
+        long length;
+
+        try (InputStream is = new FileInputStream(file)) {
+            head = is.readNBytes(HEAD_LENGTH);
+
+            if (head.length < HEAD_LENGTH) {
+                // that was the whole file
+                return detectFileType(head);
+            }
+
+            length = file.length();
+        }
+
+        CryptoFileType fileType = detectFileTypeFromHead(head, length);
+
+        if (fileType != null) {
+            return fileType;
+        }
+
         return detectFileType(FileUtils.readFileToByteArray(file));
     }
 
     /**
      * Detect the cryptographic file type of the supplied input stream.
+     * <p>
+     * The data is classified by its first few KB (magic numbers, DER tag/length prefix or PEM armour label) and
+     * then handed to the parser for that type only.
      *
      * @param data Cryptographic data
      * @return Type or null if file not of a recognised type
@@ -105,89 +182,326 @@ public class CryptoFileUtil {
     public static CryptoFileType detectFileType(byte[] data) throws IOException {
 
         // first handle base64 encoded binary data
-        try {
-            data = Base64.getDecoder().decode(new String(data, StandardCharsets.US_ASCII).trim());
-        } catch(IllegalArgumentException e) {
-            // was not valid b64
+        data = decodeIfBase64(data);
+
+        byte[] head = getHead(data);
+        String pemType = isText(head) ? getPemType(head) : null;
+
+        if (pemType != null) {
+            Set<Parser> parsers = PEM_PARSERS.get(pemType);
+
+            if (parsers != null) {
+                CryptoFileType fileType = detectFileType(data, parsers);
+
+                if (fileType != UNKNOWN) {
+                    return fileType;
+                }
+            }
+
+            // unsupported or mislabelled PEM type, so there is nothing better than trying all parsers
+            return detectFileType(data, ALL_PARSERS);
+        }
+
+        return detectFileType(data, classify(head, data.length));
+    }
+
+    /**
+     * Detect the cryptographic file type by trying every parser in turn, regardless of what the data looks like.
+     *
+     * @param data Cryptographic data
+     * @return Type or null if file not of a recognised type
+     * @throws IOException If an I/O problem occurred
+     */
+    static CryptoFileType detectFileTypeWithAllParsers(byte[] data) throws IOException {
+        return detectFileType(decodeIfBase64(data), ALL_PARSERS);
+    }
+
+    private static CryptoFileType detectFileType(byte[] data, Set<Parser> parsers) throws IOException {
+        for (Parser parser : parsers) {
+            CryptoFileType fileType = parse(parser, data);
+
+            if (fileType != null) {
+                return fileType;
+            }
         }
 
-        if (isJarFile(data)) {
-            return JAR;
+        // Not a recognised type
+        return UNKNOWN;
+    }
+
+    private static CryptoFileType detectFileTypeFromHead(byte[] head, long length) throws IOException {
+        if (isBase64(head)) {
+            return null;
         }
 
-        EncryptionType pkcs8EncType = Pkcs8Util.getEncryptionType(data);
+        for (Parser parser : classify(head, length)) {
+            // all other parsers need the whole file
+            if (parser != Parser.JAR && parser != Parser.MS_PVK &&
+                (parser != Parser.KEYSTORE || !isJksOrJceks(head))) {
+                return null;
+            }
+
+            CryptoFileType fileType = parse(parser, head);
 
-        if (pkcs8EncType != null) {
-            if (pkcs8EncType == ENCRYPTED) {
-                return ENC_PKCS8_PVK;
-            } else if (pkcs8EncType == UNENCRYPTED) {
-                return UNENC_PKCS8_PVK;
+            if (fileType != null) {
+                return fileType;
             }
         }
 
-        EncryptionType msPvkEncType = MsPvkUtil.getEncryptionType(data);
+        return UNKNOWN;
+    }
 
-        if (msPvkEncType != null) {
-            if (msPvkEncType == ENCRYPTED) {
-                return ENC_MS_PVK;
-            } else if (msPvkEncType == UNENCRYPTED) {
-                return UNENC_MS_PVK;
+    /**
+     * Select the parsers that might accept data starting with the supplied head.
+     */
+    private static Set<Parser> classify(byte[] head, long length) {
+        Set<Parser> parsers = EnumSet.noneOf(Parser.class);
+
+        if (head.length >= 4) {
+            int magic = readInt(head, 0);
+
+            if (magic == ZIP_MAGIC_NUMBER1 || magic == ZIP_MAGIC_NUMBER2 || magic == ZIP_MAGIC_NUMBER3 ||
+                magic == ZIP_MAGIC_NUMBER4) {
+                parsers.add(Parser.JAR);
+            } else if (magic == MS_PVK_MAGIC_NUMBER) {
+                parsers.add(Parser.MS_PVK);
+            } else if (magic == JKS_MAGIC_NUMBER || magic == JCEKS_MAGIC_NUMBER || magic == 0 || magic == 1 ||
+                       magic == 2) {
+                // JKS, JCEKS, BKS and UBER
+                parsers.add(Parser.KEYSTORE);
             }
         }
 
-        EncryptionType openSslPvkEncType = OpenSslPvkUtil.getEncryptionType(data);
+        if (head.length > 0 && head[0] == DER_SEQUENCE) {
+            parsers.addAll(getDerParsers(head, length));
+        }
+
+        // base64 without PEM armour, SPKAC and JWT are plain text
+        if (isText(head)) {
+            parsers.addAll(TEXT_PARSERS);
+        }
 
-        if (openSslPvkEncType != null) {
-            if (openSslPvkEncType == ENCRYPTED) {
-                return ENC_OPENSSL_PVK;
-            } else if (openSslPvkEncType == UNENCRYPTED) {
-                return UNENC_OPENSSL_PVK;
+        return parsers;
+    }
+
+    private static Set<Parser> getDerParsers(byte[] head, long length) {
+        int contents = skipDerHeader(head, 0, length);
+
+        if (contents < 0) {
+            // Length does not fit the data - not DER
+            return EnumSet.noneOf(Parser.class);
+        }
+
+        if (contents >= head.length) {
+            return DER_PARSERS;
+        }
+
+        switch (head[contents]) {
+        case DER_INTEGER:
+            // Version of PKCS #8, OpenSSL and PKCS #12
+            return EnumSet.of(Parser.PKCS8_PVK, Parser.OPENSSL_PVK, Parser.KEYSTORE);
+        case DER_OID:
+            // PKCS #7 content type
+            return EnumSet.of(Parser.CERT, Parser.CRL);
+        case DER_SEQUENCE:
+            int innerContents = skipDerHeader(head, contents, length);
+
+            if (innerContents >= 0 && innerContents < head.length && head[innerContents] == DER_OID) {
+                // Algorithm identifier of an encrypted PKCS #8 private key or a subject public key info
+                return EnumSet.of(Parser.PKCS8_PVK, Parser.OPENSSL_PUB);
             }
+
+            // Signed data (certificate, PKI path, CRL, CSR) or a BCFKS KeyStore
+            return EnumSet.of(Parser.CERT, Parser.CRL, Parser.PKCS10_CSR, Parser.KEYSTORE);
+        default:
+            return DER_PARSERS;
         }
+    }
 
-        try {
-            OpenSslPubUtil.load(data);
-            return OPENSSL_PUB;
-        } catch (Exception ex) {
-            // Ignore - not an OpenSSL public key file
-        } catch (OutOfMemoryError ex) {
-            // Ignore - not an OpenSSL public key file, some files cause the
-            // heap space to fill up with the load call
+    /**
+     * Get the offset of the contents of the DER element at the supplied offset.
+     *
+     * @return Offset of the contents or -1 if the data cannot contain a DER element at this offset
+     */
+    private static int skipDerHeader(byte[] head, int offset, long length) {
+        if (offset + 2 > head.length) {
+            return -1;
         }
 
-        try {
-            if (X509CertUtil.loadCertificates(data).length > 0) {
-                return CERT;
+        int lengthOctet = head[offset + 1] & 0xff;
+
+        if (lengthOctet == 0x80) {
+            // BER indefinite length
+            return offset + 2;
+        }
+
+        int contents = offset + 2;
+        long contentsLength = lengthOctet;
+
+        if (lengthOctet > 0x80) {
+            int lengthOctets = lengthOctet & 0x7f;
+
+            if (lengthOctets > 4 || contents + lengthOctets > head.length) {
+                return -1;
             }
-        } catch (Exception ex) {
-            // Ignore - not a certificate file
+
+            contentsLength = 0;
+            for (int i = 0; i < lengthOctets; i++) {
+                contentsLength = (contentsLength << 8) | (head[contents++] & 0xff);
+            }
+        }
+
+        if (contents + contentsLength > length) {
+            return -1;
+        }
+
+        return contents;
+    }
+
+    private static String getPemType(byte[] head) {
+        String text = new String(head, StandardCharsets.US_ASCII);
+        int begin = text.indexOf(PEM_BEGIN_MARKER);
+
+        while (begin >= 0) {
+            int typeStart = begin + PEM_BEGIN_MARKER.length();
+            int typeEnd = text.indexOf(PEM_FIVE_DASHES, typeStart);
+            int lineEnd = text.indexOf('\n', typeStart);
+
+            if (typeEnd < 0 || (lineEnd >= 0 && lineEnd < typeEnd)) {
+                return null;
+            }
+
+            String type = text.substring(typeStart, typeEnd);
+
+            // EC parameters may precede an EC private key
+            if (!type.equals(EC_PARAMS_PEM_TYPE)) {
+                return type;
+            }
+
+            begin = text.indexOf(PEM_BEGIN_MARKER, typeEnd);
+        }
+
+        return null;
+    }
+
+    private static byte[] decodeIfBase64(byte[] data) {
+        if (!isBase64(data)) {
+            return data;
         }
 
         try {
-            X509CertUtil.loadCRL(data);
-            return CRL;
-        } catch (Exception ex) {
-            // Ignore - not a CRL file
+            return Base64.getDecoder().decode(new String(data, StandardCharsets.US_ASCII).trim());
+        } catch (IllegalArgumentException e) {
+            // was not valid b64
+            return data;
         }
+    }
 
-        CsrType csrType = detectCsrType(data);
+    /**
+     * Cheap check whether the data may be a single base64 block (leading/trailing white space allowed) that is worth
+     * decoding. Stops at the first byte that rules it out.
+     */
+    private static boolean isBase64(byte[] data) {
+        int i = 0;
 
-        if (csrType != null) {
-            return csrType.getCryptoFileType();
+        while (i < data.length && (data[i] & 0xff) <= ' ') {
+            i++;
         }
 
-        KeyStoreType keyStoreType = detectKeyStoreType(data);
+        for (; i < data.length; i++) {
+            int b = data[i] & 0xff;
 
-        if (keyStoreType != null) {
-            return keyStoreType.getCryptoFileType();
+            if (b <= ' ') {
+                // only trailing white space is allowed now
+                for (; i < data.length; i++) {
+                    if ((data[i] & 0xff) > ' ') {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            if (!((b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '+' ||
+                  b == '/' || b == '=')) {
+                return false;
+            }
         }
 
-        if (isJwt(data)) {
-            return JSON_WEB_TOKEN;
+        return true;
+    }
+
+    private static boolean isText(byte[] head) {
+        for (byte b : head) {
+            if (b >= 0 && b < ' ' && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                return false;
+            }
         }
 
-        // Not a recognised type
-        return UNKNOWN;
+        return true;
+    }
+
+    private static byte[] getHead(byte[] data) {
+        if (data.length <= HEAD_LENGTH) {
+            return data;
+        }
+
+        return Arrays.copyOf(data, HEAD_LENGTH);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] << 24) & 0xff000000 | (data[offset + 1] << 16) & 0x00ff0000 |
+               (data[offset + 2] << 8) & 0x0000ff00 | (data[offset + 3]) & 0x000000ff;
+    }
+
+    private static boolean isJksOrJceks(byte[] data) {
+        if (data.length < 4) {
+            return false;
+        }
+
+        int magic = readInt(data, 0);
+        return magic == JKS_MAGIC_NUMBER || magic == JCEKS_MAGIC_NUMBER;
+    }
+
+    private static CryptoFileType parse(Parser parser, byte[] data) throws IOException {
+        switch (parser) {
+        case JAR:
+            return isJarFile(data) ? JAR : null;
+        case PKCS8_PVK:
+            return getPrivateKeyFileType(Pkcs8Util.getEncryptionType(data), ENC_PKCS8_PVK, UNENC_PKCS8_PVK);
+        case MS_PVK:
+            return getPrivateKeyFileType(MsPvkUtil.getEncryptionType(data), ENC_MS_PVK, UNENC_MS_PVK);
+        case OPENSSL_PVK:
+            return getPrivateKeyFileType(OpenSslPvkUtil.getEncryptionType(data), ENC_OPENSSL_PVK,
+                                         UNENC_OPENSSL_PVK);
+        case OPENSSL_PUB:
+            return isOpenSslPublicKey(data) ? OPENSSL_PUB : null;
+        case CERT:
+            return isCertificate(data) ? CERT : null;
+        case CRL:
+            return isCrl(data) ? CRL : null;
+        case PKCS10_CSR:
+            return isPkcs10Csr(data) ? PKCS10.getCryptoFileType() : null;
+        case SPKAC_CSR:
+            return isSpkacCsr(data) ? CsrType.SPKAC.getCryptoFileType() : null;
+        case KEYSTORE:
+            KeyStoreType keyStoreType = detectKeyStoreType(data);
+            return keyStoreType != null ? keyStoreType.getCryptoFileType() : null;
+        case JWT:
+            return isJwt(data) ? JSON_WEB_TOKEN : null;
+        default:
+            return null;
+        }
+    }
+
+    private static CryptoFileType getPrivateKeyFileType(EncryptionType encType, CryptoFileType encrypted,
+                                                        CryptoFileType unencrypted) {
+        if (encType == ENCRYPTED) {
+            return encrypted;
+        } else if (encType == UNENCRYPTED) {
+            return unencrypted;
+        }
+
+        return null;
     }
 
     private static boolean isJarFile(byte[] data) {
@@ -195,13 +509,45 @@ public class CryptoFileUtil {
             return false;
         }
 
-        int magic = (data[0] << 24) & 0xff000000 | (data[1] << 16) & 0x00ff0000 | (data[2] << 8) & 0x0000ff00 |
-                    (data[3]) & 0x000000ff;
+        int magic = readInt(data, 0);
 
         return magic == ZIP_MAGIC_NUMBER1 || magic == ZIP_MAGIC_NUMBER2 || magic == ZIP_MAGIC_NUMBER3 ||
                magic == ZIP_MAGIC_NUMBER4;
     }
 
+    private static boolean isOpenSslPublicKey(byte[] data) {
+        try {
+            OpenSslPubUtil.load(data);
+            return true;
+        } catch (Exception ex) {
+            // Ignore - not an OpenSSL public key file
+        } catch (OutOfMemoryError ex) {
+            // Ignore - not an OpenSSL public key file, some files cause the
+            // heap space to fill up with the load call
+        }
+
+        return false;
+    }
+
+    private static boolean isCertificate(byte[] data) {
+        try {
+            return X509CertUtil.loadCertificates(data).length > 0;
+        } catch (Exception ex) {
+            // Ignore - not a certificate file
+            return false;
+        }
+    }
+
+    private static boolean isCrl(byte[] data) {
+        try {
+            X509CertUtil.loadCRL(data);
+            return true;
+        } catch (Exception ex) {
+            // Ignore - not a CRL file
+            return false;
+        }
+    }
+
     private static boolean isJwt(byte[] data) {
         try {
             JWTParser.parse(new String(data));
@@ -211,10 +557,10 @@ public class CryptoFileUtil {
         }
     }
 
-    private static CsrType detectCsrType(byte[] csrData) throws IOException {
+    private static boolean isPkcs10Csr(byte[] csrData) throws IOException {
         try {
             Pkcs10Util.loadCsr(csrData);
-            return PKCS10;
+            return true;
         } catch (FileNotFoundException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -223,15 +569,17 @@ public class CryptoFileUtil {
             // Ignore - not a PKCS #10 file, some files cause the heap space to fill up with the load call
         }
 
+        return false;
+    }
+
+    private static boolean isSpkacCsr(byte[] csrData) throws IOException {
         try {
             new Spkac(csrData);
-            return CsrType.SPKAC;
+            return true;
         } catch (SpkacException ex) {
             // Ignore - not an SPKAC file
+            return false;
         }
-
-        // Not a recognised type
-        return null;
     }
 
     /**
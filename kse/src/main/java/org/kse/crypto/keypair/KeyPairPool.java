@@ -0,0 +1,288 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.keypair;
+
+import java.security.KeyPair;
+import java.security.Provider;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kse.crypto.CryptoException;
+
+/**
+ * Pool of key pairs that are generated ahead of time on low priority background threads.
+ * <p>
+ * After a key pair of a type, size/curve and provider has been requested, the pool keeps up to the configured number
+ * of key pairs with the same parameters in stock, so that generating a series of RSA 4096 or large DSA key pairs no
+ * longer waits for each of them. Only the most recently requested parameter sets are kept. Key pairs of hardware
+ * providers (PKCS#11, MSCAPI, ...) are never pooled, because generating them creates objects on the token.
+ * <p>
+ * The pool is disabled (depth 0) by default.
+ */
+public final class KeyPairPool {
+
+    /** Maximum number of parameter sets that are kept in stock */
+    public static final int MAX_PARAMETER_SETS = 4;
+
+    // providers that generate key pairs in software
+    private static final List<String> SOFTWARE_PROVIDERS = Arrays.asList("BC", "SUN", "SunRsaSign", "SunEC",
+                                                                         "SunJCE");
+
+    /**
+     * Generates a key pair.
+     */
+    @FunctionalInterface
+    public interface Generator {
+        /**
+         * Generate a key pair.
+         *
+         * @return The key pair
+         * @throws CryptoException If there was a problem generating the key pair
+         */
+        KeyPair generate() throws CryptoException;
+    }
+
+    private final ExecutorService executor;
+    private final Map<Parameters, Deque<KeyPair>> pools;
+    private final Set<Parameters> refilling = new HashSet<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile int depth;
+
+    /**
+     * Construct a disabled pool.
+     */
+    public KeyPairPool() {
+        executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                                                runnable -> {
+                                                    Thread thread = new Thread(runnable, "kse-keypair-pool");
+                                                    thread.setDaemon(true);
+                                                    thread.setPriority(Thread.MIN_PRIORITY);
+                                                    return thread;
+                                                });
+        pools = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Parameters, Deque<KeyPair>> eldest) {
+                return size() > MAX_PARAMETER_SETS;
+            }
+        };
+    }
+
+    /**
+     * Take a key pair from the pool or generate it if there is none in stock. Either way the stock for these
+     * parameters is refilled in the background afterwards.
+     *
+     * @param keyPairType Key pair type
+     * @param parameters  Key size or curve name
+     * @param provider    Provider used for generating the key pair, null for the default
+     * @param generator   Generates a key pair with these parameters
+     * @return A key pair that has not been handed out before
+     * @throws CryptoException If there was a problem generating the key pair
+     */
+    public KeyPair take(KeyPairType keyPairType, String parameters, Provider provider, Generator generator)
+            throws CryptoException {
+        if (depth == 0 || !isPoolable(provider)) {
+            return generator.generate();
+        }
+
+        Parameters key = new Parameters(keyPairType, parameters, provider);
+        KeyPair keyPair;
+
+        synchronized (pools) {
+            Deque<KeyPair> pool = pools.computeIfAbsent(key, k -> new ArrayDeque<>());
+            keyPair = pool.pollFirst();
+        }
+
+        if (keyPair != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        refill(key, generator);
+
+        return (keyPair != null) ? keyPair : generator.generate();
+    }
+
+    private void refill(Parameters key, Generator generator) {
+        synchronized (pools) {
+            if (!refilling.add(key)) {
+                return;
+            }
+        }
+
+        executor.execute(() -> {
+            try {
+                while (true) {
+                    synchronized (pools) {
+                        Deque<KeyPair> pool = pools.get(key);
+
+                        // parameters evicted, pool disabled or stock complete
+                        if (pool == null || pool.size() >= depth) {
+                            return;
+                        }
+                    }
+
+                    KeyPair keyPair = generator.generate();
+
+                    synchronized (pools) {
+                        Deque<KeyPair> pool = pools.get(key);
+
+                        if (pool == null || pool.size() >= depth) {
+                            return;
+                        }
+                        pool.addLast(keyPair);
+                    }
+                }
+            } catch (CryptoException ex) {
+                // Ignore - the error is reported when the key pair is generated on demand
+            } finally {
+                synchronized (pools) {
+                    refilling.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Are key pairs of the supplied provider pooled?
+     *
+     * @param provider Provider, null for the default
+     * @return True if the provider generates key pairs in software
+     */
+    public static boolean isPoolable(Provider provider) {
+        return provider == null || SOFTWARE_PROVIDERS.contains(provider.getName());
+    }
+
+    /**
+     * Set the number of key pairs to keep in stock per parameter set. A depth of 0 disables the pool and discards all
+     * key pairs in stock.
+     *
+     * @param depth Number of key pairs
+     */
+    public void setDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative");
+        }
+
+        this.depth = depth;
+
+        synchronized (pools) {
+            if (depth == 0) {
+                pools.clear();
+            } else {
+                for (Deque<KeyPair> pool : pools.values()) {
+                    while (pool.size() > depth) {
+                        pool.pollLast();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of key pairs to keep in stock per parameter set.
+     *
+     * @return Number of key pairs, 0 if the pool is disabled
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Discard all key pairs in stock and reset the counters.
+     */
+    public void clear() {
+        synchronized (pools) {
+            pools.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get the number of key pairs in stock.
+     *
+     * @return Number of key pairs
+     */
+    public int size() {
+        synchronized (pools) {
+            return pools.values().stream().mapToInt(Deque::size).sum();
+        }
+    }
+
+    /**
+     * Get the number of requests that were served from the stock.
+     *
+     * @return Number of pool hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests that had to generate a key pair on demand.
+     *
+     * @return Number of pool misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Parameters {
+        private final KeyPairType keyPairType;
+        private final String parameters;
+        private final String provider;
+
+        Parameters(KeyPairType keyPairType, String parameters, Provider provider) {
+            this.keyPairType = keyPairType;
+            this.parameters = parameters;
+            this.provider = (provider != null) ? provider.getName() : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyPairType, parameters, provider);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Parameters)) {
+                return false;
+            }
+
+            Parameters other = (Parameters) obj;
+            return keyPairType == other.keyPairType && Objects.equals(parameters, other.parameters) &&
+                   Objects.equals(provider, other.provider);
+        }
+    }
+}
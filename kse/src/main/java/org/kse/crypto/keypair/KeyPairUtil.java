@@ -74,11 +74,23 @@ import org.kse.crypto.ecc.EdDSACurves;
 public final class KeyPairUtil {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/keypair/resources");
 
+    private static final KeyPairPool KEY_PAIR_POOL = new KeyPairPool();
+
     private KeyPairUtil() {
     }
 
     /**
-     * Generate a key pair.
+     * Get the pool of pre-generated key pairs used by generateKeyPair and
+     * generateECKeyPair. The pool is disabled until a depth is set.
+     *
+     * @return The key pair pool
+     */
+    public static KeyPairPool getKeyPairPool() {
+        return KEY_PAIR_POOL;
+    }
+
+    /**
+     * Generate a key pair. Taken from the key pair pool if it is enabled.
      *
      * @param keyPairType Key pair type to generate
      * @param keySize     Key size of key pair
@@ -88,6 +100,12 @@ public final class KeyPairUtil {
      */
     public static KeyPair generateKeyPair(KeyPairType keyPairType, int keySize, Provider provider)
             throws CryptoException {
+        return KEY_PAIR_POOL.take(keyPairType, Integer.toString(keySize), provider,
+                                  () -> createKeyPair(keyPairType, keySize, provider));
+    }
+
+    private static KeyPair createKeyPair(KeyPairType keyPairType, int keySize, Provider provider)
+            throws CryptoException {
         try {
             // Get a key pair generator
             KeyPairGenerator keyPairGen = null;
@@ -119,7 +137,7 @@ public final class KeyPairUtil {
     }
 
     /**
-     * Generate an EC key pair.
+     * Generate an EC key pair. Taken from the key pair pool if it is enabled.
      *
      * @param curveName Name of the ECC curve
      * @param provider  A JCE provider.
@@ -127,6 +145,10 @@ public final class KeyPairUtil {
      * @throws CryptoException If there was a problem generating the key pair
      */
     public static KeyPair generateECKeyPair(String curveName, Provider provider) throws CryptoException {
+        return KEY_PAIR_POOL.take(KeyPairType.EC, curveName, provider, () -> createECKeyPair(curveName, provider));
+    }
+
+    private static KeyPair createECKeyPair(String curveName, Provider provider) throws CryptoException {
         try {
             // Get a key pair generator
             KeyPairGenerator keyPairGen;
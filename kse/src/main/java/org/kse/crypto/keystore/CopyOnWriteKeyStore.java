@@ -0,0 +1,611 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.keystore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.KeyStoreSpi;
+import java.security.NoSuchAlgorithmException;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.kse.crypto.CryptoException;
+
+/**
+ * KeyStore that shares all unchanged entries with a parent KeyStore and only records the entries that were added,
+ * replaced or deleted since it was created (copy-on-write).
+ * <p>
+ * Creating a copy-on-write KeyStore is O(1) regardless of the size of the parent. Each changed entry is kept in a
+ * small KeyStore of the same type, so that the semantics of the type (alias case sensitivity, supported entry types,
+ * entry password checks) are preserved. The full KeyStore is only materialized when it is stored.
+ * </p>
+ * <p>
+ * The parent must not be modified after a copy-on-write KeyStore has been created on top of it. This is the case for
+ * the undo/redo history, where a state is never changed once the next state has been derived from it.
+ * </p>
+ */
+public final class CopyOnWriteKeyStore extends KeyStore {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/keystore/resources");
+
+    /**
+     * Maximum number of stacked copy-on-write KeyStores before the changes are merged onto the root KeyStore
+     */
+    static final int MAX_DEPTH = 16;
+
+    /**
+     * Approximate memory used per recorded change in addition to the encoded entry
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final OverlayKeyStoreSpi spi;
+
+    private CopyOnWriteKeyStore(OverlayKeyStoreSpi spi, KeyStore parent) {
+        super(spi, parent.getProvider(), parent.getType());
+        this.spi = spi;
+    }
+
+    /**
+     * Create a copy-on-write KeyStore on top of the supplied parent KeyStore.
+     *
+     * @param parent The parent KeyStore, which must not be changed afterwards
+     * @return The copy-on-write KeyStore
+     * @throws CryptoException Problem encountered creating the KeyStore
+     */
+    public static KeyStore create(KeyStore parent) throws CryptoException {
+        OverlayKeyStoreSpi overlaySpi;
+
+        if (parent instanceof CopyOnWriteKeyStore) {
+            OverlayKeyStoreSpi parentSpi = ((CopyOnWriteKeyStore) parent).spi;
+
+            int depth = parentSpi.overlay.depth;
+
+            if (depth >= MAX_DEPTH) {
+                overlaySpi = parentSpi.collapse();
+            } else {
+                overlaySpi = new OverlayKeyStoreSpi(new Overlay(parent, depth + 1, new HashMap<>(), 0),
+                                                    parentSpi.caseSensitive);
+            }
+        } else {
+            KeyStoreType type = KeyStoreType.resolveJce(parent.getType());
+            overlaySpi = new OverlayKeyStoreSpi(new Overlay(parent, 1, new HashMap<>(), 0),
+                                                type.hasCaseSensitiveAliases());
+        }
+
+        CopyOnWriteKeyStore keyStore = new CopyOnWriteKeyStore(overlaySpi, parent);
+
+        try {
+            keyStore.load(null, null);
+        } catch (IOException | NoSuchAlgorithmException | CertificateException ex) {
+            throw new CryptoException(res.getString("NoCopyKeyStore.exception.message"), ex);
+        }
+
+        return keyStore;
+    }
+
+    /**
+     * Create a standalone KeyStore with the same content as this one. The result does not share any state with this
+     * KeyStore or its parents.
+     *
+     * @return The materialized KeyStore
+     * @throws CryptoException Problem encountered materializing the KeyStore
+     */
+    public KeyStore materialize() throws CryptoException {
+        return spi.materialize();
+    }
+
+    /**
+     * Merge the changes of the copy-on-write parents into this KeyStore, so that it only refers to the root KeyStore.
+     * Copy-on-write KeyStores created on top of this one stay valid, but the copy-on-write parents are no longer
+     * referenced and can be garbage collected. The root KeyStore stays referenced as the base of the merged changes.
+     * The recorded entries are shared, nothing is copied. Threads that read this KeyStore meanwhile see either the
+     * parents or the merged changes, never a mix of both.
+     */
+    public void detachFromParents() {
+        spi.detach();
+    }
+
+    /**
+     * Get the approximate amount of memory held by the supplied KeyStore that is not shared with its parents. For
+     * KeyStores that are not copy-on-write KeyStores the size of all encoded entries is estimated.
+     *
+     * @param keyStore KeyStore
+     * @return Approximate size in bytes
+     */
+    public static long getRetainedSize(KeyStore keyStore) {
+        if (keyStore instanceof CopyOnWriteKeyStore) {
+            return ((CopyOnWriteKeyStore) keyStore).spi.retainedSize();
+        }
+
+        long size = 0;
+
+        try {
+            for (Enumeration<String> aliases = keyStore.aliases(); aliases.hasMoreElements(); ) {
+                size += estimateEntrySize(keyStore, aliases.nextElement(), null);
+            }
+        } catch (KeyStoreException ex) {
+            // not initialized, nothing retained
+        }
+
+        return size;
+    }
+
+    private static long estimateEntrySize(KeyStore keyStore, String alias, Key key) throws KeyStoreException {
+        long size = ENTRY_OVERHEAD;
+
+        Certificate[] chain = keyStore.getCertificateChain(alias);
+        if (chain == null) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            chain = (certificate == null) ? new Certificate[0] : new Certificate[] { certificate };
+        }
+
+        for (Certificate certificate : chain) {
+            try {
+                size += certificate.getEncoded().length;
+            } catch (CertificateEncodingException ex) {
+                // ignore, only an estimate
+            }
+        }
+
+        if (key != null && key.getEncoded() != null) {
+            size += key.getEncoded().length;
+        }
+
+        return size;
+    }
+
+    /**
+     * A single added or replaced entry, held in a KeyStore of its own.
+     */
+    private static final class EntryCell {
+        private final String alias;
+        private final KeyStore keyStore;
+        private final char[] password;
+        private final byte[] protectedKey;
+        private final long size;
+
+        private EntryCell(String alias, KeyStore keyStore, char[] password, byte[] protectedKey, long size) {
+            this.alias = alias;
+            this.keyStore = keyStore;
+            this.password = password;
+            this.protectedKey = protectedKey;
+            this.size = size;
+        }
+
+        private void copyTo(KeyStore target) throws GeneralSecurityException {
+            if (keyStore.isCertificateEntry(alias)) {
+                target.setCertificateEntry(alias, keyStore.getCertificate(alias));
+            } else if (protectedKey != null) {
+                target.setKeyEntry(alias, protectedKey, keyStore.getCertificateChain(alias));
+            } else {
+                target.setKeyEntry(alias, keyStore.getKey(alias, password), password,
+                                   keyStore.getCertificateChain(alias));
+            }
+        }
+    }
+
+    /**
+     * The parent and the changes of a copy-on-write KeyStore. Detaching replaces them as a whole, so that a thread
+     * that reads the KeyStore (e.g. a background save) never sees the parent of one and the changes of the other.
+     */
+    private static final class Overlay {
+        private final KeyStore parent;
+        private final int depth;
+
+        // normalized alias -> changed entry, a null value marks a deleted entry
+        private final Map<String, EntryCell> changes;
+        private long changedEntriesSize;
+
+        private Overlay(KeyStore parent, int depth, Map<String, EntryCell> changes, long changedEntriesSize) {
+            this.parent = parent;
+            this.depth = depth;
+            this.changes = changes;
+            this.changedEntriesSize = changedEntriesSize;
+        }
+    }
+
+    /**
+     * The SPI that resolves every lookup against the recorded changes first and the parent second.
+     */
+    private static final class OverlayKeyStoreSpi extends KeyStoreSpi {
+        private final boolean caseSensitive;
+        private volatile Overlay overlay;
+
+        private OverlayKeyStoreSpi(Overlay overlay, boolean caseSensitive) {
+            this.overlay = overlay;
+            this.caseSensitive = caseSensitive;
+        }
+
+        /**
+         * Merge the changes of this KeyStore and all of its copy-on-write parents into a new SPI on top of the root.
+         */
+        private OverlayKeyStoreSpi collapse() {
+            return new OverlayKeyStoreSpi(mergeChain(), caseSensitive);
+        }
+
+        /**
+         * Merge the changes of all copy-on-write parents into this SPI, which is then on top of the root.
+         */
+        private void detach() {
+            overlay = mergeChain();
+        }
+
+        private Overlay mergeChain() {
+            List<Overlay> chain = new ArrayList<>();
+            KeyStore root = null;
+
+            for (Overlay current = overlay; current != null; ) {
+                chain.add(current);
+                root = current.parent;
+                current = (root instanceof CopyOnWriteKeyStore) ? ((CopyOnWriteKeyStore) root).spi.overlay : null;
+            }
+
+            Map<String, EntryCell> merged = new HashMap<>();
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                merged.putAll(chain.get(i).changes);
+            }
+
+            long mergedSize = 0;
+            for (EntryCell cell : merged.values()) {
+                if (cell != null) {
+                    mergedSize += cell.size;
+                }
+            }
+
+            return new Overlay(root, 1, merged, mergedSize);
+        }
+
+        private String normalize(String alias) {
+            return caseSensitive ? alias : alias.toLowerCase(Locale.ENGLISH);
+        }
+
+        private long retainedSize() {
+            Overlay current = overlay;
+            return current.changedEntriesSize + (long) current.changes.size() * ENTRY_OVERHEAD;
+        }
+
+        private KeyStore createCell() throws KeyStoreException {
+            KeyStore parent = overlay.parent;
+            KeyStore cell = KeyStore.getInstance(parent.getType(), parent.getProvider());
+
+            try {
+                cell.load(null, null);
+            } catch (IOException | NoSuchAlgorithmException | CertificateException ex) {
+                throw new KeyStoreException(ex);
+            }
+
+            return cell;
+        }
+
+        private void recordChange(String alias, KeyStore cell, char[] password, byte[] protectedKey, Key key)
+                throws KeyStoreException {
+            Overlay current = overlay;
+
+            // the cell knows how the KeyStore type names the alias (e.g. lower case for JKS)
+            String storedAlias = cell.aliases().nextElement();
+            long size = estimateEntrySize(cell, storedAlias, key);
+
+            EntryCell previous = current.changes.put(normalize(alias), new EntryCell(storedAlias, cell, password,
+                                                                                     protectedKey, size));
+            if (previous != null) {
+                current.changedEntriesSize -= previous.size;
+            }
+            current.changedEntriesSize += size;
+        }
+
+        private KeyStore materialize() throws CryptoException {
+            Overlay current = overlay;
+            KeyStore target;
+
+            if (current.parent instanceof CopyOnWriteKeyStore) {
+                target = ((CopyOnWriteKeyStore) current.parent).spi.materialize();
+            } else {
+                target = KeyStoreUtil.copy(current.parent);
+            }
+
+            try {
+                for (Map.Entry<String, EntryCell> change : current.changes.entrySet()) {
+                    if (target.containsAlias(change.getKey())) {
+                        target.deleteEntry(change.getKey());
+                    }
+
+                    if (change.getValue() != null) {
+                        change.getValue().copyTo(target);
+                    }
+                }
+            } catch (GeneralSecurityException ex) {
+                throw new CryptoException(res.getString("NoCopyKeyStore.exception.message"), ex);
+            }
+
+            return target;
+        }
+
+        @Override
+        public Key engineGetKey(String alias, char[] password)
+                throws NoSuchAlgorithmException, UnrecoverableKeyException {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return (cell == null) ? null : cell.keyStore.getKey(cell.alias, password);
+                }
+
+                return current.parent.getKey(alias, password);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public Certificate[] engineGetCertificateChain(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return (cell == null) ? null : cell.keyStore.getCertificateChain(cell.alias);
+                }
+
+                return current.parent.getCertificateChain(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public Certificate engineGetCertificate(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return (cell == null) ? null : cell.keyStore.getCertificate(cell.alias);
+                }
+
+                return current.parent.getCertificate(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public Date engineGetCreationDate(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return (cell == null) ? null : cell.keyStore.getCreationDate(cell.alias);
+                }
+
+                return current.parent.getCreationDate(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void engineSetKeyEntry(String alias, Key key, char[] password, Certificate[] chain)
+                throws KeyStoreException {
+            KeyStore cell = createCell();
+            cell.setKeyEntry(alias, key, password, chain);
+
+            recordChange(alias, cell, (password == null) ? null : password.clone(), null, key);
+        }
+
+        @Override
+        public void engineSetKeyEntry(String alias, byte[] key, Certificate[] chain) throws KeyStoreException {
+            KeyStore cell = createCell();
+            cell.setKeyEntry(alias, key, chain);
+
+            recordChange(alias, cell, null, key.clone(), null);
+        }
+
+        @Override
+        public void engineSetCertificateEntry(String alias, Certificate cert) throws KeyStoreException {
+            if (engineIsKeyEntry(alias)) {
+                throw new KeyStoreException(res.getString("NoOverwriteKeyEntry.exception.message"));
+            }
+
+            KeyStore cell = createCell();
+            cell.setCertificateEntry(alias, cert);
+
+            recordChange(alias, cell, null, null, null);
+        }
+
+        @Override
+        public void engineDeleteEntry(String alias) throws KeyStoreException {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            EntryCell previous;
+            if (current.parent.containsAlias(alias)) {
+                previous = current.changes.put(normalizedAlias, null);
+            } else {
+                previous = current.changes.remove(normalizedAlias);
+            }
+
+            if (previous != null) {
+                current.changedEntriesSize -= previous.size;
+            }
+        }
+
+        @Override
+        public Enumeration<String> engineAliases() {
+            Overlay current = overlay;
+
+            try {
+                List<String> aliases = new ArrayList<>();
+
+                for (Enumeration<String> parentAliases = current.parent.aliases(); parentAliases.hasMoreElements(); ) {
+                    String alias = parentAliases.nextElement();
+                    if (!current.changes.containsKey(normalize(alias))) {
+                        aliases.add(alias);
+                    }
+                }
+
+                for (EntryCell cell : current.changes.values()) {
+                    if (cell != null) {
+                        aliases.add(cell.alias);
+                    }
+                }
+
+                return Collections.enumeration(aliases);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public boolean engineContainsAlias(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    return current.changes.get(normalizedAlias) != null;
+                }
+
+                return current.parent.containsAlias(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public int engineSize() {
+            Overlay current = overlay;
+
+            try {
+                int size = current.parent.size();
+
+                for (Map.Entry<String, EntryCell> change : current.changes.entrySet()) {
+                    boolean inParent = current.parent.containsAlias(change.getKey());
+
+                    if (change.getValue() == null && inParent) {
+                        size--;
+                    } else if (change.getValue() != null && !inParent) {
+                        size++;
+                    }
+                }
+
+                return size;
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public boolean engineIsKeyEntry(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return cell != null && cell.keyStore.isKeyEntry(cell.alias);
+                }
+
+                return current.parent.isKeyEntry(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public boolean engineIsCertificateEntry(String alias) {
+            Overlay current = overlay;
+            String normalizedAlias = normalize(alias);
+
+            try {
+                if (current.changes.containsKey(normalizedAlias)) {
+                    EntryCell cell = current.changes.get(normalizedAlias);
+                    return cell != null && cell.keyStore.isCertificateEntry(cell.alias);
+                }
+
+                return current.parent.isCertificateEntry(alias);
+            } catch (KeyStoreException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public String engineGetCertificateAlias(Certificate cert) {
+            for (Enumeration<String> aliases = engineAliases(); aliases.hasMoreElements(); ) {
+                String alias = aliases.nextElement();
+
+                if (cert.equals(engineGetCertificate(alias))) {
+                    return alias;
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public void engineStore(OutputStream stream, char[] password)
+                throws IOException, NoSuchAlgorithmException, CertificateException {
+            try {
+                materialize().store(stream, password);
+            } catch (CryptoException | KeyStoreException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public void engineLoad(InputStream stream, char[] password)
+                throws IOException, NoSuchAlgorithmException, CertificateException {
+            if (stream == null) {
+                // called once on creation, the content is defined by the parent
+                return;
+            }
+
+            // loading replaces the whole content, so the parent is no longer relevant
+            try {
+                KeyStore loaded = createCell();
+                loaded.load(stream, password);
+
+                overlay = new Overlay(loaded, overlay.depth, new HashMap<>(), getRetainedSize(loaded));
+            } catch (KeyStoreException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+}
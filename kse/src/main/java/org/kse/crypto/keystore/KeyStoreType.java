@@ -113,6 +113,15 @@ public enum KeyStoreType {
         return this != PKCS11 && this != MS_CAPI_PERSONAL;
     }
 
+    /**
+     * Are aliases case sensitive for this KeyStore type?
+     *
+     * @return True if aliases that only differ in case are distinct entries, false otherwise
+     */
+    public boolean hasCaseSensitiveAliases() {
+        return isBouncyCastleKeyStore(this);
+    }
+
     /**
      * Are private keys exportable for this keystore type?
      *
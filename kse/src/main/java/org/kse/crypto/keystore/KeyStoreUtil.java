@@ -32,6 +32,13 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -255,6 +262,9 @@ public final class KeyStoreUtil {
 
     /**
      * Save a KeyStore to a file protected by a password.
+     * <p>
+     * The KeyStore is written to a temporary file in the same directory, which is flushed to disk and then renamed
+     * over the target file. A failure or crash while saving therefore leaves the previous file intact.
      *
      * @param keyStore     The KeyStore
      * @param keyStoreFile The file to save the KeyStore to
@@ -274,10 +284,60 @@ public final class KeyStoreUtil {
                     MessageFormat.format(res.getString("NoSaveKeyStoreNotFile.exception.message"), keyStoreType.jce()));
         }
 
-        try (FileOutputStream fos = new FileOutputStream(keyStoreFile)) {
-            keyStore.store(fos, password.toCharArray());
+        Path tempFile = null;
+
+        try {
+            Path target = keyStoreFile.toPath().toAbsolutePath();
+
+            // replace the file a symbolic link points to, not the link
+            if (Files.isSymbolicLink(target)) {
+                target = target.toRealPath();
+            }
+
+            tempFile = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            copyPermissions(target, tempFile);
+
+            try (FileOutputStream fos = new FileOutputStream(tempFile.toFile())) {
+                keyStore.store(fos, password.toCharArray());
+
+                // the content must be on disk before the rename makes it visible
+                fos.getFD().sync();
+            }
+
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+
+            syncDirectory(target.getParent());
         } catch (KeyStoreException | CertificateException | NoSuchAlgorithmException | IOException ex) {
             throw new CryptoException(res.getString("NoSaveKeyStore.exception.message"), ex);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ex) {
+                    // Ignore - nothing more can be done
+                }
+            }
+        }
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        if (Files.exists(source) &&
+            Files.getFileStore(target).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        // makes the rename itself durable, only possible on some platforms (not on Windows)
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // Ignore - the file content has been synced already
         }
     }
 
@@ -353,6 +413,10 @@ public final class KeyStoreUtil {
      * @throws CryptoException Problem encountered copying the KeyStore
      */
     public static KeyStore copy(KeyStore keyStore) throws CryptoException {
+        if (keyStore instanceof CopyOnWriteKeyStore) {
+            return ((CopyOnWriteKeyStore) keyStore).materialize();
+        }
+
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
         try {
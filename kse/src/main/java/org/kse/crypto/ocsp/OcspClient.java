@@ -0,0 +1,530 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.SecureRandom;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.CertException;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.OCSPException;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.bouncycastle.cert.ocsp.jcajce.JcaCertificateID;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.x509.X509Ext;
+import org.kse.crypto.x509.X509ExtensionType;
+
+/**
+ * OCSP client that asks for the status of several certificates of an issuer in one request and caches the statuses.
+ * <p>
+ * Requests are sent as HTTP POST. The connection is not disconnected after the response has been read, so that the
+ * JRE returns it to its keep-alive cache and the next request to the same responder saves the TCP and TLS handshake.
+ * Responders that reject requests for several certificates, or only answer some of them, are asked again for each
+ * remaining certificate on its own.
+ * <p>
+ * The signature of each response is verified before its statuses are used or cached. It must have been made with
+ * the key of the issuer or of a delegated responder, i.e. a certificate included in the response that the issuer
+ * has signed for OCSP signing. The certificate chain of the issuer itself is not validated.
+ * <p>
+ * A status is only used if its certificate ID matches the request completely, i.e. issuer name hash, issuer key hash
+ * and serial number, and if it is current: its next update time must not have passed and its this update time must
+ * not be in the future, apart from a small allowance for clock skew.
+ */
+public class OcspClient {
+
+    /** Default maximum number of certificates per request */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 20;
+
+    /** Default connect and read timeout in milliseconds */
+    public static final int DEFAULT_TIMEOUT = 15000;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/ocsp/resources");
+
+    private static final OcspResponseCache CACHE = new OcspResponseCache(OcspResponseCache.DEFAULT_MAX_SIZE);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // allowed difference between the local clock and the clock of the responder for the this update time
+    private static final long MAX_CLOCK_SKEW = TimeUnit.MINUTES.toMillis(5);
+
+    private final OcspResponseCache cache;
+    private OcspDigestAlgorithm digestAlgorithm = OcspDigestAlgorithm.SHA1;
+    private boolean includeNonce;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int timeout = DEFAULT_TIMEOUT;
+
+    /**
+     * Construct a client that uses the shared cache.
+     */
+    public OcspClient() {
+        this(CACHE);
+    }
+
+    /**
+     * Construct a client.
+     *
+     * @param cache Cache for the certificate statuses
+     */
+    public OcspClient(OcspResponseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Get the cache shared by all clients that were constructed without a cache of their own.
+     *
+     * @return The cache
+     */
+    public static OcspResponseCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Set the digest algorithm for the issuer name and key hashes of the certificate IDs.
+     *
+     * @param digestAlgorithm Digest algorithm, SHA-1 by default
+     */
+    public void setDigestAlgorithm(OcspDigestAlgorithm digestAlgorithm) {
+        this.digestAlgorithm = digestAlgorithm;
+    }
+
+    /**
+     * Set whether requests contain a nonce. Requests with a nonce always ask the responder, the fresh statuses are
+     * still added to the cache.
+     *
+     * @param includeNonce True to include a nonce
+     */
+    public void setIncludeNonce(boolean includeNonce) {
+        this.includeNonce = includeNonce;
+    }
+
+    /**
+     * Set the maximum number of certificates per request.
+     *
+     * @param maxBatchSize Number of certificates, 1 sends one request per certificate
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Set the connect and read timeout.
+     *
+     * @param timeout Timeout in milliseconds, 0 waits forever
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the status of a certificate.
+     *
+     * @param url    Responder URL
+     * @param issuer Issuer of the certificate
+     * @param cert   The certificate
+     * @return Status of the certificate
+     * @throws OcspStatusException If the responder did not answer with a successful response
+     * @throws CryptoException     If the status could not be obtained
+     */
+    public OcspResult check(String url, X509Certificate issuer, X509Certificate cert) throws CryptoException {
+        return check(url, issuer, Collections.singletonList(cert)).get(cert.getSerialNumber());
+    }
+
+    /**
+     * Get the status of certificates of the same issuer. Statuses that are not cached are requested in batches of
+     * up to the maximum batch size.
+     *
+     * @param url    Responder URL
+     * @param issuer Issuer of the certificates
+     * @param certs  The certificates
+     * @return Status of each certificate by serial number, in the order of the certificates
+     * @throws OcspStatusException If the responder did not answer with a successful response
+     * @throws CryptoException     If a status could not be obtained
+     */
+    public Map<BigInteger, OcspResult> check(String url, X509Certificate issuer, List<X509Certificate> certs)
+            throws CryptoException {
+        Map<BigInteger, OcspResult> results = new LinkedHashMap<>();
+        List<CertificateID> pending = new ArrayList<>();
+
+        if (certs.isEmpty()) {
+            return results;
+        }
+
+        // hashing the issuer name and key once is enough for all certificates
+        CertificateID template = createCertificateId(issuer, certs.get(0));
+
+        for (X509Certificate cert : certs) {
+            CertificateID certificateId = CertificateID.deriveCertificateID(template, cert.getSerialNumber());
+
+            if (results.containsKey(certificateId.getSerialNumber())) {
+                continue;
+            }
+
+            OcspResult result = includeNonce ? null : cache.get(url, certificateId);
+            results.put(certificateId.getSerialNumber(), result);
+
+            if (result == null) {
+                pending.add(certificateId);
+            }
+        }
+
+        for (int i = 0; i < pending.size(); i += maxBatchSize) {
+            List<CertificateID> batch = pending.subList(i, Math.min(i + maxBatchSize, pending.size()));
+            results.putAll(request(url, issuer, batch));
+        }
+
+        return results;
+    }
+
+    /**
+     * Get the OCSP responder URLs in the authority information access extension of a certificate.
+     *
+     * @param cert The certificate
+     * @return Responder URLs, in order
+     */
+    public static List<String> getOcspUrls(X509Certificate cert) {
+        List<String> urls = new ArrayList<>();
+        byte[] value = cert.getExtensionValue(X509ExtensionType.AUTHORITY_INFORMATION_ACCESS.oid());
+
+        if (value == null) {
+            return urls;
+        }
+
+        try {
+            AuthorityInformationAccess aia = AuthorityInformationAccess.getInstance(X509Ext.unwrapExtension(value));
+            for (AccessDescription accessDescription : aia.getAccessDescriptions()) {
+                GeneralName location = accessDescription.getAccessLocation();
+
+                if (accessDescription.getAccessMethod().equals(AccessDescription.id_ad_ocsp) &&
+                    location.getTagNo() == GeneralName.uniformResourceIdentifier) {
+                    urls.add(location.getName().toString());
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            // malformed extension, no responders
+        }
+        return urls;
+    }
+
+    private CertificateID createCertificateId(X509Certificate issuer, X509Certificate cert) throws CryptoException {
+        try {
+            return new JcaCertificateID(new JcaDigestCalculatorProviderBuilder().setProvider(KSE.BC).build()
+                                                                                 .get(digestAlgorithm
+                                                                                              .algorithmIdentifier()),
+                                        issuer, cert.getSerialNumber());
+        } catch (OperatorCreationException | CertificateEncodingException | OCSPException ex) {
+            throw new CryptoException(res.getString("NoCreateOcspRequest.exception.message"), ex);
+        }
+    }
+
+    private Map<BigInteger, OcspResult> request(String url, X509Certificate issuer, List<CertificateID> batch)
+            throws CryptoException {
+        OCSPReq request = createRequest(batch);
+        OCSPResp response = send(url, request);
+
+        if (response.getStatus() != OCSPResp.SUCCESSFUL) {
+            if (batch.size() > 1) {
+                // some responders only accept requests for a single certificate
+                return requestEach(url, issuer, batch);
+            }
+            throw new OcspStatusException(MessageFormat.format(res.getString("OcspResponseStatus.exception.message"),
+                                                               url, Integer.toString(response.getStatus())),
+                                          response.getStatus());
+        }
+
+        BasicOCSPResp basicResponse;
+        try {
+            basicResponse = (BasicOCSPResp) response.getResponseObject();
+        } catch (OCSPException | ClassCastException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoReadOcspResponse.exception.message"),
+                                                           url), ex);
+        }
+        if (basicResponse == null) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoReadOcspResponse.exception.message"),
+                                                           url));
+        }
+
+        checkNonce(request, basicResponse);
+        checkSignature(url, issuer, basicResponse);
+
+        // all certificates of a batch have the same issuer, so the serial number identifies a status once the issuer
+        // hashes have been checked
+        Map<BigInteger, SingleResp> singleResponses = new HashMap<>();
+        Set<BigInteger> notCurrent = new HashSet<>();
+        long now = System.currentTimeMillis();
+
+        for (SingleResp singleResponse : basicResponse.getResponses()) {
+            CertificateID responseId = singleResponse.getCertID();
+
+            if (!matchesIssuer(responseId, batch.get(0), issuer)) {
+                continue;
+            }
+            if (!isCurrent(singleResponse, now)) {
+                notCurrent.add(responseId.getSerialNumber());
+                continue;
+            }
+            singleResponses.putIfAbsent(responseId.getSerialNumber(), singleResponse);
+        }
+
+        Map<BigInteger, OcspResult> results = new HashMap<>();
+        List<CertificateID> missing = new ArrayList<>();
+
+        for (CertificateID certificateId : batch) {
+            SingleResp singleResponse = singleResponses.get(certificateId.getSerialNumber());
+
+            if (singleResponse == null) {
+                if (batch.size() == 1 && notCurrent.contains(certificateId.getSerialNumber())) {
+                    throw new CryptoException(MessageFormat.format(
+                            res.getString("OcspResponseNotCurrent.exception.message"), url,
+                            certificateId.getSerialNumber().toString(16).toUpperCase()));
+                }
+                missing.add(certificateId);
+                continue;
+            }
+
+            OcspResult result = new OcspResult(singleResponse, basicResponse, false);
+            cache.put(url, certificateId, result);
+            results.put(certificateId.getSerialNumber(), result);
+        }
+
+        if (!missing.isEmpty()) {
+            if (batch.size() == 1) {
+                throw new CryptoException(MessageFormat.format(
+                        res.getString("NoOcspResponseForCertificate.exception.message"),
+                        missing.get(0).getSerialNumber().toString(16).toUpperCase()));
+            }
+            results.putAll(requestEach(url, issuer, missing));
+        }
+
+        return results;
+    }
+
+    private Map<BigInteger, OcspResult> requestEach(String url, X509Certificate issuer,
+                                                    List<CertificateID> certificateIds) throws CryptoException {
+        Map<BigInteger, OcspResult> results = new HashMap<>();
+        for (CertificateID certificateId : certificateIds) {
+            results.putAll(request(url, issuer, Collections.singletonList(certificateId)));
+        }
+        return results;
+    }
+
+    private static boolean matchesIssuer(CertificateID responseId, CertificateID requestId, X509Certificate issuer)
+            throws CryptoException {
+        if (responseId.getHashAlgOID().equals(requestId.getHashAlgOID())) {
+            return Arrays.equals(responseId.getIssuerNameHash(), requestId.getIssuerNameHash()) &&
+                   Arrays.equals(responseId.getIssuerKeyHash(), requestId.getIssuerKeyHash());
+        }
+
+        // responders may answer with another hash algorithm than the one requested
+        try {
+            return responseId.matchesIssuer(new JcaX509CertificateHolder(issuer),
+                                            new JcaDigestCalculatorProviderBuilder().setProvider(KSE.BC).build());
+        } catch (OCSPException ex) {
+            // unknown hash algorithm, the status cannot be attributed to the issuer
+            return false;
+        } catch (CertificateEncodingException | OperatorCreationException ex) {
+            throw new CryptoException(res.getString("NoCreateOcspRequest.exception.message"), ex);
+        }
+    }
+
+    private static boolean isCurrent(SingleResp singleResponse, long now) {
+        Date nextUpdate = singleResponse.getNextUpdate();
+
+        if (singleResponse.getThisUpdate().getTime() > now + MAX_CLOCK_SKEW) {
+            return false;
+        }
+        return nextUpdate == null || nextUpdate.getTime() > now;
+    }
+
+    private OCSPReq createRequest(List<CertificateID> certificateIds) throws CryptoException {
+        try {
+            OCSPReqBuilder builder = new OCSPReqBuilder();
+            for (CertificateID certificateId : certificateIds) {
+                builder.addRequest(certificateId);
+            }
+
+            if (includeNonce) {
+                byte[] nonce = new byte[16];
+                RANDOM.nextBytes(nonce);
+                ExtensionsGenerator extGen = new ExtensionsGenerator();
+                extGen.addExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false, new DEROctetString(nonce));
+                builder.setRequestExtensions(extGen.generate());
+            }
+
+            return builder.build();
+        } catch (IOException | OCSPException ex) {
+            throw new CryptoException(res.getString("NoCreateOcspRequest.exception.message"), ex);
+        }
+    }
+
+    private static void checkNonce(OCSPReq request, BasicOCSPResp response) throws CryptoException {
+        Extension requestNonce = request.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+        Extension responseNonce = response.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+
+        // many responders ignore the nonce and serve pre-produced responses
+        if (requestNonce == null || responseNonce == null) {
+            return;
+        }
+
+        if (!Arrays.equals(requestNonce.getExtnValue().getOctets(), responseNonce.getExtnValue().getOctets())) {
+            throw new CryptoException(res.getString("NonceMismatch.exception.message"));
+        }
+    }
+
+    private static void checkSignature(String url, X509Certificate issuer, BasicOCSPResp response)
+            throws CryptoException {
+        JcaContentVerifierProviderBuilder verifierBuilder = new JcaContentVerifierProviderBuilder().setProvider(KSE.BC);
+
+        try {
+            if (response.isSignatureValid(verifierBuilder.build(issuer.getPublicKey()))) {
+                return;
+            }
+        } catch (OperatorCreationException | OCSPException ex) {
+            // key does not fit the signature algorithm, the response may still come from a delegated responder
+        }
+
+        // delegated responders must be authorized by the issuer, see RFC 6960 section 4.2.2.2
+        for (X509CertificateHolder responderCert : response.getCerts()) {
+            if (isAuthorizedResponder(responderCert, issuer, response.getProducedAt(), verifierBuilder)) {
+                try {
+                    if (response.isSignatureValid(verifierBuilder.build(responderCert))) {
+                        return;
+                    }
+                } catch (OperatorCreationException | CertificateException | OCSPException ex) {
+                    // try the next certificate
+                }
+            }
+        }
+
+        throw new CryptoException(MessageFormat.format(res.getString("InvalidOcspResponseSignature.exception.message"),
+                                                       url));
+    }
+
+    private static boolean isAuthorizedResponder(X509CertificateHolder responderCert, X509Certificate issuer,
+                                                 Date producedAt, JcaContentVerifierProviderBuilder verifierBuilder) {
+        Extensions extensions = responderCert.getExtensions();
+        if (extensions == null || !responderCert.isValidOn(producedAt)) {
+            return false;
+        }
+
+        ExtendedKeyUsage extendedKeyUsage = ExtendedKeyUsage.fromExtensions(extensions);
+        if (extendedKeyUsage == null || !extendedKeyUsage.hasKeyPurposeId(KeyPurposeId.id_kp_OCSPSigning)) {
+            return false;
+        }
+
+        try {
+            return responderCert.isSignatureValid(verifierBuilder.build(issuer.getPublicKey()));
+        } catch (OperatorCreationException | CertException ex) {
+            return false;
+        }
+    }
+
+    private OCSPResp send(String url, OCSPReq request) throws CryptoException {
+        byte[] responseData;
+        try {
+            byte[] requestData = request.getEncoded();
+
+            HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+            con.setConnectTimeout(timeout);
+            con.setReadTimeout(timeout);
+            con.setRequestMethod("POST");
+            con.setRequestProperty("Content-Type", "application/ocsp-request");
+            con.setRequestProperty("Accept", "application/ocsp-response");
+            con.setDoOutput(true);
+            con.setUseCaches(false);
+            con.setFixedLengthStreamingMode(requestData.length);
+
+            try (OutputStream out = con.getOutputStream()) {
+                out.write(requestData);
+            }
+
+            int responseCode = con.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                // read the error page as well, otherwise the connection cannot be reused
+                try (InputStream err = con.getErrorStream()) {
+                    if (err != null) {
+                        IOUtils.consume(err);
+                    }
+                }
+                throw new CryptoException(MessageFormat.format(res.getString("HttpError.exception.message"), url,
+                                                               Integer.toString(responseCode)));
+            }
+
+            // no disconnect(), a completely read and closed stream hands the connection back to the keep-alive cache
+            try (InputStream in = con.getInputStream()) {
+                responseData = IOUtils.toByteArray(in);
+            }
+        } catch (IOException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoSendOcspRequest.exception.message"), url),
+                                      ex);
+        }
+
+        try {
+            return new OCSPResp(responseData);
+        } catch (IOException ex) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoReadOcspResponse.exception.message"),
+                                                           url), ex);
+        }
+    }
+}
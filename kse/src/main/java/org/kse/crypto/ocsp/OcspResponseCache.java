@@ -0,0 +1,196 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.cert.ocsp.CertificateID;
+
+/**
+ * Bounded LRU cache of OCSP certificate statuses, keyed by responder URL and certificate ID.
+ * <p>
+ * A status is kept until the next update time announced by the responder. Statuses without a next update time are
+ * not cached, because RFC 6960 says that newer information is always available for them.
+ */
+public final class OcspResponseCache {
+
+    /** Default maximum number of cached statuses */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final int maxSize;
+    private final Map<Key, OcspResult> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Construct a cache.
+     *
+     * @param maxSize Maximum number of cached statuses, 0 disables caching
+     */
+    public OcspResponseCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, OcspResult> eldest) {
+                return size() > OcspResponseCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached status of a certificate.
+     *
+     * @param url           Responder URL
+     * @param certificateId Certificate ID
+     * @return The cached status or null if there is none or it is outdated
+     */
+    public OcspResult get(String url, CertificateID certificateId) {
+        return get(url, certificateId, System.currentTimeMillis());
+    }
+
+    OcspResult get(String url, CertificateID certificateId, long now) {
+        if (maxSize == 0) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        Key key = new Key(url, certificateId);
+        OcspResult result;
+        synchronized (cache) {
+            result = cache.get(key);
+
+            if (result != null && !result.getNextUpdate().after(new Date(now))) {
+                cache.remove(key);
+                result = null;
+            }
+        }
+
+        if (result == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return result.cached();
+    }
+
+    /**
+     * Add the status of a certificate to the cache, unless it has no next update time or it is already outdated.
+     * Evicts the least recently used status if the cache is full.
+     *
+     * @param url           Responder URL
+     * @param certificateId Certificate ID the status was requested for
+     * @param result        Status
+     */
+    public void put(String url, CertificateID certificateId, OcspResult result) {
+        Date nextUpdate = result.getNextUpdate();
+
+        if (maxSize == 0 || nextUpdate == null || !nextUpdate.after(new Date())) {
+            return;
+        }
+
+        synchronized (cache) {
+            cache.put(new Key(url, certificateId), result);
+        }
+    }
+
+    /**
+     * Remove all statuses from the cache and reset the counters.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get the number of cached statuses, including outdated ones that have not been looked up since.
+     *
+     * @return Number of cached statuses
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Get the maximum number of cached statuses.
+     *
+     * @return Maximum number of cached statuses
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the number of lookups that found a current status.
+     *
+     * @return Number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups that did not find a current status.
+     *
+     * @return Number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Key {
+        private final String url;
+        private final CertificateID certificateId;
+
+        Key(String url, CertificateID certificateId) {
+            this.url = url;
+            this.certificateId = certificateId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, certificateId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return url.equals(other.url) && certificateId.equals(other.certificateId);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import java.math.BigInteger;
+import java.util.Date;
+
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+/**
+ * Status of a single certificate as reported by an OCSP responder.
+ */
+public final class OcspResult {
+
+    private final SingleResp singleResponse;
+    private final BasicOCSPResp basicResponse;
+    private final boolean fromCache;
+
+    OcspResult(SingleResp singleResponse, BasicOCSPResp basicResponse, boolean fromCache) {
+        this.singleResponse = singleResponse;
+        this.basicResponse = basicResponse;
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * Get the certificate ID the status belongs to.
+     *
+     * @return Certificate ID
+     */
+    public CertificateID getCertificateId() {
+        return singleResponse.getCertID();
+    }
+
+    /**
+     * Get the serial number of the certificate the status belongs to.
+     *
+     * @return Serial number
+     */
+    public BigInteger getSerialNumber() {
+        return singleResponse.getCertID().getSerialNumber();
+    }
+
+    /**
+     * Get the certificate status.
+     *
+     * @return CertificateStatus.GOOD, a RevokedStatus or an UnknownStatus
+     */
+    public CertificateStatus getCertStatus() {
+        return singleResponse.getCertStatus();
+    }
+
+    /**
+     * Is the certificate status good?
+     *
+     * @return True if the responder reported the certificate as good
+     */
+    public boolean isGood() {
+        return singleResponse.getCertStatus() == CertificateStatus.GOOD;
+    }
+
+    /**
+     * Get the time at which the status was known to be correct.
+     *
+     * @return This update time
+     */
+    public Date getThisUpdate() {
+        return singleResponse.getThisUpdate();
+    }
+
+    /**
+     * Get the time at or before which newer status information will be available.
+     *
+     * @return Next update time or null if the responder always has newer information
+     */
+    public Date getNextUpdate() {
+        return singleResponse.getNextUpdate();
+    }
+
+    /**
+     * Get the response for the single certificate.
+     *
+     * @return Single response
+     */
+    public SingleResp getSingleResponse() {
+        return singleResponse;
+    }
+
+    /**
+     * Get the complete response the status was taken from. It may contain the status of other certificates.
+     *
+     * @return Basic OCSP response
+     */
+    public BasicOCSPResp getBasicResponse() {
+        return basicResponse;
+    }
+
+    /**
+     * Was the status taken from the cache instead of asking the responder?
+     *
+     * @return True if it was cached
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    OcspResult cached() {
+        return new OcspResult(singleResponse, basicResponse, true);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import org.kse.crypto.CryptoException;
+
+/**
+ * Thrown if an OCSP responder answers with a status other than successful.
+ */
+public class OcspStatusException extends CryptoException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    /**
+     * Creates a new OcspStatusException.
+     *
+     * @param message Exception message
+     * @param status  Response status, one of the OCSPResp constants
+     */
+    public OcspStatusException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Get the response status.
+     *
+     * @return Response status, one of the OCSPResp constants
+     */
+    public int getStatus() {
+        return status;
+    }
+}
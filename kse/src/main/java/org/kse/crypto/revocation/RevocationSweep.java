@@ -0,0 +1,857 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.revocation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.CertPath;
+import java.security.cert.CertPathValidator;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlRevocationChecker;
+import org.kse.crypto.crl.CrlStore;
+import org.kse.crypto.crl.IndexedCrl;
+import org.kse.crypto.ocsp.OcspClient;
+import org.kse.crypto.ocsp.OcspResult;
+import org.kse.crypto.x509.TrustAnchorIndex;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.utilities.StringUtils;
+
+/**
+ * Checks the chain, revocation status and expiry of every certificate of a KeyStore.
+ * <p>
+ * Chains are built from the certificates of the KeyStore itself and validated without revocation checking on a pool
+ * of worker threads. The certificates are then grouped by their issuer and the revocation status of each group is
+ * taken from one batched OCSP request or one CRL per issuer, so that the number of requests grows with the number of
+ * distinct issuers rather than with the number of entries. Certificates without an OCSP responder, or whose responder
+ * could not be reached, are looked up in the CRLs of their distribution points. OCSP statuses and CRLs are cached
+ * beyond the sweep by the OcspClient and the CrlStore.
+ * <p>
+ * The number of concurrent requests to the same host is limited, and a host that could not be reached is not asked
+ * again during the sweep. Results are passed to a {@link ResultHandler} on the calling thread as soon as they are
+ * available.
+ */
+public class RevocationSweep {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/revocation/resources");
+    private static ResourceBundle resCryptoX509 = ResourceBundle.getBundle("org/kse/crypto/x509/resources");
+
+    /** Default number of worker threads */
+    public static final int DEFAULT_THREADS = 8;
+
+    /** Default number of concurrent requests per host */
+    public static final int DEFAULT_HOST_CONNECTIONS = 2;
+
+    /** Default number of days before the end of the validity from which a certificate is reported as expiring */
+    public static final int DEFAULT_EXPIRY_WARNING_DAYS = 30;
+
+    // certificates of one issuer that are checked by one task, matches a full OCSP request
+    private static final int CERTS_PER_TASK = OcspClient.DEFAULT_MAX_BATCH_SIZE;
+
+    /**
+     * Outcome of the chain validation.
+     */
+    public enum ChainStatus {
+        /** Chain to a self-signed certificate of the KeyStore is valid */
+        VALID,
+        /** The certificate is self-signed */
+        TRUST_ANCHOR,
+        /** No chain to a self-signed certificate of the KeyStore */
+        UNTRUSTED,
+        /** A chain was found but is not valid */
+        INVALID
+    }
+
+    /**
+     * Outcome of the revocation check.
+     */
+    public enum RevocationStatus {
+        /** Not revoked */
+        GOOD,
+        /** Revoked */
+        REVOKED,
+        /** The OCSP responder does not know the certificate */
+        UNKNOWN,
+        /** No status could be obtained from the OCSP responder or the CRLs */
+        FAILED,
+        /** Not checked, e.g. because the certificate is self-signed or its issuer is not in the KeyStore */
+        NOT_CHECKED
+    }
+
+    /**
+     * Outcome of the expiry check.
+     */
+    public enum ExpiryStatus {
+        /** Valid beyond the warning period */
+        VALID,
+        /** Expires within the warning period */
+        EXPIRING,
+        /** Expired */
+        EXPIRED,
+        /** Not valid yet */
+        NOT_YET_VALID
+    }
+
+    /**
+     * Result of checking a single entry.
+     */
+    public static final class Result {
+        private final String alias;
+        private final X509Certificate certificate;
+        private final ChainStatus chainStatus;
+        private final String chainMessage;
+        private final RevocationStatus revocationStatus;
+        private final String revocationSource;
+        private final String revocationMessage;
+        private final ExpiryStatus expiryStatus;
+
+        private Result(Check check) {
+            this.alias = check.alias;
+            this.certificate = check.cert;
+            this.chainStatus = check.chainStatus;
+            this.chainMessage = check.chainMessage;
+            this.revocationStatus = check.revocationStatus;
+            this.revocationSource = check.revocationSource;
+            this.revocationMessage = check.revocationMessage;
+            this.expiryStatus = check.expiryStatus;
+        }
+
+        /**
+         * Get the alias of the entry.
+         *
+         * @return Alias
+         */
+        public String getAlias() {
+            return alias;
+        }
+
+        /**
+         * Get the certificate of the entry.
+         *
+         * @return Certificate
+         */
+        public X509Certificate getCertificate() {
+            return certificate;
+        }
+
+        /**
+         * Get the outcome of the chain validation.
+         *
+         * @return Chain status
+         */
+        public ChainStatus getChainStatus() {
+            return chainStatus;
+        }
+
+        /**
+         * Get the reason why the chain is not valid.
+         *
+         * @return Message or null if the chain is valid
+         */
+        public String getChainMessage() {
+            return chainMessage;
+        }
+
+        /**
+         * Get the outcome of the revocation check.
+         *
+         * @return Revocation status
+         */
+        public RevocationStatus getRevocationStatus() {
+            return revocationStatus;
+        }
+
+        /**
+         * Get the OCSP responder or CRL location that reported the revocation status.
+         *
+         * @return URL or null if none reported a status
+         */
+        public String getRevocationSource() {
+            return revocationSource;
+        }
+
+        /**
+         * Get details of the revocation status, e.g. the revocation date and reason.
+         *
+         * @return Message or null if the certificate is not revoked
+         */
+        public String getRevocationMessage() {
+            return revocationMessage;
+        }
+
+        /**
+         * Get the outcome of the expiry check.
+         *
+         * @return Expiry status
+         */
+        public ExpiryStatus getExpiryStatus() {
+            return expiryStatus;
+        }
+    }
+
+    /**
+     * Receives the results of a sweep on the thread that runs the sweep, in the order the entries are finished.
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+        /**
+         * Handle the result of an entry.
+         *
+         * @param result The result
+         * @throws IOException If the result could not be written, this stops the sweep
+         */
+        void handle(Result result) throws IOException;
+    }
+
+    /**
+     * Counts of a finished sweep.
+     */
+    public static final class Summary {
+        private final int[] chainCounts;
+        private final int[] revocationCounts;
+        private final int[] expiryCounts;
+        private final int total;
+        private final int issuers;
+        private final long elapsed;
+
+        private Summary(int[] chainCounts, int[] revocationCounts, int[] expiryCounts, int total, int issuers,
+                        long elapsed) {
+            this.chainCounts = chainCounts;
+            this.revocationCounts = revocationCounts;
+            this.expiryCounts = expiryCounts;
+            this.total = total;
+            this.issuers = issuers;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the number of entries with a chain status.
+         *
+         * @param status Chain status
+         * @return Number of entries
+         */
+        public int getCount(ChainStatus status) {
+            return chainCounts[status.ordinal()];
+        }
+
+        /**
+         * Get the number of entries with a revocation status.
+         *
+         * @param status Revocation status
+         * @return Number of entries
+         */
+        public int getCount(RevocationStatus status) {
+            return revocationCounts[status.ordinal()];
+        }
+
+        /**
+         * Get the number of entries with an expiry status.
+         *
+         * @param status Expiry status
+         * @return Number of entries
+         */
+        public int getCount(ExpiryStatus status) {
+            return expiryCounts[status.ordinal()];
+        }
+
+        /**
+         * Get the number of checked entries.
+         *
+         * @return Number of entries
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Get the number of distinct issuers whose certificates were checked for revocation.
+         *
+         * @return Number of issuers
+         */
+        public int getIssuers() {
+            return issuers;
+        }
+
+        /**
+         * Get the duration of the sweep.
+         *
+         * @return Duration in msecs
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+
+    private final OcspClient ocspClient;
+    private final CrlStore crlStore;
+    private boolean checkOcsp = true;
+    private boolean checkCrl = true;
+    private int threads = DEFAULT_THREADS;
+    private int hostConnections = DEFAULT_HOST_CONNECTIONS;
+    private int expiryWarningDays = DEFAULT_EXPIRY_WARNING_DAYS;
+
+    /**
+     * Construct a sweep that uses the shared OCSP cache and CRL store.
+     */
+    public RevocationSweep() {
+        this(new OcspClient(), CrlRevocationChecker.getCrlStore());
+    }
+
+    /**
+     * Construct a sweep.
+     *
+     * @param ocspClient Client for the OCSP requests
+     * @param crlStore   Store for the CRLs
+     */
+    public RevocationSweep(OcspClient ocspClient, CrlStore crlStore) {
+        this.ocspClient = ocspClient;
+        this.crlStore = crlStore;
+    }
+
+    /**
+     * Ask the OCSP responders of the certificates, enabled by default.
+     *
+     * @param checkOcsp True to use OCSP
+     */
+    public void setCheckOcsp(boolean checkOcsp) {
+        this.checkOcsp = checkOcsp;
+    }
+
+    /**
+     * Look up certificates without an OCSP status in the CRLs of their distribution points, enabled by default.
+     *
+     * @param checkCrl True to use CRLs
+     */
+    public void setCheckCrl(boolean checkCrl) {
+        this.checkCrl = checkCrl;
+    }
+
+    /**
+     * Set the number of worker threads.
+     *
+     * @param threads Number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Set the maximum number of concurrent OCSP and CRL requests to the same host.
+     *
+     * @param hostConnections Number of requests
+     */
+    public void setHostConnections(int hostConnections) {
+        this.hostConnections = Math.max(1, hostConnections);
+    }
+
+    /**
+     * Set the number of days before the end of the validity from which a certificate is reported as expiring.
+     *
+     * @param expiryWarningDays Number of days
+     */
+    public void setExpiryWarningDays(int expiryWarningDays) {
+        this.expiryWarningDays = Math.max(0, expiryWarningDays);
+    }
+
+    /**
+     * Check all certificate entries and key entries with a certificate of a KeyStore.
+     *
+     * @param keyStore The KeyStore
+     * @param handler  Receives the result of each entry
+     * @return Summary of the sweep
+     * @throws CryptoException      If the KeyStore entries could not be read
+     * @throws IOException          If the handler failed
+     * @throws InterruptedException If the calling thread was interrupted
+     */
+    public Summary sweep(KeyStore keyStore, ResultHandler handler)
+            throws CryptoException, IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+
+        List<Check> checks = new ArrayList<>();
+        List<X509Certificate> certs = new ArrayList<>();
+        readEntries(keyStore, checks, certs);
+
+        Run run = new Run(new TrustAnchorIndex(certs), new Date(start));
+
+        int[] chainCounts = new int[ChainStatus.values().length];
+        int[] revocationCounts = new int[RevocationStatus.values().length];
+        int[] expiryCounts = new int[ExpiryStatus.values().length];
+        Set<X509Certificate> issuers = new HashSet<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "kse-revocation-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            CompletionService<List<Check>> completionService = new ExecutorCompletionService<>(executor);
+
+            for (Check check : checks) {
+                completionService.submit(() -> Collections.singletonList(run.checkChain(check)));
+            }
+
+            // certificates waiting for the revocation check, by issuer and OCSP responder
+            Map<Group, List<Check>> pending = new HashMap<>();
+            int chainsPending = checks.size();
+            int inProgress = checks.size();
+
+            while (inProgress > 0) {
+                List<Check> done = take(completionService);
+                inProgress--;
+
+                for (Check check : done) {
+                    if (!check.revocationChecked) {
+                        chainsPending--;
+                    }
+
+                    if (check.revocationStatus != null) {
+                        handler.handle(new Result(check));
+                        chainCounts[check.chainStatus.ordinal()]++;
+                        revocationCounts[check.revocationStatus.ordinal()]++;
+                        expiryCounts[check.expiryStatus.ordinal()]++;
+                        continue;
+                    }
+
+                    issuers.add(check.issuer);
+                    Group key = new Group(check.issuer, check.responder);
+                    List<Check> group = pending.computeIfAbsent(key, k -> new ArrayList<>());
+                    group.add(check);
+
+                    if (group.size() == CERTS_PER_TASK) {
+                        pending.remove(key);
+                        completionService.submit(() -> run.checkRevocation(key.issuer, group));
+                        inProgress++;
+                    }
+                }
+
+                // all chains are known, the remaining groups will not grow anymore
+                if (chainsPending == 0 && !pending.isEmpty()) {
+                    for (Map.Entry<Group, List<Check>> entry : pending.entrySet()) {
+                        X509Certificate issuer = entry.getKey().issuer;
+                        List<Check> group = entry.getValue();
+                        completionService.submit(() -> run.checkRevocation(issuer, group));
+                        inProgress++;
+                    }
+                    pending.clear();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Summary(chainCounts, revocationCounts, expiryCounts, checks.size(), issuers.size(),
+                           System.currentTimeMillis() - start);
+    }
+
+    private static void readEntries(KeyStore keyStore, List<Check> checks, List<X509Certificate> certs)
+            throws CryptoException {
+        try {
+            for (Enumeration<String> aliases = keyStore.aliases(); aliases.hasMoreElements(); ) {
+                String alias = aliases.nextElement();
+
+                if (!keyStore.isCertificateEntry(alias) && !keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+
+                Certificate[] chain = keyStore.getCertificateChain(alias);
+                if (chain == null) {
+                    Certificate cert = keyStore.getCertificate(alias);
+                    chain = (cert != null) ? new Certificate[] { cert } : new Certificate[0];
+                }
+
+                // secret keys and certificates of other types are not checked
+                if (chain.length == 0 || !(chain[0] instanceof X509Certificate)) {
+                    continue;
+                }
+
+                X509Certificate[] x509Chain = X509CertUtil.convertCertificates(chain);
+                certs.addAll(Arrays.asList(x509Chain));
+                checks.add(new Check(alias, x509Chain[0]));
+            }
+        } catch (KeyStoreException ex) {
+            throw new CryptoException(res.getString("NoReadKeyStore.exception.message"), ex);
+        }
+    }
+
+    private static List<Check> take(CompletionService<List<Check>> completionService) throws InterruptedException {
+        try {
+            return completionService.take().get();
+        } catch (ExecutionException ex) {
+            // the checks report all expected exceptions in their results
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static String getReasonText(int reason) {
+        try {
+            return resCryptoX509.getString("CrlReason." + reason + ".text");
+        } catch (MissingResourceException ex) {
+            return resCryptoX509.getString("CrlReason.0.text");
+        }
+    }
+
+    /**
+     * State of a single sweep, shared by its workers.
+     */
+    private final class Run {
+        private final TrustAnchorIndex index;
+        private final Date now;
+        private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+        private final Map<String, CryptoException> unreachable = new ConcurrentHashMap<>();
+
+        Run(TrustAnchorIndex index, Date now) {
+            this.index = index;
+            this.now = now;
+        }
+
+        Check checkChain(Check check) {
+            X509Certificate cert = check.cert;
+            check.expiryStatus = getExpiryStatus(cert);
+
+            try {
+                if (X509CertUtil.isCertificateSelfSigned(cert)) {
+                    check.chainStatus = ChainStatus.TRUST_ANCHOR;
+                    check.revocationStatus = RevocationStatus.NOT_CHECKED;
+                    return check;
+                }
+
+                X509Certificate[] chain = index.establishTrust(cert);
+
+                if (chain == null) {
+                    check.chainStatus = ChainStatus.UNTRUSTED;
+                    check.chainMessage = res.getString("NoChain.message");
+
+                    // the issuer may still be in the KeyStore without a self-signed root
+                    List<X509Certificate> issuers = index.findIssuers(cert);
+                    if (!issuers.isEmpty()) {
+                        check.issuer = issuers.get(0);
+                    }
+                } else {
+                    validate(chain);
+                    check.chainStatus = ChainStatus.VALID;
+                    check.issuer = chain[1];
+                }
+            } catch (CryptoException | GeneralSecurityException ex) {
+                check.chainStatus = ChainStatus.INVALID;
+                check.chainMessage = ex.getMessage();
+            }
+
+            if (check.expiryStatus == ExpiryStatus.EXPIRED) {
+                // CAs remove expired certificates from their CRLs
+                check.revocationStatus = RevocationStatus.NOT_CHECKED;
+                check.revocationMessage = res.getString("CertificateExpired.message");
+            } else if (check.issuer == null) {
+                check.revocationStatus = RevocationStatus.NOT_CHECKED;
+                check.revocationMessage = res.getString("NoIssuer.message");
+            } else if (!checkOcsp && !checkCrl) {
+                check.revocationStatus = RevocationStatus.NOT_CHECKED;
+            } else if (checkOcsp) {
+                List<String> urls = OcspClient.getOcspUrls(cert);
+                check.responder = urls.isEmpty() ? null : urls.get(0);
+            }
+
+            return check;
+        }
+
+        private ExpiryStatus getExpiryStatus(X509Certificate cert) {
+            if (now.before(cert.getNotBefore())) {
+                return ExpiryStatus.NOT_YET_VALID;
+            }
+            if (now.after(cert.getNotAfter())) {
+                return ExpiryStatus.EXPIRED;
+            }
+            if (cert.getNotAfter().getTime() - now.getTime() < TimeUnit.DAYS.toMillis(expiryWarningDays)) {
+                return ExpiryStatus.EXPIRING;
+            }
+            return ExpiryStatus.VALID;
+        }
+
+        private void validate(X509Certificate[] chain) throws GeneralSecurityException {
+            // the self-signed end of the chain is the trust anchor, revocation is checked separately per issuer
+            List<X509Certificate> path = Arrays.asList(chain).subList(0, chain.length - 1);
+            CertPath certPath = CertificateFactory.getInstance("X.509", KSE.BC).generateCertPath(path);
+
+            PKIXParameters params = new PKIXParameters(
+                    Collections.singleton(new TrustAnchor(chain[chain.length - 1], null)));
+            params.setRevocationEnabled(false);
+            params.setDate(now);
+
+            CertPathValidator.getInstance("PKIX", KSE.BC).validate(certPath, params);
+        }
+
+        List<Check> checkRevocation(X509Certificate issuer, List<Check> checks) throws InterruptedException {
+            if (checkOcsp) {
+                checkOcsp(issuer, checks);
+            }
+            if (checkCrl) {
+                checkCrl(issuer, checks);
+            }
+
+            for (Check check : checks) {
+                check.revocationChecked = true;
+
+                if (check.revocationStatus == null) {
+                    if (check.revocationMessage == null) {
+                        check.revocationStatus = RevocationStatus.NOT_CHECKED;
+                        check.revocationMessage = res.getString("NoRevocationSource.message");
+                    } else {
+                        check.revocationStatus = RevocationStatus.FAILED;
+                    }
+                }
+            }
+            return checks;
+        }
+
+        private void checkOcsp(X509Certificate issuer, List<Check> checks) throws InterruptedException {
+            Map<String, List<Check>> byResponder = new LinkedHashMap<>();
+
+            for (Check check : checks) {
+                if (check.responder != null) {
+                    byResponder.computeIfAbsent(check.responder, url -> new ArrayList<>()).add(check);
+                }
+            }
+
+            for (Map.Entry<String, List<Check>> entry : byResponder.entrySet()) {
+                String url = entry.getKey();
+                List<Check> responderChecks = entry.getValue();
+                List<X509Certificate> certs = new ArrayList<>();
+                for (Check check : responderChecks) {
+                    certs.add(check.cert);
+                }
+
+                Map<BigInteger, OcspResult> results;
+                try {
+                    results = request(url, () -> ocspClient.check(url, issuer, certs));
+                } catch (CryptoException ex) {
+                    for (Check check : responderChecks) {
+                        check.revocationMessage = ex.getMessage();
+                    }
+                    continue;
+                }
+
+                for (Check check : responderChecks) {
+                    OcspResult result = results.get(check.cert.getSerialNumber());
+                    if (result != null) {
+                        setStatus(check, url, result);
+                    }
+                }
+            }
+        }
+
+        private void setStatus(Check check, String url, OcspResult result) {
+            CertificateStatus certStatus = result.getCertStatus();
+            check.revocationSource = url;
+
+            if (certStatus == CertificateStatus.GOOD) {
+                check.revocationStatus = RevocationStatus.GOOD;
+                check.revocationMessage = null;
+            } else if (certStatus instanceof RevokedStatus) {
+                RevokedStatus revokedStatus = (RevokedStatus) certStatus;
+                int reason = revokedStatus.hasRevocationReason() ? revokedStatus.getRevocationReason() : 0;
+
+                check.revocationStatus = RevocationStatus.REVOKED;
+                check.revocationMessage = MessageFormat.format(res.getString("CertificateRevoked.message"),
+                                                               StringUtils.formatDate(
+                                                                       revokedStatus.getRevocationTime()),
+                                                               getReasonText(reason));
+            } else {
+                check.revocationStatus = RevocationStatus.UNKNOWN;
+                check.revocationMessage = MessageFormat.format(res.getString("OcspStatusUnknown.message"), url);
+            }
+        }
+
+        private void checkCrl(X509Certificate issuer, List<Check> checks) throws InterruptedException {
+            // CRLs of this task, a CRL is usually shared by all certificates of an issuer
+            Map<String, IndexedCrl> crls = new HashMap<>();
+
+            for (Check check : checks) {
+                if (check.revocationStatus != null) {
+                    continue;
+                }
+
+                for (String location : CrlRevocationChecker.getDistributionPoints(check.cert)) {
+                    try {
+                        IndexedCrl crl = crls.get(location);
+                        if (crl == null) {
+                            crl = request(location, () -> crlStore.get(location, issuer));
+                            crls.put(location, crl);
+                        }
+
+                        if (!crl.isCurrent(now)) {
+                            check.revocationMessage = MessageFormat.format(res.getString("CrlNotCurrent.message"),
+                                                                           location);
+                            continue;
+                        }
+
+                        setStatus(check, location, crl.lookup(check.cert.getSerialNumber()));
+                        break;
+                    } catch (CryptoException ex) {
+                        check.revocationMessage = ex.getMessage();
+                    }
+                }
+            }
+        }
+
+        private void setStatus(Check check, String location, IndexedCrl.Entry entry) {
+            check.revocationSource = location;
+
+            if (entry == null || entry.getRevocationDate().after(now)) {
+                check.revocationStatus = RevocationStatus.GOOD;
+                check.revocationMessage = null;
+            } else {
+                check.revocationStatus = RevocationStatus.REVOKED;
+                check.revocationMessage = MessageFormat.format(res.getString("CertificateRevoked.message"),
+                                                               StringUtils.formatDate(entry.getRevocationDate()),
+                                                               getReasonText(Math.max(0, entry.getReason())));
+            }
+        }
+
+        private <T> T request(String url, Request<T> request) throws CryptoException, InterruptedException {
+            String host = getHost(url);
+
+            if (host == null) {
+                return request.send();
+            }
+
+            CryptoException failure = unreachable.get(host);
+            if (failure != null) {
+                throw failure;
+            }
+
+            Semaphore connections = hosts.computeIfAbsent(host, h -> new Semaphore(hostConnections));
+            connections.acquire();
+            try {
+                // the host may have failed while waiting for a connection
+                failure = unreachable.get(host);
+                if (failure != null) {
+                    throw failure;
+                }
+                return request.send();
+            } catch (CryptoException ex) {
+                // don't wait for the timeout of a host that is down once per issuer
+                if (ex.getCause() instanceof IOException) {
+                    unreachable.putIfAbsent(host, ex);
+                }
+                throw ex;
+            } finally {
+                connections.release();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request<T> {
+        T send() throws CryptoException;
+    }
+
+    private static String getHost(String url) {
+        try {
+            URI uri = new URI(url);
+
+            // local files need no connection
+            if (uri.getHost() == null) {
+                return null;
+            }
+            return uri.getHost().toLowerCase() + ":" + uri.getPort();
+        } catch (URISyntaxException ex) {
+            return null;
+        }
+    }
+
+    private static final class Group {
+        private final X509Certificate issuer;
+        private final String responder;
+
+        Group(X509Certificate issuer, String responder) {
+            this.issuer = issuer;
+            this.responder = responder;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(issuer, responder);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Group)) {
+                return false;
+            }
+
+            Group other = (Group) obj;
+            return issuer.equals(other.issuer) && Objects.equals(responder, other.responder);
+        }
+    }
+
+    private static final class Check {
+        private final String alias;
+        private final X509Certificate cert;
+        private X509Certificate issuer;
+        private ExpiryStatus expiryStatus;
+        private ChainStatus chainStatus;
+        private String chainMessage;
+        private RevocationStatus revocationStatus;
+        private String revocationSource;
+        private String revocationMessage;
+        private String responder;
+        private boolean revocationChecked;
+
+        Check(String alias, X509Certificate cert) {
+            this.alias = alias;
+            this.cert = cert;
+        }
+    }
+}
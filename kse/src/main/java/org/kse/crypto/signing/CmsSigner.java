@@ -19,8 +19,14 @@
  */
 package org.kse.crypto.signing;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.PrivateKey;
 import java.security.Provider;
 import java.security.cert.CertificateEncodingException;
@@ -30,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.ResourceBundle;
 
+import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.DERSet;
@@ -41,7 +48,10 @@ import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.CMSProcessableFile;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataParser;
+import org.bouncycastle.cms.CMSSignedDataStreamGenerator;
 import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.SignerInfoGenerator;
 import org.bouncycastle.cms.SignerInformation;
 import org.bouncycastle.cms.SignerInformationStore;
 import org.bouncycastle.cms.jcajce.JcaSignerInfoGeneratorBuilder;
@@ -50,6 +60,9 @@ import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
 import org.kse.crypto.CryptoException;
 import org.kse.crypto.digest.DigestType;
+import org.kse.utilities.io.ProgressInputStream;
+import org.kse.utilities.io.ProgressListener;
+import org.kse.utilities.pem.PemUtil;
 
 /**
  * Class provides functionality to sign files using PKCS #7 Cryptographic
@@ -58,6 +71,8 @@ import org.kse.crypto.digest.DigestType;
 public class CmsSigner {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/signing/resources");
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     private CmsSigner() {
     }
 
@@ -81,16 +96,9 @@ public class CmsSigner {
         try {
             CMSTypedData msg = new CMSProcessableFile(inputFile);
 
-            JcaContentSignerBuilder contentSignerBuilder = new JcaContentSignerBuilder(signatureType.jce());
-            JcaDigestCalculatorProviderBuilder digestCalculatorProviderBuilder = new JcaDigestCalculatorProviderBuilder();
-            if (provider != null) {
-                contentSignerBuilder.setProvider(provider);
-                digestCalculatorProviderBuilder.setProvider(provider);
-            }
-
             CMSSignedDataGenerator generator = new CMSSignedDataGenerator();
-            generator.addSignerInfoGenerator(new JcaSignerInfoGeneratorBuilder(digestCalculatorProviderBuilder.build())
-                    .build(contentSignerBuilder.build(privateKey), certificateChain[0]));
+            generator.addSignerInfoGenerator(createSignerInfoGenerator(privateKey, certificateChain[0], signatureType,
+                    provider));
             generator.addCertificates(new JcaCertStore(Arrays.asList(certificateChain)));
 
             CMSSignedData signedData = generator.generate(msg, !detachedSignature);
@@ -107,6 +115,116 @@ public class CmsSigner {
         }
     }
 
+    /**
+     * Signs a file using PKCS #7 CMS and writes the signature to a file. The content is streamed through the
+     * signature generator, so it is read exactly once and never held in memory, not even for encapsulated
+     * signatures.
+     *
+     * @param inputFile         The file to sign.
+     * @param outputFile        The file for the signature.
+     * @param privateKey        The private key to use for signing.
+     * @param certificateChain  The certificate chain for the private key.
+     * @param detachedSignature True if the signature is to be detached. False,
+     *                          encapsulate the file into the signature.
+     * @param signatureType     The signature type to use for signing.
+     * @param tsaUrl            An optional TSA URL for adding a time stamp token to
+     *                          the signature.
+     * @param outputPem         True to write the signature PEM encoded.
+     * @param provider          Provider for signing or null for the default.
+     * @param listener          Listener for the progress of reading the input file, may be null.
+     * @throws CryptoException If the file could not be signed.
+     */
+    public static void sign(File inputFile, File outputFile, PrivateKey privateKey, X509Certificate[] certificateChain,
+            boolean detachedSignature, SignatureType signatureType, String tsaUrl, boolean outputPem,
+            Provider provider, ProgressListener listener) throws CryptoException {
+
+        File directory = outputFile.getAbsoluteFile().getParentFile();
+        File signatureFile = null;
+        File unstampedFile = null;
+        try {
+            CMSSignedDataStreamGenerator generator = new CMSSignedDataStreamGenerator();
+            generator.addSignerInfoGenerator(createSignerInfoGenerator(privateKey, certificateChain[0], signatureType,
+                    provider));
+            generator.addCertificates(new JcaCertStore(Arrays.asList(certificateChain)));
+
+            // the signature is written next to the output file and moved into place when complete, so a failed or
+            // cancelled signing neither leaves a truncated file behind nor destroys an input that is overwritten
+            signatureFile = File.createTempFile("kse", ".p7s", directory);
+
+            if (tsaUrl == null) {
+                try (OutputStream out = openSignatureFile(signatureFile, outputPem)) {
+                    writeSignedData(generator, inputFile, out, detachedSignature, listener);
+                }
+            } else {
+                // the time stamp covers the signature value, which is only known after the content has been read
+                unstampedFile = File.createTempFile("kse", ".p7s", directory);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(unstampedFile.toPath()))) {
+                    writeSignedData(generator, inputFile, out, detachedSignature, listener);
+                }
+
+                SignerInformationStore signerInfos;
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(unstampedFile.toPath()))) {
+                    CMSSignedDataParser parser = new CMSSignedDataParser(
+                            new JcaDigestCalculatorProviderBuilder().build(), in);
+                    if (parser.getSignedContent() != null) {
+                        parser.getSignedContent().drain();
+                    }
+                    signerInfos = addTimestamp(tsaUrl, parser.getSignerInfos(), signatureType.digestType());
+                }
+
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(unstampedFile.toPath()));
+                     OutputStream out = openSignatureFile(signatureFile, outputPem)) {
+                    CMSSignedDataParser.replaceSigners(in, signerInfos, out);
+                }
+            }
+
+            Files.move(signatureFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            signatureFile = null;
+        } catch (Exception e) {
+            throw new CryptoException(res.getString("CmsSignatureFailed.exception.message"), e);
+        } finally {
+            deleteIfExists(signatureFile);
+            deleteIfExists(unstampedFile);
+        }
+    }
+
+    private static void deleteIfExists(File file) {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    private static SignerInfoGenerator createSignerInfoGenerator(PrivateKey privateKey, X509Certificate cert,
+            SignatureType signatureType, Provider provider)
+            throws OperatorCreationException, CertificateEncodingException {
+        JcaContentSignerBuilder contentSignerBuilder = new JcaContentSignerBuilder(signatureType.jce());
+        JcaDigestCalculatorProviderBuilder digestCalculatorProviderBuilder = new JcaDigestCalculatorProviderBuilder();
+        if (provider != null) {
+            contentSignerBuilder.setProvider(provider);
+            digestCalculatorProviderBuilder.setProvider(provider);
+        }
+
+        return new JcaSignerInfoGeneratorBuilder(digestCalculatorProviderBuilder.build())
+                .build(contentSignerBuilder.build(privateKey), cert);
+    }
+
+    private static OutputStream openSignatureFile(File outputFile, boolean outputPem) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()));
+        if (outputPem) {
+            return PemUtil.getEncodingStream(CmsUtil.PKCS7_PEM_TYPE, out);
+        }
+        return out;
+    }
+
+    private static void writeSignedData(CMSSignedDataStreamGenerator generator, File inputFile, OutputStream out,
+            boolean detachedSignature, ProgressListener listener) throws IOException {
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(inputFile.toPath()), inputFile.length(),
+                listener);
+             OutputStream sigOut = generator.open(out, !detachedSignature)) {
+            IOUtils.copy(in, sigOut, COPY_BUFFER_SIZE);
+        }
+    }
+
     /**
      * Counter signs a signature using PKCS #7 CMS.
      *
@@ -19,24 +19,57 @@
  */
 package org.kse.crypto.signing;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.DLSet;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.asn1.cms.ContentInfo;
+import org.bouncycastle.asn1.cms.SignedData;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509AttributeCertificateHolder;
+import org.bouncycastle.cert.X509CRLHolder;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSProcessable;
 import org.bouncycastle.cms.CMSProcessableFile;
 import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.CMSSignedDataParser;
+import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.CMSTypedStream;
 import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.cms.SignerInformationStore;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
 import org.bouncycastle.util.Store;
+import org.kse.KSE;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.digest.DigestType;
+import org.kse.crypto.digest.DigestUtil;
+import org.kse.utilities.io.ProgressInputStream;
+import org.kse.utilities.io.ProgressListener;
 import org.kse.utilities.pem.PemInfo;
+import org.kse.utilities.pem.PemReader;
 import org.kse.utilities.pem.PemUtil;
 
 /**
@@ -46,7 +79,9 @@ public class CmsUtil {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/signing/resources");
 
     private static final String CMS_PEM_TYPE = "CMS";
-    private static final String PKCS7_PEM_TYPE = "PKCS7";
+    static final String PKCS7_PEM_TYPE = "PKCS7";
+
+    private static final int CONTENT_BUFFER_SIZE = 64 * 1024;
 
     private CmsUtil() {
     }
@@ -62,33 +97,196 @@ public class CmsUtil {
      */
     public static CMSSignedData loadSignature(File signatureFile, Supplier<File> chooser)
             throws CryptoException {
+        return loadSignature(signatureFile, chooser, null);
+    }
+
+    /**
+     * Loads a signature. If it is a detached signature, attempts to find and load the content.
+     * Verification and counter signing require the content.
+     * <p>
+     * The content is read once, in a single streaming pass that calculates the digests of all signers. The signers
+     * returned by {@link CMSSignedData#getSignerInfos()} carry these digests, so they can be verified without reading
+     * the content again. Encapsulated content is not held in memory but read from the signature file again whenever
+     * it is needed, unless the signature is PEM encoded.
+     *
+     * @param signatureFile The signature file.
+     * @param chooser       The file chooser to use for choosing the content file.
+     * @param listener      Listener for the progress of reading the content, may be null.
+     * @return The signature
+     * @throws CryptoException If the signature or its content could not be read
+     */
+    public static CMSSignedData loadSignature(File signatureFile, Supplier<File> chooser, ProgressListener listener)
+            throws CryptoException {
 
         try {
-            byte[] signature = Files.readAllBytes(signatureFile.toPath());
+            DigestCalculatorProvider digestCalculatorProvider = new JcaDigestCalculatorProviderBuilder()
+                    .setProvider(KSE.BC).build();
+
+            try (InputStream signature = openSignature(signatureFile, listener)) {
+                CMSSignedDataParser parser = new CMSSignedDataParser(digestCalculatorProvider, signature);
+                CMSTypedStream signedContent = parser.getSignedContent();
 
-            if (PemUtil.isPemFormat(signature)) {
-                PemInfo signaturePem = PemUtil.decode(signature);
-                if (signaturePem != null) {
-                    signature = signaturePem.getContent();
+                if (signedContent != null) {
+                    // one pass over the encapsulated content calculates the digests for all signers
+                    signedContent.drain();
+
+                    SignerInformationStore signerInfos = parser.getSignerInfos();
+                    return new EncapsulatedCMSSignedData(signatureFile, signedContent.getContentType(),
+                                                         getContentInfo(parser, signerInfos), signerInfos);
                 }
             }
 
+            // without encapsulated content the signature is small
+            byte[] signature = readSignature(signatureFile);
             CMSSignedData signedData = new CMSSignedData(signature);
 
             if (signedData.isDetachedSignature()) {
-                CMSProcessableFile content = loadDetachedContent(signatureFile, chooser);
-                if (content != null) {
-                    signedData = new CMSSignedData(content, signature);
+                File contentFile = findDetachedContent(signatureFile, chooser);
+                if (contentFile != null) {
+                    SignerInformationStore signerInfos = digestDetachedContent(contentFile, signature, listener);
+                    signedData = new DigestedCMSSignedData(new CMSProcessableFile(contentFile), signature,
+                                                           signerInfos);
                 }
             }
 
             return signedData;
-        } catch (IOException | CMSException e) {
+        } catch (IOException | CMSException | OperatorCreationException e) {
             throw new CryptoException(res.getString("NoReadCms.exception.message"), e);
         }
     }
 
-    private static CMSProcessableFile loadDetachedContent(File signatureFile, Supplier<File> chooser) {
+    private static InputStream openSignature(File signatureFile, ProgressListener listener) throws IOException {
+        InputStream signature = new BufferedInputStream(
+                new ProgressInputStream(Files.newInputStream(signatureFile.toPath()), signatureFile.length(), listener),
+                CONTENT_BUFFER_SIZE);
+
+        byte[] marker = PemUtil.PEM_BEGIN_MARKER.getBytes(StandardCharsets.US_ASCII);
+        signature.mark(marker.length);
+        byte[] start = signature.readNBytes(marker.length);
+        signature.reset();
+
+        if (!PemUtil.isPemFormat(start)) {
+            return signature;
+        }
+
+        // the PEM content is decoded in memory
+        try (PemReader pemReader = new PemReader(signature)) {
+            PemInfo signaturePem = pemReader.read();
+            if (signaturePem == null) {
+                throw new IOException(res.getString("NoReadCms.exception.message"));
+            }
+            return new ByteArrayInputStream(signaturePem.getContent());
+        }
+    }
+
+    private static byte[] readSignature(File signatureFile) throws IOException {
+        byte[] signature = Files.readAllBytes(signatureFile.toPath());
+
+        if (PemUtil.isPemFormat(signature)) {
+            PemInfo signaturePem = PemUtil.decode(signature);
+            if (signaturePem != null) {
+                signature = signaturePem.getContent();
+            }
+        }
+
+        return signature;
+    }
+
+    /**
+     * Rebuild the signed data structure read by the parser, without the encapsulated content.
+     */
+    private static ContentInfo getContentInfo(CMSSignedDataParser parser, SignerInformationStore signerInfos)
+            throws CMSException {
+        ASN1EncodableVector digestAlgorithms = new ASN1EncodableVector();
+        for (AlgorithmIdentifier digestAlgorithm : parser.getDigestAlgorithmIDs()) {
+            digestAlgorithms.add(digestAlgorithm);
+        }
+
+        ASN1EncodableVector certificates = new ASN1EncodableVector();
+        for (X509CertificateHolder certificate : parser.getCertificates().getMatches(null)) {
+            certificates.add(certificate.toASN1Structure());
+        }
+        for (X509AttributeCertificateHolder certificate : parser.getAttributeCertificates().getMatches(null)) {
+            certificates.add(new DERTaggedObject(false, 2, certificate.toASN1Structure()));
+        }
+
+        ASN1EncodableVector crls = new ASN1EncodableVector();
+        for (X509CRLHolder crl : parser.getCRLs().getMatches(null)) {
+            crls.add(crl.toASN1Structure());
+        }
+
+        ASN1EncodableVector signers = new ASN1EncodableVector();
+        for (SignerInformation signer : signerInfos) {
+            signers.add(signer.toASN1Structure());
+        }
+
+        SignedData signedData = new SignedData(new DLSet(digestAlgorithms),
+                                               new ContentInfo(new ASN1ObjectIdentifier(
+                                                       parser.getSignedContentTypeOID()), null),
+                                               (certificates.size() == 0) ? null : new DLSet(certificates),
+                                               (crls.size() == 0) ? null : new DLSet(crls),
+                                               new DLSet(signers));
+
+        return new ContentInfo(CMSObjectIdentifiers.signedData, signedData);
+    }
+
+    private static SignerInformationStore digestDetachedContent(File contentFile, byte[] signature,
+            ProgressListener listener) throws IOException, CMSException, OperatorCreationException, CryptoException {
+
+        CMSSignedData signedData = new CMSSignedData(signature);
+
+        Set<DigestType> digestTypes = EnumSet.noneOf(DigestType.class);
+        for (AlgorithmIdentifier digestAlgorithm : signedData.getDigestAlgorithmIDs()) {
+            DigestType digestType = DigestType.resolveOid(digestAlgorithm.getAlgorithm().getId());
+            if (digestType == null) {
+                return digestDetachedContentStream(contentFile, signature, listener);
+            }
+            digestTypes.add(digestType);
+        }
+        for (SignerInformation signer : signedData.getSignerInfos()) {
+            DigestType digestType = DigestType.resolveOid(signer.getDigestAlgOID());
+            if (digestType == null) {
+                return digestDetachedContentStream(contentFile, signature, listener);
+            }
+            digestTypes.add(digestType);
+        }
+
+        if (digestTypes.isEmpty()) {
+            return signedData.getSignerInfos();
+        }
+
+        // one pass over the content file calculates the digests for all digest algorithms of the signers
+        Map<DigestType, byte[]> digests = DigestUtil.getMessageDigests(contentFile.toPath(), listener,
+                                                                       digestTypes.toArray(new DigestType[0]));
+
+        Map<ASN1ObjectIdentifier, byte[]> hashes = new HashMap<>();
+        for (Map.Entry<DigestType, byte[]> digest : digests.entrySet()) {
+            hashes.put(new ASN1ObjectIdentifier(digest.getKey().oid()), digest.getValue());
+        }
+
+        return new CMSSignedData(hashes, signature).getSignerInfos();
+    }
+
+    private static SignerInformationStore digestDetachedContentStream(File contentFile, byte[] signature,
+            ProgressListener listener) throws IOException, CMSException, OperatorCreationException {
+
+        DigestCalculatorProvider digestCalculatorProvider = new JcaDigestCalculatorProviderBuilder().setProvider(KSE.BC)
+                                                                                                    .build();
+
+        try (InputStream content = new BufferedInputStream(
+                new ProgressInputStream(Files.newInputStream(contentFile.toPath()), contentFile.length(), listener),
+                CONTENT_BUFFER_SIZE)) {
+            CMSSignedDataParser parser = new CMSSignedDataParser(digestCalculatorProvider,
+                                                                 new CMSTypedStream(content), signature);
+
+            // one pass over the content calculates the digests for all digest algorithms of the signers
+            parser.getSignedContent().drain();
+
+            return parser.getSignerInfos();
+        }
+    }
+
+    private static File findDetachedContent(File signatureFile, Supplier<File> chooser) {
 
         // Look for the content file. if not present, prompt for it.
         File contentFile = null;
@@ -106,12 +304,93 @@ public class CmsUtil {
         // No file - ask for one (if chooser is available)
         if (contentFile == null && chooser != null) {
             contentFile = chooser.get();
-            if (contentFile == null) {
-                return null;
+        }
+
+        return contentFile;
+    }
+
+    /**
+     * Signed data whose signers already carry the digest of the content.
+     */
+    private static class DigestedCMSSignedData extends CMSSignedData {
+        private final SignerInformationStore signerInfos;
+
+        DigestedCMSSignedData(CMSProcessable content, byte[] signature, SignerInformationStore signerInfos)
+                throws CMSException {
+            super(content, signature);
+            this.signerInfos = signerInfos;
+        }
+
+        DigestedCMSSignedData(CMSProcessable content, ContentInfo signature, SignerInformationStore signerInfos)
+                throws CMSException {
+            super(content, signature);
+            this.signerInfos = signerInfos;
+        }
+
+        @Override
+        public SignerInformationStore getSignerInfos() {
+            return signerInfos;
+        }
+    }
+
+    /**
+     * Signed data whose encapsulated content stays in the signature file. The structure held in memory lacks the
+     * content, which is streamed from the file when it is written.
+     */
+    private static class EncapsulatedCMSSignedData extends DigestedCMSSignedData {
+        private final File signatureFile;
+
+        EncapsulatedCMSSignedData(File signatureFile, ASN1ObjectIdentifier contentType, ContentInfo signature,
+                SignerInformationStore signerInfos) throws CMSException {
+            super(new EncapsulatedContent(signatureFile, contentType), signature, signerInfos);
+            this.signatureFile = signatureFile;
+        }
+
+        @Override
+        public boolean isDetachedSignature() {
+            return false;
+        }
+
+        @Override
+        public byte[] getEncoded() throws IOException {
+            return readSignature(signatureFile);
+        }
+    }
+
+    /**
+     * Encapsulated content that is read from the signature file each time it is written.
+     */
+    private static class EncapsulatedContent implements CMSTypedData {
+        private final File signatureFile;
+        private final ASN1ObjectIdentifier contentType;
+
+        EncapsulatedContent(File signatureFile, ASN1ObjectIdentifier contentType) {
+            this.signatureFile = signatureFile;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public ASN1ObjectIdentifier getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void write(OutputStream out) throws IOException, CMSException {
+            try (InputStream signature = openSignature(signatureFile, null)) {
+                DigestCalculatorProvider digestCalculatorProvider = new JcaDigestCalculatorProviderBuilder()
+                        .setProvider(KSE.BC).build();
+
+                new CMSSignedDataParser(digestCalculatorProvider, signature).getSignedContent().getContentStream()
+                                                                             .transferTo(out);
+            } catch (OperatorCreationException e) {
+                throw new CMSException(e.getMessage(), e);
             }
         }
 
-        return new CMSProcessableFile(contentFile);
+        @Override
+        public Object getContent() {
+            return signatureFile;
+        }
     }
 
     public static boolean isCmsPemType(PemInfo pemInfo) {
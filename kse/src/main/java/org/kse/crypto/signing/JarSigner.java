@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.LineNumberReader;
 import java.io.StringReader;
 import java.nio.file.Files;
@@ -42,11 +43,16 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.ZipException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -183,6 +189,54 @@ public class JarSigner {
     public static void sign(File jarFile, File signedJarFile, PrivateKey privateKey, X509Certificate[] certificateChain,
                             SignatureType signatureType, String signatureName, String signer, DigestType digestType,
                             String tsaUrl, Provider provider) throws IOException, CryptoException {
+        sign(jarFile, signedJarFile, privateKey, certificateChain, signatureType, signatureName, signer, digestType,
+             tsaUrl, provider, true);
+    }
+
+    /**
+     * Sign a JAR file outputting the signed JAR to a different file.
+     * <p>
+     * In parallel mode the entries are digested on all cores while their compressed data is copied to the signed JAR
+     * as it is, in a single pass over the JAR. JAR files with entries that cannot be copied raw (encrypted, ZIP64
+     * sized or using other compression methods than stored or deflated) are signed sequentially instead.
+     *
+     * @param jarFile          JAR file to sign
+     * @param signedJarFile    Output file for signed JAR
+     * @param privateKey       Private key to sign with
+     * @param certificateChain Certificate chain for private key
+     * @param signatureType    Signature type
+     * @param signatureName    Signature name
+     * @param signer           Signer
+     * @param digestType       Digest type
+     * @param tsaUrl           TSA URL
+     * @param parallel         Digest entries in parallel and copy them without recompressing
+     * @throws IOException     If an I/O problem occurs while signing the JAR file
+     * @throws CryptoException If a crypto problem occurs while signing the JAR file
+     */
+    public static void sign(File jarFile, File signedJarFile, PrivateKey privateKey, X509Certificate[] certificateChain,
+                            SignatureType signatureType, String signatureName, String signer, DigestType digestType,
+                            String tsaUrl, Provider provider, boolean parallel) throws IOException, CryptoException {
+
+        if (parallel) {
+            try (RawZipFile rawJar = RawZipFile.open(jarFile.toPath())) {
+                if (rawJar.isRawCopySupported()) {
+                    signParallel(rawJar, jarFile, signedJarFile, privateKey, certificateChain, signatureType,
+                                 signatureName, signer, digestType, tsaUrl, provider);
+                    return;
+                }
+            } catch (ZipException ex) {
+                // not readable as raw ZIP, let JarFile report the problem
+            }
+        }
+
+        signSequential(jarFile, signedJarFile, privateKey, certificateChain, signatureType, signatureName, signer,
+                       digestType, tsaUrl, provider);
+    }
+
+    private static void signSequential(File jarFile, File signedJarFile, PrivateKey privateKey,
+                                       X509Certificate[] certificateChain, SignatureType signatureType,
+                                       String signatureName, String signer, DigestType digestType, String tsaUrl,
+                                       Provider provider) throws IOException, CryptoException {
 
         try (JarFile jar = new JarFile(jarFile);
              JarOutputStream jos = new JarOutputStream(Files.newOutputStream(signedJarFile.toPath()))) {
@@ -190,21 +244,11 @@ public class JarSigner {
             // Replace illegal characters in signature name
             signatureName = convertSignatureName(signatureName);
 
-            // Write manifest content to here
-            StringBuilder sbManifest = new StringBuilder();
-
             // Write out main attributes to manifest
             String manifestMainAttrs = getManifestMainAttrs(jar, signer);
-            sbManifest.append(manifestMainAttrs);
-
-            // Write out all entries' attributes to manifest
-            String entryManifestAttrs = getManifestEntriesAttrs(jar);
 
-            if (!entryManifestAttrs.isEmpty()) {
-                // Only output if there are any
-                sbManifest.append(entryManifestAttrs);
-                sbManifest.append(CRLF);
-            }
+            // Write manifest content to here
+            StringBuilder sbManifest = createManifest(jar, manifestMainAttrs);
 
             // Write signature file to here
             StringBuilder sbSf = new StringBuilder();
@@ -217,57 +261,22 @@ public class JarSigner {
 
                 if (!jarEntry.isDirectory()) // Ignore directories
                 {
-                    if (!ignoreJarEntry(jarEntry)) // Ignore some entries (existing signature files)
+                    if (!ignoreJarEntry(jarEntry.getName())) // Ignore some entries (existing signature files)
                     {
                         // Get the digest of the entry as manifest attributes
                         String manifestEntry = getDigestManifestAttrs(jar, jarEntry, digestType);
 
-                        // Add it to the manifest string buffer
-                        sbManifest.append(manifestEntry);
-
-                        // Get the digest of manifest entries created above
-                        byte[] mdSf = DigestUtil.getMessageDigest(manifestEntry.getBytes(), digestType);
-                        String mdSf64Str = Base64.toBase64String(mdSf);
-
-                        // Write this digest as entries in signature file
-                        sbSf.append(createAttributeText(NAME_ATTR, jarEntry.getName()));
-                        sbSf.append(CRLF);
-                        sbSf.append(
-                                createAttributeText(MessageFormat.format(DIGEST_ATTR, digestType.jce()), mdSf64Str));
-                        sbSf.append(CRLF);
-                        sbSf.append(CRLF);
+                        // Add it to the manifest and signature file
+                        appendEntryDigest(sbManifest, sbSf, jarEntry.getName(), manifestEntry, digestType);
                     }
                 }
             }
 
-            // Manifest file complete - get base 64 encoded digest of its content for inclusion in signature file
+            // Manifest file complete
             byte[] manifest = sbManifest.toString().getBytes();
 
-            byte[] digestMf = DigestUtil.getMessageDigest(manifest, digestType);
-            String digestMfStr = Base64.toBase64String(digestMf);
-
-            // Get base 64 encoded digest of manifest's main attributes for inclusion in signature file
-            byte[] manifestMainAttrsBytes = manifestMainAttrs.getBytes();
-
-            byte[] digestMfMainAttrs = DigestUtil.getMessageDigest(manifestMainAttrsBytes, digestType);
-            String digestMfMainAttrsStr = Base64.toBase64String(digestMfMainAttrs);
-
-            // Write out Manifest Digest, Created By and Signature Version to start of signature file
-            sbSf.insert(0, CRLF);
-            sbSf.insert(0, CRLF);
-            sbSf.insert(0,
-                        createAttributeText(MessageFormat.format(DIGEST_MANIFEST_ATTR, digestType.jce()), digestMfStr));
-            sbSf.insert(0, CRLF);
-            sbSf.insert(0, createAttributeText(
-                    MessageFormat.format(DIGEST_MANIFEST_MAIN_ATTRIBUTES_ATTR, digestType.jce()),
-                    digestMfMainAttrsStr));
-            sbSf.insert(0, CRLF);
-            sbSf.insert(0, createAttributeText(CREATED_BY_ATTR, signer));
-            sbSf.insert(0, CRLF);
-            sbSf.insert(0, createAttributeText(SIGNATURE_VERSION_ATTR, SIGNATURE_VERSION));
-
             // Signature file complete
-            byte[] sf = sbSf.toString().getBytes();
+            byte[] sf = createSignatureFile(sbSf, manifest, manifestMainAttrs, signer, digestType);
 
             // Write JAR files from JAR to be signed to signed JAR
             writeJarEntries(jar, jos, signatureName);
@@ -284,13 +293,166 @@ public class JarSigner {
         }
     }
 
+    private static void signParallel(RawZipFile rawJar, File jarFile, File signedJarFile, PrivateKey privateKey,
+                                     X509Certificate[] certificateChain, SignatureType signatureType,
+                                     String signatureName, String signer, DigestType digestType, String tsaUrl,
+                                     Provider provider) throws IOException, CryptoException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "kse-jar-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (JarFile jar = new JarFile(jarFile);
+             RawZipWriter writer = RawZipWriter.create(signedJarFile.toPath())) {
+
+            // Replace illegal characters in signature name
+            signatureName = convertSignatureName(signatureName);
+
+            String manifestMainAttrs = getManifestMainAttrs(jar, signer);
+            StringBuilder sbManifest = createManifest(jar, manifestMainAttrs);
+
+            // Single pass over the JAR: digests are calculated by the pool while the entries are copied raw
+            List<String> digestedEntries = new ArrayList<>();
+            List<Future<byte[]>> digests = new ArrayList<>();
+
+            for (RawZipFile.Entry entry : rawJar.getEntries()) {
+                String entryName = entry.getName();
+                boolean digest = !entry.isDirectory() && !ignoreJarEntry(entryName);
+                boolean copy = isCopied(entryName, entry.isDirectory(), signatureName);
+
+                if (!digest && !copy) {
+                    continue;
+                }
+
+                rawJar.readLocalHeader(entry);
+
+                if (digest) {
+                    digestedEntries.add(entryName);
+                    digests.add(executor.submit(() -> rawJar.digest(entry, digestType)));
+                }
+
+                if (copy) {
+                    writer.copy(rawJar, entry);
+                }
+            }
+
+            // Manifest and signature file entries in JAR order
+            StringBuilder sbSf = new StringBuilder();
+            for (int i = 0; i < digests.size(); i++) {
+                String entryName = digestedEntries.get(i);
+                String manifestEntry = createDigestManifestAttrs(entryName, getDigest(digests.get(i)), digestType);
+                appendEntryDigest(sbManifest, sbSf, entryName, manifestEntry, digestType);
+            }
+
+            byte[] manifest = sbManifest.toString().getBytes();
+            byte[] sf = createSignatureFile(sbSf, manifest, manifestMainAttrs, signer, digestType);
+            byte[] sigBlock = createSignatureBlock(sf, privateKey, certificateChain, signatureType, tsaUrl, provider);
+
+            writer.add(MANIFEST_LOCATION, manifest);
+            writer.add(getSignatureFileName(signatureName), sf);
+            writer.add(getSignatureBlockName(signatureType, signatureName), sigBlock);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] getDigest(Future<byte[]> digest) throws IOException, CryptoException {
+        try {
+            return digest.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof CryptoException) {
+                throw (CryptoException) cause;
+            }
+            throw new CryptoException(res.getString("JarDigestSignatureFailed.exception.message"), cause);
+        }
+    }
+
+    /*
+     * Start the manifest with the main attributes and all entries' attributes of the original manifest
+     */
+    private static StringBuilder createManifest(JarFile jar, String manifestMainAttrs) throws IOException {
+        StringBuilder sbManifest = new StringBuilder();
+        sbManifest.append(manifestMainAttrs);
+
+        // Write out all entries' attributes to manifest
+        String entryManifestAttrs = getManifestEntriesAttrs(jar);
+
+        if (!entryManifestAttrs.isEmpty()) {
+            // Only output if there are any
+            sbManifest.append(entryManifestAttrs);
+            sbManifest.append(CRLF);
+        }
+
+        return sbManifest;
+    }
+
+    /*
+     * Add the digest attributes of an entry to the manifest and the digest of those attributes to the signature file
+     */
+    private static void appendEntryDigest(StringBuilder sbManifest, StringBuilder sbSf, String entryName,
+                                          String manifestEntry, DigestType digestType) throws CryptoException {
+
+        // Add it to the manifest string buffer
+        sbManifest.append(manifestEntry);
+
+        // Get the digest of manifest entries created above
+        byte[] mdSf = DigestUtil.getMessageDigest(manifestEntry.getBytes(), digestType);
+        String mdSf64Str = Base64.toBase64String(mdSf);
+
+        // Write this digest as entries in signature file
+        sbSf.append(createAttributeText(NAME_ATTR, entryName));
+        sbSf.append(CRLF);
+        sbSf.append(createAttributeText(MessageFormat.format(DIGEST_ATTR, digestType.jce()), mdSf64Str));
+        sbSf.append(CRLF);
+        sbSf.append(CRLF);
+    }
+
+    /*
+     * Complete the signature file with the digests of the manifest
+     */
+    private static byte[] createSignatureFile(StringBuilder sbSf, byte[] manifest, String manifestMainAttrs,
+                                              String signer, DigestType digestType) throws CryptoException {
+
+        // Get base 64 encoded digest of manifest content for inclusion in signature file
+        byte[] digestMf = DigestUtil.getMessageDigest(manifest, digestType);
+        String digestMfStr = Base64.toBase64String(digestMf);
+
+        // Get base 64 encoded digest of manifest's main attributes for inclusion in signature file
+        byte[] manifestMainAttrsBytes = manifestMainAttrs.getBytes();
+
+        byte[] digestMfMainAttrs = DigestUtil.getMessageDigest(manifestMainAttrsBytes, digestType);
+        String digestMfMainAttrsStr = Base64.toBase64String(digestMfMainAttrs);
+
+        // Write out Manifest Digest, Created By and Signature Version to start of signature file
+        sbSf.insert(0, CRLF);
+        sbSf.insert(0, CRLF);
+        sbSf.insert(0,
+                    createAttributeText(MessageFormat.format(DIGEST_MANIFEST_ATTR, digestType.jce()), digestMfStr));
+        sbSf.insert(0, CRLF);
+        sbSf.insert(0, createAttributeText(
+                MessageFormat.format(DIGEST_MANIFEST_MAIN_ATTRIBUTES_ATTR, digestType.jce()),
+                digestMfMainAttrsStr));
+        sbSf.insert(0, CRLF);
+        sbSf.insert(0, createAttributeText(CREATED_BY_ATTR, signer));
+        sbSf.insert(0, CRLF);
+        sbSf.insert(0, createAttributeText(SIGNATURE_VERSION_ATTR, SIGNATURE_VERSION));
+
+        return sbSf.toString().getBytes();
+    }
+
     /*
      * Ignore a JAR entry for signing? JAR entries which should not be
      * signed are the manifest files, signature files and signature block files
      */
-    private static boolean ignoreJarEntry(JarEntry jarEntry) {
-
-        String entryName = jarEntry.getName();
+    private static boolean ignoreJarEntry(String entryName) {
 
         // Entries to be ignored are all in the "META-INF" folder
         if (entryName.startsWith("META-INF/")) {
@@ -433,21 +595,31 @@ public class JarSigner {
         // Get input stream to JAR entry's content
         try (InputStream jis = jar.getInputStream(jarEntry)) {
 
-            // Get the digest of content in Base64
+            // Get the digest of content
             byte[] md = DigestUtil.getMessageDigest(jis, digestType);
-            String md64Str = Base64.toBase64String(md);
-
-            // Write manifest entries for JARs digest
-            String sbManifestEntry = createAttributeText(NAME_ATTR, jarEntry.getName()) +
-                    CRLF +
-                    createAttributeText(MessageFormat.format(DIGEST_ATTR, digestType.jce()), md64Str) +
-                    CRLF +
-                    CRLF;
 
-            return sbManifestEntry;
+            return createDigestManifestAttrs(jarEntry.getName(), md, digestType);
         }
     }
 
+    /*
+     *  Create the manifest attributes "Name" and "<digestType> Digest" for an entry digest
+     */
+    private static String createDigestManifestAttrs(String entryName, byte[] md, DigestType digestType) {
+
+        // Get the digest in Base64
+        String md64Str = Base64.toBase64String(md);
+
+        // Write manifest entries for JARs digest
+        String sbManifestEntry = createAttributeText(NAME_ATTR, entryName) +
+                CRLF +
+                createAttributeText(MessageFormat.format(DIGEST_ATTR, digestType.jce()), md64Str) +
+                CRLF +
+                CRLF;
+
+        return sbManifestEntry;
+    }
+
     /*
      *  Get JAR file's manifest as a string
      */
@@ -548,30 +720,55 @@ public class JarSigner {
 
         for (Enumeration<?> jarEntries = jar.entries(); jarEntries.hasMoreElements(); ) {
             JarEntry jarEntry = (JarEntry) jarEntries.nextElement();
-            if (!jarEntry.isDirectory()) {
-                String entryName = jarEntry.getName();
-
-                // Signature files not to write across
-                String sigFileLocation = MessageFormat.format(METAINF_FILE_LOC, signatureName, SIGNATURE_EXT)
-                                                      .toUpperCase();
-                String dsaSigBlockLocation = MessageFormat.format(METAINF_FILE_LOC, signatureName, DSA_SIG_BLOCK_EXT);
-                String rsaSigBlockLocation = MessageFormat.format(METAINF_FILE_LOC, signatureName, RSA_SIG_BLOCK_EXT);
-
-                // Do not write across existing manifest or matching signature files
-                if ((!entryName.equalsIgnoreCase(MANIFEST_LOCATION)) &&
-                    (!entryName.equalsIgnoreCase(sigFileLocation)) &&
-                    (!entryName.equalsIgnoreCase(dsaSigBlockLocation)) &&
-                    (!entryName.equalsIgnoreCase(rsaSigBlockLocation))) {
-                    // New JAR entry based on original
-                    transferJarEntry(jar, jos, jarEntry);
-                }
-            } else {
-                // simply transfer directory
+            if (isCopied(jarEntry.getName(), jarEntry.isDirectory(), signatureName)) {
+                // New JAR entry based on original
                 transferJarEntry(jar, jos, jarEntry);
             }
         }
     }
 
+    /*
+     * Is the entry copied to the signed JAR? Directories are simply transferred, other entries unless they are the
+     * existing manifest or matching signature files. Used by both the sequential and the parallel signing.
+     */
+    private static boolean isCopied(String entryName, boolean directory, String signatureName) {
+        return directory || !isReplacedBySignature(entryName, signatureName);
+    }
+
+    /*
+     * Is the entry the manifest or a signature file of the supplied signature name, which are replaced when signing?
+     */
+    private static boolean isReplacedBySignature(String entryName, String signatureName) {
+
+        // Signature files not to write across
+        String sigFileLocation = getSignatureFileName(signatureName);
+        String dsaSigBlockLocation = MessageFormat.format(METAINF_FILE_LOC, signatureName, DSA_SIG_BLOCK_EXT);
+        String rsaSigBlockLocation = MessageFormat.format(METAINF_FILE_LOC, signatureName, RSA_SIG_BLOCK_EXT);
+
+        return entryName.equalsIgnoreCase(MANIFEST_LOCATION) ||
+               entryName.equalsIgnoreCase(sigFileLocation) ||
+               entryName.equalsIgnoreCase(dsaSigBlockLocation) ||
+               entryName.equalsIgnoreCase(rsaSigBlockLocation);
+    }
+
+    private static String getSignatureFileName(String signatureName) {
+        return MessageFormat.format(METAINF_FILE_LOC, signatureName, SIGNATURE_EXT).toUpperCase();
+    }
+
+    private static String getSignatureBlockName(SignatureType signatureType, String signatureName) {
+
+        // Block's extension depends on signature type
+        String extension = null;
+
+        if (signatureType == SHA1_DSA) {
+            extension = DSA_SIG_BLOCK_EXT;
+        } else {
+            extension = RSA_SIG_BLOCK_EXT;
+        }
+
+        return MessageFormat.format(METAINF_FILE_LOC, signatureName, extension).toUpperCase();
+    }
+
     private static void transferJarEntry(JarFile jar, JarOutputStream jos, JarEntry jarEntry) throws IOException {
         JarEntry newJarEntry = new JarEntry(jarEntry.getName());
         newJarEntry.setMethod(jarEntry.getMethod());
@@ -618,8 +815,7 @@ public class JarSigner {
     private static void writeSignatureFile(byte[] sf, String signatureName, JarOutputStream jos) throws IOException {
 
         // Signature file entry
-        JarEntry sfJarEntry = new JarEntry(
-                MessageFormat.format(METAINF_FILE_LOC, signatureName, SIGNATURE_EXT).toUpperCase());
+        JarEntry sfJarEntry = new JarEntry(getSignatureFileName(signatureName));
         jos.putNextEntry(sfJarEntry);
 
         // Write content
@@ -642,18 +838,8 @@ public class JarSigner {
     private static void writeSignatureBlock(byte[] sigBlock, SignatureType signatureType, String signatureName,
                                             JarOutputStream jos) throws IOException {
 
-        // Block's extension depends on signature type
-        String extension = null;
-
-        if (signatureType == SHA1_DSA) {
-            extension = DSA_SIG_BLOCK_EXT;
-        } else {
-            extension = RSA_SIG_BLOCK_EXT;
-        }
-
         // Signature block entry
-        JarEntry bkJarEntry = new JarEntry(
-                MessageFormat.format(METAINF_FILE_LOC, signatureName, extension).toUpperCase());
+        JarEntry bkJarEntry = new JarEntry(getSignatureBlockName(signatureType, signatureName));
         jos.putNextEntry(bkJarEntry);
 
         // Write content
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.signing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.digest.DigestType;
+import org.kse.crypto.digest.DigestUtil;
+
+/**
+ * Minimal ZIP reader that gives access to the raw (still compressed) data of the entries.
+ * <p>
+ * Only the central directory is parsed. Entries are read with positional reads on a shared FileChannel, so their
+ * content can be digested on several threads at once while another thread copies the compressed bytes as they are.
+ */
+class RawZipFile implements Closeable {
+
+    static final int LOCAL_HEADER_SIG = 0x04034b50;
+    static final int CENTRAL_HEADER_SIG = 0x02014b50;
+    static final int END_OF_CENTRAL_DIR_SIG = 0x06054b50;
+    static final int ZIP64_END_OF_CENTRAL_DIR_SIG = 0x06064b50;
+    static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int END_OF_CENTRAL_DIR_SIZE = 22;
+    static final int ZIP64_END_OF_CENTRAL_DIR_SIZE = 56;
+    static final int ZIP64_LOCATOR_SIZE = 20;
+
+    static final int ZIP64_EXTRA_ID = 0x0001;
+
+    static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    static final int FLAG_ENCRYPTED = 0x0001;
+    static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+
+    static final int STORED = 0;
+    static final int DEFLATED = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final List<Entry> entries;
+    private final boolean rawCopySupported;
+
+    private RawZipFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.entries = Collections.unmodifiableList(readCentralDirectory());
+        this.rawCopySupported = checkRawCopySupported();
+    }
+
+    /**
+     * Open a ZIP file.
+     *
+     * @param path The file
+     * @return The opened file
+     * @throws IOException If the file cannot be read or is not a ZIP file
+     */
+    static RawZipFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new RawZipFile(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the entries in central directory order, which is the order of {@link java.util.zip.ZipFile#entries()}.
+     *
+     * @return The entries
+     */
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Can the entries be copied raw and digested by this class? This is not the case for encrypted entries,
+     * compression methods other than stored and deflated, entries that need ZIP64 sizes and duplicate names.
+     *
+     * @return True if all entries are supported
+     */
+    boolean isRawCopySupported() {
+        return rawCopySupported;
+    }
+
+    FileChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean checkRawCopySupported() {
+        Set<String> names = new HashSet<>();
+
+        for (Entry entry : entries) {
+            if ((entry.flags & FLAG_ENCRYPTED) != 0 ||
+                (entry.method != STORED && entry.method != DEFLATED) ||
+                entry.compressedSize >= ZIP64_MAGIC || entry.size >= ZIP64_MAGIC ||
+                !names.add(entry.name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Entry> readCentralDirectory() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < END_OF_CENTRAL_DIR_SIZE) {
+            throw new ZipException("Not a ZIP file");
+        }
+
+        // the end of central directory record is followed by a comment of at most 64 KB
+        int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIR_SIZE + 0xFFFF);
+        ByteBuffer tail = read(fileSize - tailSize, tailSize);
+
+        int eocd = -1;
+        for (int i = tailSize - END_OF_CENTRAL_DIR_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIR_SIG) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw new ZipException("End of central directory not found");
+        }
+
+        long count = tail.getShort(eocd + 10) & 0xFFFF;
+        long cdSize = tail.getInt(eocd + 12) & ZIP64_MAGIC;
+        long cdOffset = tail.getInt(eocd + 16) & ZIP64_MAGIC;
+
+        long eocdPosition = fileSize - tailSize + eocd;
+        if (eocdPosition >= ZIP64_LOCATOR_SIZE) {
+            ByteBuffer locator = read(eocdPosition - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+            if (locator.getInt(0) == ZIP64_LOCATOR_SIG) {
+                ByteBuffer zip64Eocd = read(locator.getLong(8), ZIP64_END_OF_CENTRAL_DIR_SIZE);
+                if (zip64Eocd.getInt(0) != ZIP64_END_OF_CENTRAL_DIR_SIG) {
+                    throw new ZipException("Invalid ZIP64 end of central directory");
+                }
+                count = zip64Eocd.getLong(32);
+                cdSize = zip64Eocd.getLong(40);
+                cdOffset = zip64Eocd.getLong(48);
+            }
+        }
+
+        if (cdOffset + cdSize > fileSize || cdSize > Integer.MAX_VALUE) {
+            throw new ZipException("Invalid central directory");
+        }
+
+        ByteBuffer cd = read(cdOffset, (int) cdSize);
+        List<Entry> result = new ArrayList<>((int) Math.min(count, 1 << 16));
+
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > cd.limit() || cd.getInt(position) != CENTRAL_HEADER_SIG) {
+                throw new ZipException("Invalid central directory header");
+            }
+
+            Entry entry = new Entry();
+            entry.versionMadeBy = cd.getShort(position + 4) & 0xFFFF;
+            entry.versionNeeded = cd.getShort(position + 6) & 0xFFFF;
+            entry.flags = cd.getShort(position + 8) & 0xFFFF;
+            entry.method = cd.getShort(position + 10) & 0xFFFF;
+            entry.dosTime = cd.getInt(position + 12);
+            entry.crc = cd.getInt(position + 16) & ZIP64_MAGIC;
+            entry.compressedSize = cd.getInt(position + 20) & ZIP64_MAGIC;
+            entry.size = cd.getInt(position + 24) & ZIP64_MAGIC;
+            int nameLength = cd.getShort(position + 28) & 0xFFFF;
+            int extraLength = cd.getShort(position + 30) & 0xFFFF;
+            int commentLength = cd.getShort(position + 32) & 0xFFFF;
+            entry.internalAttributes = cd.getShort(position + 36) & 0xFFFF;
+            entry.externalAttributes = cd.getInt(position + 38);
+            entry.localHeaderOffset = cd.getInt(position + 42) & ZIP64_MAGIC;
+
+            position += CENTRAL_HEADER_SIZE;
+            if (position + nameLength + extraLength + commentLength > cd.limit()) {
+                throw new ZipException("Invalid central directory header");
+            }
+
+            entry.rawName = bytes(cd, position, nameLength);
+            entry.name = new String(entry.rawName, StandardCharsets.UTF_8);
+            position += nameLength;
+
+            byte[] extra = bytes(cd, position, extraLength);
+            readZip64Extra(entry, extra);
+            entry.extra = removeExtra(extra, ZIP64_EXTRA_ID);
+            position += extraLength;
+
+            entry.comment = bytes(cd, position, commentLength);
+            position += commentLength;
+
+            result.add(entry);
+        }
+
+        return result;
+    }
+
+    private static void readZip64Extra(Entry entry, byte[] extra) {
+        ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            int id = buffer.getShort(position) & 0xFFFF;
+            int length = buffer.getShort(position + 2) & 0xFFFF;
+            int end = Math.min(position + 4 + length, extra.length);
+            position += 4;
+
+            if (id == ZIP64_EXTRA_ID) {
+                // only the fields that are set to the magic value in the header are present, in this order
+                if (entry.size == ZIP64_MAGIC && position + 8 <= end) {
+                    entry.size = buffer.getLong(position);
+                    position += 8;
+                }
+                if (entry.compressedSize == ZIP64_MAGIC && position + 8 <= end) {
+                    entry.compressedSize = buffer.getLong(position);
+                    position += 8;
+                }
+                if (entry.localHeaderOffset == ZIP64_MAGIC && position + 8 <= end) {
+                    entry.localHeaderOffset = buffer.getLong(position);
+                }
+                return;
+            }
+
+            position = end;
+        }
+    }
+
+    /**
+     * Remove all blocks with the supplied header ID from an extra field. Malformed extra fields are returned as is.
+     */
+    static byte[] removeExtra(byte[] extra, int headerId) {
+        ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+        ByteArrayOutputStream result = new ByteArrayOutputStream(extra.length);
+
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            int id = buffer.getShort(position) & 0xFFFF;
+            int length = buffer.getShort(position + 2) & 0xFFFF;
+            if (position + 4 + length > extra.length) {
+                return extra;
+            }
+            if (id != headerId) {
+                result.write(extra, position, 4 + length);
+            }
+            position += 4 + length;
+        }
+
+        return (position == extra.length) ? result.toByteArray() : extra;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position);
+        slice.get(bytes);
+        return bytes;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("Unexpected end of ZIP file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Read the local header of an entry to find out where its data starts. Also stores the local extra field.
+     *
+     * @param entry The entry
+     * @throws IOException If the local header is invalid
+     */
+    void readLocalHeader(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIG) {
+            throw new ZipException("Invalid local header for " + entry.name);
+        }
+
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+
+        ByteBuffer extra = read(entry.localHeaderOffset + LOCAL_HEADER_SIZE + nameLength, extraLength);
+        entry.localExtra = removeExtra(bytes(extra, 0, extraLength), ZIP64_EXTRA_ID);
+        entry.dataOffset = entry.localHeaderOffset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+
+        if (entry.dataOffset + entry.compressedSize > channel.size()) {
+            throw new ZipException("Truncated data for " + entry.name);
+        }
+    }
+
+    /**
+     * Digest the uncompressed content of an entry. May be called from several threads at once.
+     * <p>
+     * Stored entries are digested straight from the channel, deflated entries are inflated in chunks.
+     *
+     * @param entry      The entry, its local header must have been read
+     * @param digestType The message digest algorithm
+     * @return The message digest
+     * @throws IOException     If the entry cannot be read or inflated
+     * @throws CryptoException If the message digester could not be created or a stored entry could not be read
+     */
+    byte[] digest(Entry entry, DigestType digestType) throws IOException, CryptoException {
+        if (entry.method == STORED) {
+            return DigestUtil.getMessageDigests(channel, entry.dataOffset, entry.compressedSize, digestType)
+                             .get(digestType);
+        }
+
+        MessageDigest digest = DigestUtil.getMessageDigester(digestType);
+        ByteBuffer input = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, entry.compressedSize)));
+        long position = entry.dataOffset;
+        long remaining = entry.compressedSize;
+
+        Inflater inflater = new Inflater(true);
+        try {
+            byte[] output = new byte[BUFFER_SIZE];
+            boolean dummyByteAdded = false;
+
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (remaining > 0) {
+                        input.clear().limit((int) Math.min(input.capacity(), remaining));
+                        int read = channel.read(input, position);
+                        if (read < 0) {
+                            throw new ZipException("Unexpected end of data for " + entry.name);
+                        }
+                        inflater.setInput(input.array(), 0, read);
+                        position += read;
+                        remaining -= read;
+                    } else if (!dummyByteAdded) {
+                        // a raw inflater may need one extra byte to detect the end of the stream
+                        inflater.setInput(new byte[1], 0, 1);
+                        dummyByteAdded = true;
+                    } else {
+                        throw new ZipException("Unexpected end of deflated data for " + entry.name);
+                    }
+                }
+
+                int inflated = inflater.inflate(output);
+                digest.update(output, 0, inflated);
+
+                if (inflated == 0 && inflater.needsDictionary()) {
+                    throw new ZipException("Invalid deflated data for " + entry.name);
+                }
+            }
+
+            if (inflater.getBytesWritten() != entry.size) {
+                throw new ZipException("Invalid size of " + entry.name);
+            }
+
+            return digest.digest();
+        } catch (DataFormatException ex) {
+            throw new ZipException("Invalid deflated data for " + entry.name + ": " + ex.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * An entry of the central directory.
+     */
+    static class Entry {
+        int versionMadeBy;
+        int versionNeeded;
+        int flags;
+        int method;
+        int dosTime;
+        long crc;
+        long compressedSize;
+        long size;
+        int internalAttributes;
+        int externalAttributes;
+        long localHeaderOffset;
+        byte[] rawName;
+        String name;
+        byte[] extra;
+        byte[] comment;
+
+        // from the local header, see readLocalHeader
+        byte[] localExtra;
+        long dataOffset;
+
+        String getName() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
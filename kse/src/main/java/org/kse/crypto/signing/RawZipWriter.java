@@ -0,0 +1,321 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.signing;
+
+import static org.kse.crypto.signing.RawZipFile.CENTRAL_HEADER_SIG;
+import static org.kse.crypto.signing.RawZipFile.CENTRAL_HEADER_SIZE;
+import static org.kse.crypto.signing.RawZipFile.DEFLATED;
+import static org.kse.crypto.signing.RawZipFile.END_OF_CENTRAL_DIR_SIG;
+import static org.kse.crypto.signing.RawZipFile.END_OF_CENTRAL_DIR_SIZE;
+import static org.kse.crypto.signing.RawZipFile.FLAG_DATA_DESCRIPTOR;
+import static org.kse.crypto.signing.RawZipFile.LOCAL_HEADER_SIG;
+import static org.kse.crypto.signing.RawZipFile.LOCAL_HEADER_SIZE;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_END_OF_CENTRAL_DIR_SIG;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_END_OF_CENTRAL_DIR_SIZE;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_EXTRA_ID;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_LOCATOR_SIG;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_LOCATOR_SIZE;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_MAGIC;
+import static org.kse.crypto.signing.RawZipFile.ZIP64_MAGIC_COUNT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal ZIP writer that copies entries of a {@link RawZipFile} without recompressing them.
+ * <p>
+ * The compressed data is transferred channel to channel. Sizes and CRC of copied entries are taken from the central
+ * directory of the source, so no data descriptors are written.
+ */
+class RawZipWriter implements Closeable {
+
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int FLAG_UTF8 = 0x0800;
+
+    private final FileChannel channel;
+    private final List<RawZipFile.Entry> written = new ArrayList<>();
+    private long position;
+
+    private RawZipWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Create a ZIP file, replacing an existing file.
+     *
+     * @param path The file
+     * @return The writer
+     * @throws IOException If the file cannot be created
+     */
+    static RawZipWriter create(Path path) throws IOException {
+        return new RawZipWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                 StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Copy an entry as it is.
+     *
+     * @param source The source file
+     * @param entry  The entry, its local header must have been read
+     * @throws IOException If an I/O problem occurs
+     */
+    void copy(RawZipFile source, RawZipFile.Entry entry) throws IOException {
+        RawZipFile.Entry copy = new RawZipFile.Entry();
+        copy.versionMadeBy = entry.versionMadeBy;
+        copy.versionNeeded = entry.versionNeeded;
+        copy.flags = entry.flags & ~FLAG_DATA_DESCRIPTOR;
+        copy.method = entry.method;
+        copy.dosTime = entry.dosTime;
+        copy.crc = entry.crc;
+        copy.compressedSize = entry.compressedSize;
+        copy.size = entry.size;
+        copy.internalAttributes = entry.internalAttributes;
+        copy.externalAttributes = entry.externalAttributes;
+        copy.rawName = entry.rawName;
+        copy.name = entry.name;
+        copy.extra = entry.extra;
+        copy.comment = entry.comment;
+        copy.localExtra = entry.localExtra;
+
+        writeLocalHeader(copy);
+
+        FileChannel in = source.getChannel();
+        long offset = entry.dataOffset;
+        long remaining = entry.compressedSize;
+        while (remaining > 0) {
+            long transferred = in.transferTo(offset, remaining, channel);
+            if (transferred <= 0) {
+                // some channels transfer nothing at times, fall back to an explicit copy
+                transferred = copyBuffered(in, offset, remaining);
+            }
+            offset += transferred;
+            remaining -= transferred;
+        }
+        position += entry.compressedSize;
+    }
+
+    private long copyBuffered(FileChannel in, long offset, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, 64 * 1024));
+        int read = in.read(buffer, offset);
+        if (read < 0) {
+            throw new IOException("Unexpected end of data");
+        }
+        buffer.flip();
+        writeFully(buffer);
+        return read;
+    }
+
+    /**
+     * Add a new deflated entry.
+     *
+     * @param name    Entry name
+     * @param content Uncompressed content
+     * @throws IOException If an I/O problem occurs
+     */
+    void add(String name, byte[] content) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        RawZipFile.Entry entry = new RawZipFile.Entry();
+        entry.versionMadeBy = VERSION_DEFLATED;
+        entry.versionNeeded = VERSION_DEFLATED;
+        entry.flags = FLAG_UTF8;
+        entry.method = DEFLATED;
+        entry.dosTime = toDosTime(LocalDateTime.now());
+        entry.crc = crc.getValue();
+        entry.compressedSize = compressed.size();
+        entry.size = content.length;
+        entry.rawName = name.getBytes(StandardCharsets.UTF_8);
+        entry.name = name;
+        entry.extra = new byte[0];
+        entry.comment = new byte[0];
+        entry.localExtra = entry.extra;
+
+        writeLocalHeader(entry);
+        writeFully(ByteBuffer.wrap(compressed.toByteArray()));
+        position += compressed.size();
+    }
+
+    private void writeLocalHeader(RawZipFile.Entry entry) throws IOException {
+        entry.localHeaderOffset = position;
+
+        ByteBuffer header = allocate(LOCAL_HEADER_SIZE + entry.rawName.length + entry.localExtra.length);
+        header.putInt(LOCAL_HEADER_SIG);
+        header.putShort((short) entry.versionNeeded);
+        header.putShort((short) entry.flags);
+        header.putShort((short) entry.method);
+        header.putInt(entry.dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) entry.compressedSize);
+        header.putInt((int) entry.size);
+        header.putShort((short) entry.rawName.length);
+        header.putShort((short) entry.localExtra.length);
+        header.put(entry.rawName);
+        header.put(entry.localExtra);
+        header.flip();
+
+        writeFully(header);
+        position += header.limit();
+        written.add(entry);
+    }
+
+    /**
+     * Write the central directory and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeCentralDirectory();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeCentralDirectory() throws IOException {
+        long cdOffset = position;
+
+        for (RawZipFile.Entry entry : written) {
+            boolean zip64 = entry.localHeaderOffset >= ZIP64_MAGIC;
+            byte[] extra = entry.extra;
+            if (zip64) {
+                ByteBuffer zip64Extra = allocate(12 + extra.length);
+                zip64Extra.putShort((short) ZIP64_EXTRA_ID);
+                zip64Extra.putShort((short) 8);
+                zip64Extra.putLong(entry.localHeaderOffset);
+                zip64Extra.put(extra);
+                extra = zip64Extra.array();
+            }
+
+            ByteBuffer header = allocate(CENTRAL_HEADER_SIZE + entry.rawName.length + extra.length +
+                                         entry.comment.length);
+            header.putInt(CENTRAL_HEADER_SIG);
+            header.putShort((short) entry.versionMadeBy);
+            header.putShort((short) (zip64 ? Math.max(entry.versionNeeded, VERSION_ZIP64) : entry.versionNeeded));
+            header.putShort((short) entry.flags);
+            header.putShort((short) entry.method);
+            header.putInt(entry.dosTime);
+            header.putInt((int) entry.crc);
+            header.putInt((int) entry.compressedSize);
+            header.putInt((int) entry.size);
+            header.putShort((short) entry.rawName.length);
+            header.putShort((short) extra.length);
+            header.putShort((short) entry.comment.length);
+            header.putShort((short) 0);
+            header.putShort((short) entry.internalAttributes);
+            header.putInt(entry.externalAttributes);
+            header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.localHeaderOffset));
+            header.put(entry.rawName);
+            header.put(extra);
+            header.put(entry.comment);
+            header.flip();
+
+            writeFully(header);
+            position += header.limit();
+        }
+
+        long cdSize = position - cdOffset;
+        int count = written.size();
+
+        if (count >= ZIP64_MAGIC_COUNT || cdOffset >= ZIP64_MAGIC || cdSize >= ZIP64_MAGIC) {
+            long zip64EocdOffset = position;
+
+            ByteBuffer zip64 = allocate(ZIP64_END_OF_CENTRAL_DIR_SIZE + ZIP64_LOCATOR_SIZE);
+            zip64.putInt(ZIP64_END_OF_CENTRAL_DIR_SIG);
+            zip64.putLong(ZIP64_END_OF_CENTRAL_DIR_SIZE - 12);
+            zip64.putShort((short) VERSION_ZIP64);
+            zip64.putShort((short) VERSION_ZIP64);
+            zip64.putInt(0);
+            zip64.putInt(0);
+            zip64.putLong(count);
+            zip64.putLong(count);
+            zip64.putLong(cdSize);
+            zip64.putLong(cdOffset);
+
+            zip64.putInt(ZIP64_LOCATOR_SIG);
+            zip64.putInt(0);
+            zip64.putLong(zip64EocdOffset);
+            zip64.putInt(1);
+            zip64.flip();
+
+            writeFully(zip64);
+            position += zip64.limit();
+        }
+
+        ByteBuffer eocd = allocate(END_OF_CENTRAL_DIR_SIZE);
+        eocd.putInt(END_OF_CENTRAL_DIR_SIG);
+        eocd.putShort((short) 0);
+        eocd.putShort((short) 0);
+        eocd.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        eocd.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        eocd.putInt((int) Math.min(cdSize, ZIP64_MAGIC));
+        eocd.putInt((int) Math.min(cdOffset, ZIP64_MAGIC));
+        eocd.putShort((short) 0);
+        eocd.flip();
+
+        writeFully(eocd);
+        position += eocd.limit();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static int toDosTime(LocalDateTime time) {
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (time.getYear() - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16 |
+               time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.kse.crypto.CryptoException;
+
+/**
+ * Index over a set of certificates for building certificate chains.
+ * <p>
+ * Certificates are indexed by subject DN, issuer DN and subject key identifier, so finding the possible issuers of a
+ * certificate (or the certificates issued by one) does not require a scan of the whole set. A candidate whose
+ * subject key identifier contradicts the authority key identifier of the issued certificate is skipped without
+ * verifying the signature. Signature verification results are memoized, which makes it cheap to reuse an index for
+ * many chains over the same certificates.
+ * <p>
+ * The index is immutable after construction and can be used from several threads.
+ */
+public class TrustAnchorIndex {
+
+    // memoized results for certificates outside the index are kept as well, so limit the memory use
+    private static final int MAX_VERIFIED = 10000;
+
+    private final List<X509Certificate> certs;
+    private final Map<X500Principal, List<X509Certificate>> bySubject = new HashMap<>();
+    private final Map<X500Principal, List<X509Certificate>> byIssuer = new HashMap<>();
+    private final Map<KeyIdentifier, List<X509Certificate>> bySubjectKeyId = new HashMap<>();
+    private final Map<X509Certificate, KeyIdentifier> subjectKeyIds = new IdentityHashMap<>();
+    private final Map<CertificatePair, Boolean> verified;
+
+    /**
+     * Construct an index over the supplied certificates.
+     *
+     * @param certs The certificates
+     */
+    public TrustAnchorIndex(Collection<X509Certificate> certs) {
+        this(certs, null);
+    }
+
+    /**
+     * Construct an index over the supplied certificates that shares the memoized verification results with another
+     * index.
+     *
+     * @param certs      The certificates
+     * @param memoSource Index to share the verification results with, may be null
+     */
+    TrustAnchorIndex(Collection<X509Certificate> certs, TrustAnchorIndex memoSource) {
+        this.certs = Collections.unmodifiableList(new ArrayList<>(certs));
+        this.verified = (memoSource != null) ? memoSource.verified : new ConcurrentHashMap<>();
+
+        for (X509Certificate cert : this.certs) {
+            bySubject.computeIfAbsent(cert.getSubjectX500Principal(), k -> new ArrayList<>()).add(cert);
+            byIssuer.computeIfAbsent(cert.getIssuerX500Principal(), k -> new ArrayList<>()).add(cert);
+
+            KeyIdentifier ski = getSubjectKeyIdentifier(cert);
+            if (ski != null) {
+                subjectKeyIds.put(cert, ski);
+                bySubjectKeyId.computeIfAbsent(ski, k -> new ArrayList<>()).add(cert);
+            }
+        }
+    }
+
+    /**
+     * Construct an index over the supplied certificates.
+     *
+     * @param certs The certificates
+     */
+    public TrustAnchorIndex(X509Certificate[] certs) {
+        this(Arrays.asList(certs));
+    }
+
+    /**
+     * Get the indexed certificates.
+     *
+     * @return The certificates in their original order
+     */
+    public List<X509Certificate> getCertificates() {
+        return certs;
+    }
+
+    /**
+     * Get the indexed certificates that could have issued the supplied certificate, ie whose subject DN matches the
+     * issuer DN and whose subject key identifier does not contradict the authority key identifier. Signatures are not
+     * checked.
+     *
+     * @param cert The issued certificate
+     * @return The candidates in their original order, candidates with a matching key identifier first
+     */
+    public List<X509Certificate> findIssuerCandidates(X509Certificate cert) {
+        List<X509Certificate> sameDn = bySubject.getOrDefault(cert.getIssuerX500Principal(), Collections.emptyList());
+
+        KeyIdentifier aki = getAuthorityKeyIdentifier(cert);
+        if (aki == null || sameDn.isEmpty()) {
+            return sameDn;
+        }
+
+        List<X509Certificate> candidates = new ArrayList<>(sameDn.size());
+        for (X509Certificate candidate : bySubjectKeyId.getOrDefault(aki, Collections.emptyList())) {
+            if (candidate.getSubjectX500Principal().equals(cert.getIssuerX500Principal())) {
+                candidates.add(candidate);
+            }
+        }
+        for (X509Certificate candidate : sameDn) {
+            if (!subjectKeyIds.containsKey(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Get the indexed certificates that could have been issued by the supplied certificate, ie whose issuer DN
+     * matches the subject DN. Signatures are not checked.
+     *
+     * @param issuerCert The issuer certificate
+     * @return The candidates in their original order
+     */
+    public List<X509Certificate> findIssuedCandidates(X509Certificate issuerCert) {
+        return byIssuer.getOrDefault(issuerCert.getSubjectX500Principal(), Collections.emptyList());
+    }
+
+    /**
+     * Verify that a certificate was signed with the key of another certificate. The result is memoized.
+     *
+     * @param cert       The signed certificate
+     * @param issuerCert The signing certificate
+     * @return True if the signature is valid
+     * @throws CryptoException If there was a problem verifying the signature
+     */
+    public boolean verify(X509Certificate cert, X509Certificate issuerCert) throws CryptoException {
+        CertificatePair pair = new CertificatePair(cert, issuerCert);
+
+        Boolean result = verified.get(pair);
+        if (result == null) {
+            result = X509CertUtil.verifyCertificate(cert, issuerCert);
+            if (verified.size() >= MAX_VERIFIED) {
+                verified.clear();
+            }
+            verified.put(pair, result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a certificate was issued by another one. Same as {@link X509CertUtil#isIssuedBy} but with memoized
+     * signature verification and key identifier check.
+     *
+     * @param cert       The issued certificate
+     * @param issuerCert The possible issuer certificate
+     * @return True, if issuerCert has issued cert, false otherwise
+     */
+    public boolean isIssuedBy(X509Certificate cert, X509Certificate issuerCert) {
+        if (!issuerCert.getSubjectX500Principal().equals(cert.getIssuerX500Principal())) {
+            return false;
+        }
+
+        KeyIdentifier aki = getAuthorityKeyIdentifier(cert);
+        KeyIdentifier ski = subjectKeyIds.containsKey(issuerCert) ?
+                            subjectKeyIds.get(issuerCert) :
+                            getSubjectKeyIdentifier(issuerCert);
+        if (aki != null && ski != null && !aki.equals(ski)) {
+            return false;
+        }
+
+        try {
+            return verify(cert, issuerCert);
+        } catch (CryptoException e) {
+            // ignore technical verification issues as they are not relevant for finding chains
+            return true;
+        }
+    }
+
+    /**
+     * Build a chain of trust from the supplied certificate to a self-signed certificate in the index.
+     *
+     * @param cert The certificate
+     * @return The trust chain starting with the certificate, or null if trust could not be established
+     * @throws CryptoException If there is a problem verifying a signature
+     */
+    public X509Certificate[] establishTrust(X509Certificate cert) throws CryptoException {
+        List<X509Certificate> chain = new ArrayList<>();
+        chain.add(cert);
+
+        if (establishTrust(cert, chain, new HashSet<>())) {
+            return chain.toArray(new X509Certificate[0]);
+        }
+        return null; // No chain of trust
+    }
+
+    private boolean establishTrust(X509Certificate cert, List<X509Certificate> chain,
+                                   Set<X509Certificate> deadEnds) throws CryptoException {
+        for (X509Certificate issuerCert : findIssuerCandidates(cert)) {
+            if (deadEnds.contains(issuerCert) || !verify(cert, issuerCert)) {
+                continue;
+            }
+
+            // If the issuer is self-signed then a chain of trust exists
+            if (X509CertUtil.isCertificateSelfSigned(issuerCert)) {
+                chain.add(issuerCert);
+                return true;
+            }
+
+            // Cross-certified CAs can form a cycle
+            if (chain.contains(issuerCert)) {
+                continue;
+            }
+
+            chain.add(issuerCert);
+            if (establishTrust(issuerCert, chain, deadEnds)) {
+                return true;
+            }
+            chain.remove(chain.size() - 1);
+            deadEnds.add(issuerCert);
+        }
+        return false;
+    }
+
+    /**
+     * Find an indexed certificate issued by the supplied certificate.
+     *
+     * @param issuerCert The issuer certificate
+     * @param excluded   Certificates to skip, e.g. the ones already in a path
+     * @return The first certificate in the original order that was issued by the issuer certificate, or null
+     */
+    public X509Certificate findIssuedCert(X509Certificate issuerCert, Collection<X509Certificate> excluded) {
+        for (X509Certificate cert : findIssuedCandidates(issuerCert)) {
+            if (X509CertUtil.certificatesEquals(issuerCert, cert) || excluded.contains(cert)) {
+                // Checked certificate is issuer - ignore it
+                continue;
+            }
+
+            if (isIssuedBy(cert, issuerCert)) {
+                return cert;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the indexed certificates that have issued the supplied certificate.
+     *
+     * @param cert The issued certificate
+     * @return The issuers in their original order, excluding the certificate itself
+     */
+    public List<X509Certificate> findIssuers(X509Certificate cert) {
+        List<X509Certificate> issuers = new ArrayList<>();
+        for (X509Certificate issuerCert : bySubject.getOrDefault(cert.getIssuerX500Principal(),
+                                                                 Collections.emptyList())) {
+            if (!X509CertUtil.certificatesEquals(issuerCert, cert) && isIssuedBy(cert, issuerCert)) {
+                issuers.add(issuerCert);
+            }
+        }
+        return issuers;
+    }
+
+    private static KeyIdentifier getSubjectKeyIdentifier(X509Certificate cert) {
+        try {
+            byte[] extensionValue = cert.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+            if (extensionValue == null) {
+                return null;
+            }
+            byte[] octets = ASN1OctetString.getInstance(extensionValue).getOctets();
+            return KeyIdentifier.of(SubjectKeyIdentifier.getInstance(octets).getKeyIdentifier());
+        } catch (Exception e) {
+            // malformed extension, treat as absent
+            return null;
+        }
+    }
+
+    private static KeyIdentifier getAuthorityKeyIdentifier(X509Certificate cert) {
+        try {
+            byte[] extensionValue = cert.getExtensionValue(Extension.authorityKeyIdentifier.getId());
+            if (extensionValue == null) {
+                return null;
+            }
+            byte[] octets = ASN1OctetString.getInstance(extensionValue).getOctets();
+            return KeyIdentifier.of(AuthorityKeyIdentifier.getInstance(octets).getKeyIdentifier());
+        } catch (Exception e) {
+            // malformed extension, treat as absent
+            return null;
+        }
+    }
+
+    private static final class KeyIdentifier {
+        private final byte[] keyId;
+
+        private KeyIdentifier(byte[] keyId) {
+            this.keyId = keyId;
+        }
+
+        static KeyIdentifier of(byte[] keyId) {
+            return (keyId == null || keyId.length == 0) ? null : new KeyIdentifier(keyId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(keyId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof KeyIdentifier) && Arrays.equals(keyId, ((KeyIdentifier) obj).keyId);
+        }
+    }
+
+    private static final class CertificatePair {
+        private final X509Certificate cert;
+        private final X509Certificate issuerCert;
+
+        CertificatePair(X509Certificate cert, X509Certificate issuerCert) {
+            this.cert = cert;
+            this.issuerCert = issuerCert;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(cert) + System.identityHashCode(issuerCert);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CertificatePair)) {
+                return false;
+            }
+            CertificatePair other = (CertificatePair) obj;
+            return cert == other.cert && issuerCert == other.issuerCert;
+        }
+    }
+}
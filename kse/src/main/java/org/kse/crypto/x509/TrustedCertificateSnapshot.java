@@ -0,0 +1,132 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.kse.crypto.CryptoException;
+
+/**
+ * Decoded and indexed copy of the trusted certificate entries of a KeyStore. Used for the authority certificates
+ * KeyStores, which are consulted over and over again but rarely change.
+ */
+public class TrustedCertificateSnapshot {
+    private static final ResourceBundle res = ResourceBundle.getBundle("org/kse/crypto/x509/resources");
+
+    private final List<X509Certificate> certs;
+    private final Map<X509Certificate, String> aliases;
+    private final TrustAnchorIndex index;
+
+    private TrustedCertificateSnapshot(List<X509Certificate> certs, Map<X509Certificate, String> aliases) {
+        this.certs = Collections.unmodifiableList(certs);
+        this.aliases = aliases;
+        this.index = new TrustAnchorIndex(certs);
+    }
+
+    /**
+     * Decode and index the trusted certificate entries of a KeyStore.
+     *
+     * @param keyStore The KeyStore
+     * @return The snapshot
+     * @throws CryptoException If there was a problem reading the certificates
+     */
+    public static TrustedCertificateSnapshot create(KeyStore keyStore) throws CryptoException {
+        try {
+            List<X509Certificate> certs = new ArrayList<>();
+            Map<X509Certificate, String> aliases = new HashMap<>();
+
+            for (Enumeration<String> e = keyStore.aliases(); e.hasMoreElements(); ) {
+                String alias = e.nextElement();
+
+                if (keyStore.isCertificateEntry(alias)) {
+                    X509Certificate cert = X509CertUtil.convertCertificate(keyStore.getCertificate(alias));
+                    certs.add(cert);
+                    aliases.putIfAbsent(cert, alias);
+                }
+            }
+
+            return new TrustedCertificateSnapshot(certs, aliases);
+        } catch (KeyStoreException ex) {
+            throw new CryptoException(res.getString("NoExtractCertificates.exception.message"), ex);
+        }
+    }
+
+    /**
+     * Get the trusted certificates.
+     *
+     * @return The certificates
+     */
+    public List<X509Certificate> getCertificates() {
+        return certs;
+    }
+
+    /**
+     * Get the index over the trusted certificates.
+     *
+     * @return The index
+     */
+    public TrustAnchorIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Check whether or not a trusted certificate matches the supplied X.509 certificate. Same as
+     * {@link X509CertUtil#matchCertificate(KeyStore, X509Certificate)} against the KeyStore of the snapshot.
+     *
+     * @param cert The certificate
+     * @return The alias of the matching certificate or null if there is no match
+     */
+    public String matchCertificate(X509Certificate cert) {
+        return aliases.get(cert);
+    }
+
+    /**
+     * Build an index over the certificates of several snapshots plus further certificates. The memoized
+     * verification results of the first snapshot's index are reused.
+     *
+     * @param snapshots  The snapshots, null elements are ignored
+     * @param otherCerts Further certificates, e.g. from the current KeyStore
+     * @return The index
+     */
+    public static TrustAnchorIndex combine(Collection<TrustedCertificateSnapshot> snapshots,
+                                           Collection<X509Certificate> otherCerts) {
+        List<X509Certificate> certs = new ArrayList<>(otherCerts);
+        TrustAnchorIndex memoSource = null;
+        for (TrustedCertificateSnapshot snapshot : snapshots) {
+            if (snapshot != null) {
+                certs.addAll(snapshot.certs);
+                if (memoSource == null) {
+                    memoSource = snapshot.index;
+                }
+            }
+        }
+        return new TrustAnchorIndex(certs, memoSource);
+    }
+}
@@ -19,11 +19,12 @@
  */
 package org.kse.crypto.x509;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -39,6 +40,7 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,11 +51,8 @@ import java.util.ResourceBundle;
 import javax.security.auth.x500.X500Principal;
 
 import org.apache.commons.io.IOUtils;
-import org.bouncycastle.asn1.cms.ContentInfo;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.cert.X509CertificateHolder;
-import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
-import org.bouncycastle.openssl.PEMParser;
 import org.bouncycastle.openssl.X509TrustedCertificateBlock;
 import org.kse.KSE;
 import org.kse.crypto.CryptoException;
@@ -65,6 +64,7 @@ import org.kse.utilities.SerialNumbers;
 import org.kse.utilities.StringUtils;
 import org.kse.utilities.io.HexUtil;
 import org.kse.utilities.pem.PemInfo;
+import org.kse.utilities.pem.PemReader;
 import org.kse.utilities.pem.PemUtil;
 
 /**
@@ -77,6 +77,15 @@ public final class X509CertUtil {
     private static final String PKI_PATH_ENCODING = "PkiPath";
     private static final String CERT_PEM_TYPE = "CERTIFICATE";
     private static final String PKCS7_PEM_TYPE = "PKCS7";
+    private static final String X509_CERT_PEM_TYPE = "X509 CERTIFICATE";
+    private static final String TRUSTED_CERT_PEM_TYPE = "TRUSTED CERTIFICATE";
+    private static final String CMS_PEM_TYPE = "CMS";
+
+    // a stream is read as PEM if a header is found within its first bytes (after a preamble, e.g. of a CA bundle)
+    private static final int PEM_DETECTION_LENGTH = 64 * 1024;
+
+    private static final X509CertificateCache CERTIFICATE_CACHE =
+            new X509CertificateCache(X509CertificateCache.DEFAULT_MAX_SIZE);
 
     public static final String BEGIN_CERTIFICATE = "-----BEGIN CERTIFICATE-----";
     public static final String END_CERTIFICATE = "-----END CERTIFICATE-----";
@@ -97,8 +106,8 @@ public final class X509CertUtil {
         try {
             CertificateFactory cf = CertificateFactory.getInstance(X509_CERT_TYPE, KSE.BC);
 
-            // try to parse data as PEM encoded
-            List<X509Certificate> loadedCerts = loadAsPEM(certsBytes, cf);
+            // try to parse data as PEM encoded, a malformed block fails the whole load like for streams
+            List<X509Certificate> loadedCerts = loadAsPEM(new ByteArrayInputStream(certsBytes), cf);
 
             // might be Base64 encoded but without the PEM header
             if (loadedCerts.isEmpty()) {
@@ -122,6 +131,48 @@ public final class X509CertUtil {
         }
     }
 
+    /**
+     * Load one or more certificates from the specified stream. PEM encoded certificates, e.g. a CA bundle, are read
+     * one at a time, other encodings are read into memory first. The stream is not closed.
+     * <p>
+     * Once a PEM header has been found at the start of the stream, only PEM blocks are read, the other encodings of
+     * {@link #loadCertificates(byte[])} are not tried. They are not tried for a byte array with a malformed PEM block
+     * either: in both cases the whole load fails, so that a truncated bundle is not mistaken for a complete one.
+     * </p>
+     *
+     * @param is Stream to load certificates from
+     * @return The certificates
+     * @throws CryptoException Problem encountered while loading the certificate(s)
+     */
+    public static X509Certificate[] loadCertificates(InputStream is) throws CryptoException {
+        try {
+            BufferedInputStream bis = new BufferedInputStream(is, PEM_DETECTION_LENGTH);
+            bis.mark(PEM_DETECTION_LENGTH);
+            byte[] head = bis.readNBytes(PEM_DETECTION_LENGTH);
+            bis.reset();
+
+            if (!containsPemHeader(head)) {
+                return loadCertificates(IOUtils.toByteArray(bis));
+            }
+
+            CertificateFactory cf = CertificateFactory.getInstance(X509_CERT_TYPE, KSE.BC);
+            return loadAsPEM(bis, cf).toArray(new X509Certificate[0]);
+        } catch (IOException | CertificateException ex) {
+            throw new CryptoException(res.getString("NoLoadCertificate.exception.message"), ex);
+        }
+    }
+
+    private static boolean containsPemHeader(byte[] data) {
+        byte[] marker = PemUtil.PEM_BEGIN_MARKER.getBytes(StandardCharsets.US_ASCII);
+
+        for (int i = 0; i + marker.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + marker.length, marker, 0, marker.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static List<X509Certificate> loadAsBase64(byte[] certsBytes, CertificateFactory cf) {
         try {
             byte[] base64Decoded = Base64.getMimeDecoder().decode(certsBytes);
@@ -159,36 +210,41 @@ public final class X509CertUtil {
         }
     }
 
-    private static List<X509Certificate> loadAsPEM(byte[] bytes, CertificateFactory cf) {
-
-        JcaX509CertificateConverter jcaX509CertConverter = new JcaX509CertificateConverter();
-
+    private static List<X509Certificate> loadAsPEM(InputStream is, CertificateFactory cf) throws CryptoException {
         List<X509Certificate> certs = new ArrayList<>();
 
-        try (PEMParser pemParser = new PEMParser(new StringReader(new String(bytes)))) {
-            Object pemObject = pemParser.readObject();
-            while (pemObject != null) {
-                // check for all possible certificate classes
-                if (pemObject instanceof X509CertificateHolder) {
-                    certs.add(jcaX509CertConverter.getCertificate((X509CertificateHolder) pemObject));
-                } else if (pemObject instanceof X509TrustedCertificateBlock) {
-                    X509TrustedCertificateBlock trustedCertBlock = (X509TrustedCertificateBlock) pemObject;
-                    certs.add(jcaX509CertConverter.getCertificate(trustedCertBlock.getCertificateHolder()));
-                } else if (pemObject instanceof ContentInfo) {
-                    ContentInfo contentInfo = (ContentInfo) pemObject;
-                    Collection<? extends Certificate> certsFromPkcs7 = cf.generateCertificates(
-                            new ByteArrayInputStream(contentInfo.getEncoded()));
-
-                    if (!certsFromPkcs7.isEmpty()) {
-                        List<X509Certificate> x509Certificates = convertCertificates(certsFromPkcs7);
-                        certs.addAll(x509Certificates);
-                    }
+        // blocks are read one at a time, so that large CA bundles are not held in memory as a whole
+        PemReader pemReader = new PemReader(is);
+
+        try {
+            PemInfo pemInfo;
+            while ((pemInfo = pemReader.read()) != null) {
+                byte[] content = pemInfo.getContent();
+
+                // check for all possible certificate types
+                switch (pemInfo.getType()) {
+                case CERT_PEM_TYPE:
+                case X509_CERT_PEM_TYPE:
+                    certs.add((X509Certificate) cf.generateCertificate(new ByteArrayInputStream(content)));
+                    break;
+                case TRUSTED_CERT_PEM_TYPE:
+                    X509TrustedCertificateBlock trustedCertBlock = new X509TrustedCertificateBlock(content);
+                    byte[] encoded = trustedCertBlock.getCertificateHolder().getEncoded();
+                    certs.add((X509Certificate) cf.generateCertificate(new ByteArrayInputStream(encoded)));
+                    break;
+                case PKCS7_PEM_TYPE:
+                case CMS_PEM_TYPE:
+                    certs.addAll(convertCertificates(cf.generateCertificates(new ByteArrayInputStream(content))));
+                    break;
+                default:
+                    // keys, CRLs etc.
+                    break;
                 }
-                pemObject = pemParser.readObject();
             }
             return certs;
-        } catch (IOException | CertificateException | CryptoException e) {
-            return certs;
+        } catch (IOException | CertificateException e) {
+            throw new CryptoException(MessageFormat.format(res.getString("NoLoadPemCertificates.exception.message"),
+                                                           certs.size()), e);
         }
     }
 
@@ -270,9 +326,7 @@ public final class X509CertUtil {
      */
     public static X509Certificate convertCertificate(Certificate certIn) throws CryptoException {
         try {
-            CertificateFactory cf = CertificateFactory.getInstance(X509_CERT_TYPE, KSE.BC);
-            ByteArrayInputStream bais = new ByteArrayInputStream(certIn.getEncoded());
-            return (X509Certificate) cf.generateCertificate(bais);
+            return convertCertificate(certIn.getEncoded());
         } catch (CertificateException e) {
             throw new CryptoException(res.getString("NoConvertCertificate.exception.message"), e);
         }
@@ -311,14 +365,33 @@ public final class X509CertUtil {
      */
     public static X509Certificate convertCertificate(X509CertificateHolder certIn) throws CryptoException {
         try {
-            CertificateFactory cf = CertificateFactory.getInstance(X509_CERT_TYPE, KSE.BC);
-            ByteArrayInputStream bais = new ByteArrayInputStream(certIn.getEncoded());
-            return (X509Certificate) cf.generateCertificate(bais);
+            return convertCertificate(certIn.getEncoded());
         } catch (CertificateException | IOException e) {
             throw new CryptoException(res.getString("NoConvertCertificate.exception.message"), e);
         }
     }
 
+    private static X509Certificate convertCertificate(byte[] encoding) throws CertificateException {
+        X509Certificate cert = CERTIFICATE_CACHE.get(encoding);
+        if (cert != null) {
+            return cert;
+        }
+
+        CertificateFactory cf = CertificateFactory.getInstance(X509_CERT_TYPE, KSE.BC);
+        cert = (X509Certificate) cf.generateCertificate(new ByteArrayInputStream(encoding));
+
+        return CERTIFICATE_CACHE.put(encoding, cert);
+    }
+
+    /**
+     * Get the cache of parsed certificates used by the convertCertificate methods.
+     *
+     * @return The certificate cache
+     */
+    public static X509CertificateCache getCertificateCache() {
+        return CERTIFICATE_CACHE;
+    }
+
     /**
      * Order the supplied array of X.509 certificates in issued to issuer order.
      *
@@ -335,6 +408,8 @@ public final class X509CertUtil {
             return certs;
         }
 
+        TrustAnchorIndex index = new TrustAnchorIndex(certs);
+
         // Put together each possible certificate path...
         ArrayList<ArrayList<X509Certificate>> paths = new ArrayList<>();
 
@@ -348,7 +423,7 @@ public final class X509CertUtil {
             X509Certificate newIssuer = null;
 
             // Recursively build that path by finding the next issued certificate
-            while ((newIssuer = findIssuedCert(issuerCert, certs)) != null) {
+            while ((newIssuer = index.findIssuedCert(issuerCert, path)) != null) {
                 // Found an issued cert, now attempt to find its issued certificate
                 issuerCert = newIssuer;
                 path.add(0, newIssuer);
@@ -381,18 +456,12 @@ public final class X509CertUtil {
         if (certs.length <= 1) {
             return certs;
         }
+        TrustAnchorIndex index = new TrustAnchorIndex(certs);
         ArrayList<ArrayList<X509Certificate>> paths = new ArrayList<>();
         for (X509Certificate cert : certs) {
             ArrayList<X509Certificate> path = new ArrayList<>();
             path.add(cert);
-            for (X509Certificate issuerCert : certs) {
-                if (certificatesEquals(issuerCert, cert)) {
-                    continue;
-                }
-                if (isIssuedBy(cert, issuerCert)) {
-                    path.add(issuerCert);
-                }
-            }
+            path.addAll(index.findIssuers(cert));
             if (path.size() > 1) {
                 paths.add(path);
             }
@@ -438,29 +507,12 @@ public final class X509CertUtil {
         return listCertificates.toArray(new X509Certificate[0]);
     }
 
-    private static boolean certificatesEquals(X509Certificate cert1, X509Certificate cert2) {
+    static boolean certificatesEquals(X509Certificate cert1, X509Certificate cert2) {
         return cert1.getSubjectX500Principal().equals(cert2.getSubjectX500Principal())
                 && cert1.getIssuerX500Principal().equals(cert2.getIssuerX500Principal())
                 && cert1.getSerialNumber().equals(cert2.getSerialNumber());
     }
 
-    private static X509Certificate findIssuedCert(X509Certificate issuerCert, X509Certificate[] certs) {
-        // Find a certificate issued by the supplied certificate
-        for (X509Certificate cert : certs) {
-            if (issuerCert.getSubjectX500Principal().equals(cert.getSubjectX500Principal()) &&
-                issuerCert.getIssuerX500Principal().equals(cert.getIssuerX500Principal()) &&
-                issuerCert.getSerialNumber().equals(cert.getSerialNumber())) {
-                // Checked certificate is issuer - ignore it
-                continue;
-            }
-
-            if (isIssuedBy(cert, issuerCert)) {
-                return cert;
-            }
-        }
-        return null;
-    }
-
     /**
      * Checks if certificate was issued by the other certificate by checking first the DN and only if the issuer DN
      * matches the subject DN, then the signature is verified. This avoids the slow verification operation when it is
@@ -664,49 +716,30 @@ public final class X509CertUtil {
         return establishTrust(cert, ksCerts);
     }
 
+    /**
+     * Check whether or not a trust path exists between the supplied X.509
+     * certificate and the supplied comparison certificates, ie that a chain
+     * of trust exists between the certificate and a self-signed trusted
+     * certificate in the comparison set.
+     *
+     * @param cert      The certificate
+     * @param compCerts The comparison certificates
+     * @return The trust chain, or null if trust could not be established
+     * @throws CryptoException If there is a problem establishing trust
+     */
     public static X509Certificate[] establishTrust(X509Certificate cert, List<X509Certificate> compCerts)
             throws CryptoException {
-        /*
-         * Check whether or not a trust path exists between the supplied X.509
-         * certificate and the supplied comparison certificates , ie that a
-         * chain of trust exists between the certificate and a self-signed
-         * trusted certificate in the comparison set
-         */
-
-        for (int i = 0; i < compCerts.size(); i++) {
-            X509Certificate compCert = compCerts.get(i);
-
-            // Verify of certificate issuer is sam as comparison certificate's subject
-            if (cert.getIssuerX500Principal().equals(compCert.getSubjectX500Principal())) {
-                // Verify if the comparison certificate's private key was used to sign the certificate
-                if (X509CertUtil.verifyCertificate(cert, compCert)) {
-                    // If the comparision certificate is self-signed then a chain of trust exists
-                    if (compCert.getSubjectX500Principal().equals(compCert.getIssuerX500Principal())) {
-                        return new X509Certificate[] { cert, compCert };
-                    }
-
-                    /*
-                     * Otherwise try and establish a chain of trust from the
-                     * comparison certificate against the other comparison certificates
-                     */
-                    X509Certificate[] tmpChain = establishTrust(compCert, compCerts);
-                    if (tmpChain != null) {
-                        X509Certificate[] trustChain = new X509Certificate[tmpChain.length + 1];
-
-                        trustChain[0] = cert;
-
-                        System.arraycopy(tmpChain, 0, trustChain, 1, tmpChain.length);
-
-                        return trustChain;
-                    }
-                }
-            }
-        }
-
-        return null; // No chain of trust
+        return new TrustAnchorIndex(compCerts).establishTrust(cert);
     }
 
-    private static List<X509Certificate> extractCertificates(KeyStore keyStore) throws CryptoException {
+    /**
+     * Get the trusted certificate entries of a KeyStore.
+     *
+     * @param keyStore The KeyStore
+     * @return The certificates
+     * @throws CryptoException If there is a problem reading the certificates
+     */
+    public static List<X509Certificate> extractCertificates(KeyStore keyStore) throws CryptoException {
         try {
             List<X509Certificate> certs = new ArrayList<>();
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of parsed X.509 certificates, keyed by the SHA-256 hash of their DER encoding.
+ * <p>
+ * X509Certificate objects are immutable, so a cached instance can be handed out to any number of callers and
+ * threads. The cache only saves the parsing; the encoding still has to be hashed on every lookup.
+ */
+public final class X509CertificateCache {
+
+    /** Default maximum number of cached certificates */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final int maxSize;
+    private final Map<EncodingHash, X509Certificate> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Construct a cache.
+     *
+     * @param maxSize Maximum number of cached certificates, 0 disables caching
+     */
+    public X509CertificateCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EncodingHash, X509Certificate> eldest) {
+                return size() > X509CertificateCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached certificate for the supplied encoding.
+     *
+     * @param encoding DER encoding of the certificate
+     * @return The cached certificate or null if there is none
+     */
+    public X509Certificate get(byte[] encoding) {
+        if (maxSize == 0) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        X509Certificate cert;
+        synchronized (cache) {
+            cert = cache.get(new EncodingHash(encoding));
+        }
+
+        if (cert == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return cert;
+    }
+
+    /**
+     * Add a certificate to the cache. Evicts the least recently used certificate if the cache is full.
+     *
+     * @param encoding DER encoding of the certificate
+     * @param cert     The parsed certificate
+     * @return The certificate that is cached for the encoding; this is an already cached instance if another thread
+     *         added one in the meantime
+     */
+    public X509Certificate put(byte[] encoding, X509Certificate cert) {
+        if (maxSize == 0) {
+            return cert;
+        }
+
+        EncodingHash key = new EncodingHash(encoding);
+        synchronized (cache) {
+            X509Certificate cached = cache.putIfAbsent(key, cert);
+            return (cached != null) ? cached : cert;
+        }
+    }
+
+    /**
+     * Remove all certificates from the cache and reset the counters.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get the number of cached certificates.
+     *
+     * @return Number of cached certificates
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Get the maximum number of cached certificates.
+     *
+     * @return Maximum number of cached certificates
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the number of lookups that found a cached certificate.
+     *
+     * @return Number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups that did not find a cached certificate.
+     *
+     * @return Number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class EncodingHash {
+        private final byte[] hash;
+        private final int hashCode;
+
+        EncodingHash(byte[] encoding) {
+            this.hash = sha256(encoding);
+            this.hashCode = Arrays.hashCode(hash);
+        }
+
+        private static byte[] sha256(byte[] encoding) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(encoding);
+            } catch (NoSuchAlgorithmException e) {
+                // every JRE has to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof EncodingHash) && Arrays.equals(hash, ((EncodingHash) obj).hash);
+        }
+    }
+}
@@ -21,6 +21,11 @@ package org.kse.gui;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Vector;
 
@@ -77,6 +82,43 @@ public class JKseTable extends JTable {
         fixRowHeight();
     }
 
+    @Override
+    protected void paintComponent(Graphics g) {
+        requestVisibleRows();
+        super.paintComponent(g);
+    }
+
+    /**
+     * Let a lazily decoded KeyStore table model decode the visible rows plus some rows above and below them.
+     */
+    private void requestVisibleRows() {
+        if (!(getModel() instanceof KeyStoreTableModel) || getRowCount() == 0) {
+            return;
+        }
+
+        Rectangle visibleRect = getVisibleRect();
+        int firstRow = rowAtPoint(visibleRect.getLocation());
+        int lastRow = rowAtPoint(new Point(visibleRect.x, visibleRect.y + visibleRect.height - 1));
+
+        if (firstRow < 0) {
+            firstRow = 0;
+        }
+        if (lastRow < 0) {
+            lastRow = getRowCount() - 1;
+        }
+
+        int visibleRows = lastRow - firstRow + 1;
+        firstRow = Math.max(0, firstRow - visibleRows);
+        lastRow = Math.min(getRowCount() - 1, lastRow + visibleRows);
+
+        List<Integer> modelRows = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            modelRows.add(convertRowIndexToModel(row));
+        }
+
+        ((KeyStoreTableModel) getModel()).requestRows(modelRows);
+    }
+
     private void fixRowHeight() {
         // workaround for default rowHeight not DPI scaled (https://bugs.openjdk.java.net/browse/JDK-8029087)
         int fontHeight = getFontMetrics(getFont()).getHeight();
@@ -56,6 +56,15 @@ public class KeyStoreTableCellRend extends DefaultTableCellRenderer {
 
         JLabel cell = (JLabel) super.getTableCellRendererComponent(jtKeyStore, value, isSelected, hasFocus, row, col);
 
+        // Row not decoded yet - display a placeholder
+        if (isPlaceholder(jtKeyStore, row, col)) {
+            cell.setIcon(null);
+            cell.setText("\u2026");
+            cell.setToolTipText(res.getString("KeyStoreTableCellRend.Loading.tooltip"));
+            cell.setHorizontalAlignment(CENTER);
+            return cell;
+        }
+
         // Entry Type column - display an icon representing the type and tool-tip text
         if (col == 0) {
             ImageIcon icon = null;
@@ -141,6 +150,16 @@ public class KeyStoreTableCellRend extends DefaultTableCellRenderer {
         return cell;
     }
 
+    private boolean isPlaceholder(JTable jtKeyStore, int row, int col) {
+        if (row < 0 || !(jtKeyStore.getModel() instanceof KeyStoreTableModel)) {
+            return false;
+        }
+
+        KeyStoreTableModel model = (KeyStoreTableModel) jtKeyStore.getModel();
+        int modelCol = jtKeyStore.convertColumnIndexToModel(col);
+        return model.isColumnDecoded(modelCol) && !model.isRowDecoded(jtKeyStore.convertRowIndexToModel(row));
+    }
+
     private JLabel writeCell(JLabel cell, Object value) {
         try {
             if (value == null || value.toString().equals("-") || value.toString().isEmpty()) {
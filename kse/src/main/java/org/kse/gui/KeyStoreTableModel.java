@@ -32,16 +32,24 @@ import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import javax.crypto.SecretKey;
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import org.bouncycastle.asn1.DEROctetString;
@@ -51,7 +59,6 @@ import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.kse.crypto.CryptoException;
 import org.kse.crypto.KeyInfo;
-import org.kse.crypto.digest.DigestType;
 import org.kse.crypto.keypair.KeyPairUtil;
 import org.kse.crypto.keystore.KeyStoreType;
 import org.kse.crypto.keystore.KeyStoreUtil;
@@ -60,6 +67,7 @@ import org.kse.crypto.secretkey.SecretKeyUtil;
 import org.kse.crypto.x509.KseX500NameStyle;
 import org.kse.crypto.x509.X500NameUtils;
 import org.kse.crypto.x509.X509CertUtil;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 import org.kse.utilities.io.HexUtil;
@@ -72,9 +80,26 @@ public class KeyStoreTableModel extends AbstractTableModel {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/resources");
     private String[] columnNames;
     private Class<?>[] columnTypes;
-    private Object[][] data = new Object[0][0];
+    private KeyStoreTableRow[] rows = new KeyStoreTableRow[0];
+    private Map<String, KeyStoreTableRow> rowCache = new HashMap<>();
+    private KeyStore rowsKeyStore;
+    private int rowsGeneration;
     private KeyStoreHistory history;
 
+    /**
+     * KeyStores up to this size are decoded completely when they are loaded
+     */
+    private static final int EAGER_DECODE_LIMIT = 500;
+
+    private static final Comparator<String> ALIAS_COMPARATOR = new AliasComparator();
+
+    private static final Executor ROW_DECODER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "KeyStoreTableModel row decoder");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
     enum EntryType {
         /**
          * Type column value for a key pair entry
@@ -159,6 +184,11 @@ public class KeyStoreTableModel extends AbstractTableModel {
 
     /**
      * Load the KeyStoreTableModel with the entries from a KeyStore.
+     * <p>
+     * For large file based KeyStores only the entry type, lock status and name are read here. The certificate based
+     * columns of a row are decoded on a background thread once the row is requested (see {@link #requestRows}).
+     * Rows of entries that did not change since the last load are taken over without decoding them again.
+     * </p>
      *
      * @param history KeyStore history
      * @throws GeneralSecurityException If a KeyStore problem occurs while accessing the KeyStore's
@@ -175,7 +205,7 @@ public class KeyStoreTableModel extends AbstractTableModel {
 
         Enumeration<String> aliases = keyStore.aliases();
 
-        TreeMap<String, String> sortedAliases = new TreeMap<>(new AliasComparator());
+        TreeMap<String, String> sortedAliases = new TreeMap<>(ALIAS_COMPARATOR);
 
         while (aliases.hasMoreElements()) {
             String alias = aliases.nextElement();
@@ -185,254 +215,465 @@ public class KeyStoreTableModel extends AbstractTableModel {
             sortedAliases.put(alias, alias);
         }
 
-        data = new Object[sortedAliases.size()][nofColumns];
+        // entries of non-file based KeyStores (PKCS#11, MSCAPI, ...) are changed in place and must not be read
+        // in the background
+        boolean decodeAll = !type.isFileBased() || sortedAliases.size() <= EAGER_DECODE_LIMIT;
+
+        KeyStoreTableRow[] newRows = new KeyStoreTableRow[sortedAliases.size()];
+        Map<String, KeyStoreTableRow> newRowCache = new HashMap<>();
 
         int i = 0;
         for (Iterator<Entry<String, String>> itr = sortedAliases.entrySet().iterator(); itr.hasNext(); i++) {
             String alias = itr.next().getKey();
 
-            EntryType entryType = null;
+            KeyStoreTableRow row = createRow(alias, keyStore, type, currentState, decodeAll);
 
-            // Type column
-            if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
-                entryType = EntryType.TRUST_CERT;
-            } else if (KeyStoreUtil.isKeyPairEntry(alias, keyStore)) {
-                entryType = EntryType.KEY_PAIR;
-            } else {
-                entryType = EntryType.KEY;
+            newRows[i] = row;
+            newRowCache.put(alias, row);
+        }
+
+        rows = newRows;
+        rowCache = newRowCache;
+        rowsKeyStore = keyStore;
+        rowsGeneration++;
+
+        fireTableDataChanged();
+    }
+
+    /**
+     * Apply changes of single entries to the model. Only the affected rows are inserted, deleted or updated; all
+     * other rows keep their decoded values and the table keeps its sort order and selection. Falls back to a
+     * complete {@link #load} if the model does not show the previous state of the KeyStore.
+     *
+     * @param history KeyStore history
+     * @param changes Changes between the previous and the current state of the KeyStore
+     * @throws GeneralSecurityException If a KeyStore problem occurs while accessing the KeyStore's
+     *                                  entries
+     * @throws CryptoException          If a crypto problem occurs while accessing the KeyStore's
+     *                                  entries
+     */
+    public void update(KeyStoreHistory history, List<KeyStoreEntryChange> changes)
+            throws GeneralSecurityException, CryptoException {
+        KeyStoreState currentState = history.getCurrentState();
+        KeyStoreState previousState = currentState.previousState();
+
+        if (history != this.history || previousState == null || previousState.getKeyStore() != rowsKeyStore) {
+            load(history);
+            return;
+        }
+
+        KeyStore keyStore = currentState.getKeyStore();
+        KeyStoreType type = KeyStoreType.resolveJce(keyStore.getType());
+        boolean decodeAll = !type.isFileBased() || rows.length + changes.size() <= EAGER_DECODE_LIMIT;
+
+        rowsKeyStore = keyStore;
+
+        for (KeyStoreEntryChange change : changes) {
+            switch (change.getType()) {
+            case RENAMED:
+                removeRow(change.getOldAlias());
+                updateRow(change.getAlias(), keyStore, type, currentState, decodeAll);
+                break;
+            case REMOVED:
+                removeRow(change.getAlias());
+                break;
+            case ADDED:
+            case MODIFIED:
+            default:
+                updateRow(change.getAlias(), keyStore, type, currentState, decodeAll);
+                break;
             }
+        }
+    }
 
-            data[i][0] = entryType;
+    private void updateRow(String alias, KeyStore keyStore, KeyStoreType type, KeyStoreState currentState,
+            boolean decodeAll) throws GeneralSecurityException, CryptoException {
+        if (!keyStore.containsAlias(alias) || !KeyStoreUtil.isSupportedEntryType(alias, keyStore)) {
+            removeRow(alias);
+            return;
+        }
 
-            // Lock column - only applies to KeyStores types that actually support passwords for entries
-            if ((entryType == EntryType.KEY_PAIR || entryType == EntryType.KEY) && type.hasEntryPasswords()) {
-                if (currentState.getEntryPassword(alias) != null) {
-                    data[i][1] = Boolean.FALSE; // Unlocked
-                } else {
-                    data[i][1] = Boolean.TRUE; // Locked
+        KeyStoreTableRow row = createRow(resolveAlias(alias, keyStore, type), keyStore, type, currentState, decodeAll);
+
+        int index = indexOf(alias);
+        if (index >= 0) {
+            rowCache.remove(rows[index].alias);
+            rowCache.put(row.alias, row);
+            rows[index] = row;
+            fireTableRowsUpdated(index, index);
+        } else {
+            index = -(index + 1);
+            rowCache.put(row.alias, row);
+            KeyStoreTableRow[] newRows = new KeyStoreTableRow[rows.length + 1];
+            System.arraycopy(rows, 0, newRows, 0, index);
+            newRows[index] = row;
+            System.arraycopy(rows, index, newRows, index + 1, rows.length - index);
+            rows = newRows;
+            fireTableRowsInserted(index, index);
+        }
+    }
+
+    private static String resolveAlias(String alias, KeyStore keyStore, KeyStoreType type) throws KeyStoreException {
+        // KeyStores with case insensitive aliases may report them in a different case, e.g. JKS in lower case
+        if (!type.hasCaseSensitiveAliases()) {
+            for (Enumeration<String> aliases = keyStore.aliases(); aliases.hasMoreElements(); ) {
+                String storedAlias = aliases.nextElement();
+                if (storedAlias.equalsIgnoreCase(alias)) {
+                    return storedAlias;
                 }
-            } else {
-                data[i][1] = null; // Lock status does not apply
             }
+        }
+        return alias;
+    }
 
-            Expiration expiration;
+    private void removeRow(String alias) {
+        int index = indexOf(alias);
+        if (index < 0) {
+            return;
+        }
+
+        rowCache.remove(rows[index].alias);
+
+        KeyStoreTableRow[] newRows = new KeyStoreTableRow[rows.length - 1];
+        System.arraycopy(rows, 0, newRows, 0, index);
+        System.arraycopy(rows, index + 1, newRows, index, rows.length - index - 1);
+        rows = newRows;
+        fireTableRowsDeleted(index, index);
+    }
 
-            // Expiry status column
-            Date expiry = getCertificateExpiry(alias, keyStore);
-            ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
-            ZonedDateTime nowPlusExpiryWarnDays = now.plusDays(expiryWarnDays);
-            if (expiry == null) {
-                expiration = null; // No certExpiration - must be a key entry
+    /**
+     * Binary search for the row of an alias, the rows are sorted by {@link AliasComparator}.
+     *
+     * @return Index of the row or (-(insertion point) - 1) if there is none
+     */
+    private int indexOf(String alias) {
+        int low = 0;
+        int high = rows.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ALIAS_COMPARATOR.compare(rows[mid].alias, alias);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
             } else {
-                ZonedDateTime expiryDateTime = expiry.toInstant().atZone(ZoneId.systemDefault());
-                if (now.isAfter(expiryDateTime)) {
-                    expiration = Expiration.EXPIRED;
-                } else {
-                    if (nowPlusExpiryWarnDays.isAfter(expiryDateTime)) {
-                        expiration = Expiration.ALMOST_EXPIRED;
-                    } else {
-                        expiration = Expiration.NOT_EXPIRED;
-                    }
-                }
+                return mid;
             }
+        }
+        return -(low + 1);
+    }
 
-            data[i][2] = expiration;
+    private KeyStoreTableRow createRow(String alias, KeyStore keyStore, KeyStoreType type,
+            KeyStoreState currentState, boolean decodeAll) throws GeneralSecurityException, CryptoException {
+        EntryType entryType = null;
+        Certificate[] certificates = null;
 
-            if (iNameColumn > 0) {
-                // Alias column
-                data[i][iNameColumn] = alias;
-            }
+        // Type column
+        if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
+            entryType = EntryType.TRUST_CERT;
+            certificates = new Certificate[] { keyStore.getCertificate(alias) };
+        } else if (KeyStoreUtil.isKeyPairEntry(alias, keyStore)) {
+            entryType = EntryType.KEY_PAIR;
+            certificates = keyStore.getCertificateChain(alias);
+        } else {
+            entryType = EntryType.KEY;
+        }
 
-            KeyInfo keyInfo = getKeyInfo(alias, keyStore, currentState);
+        // Lock column - only applies to KeyStores types that actually support passwords for entries
+        Boolean locked = null; // Lock status does not apply
+        if ((entryType == EntryType.KEY_PAIR || entryType == EntryType.KEY) && type.hasEntryPasswords()) {
+            locked = currentState.getEntryPassword(alias) == null;
+        }
 
-            if (keyInfo != null) {
-                // Algorithm column
-                if (iAlgorithmColumn > 0) {
-                    data[i][iAlgorithmColumn] = getAlgorithmName(keyInfo);
-                }
+        KeyStoreTableRow row = new KeyStoreTableRow(alias, entryType, locked, certificates);
 
-                // Key Size column
-                if (iKeySizeColumn > 0) {
-                    data[i][iKeySizeColumn] = keyInfo.getSize();
-                }
-                // EC curve column
-                if (keyStoreTableColumns.getEnableCurve()) {
-                    data[i][iCurveColumn] = keyInfo.getDetailedAlgorithm();
-                }
-            }
-            if (iCertValidityStartColumn > 0) {
-                data[i][iCertValidityStartColumn] = getCertificateValidityStart(alias, keyStore);
-            }
-            if (iCertExpiryColumn > 0) {
-                data[i][iCertExpiryColumn] = expiry;
-            }
-            if (iLastModifiedColumn > 0) {
-                // Modified date column - only applies to non-PKCS #11/#12 KeyStores
-                if (!keyStore.getType().equals(KeyStoreType.PKCS12.jce()) &&
-                    !keyStore.getType().equals(KeyStoreType.PKCS11.jce())) {
-                    data[i][iLastModifiedColumn] = keyStore.getCreationDate(alias);
-                } else {
-                    data[i][iLastModifiedColumn] = null;
-                }
-            }
-            if (iSubjectDNColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSubjectDNColumn] = getCertificateSubjectDN(alias, keyStore);
-                } else {
-                    data[i][iSubjectDNColumn] = null;
-                }
+        KeyStoreTableRow cachedRow = rowCache.get(alias);
+        if (cachedRow != null && cachedRow.hasSameContent(row)) {
+            row.values = cachedRow.values;
+        } else if (decodeAll || entryType == EntryType.KEY) {
+            // key entries are cheap to decode but need the entry password
+            row.values = decodeRow(row, keyStore, currentState);
+        }
+
+        return row;
+    }
+
+    /**
+     * Decode the rows with the supplied indexes in the background if they have not been decoded yet. The table is
+     * notified once the rows are available.
+     *
+     * @param modelRows Row indexes of the model
+     */
+    public void requestRows(Collection<Integer> modelRows) {
+        List<KeyStoreTableRow> pendingRows = new ArrayList<>();
+
+        for (int row : modelRows) {
+            if (row >= 0 && row < rows.length && rows[row].values == null && !rows[row].requested) {
+                rows[row].requested = true;
+                pendingRows.add(rows[row]);
             }
-            if (iIssuerDNColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iIssuerDNColumn] = getCertificateIssuerDN(alias, keyStore);
-                } else {
-                    data[i][iIssuerDNColumn] = null;
+        }
+
+        if (pendingRows.isEmpty()) {
+            return;
+        }
+
+        final KeyStore keyStore = rowsKeyStore;
+        final KeyStoreState currentState = history.getCurrentState();
+        final int generation = rowsGeneration;
+
+        ROW_DECODER.execute(() -> {
+            for (KeyStoreTableRow keyStoreTableRow : pendingRows) {
+                try {
+                    keyStoreTableRow.values = decodeRow(keyStoreTableRow, keyStore, currentState);
+                } catch (GeneralSecurityException | CryptoException | RuntimeException ex) {
+                    // show the entry without the certificate details
+                    keyStoreTableRow.values = new Object[nofColumns];
                 }
             }
-            if (iSerialNumberHexColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSerialNumberHexColumn] = getCertificateSerialNumberHex(alias, keyStore);
-                } else {
-                    data[i][iSerialNumberHexColumn] = null;
+
+            SwingUtilities.invokeLater(() -> {
+                if (generation == rowsGeneration) {
+                    fireRowsUpdated(pendingRows);
                 }
+            });
+        });
+    }
+
+    private void fireRowsUpdated(List<KeyStoreTableRow> updatedRows) {
+        // rows may have been inserted or deleted by an update in the meantime, look up their current position
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        for (KeyStoreTableRow row : updatedRows) {
+            int index = indexOf(row.alias);
+            if (index >= 0 && rows[index] == row) {
+                first = Math.min(first, index);
+                last = Math.max(last, index);
             }
-            if (iSerialNumberDecColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSerialNumberDecColumn] = getCertificateSerialNumberDec(alias, keyStore);
-                } else {
-                    data[i][iSerialNumberDecColumn] = null;
-                }
+        }
+
+        if (last >= 0) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    /**
+     * Decode all rows that have not been decoded yet in the background, e.g. because the table is sorted by one of
+     * the decoded columns.
+     */
+    public void requestAllRows() {
+        List<Integer> allRows = new ArrayList<>(rows.length);
+        for (int row = 0; row < rows.length; row++) {
+            allRows.add(row);
+        }
+        requestRows(allRows);
+    }
+
+    /**
+     * Decode all rows that have not been decoded yet on the calling thread, e.g. because all values are exported.
+     * The table is notified of the decoded rows.
+     */
+    public void decodeAllRows() {
+        List<KeyStoreTableRow> decodedRows = new ArrayList<>();
+        KeyStoreState currentState = null;
+
+        for (KeyStoreTableRow keyStoreTableRow : rows) {
+            if (keyStoreTableRow.values != null) {
+                continue;
             }
-            if (iSubjectCNColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSubjectCNColumn] = getCertificateSubjectCN(alias, keyStore);
-                } else {
-                    data[i][iSubjectCNColumn] = null;
-                }
+
+            if (currentState == null) {
+                currentState = history.getCurrentState();
             }
-            if (iIssuerCNColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iIssuerCNColumn] = getCertificateIssuerCN(alias, keyStore);
-                } else {
-                    data[i][iIssuerCNColumn] = null;
-                }
+
+            try {
+                keyStoreTableRow.values = decodeRow(keyStoreTableRow, rowsKeyStore, currentState);
+            } catch (GeneralSecurityException | CryptoException | RuntimeException ex) {
+                // show the entry without the certificate details
+                keyStoreTableRow.values = new Object[nofColumns];
             }
-            if (iSubjectOColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSubjectOColumn] = getCertificateSubjectO(alias, keyStore);
+            keyStoreTableRow.requested = true;
+            decodedRows.add(keyStoreTableRow);
+        }
+
+        if (!decodedRows.isEmpty()) {
+            fireRowsUpdated(decodedRows);
+        }
+    }
+
+    /**
+     * Is the row decoded, i.e. are the values of all its columns available?
+     *
+     * @param row The row position in the model
+     * @return True if the row is decoded
+     */
+    public boolean isRowDecoded(int row) {
+        return rows[row].values != null;
+    }
+
+    /**
+     * Is the column always available, or only after the row was decoded?
+     *
+     * @param col The column position
+     * @return True if the column value is available without decoding the row
+     */
+    public boolean isColumnDecoded(int col) {
+        return col != 0 && col != 1 && col != iNameColumn;
+    }
+
+    private Object[] decodeRow(KeyStoreTableRow row, KeyStore keyStore, KeyStoreState currentState)
+            throws GeneralSecurityException, CryptoException {
+        Object[] values = new Object[nofColumns];
+
+        // Certificates are decoded only once per row, first certificate in chain will be for the private key
+        X509Certificate[] x509Chain = null;
+        X509Certificate x509Cert = null;
+        if (row.certificates != null) {
+            x509Chain = X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(row.certificates));
+            x509Cert = x509Chain[0];
+        }
+
+        Expiration expiration;
+
+        // Expiry status column
+        Date expiry = getCertificateExpiry(row.entryType, x509Chain);
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+        ZonedDateTime nowPlusExpiryWarnDays = now.plusDays(expiryWarnDays);
+        if (expiry == null) {
+            expiration = null; // No certExpiration - must be a key entry
+        } else {
+            ZonedDateTime expiryDateTime = expiry.toInstant().atZone(ZoneId.systemDefault());
+            if (now.isAfter(expiryDateTime)) {
+                expiration = Expiration.EXPIRED;
+            } else {
+                if (nowPlusExpiryWarnDays.isAfter(expiryDateTime)) {
+                    expiration = Expiration.ALMOST_EXPIRED;
                 } else {
-                    data[i][iSubjectOColumn] = null;
+                    expiration = Expiration.NOT_EXPIRED;
                 }
             }
-            if (iIssuerOColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iIssuerOColumn] = getCertificateIssuerO(alias, keyStore);
-                } else {
-                    data[i][iIssuerOColumn] = null;
-                }
+        }
+
+        values[2] = expiration;
+
+        KeyInfo keyInfo = getKeyInfo(row.alias, x509Cert, keyStore, currentState);
+
+        if (keyInfo != null) {
+            // Algorithm column
+            if (iAlgorithmColumn > 0) {
+                values[iAlgorithmColumn] = getAlgorithmName(keyInfo);
             }
-            if (iAKIColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iAKIColumn] = getCertificateAKI(alias, keyStore);
-                } else {
-                    data[i][iAKIColumn] = null;
-                }
+
+            // Key Size column
+            if (iKeySizeColumn > 0) {
+                values[iKeySizeColumn] = keyInfo.getSize();
             }
-            if (iSKIColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iSKIColumn] = getCertificateSKI(alias, keyStore);
-                } else {
-                    data[i][iSKIColumn] = null;
-                }
+            // EC curve column
+            if (keyStoreTableColumns.getEnableCurve()) {
+                values[iCurveColumn] = keyInfo.getDetailedAlgorithm();
             }
-            if (iFingerprintColumn > 0) {
-                if (entryType != EntryType.KEY) {
-                    data[i][iFingerprintColumn] = getCertificateFingerprint(alias, keyStore,
-                                                                            keyStoreTableColumns.getFingerprintAlg());
-                } else {
-                    data[i][iFingerprintColumn] = null;
-                }
+        }
+        if (iCertValidityStartColumn > 0) {
+            values[iCertValidityStartColumn] = (x509Cert == null) ? null : x509Cert.getNotBefore();
+        }
+        if (iCertExpiryColumn > 0) {
+            values[iCertExpiryColumn] = expiry;
+        }
+        if (iLastModifiedColumn > 0) {
+            // Modified date column - only applies to non-PKCS #11/#12 KeyStores
+            if (!keyStore.getType().equals(KeyStoreType.PKCS12.jce()) &&
+                !keyStore.getType().equals(KeyStoreType.PKCS11.jce())) {
+                values[iLastModifiedColumn] = keyStore.getCreationDate(row.alias);
+            } else {
+                values[iLastModifiedColumn] = null;
             }
         }
 
-        fireTableDataChanged();
-    }
+        if (x509Cert == null) {
+            // Key entry - no certificate columns
+            return values;
+        }
 
-    private Date getCertificateValidityStart(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
-            return X509CertUtil.convertCertificate(keyStore.getCertificate(alias)).getNotBefore();
-        } else {
-            Certificate[] chain = keyStore.getCertificateChain(alias);
+        if (iSubjectDNColumn > 0) {
+            values[iSubjectDNColumn] = getCertificateSubjectDN(x509Cert);
+        }
+        if (iIssuerDNColumn > 0) {
+            values[iIssuerDNColumn] = getCertificateIssuerDN(x509Cert);
+        }
+        if (iSerialNumberHexColumn > 0) {
+            values[iSerialNumberHexColumn] = X509CertUtil.getSerialNumberAsHex(x509Cert);
+        }
+        if (iSerialNumberDecColumn > 0) {
+            values[iSerialNumberDecColumn] = X509CertUtil.getSerialNumberAsDec(x509Cert);
+        }
+        if (iSubjectCNColumn > 0) {
+            values[iSubjectCNColumn] = X500NameUtils.extractCN(x509Cert.getSubjectX500Principal());
+        }
+        if (iIssuerCNColumn > 0) {
+            values[iIssuerCNColumn] = X500NameUtils.extractCN(x509Cert.getIssuerX500Principal());
+        }
+        if (iSubjectOColumn > 0) {
+            values[iSubjectOColumn] = getCertificateSubjectO(x509Cert);
+        }
+        if (iIssuerOColumn > 0) {
+            values[iIssuerOColumn] = getCertificateIssuerO(x509Cert);
+        }
+        if (iAKIColumn > 0) {
+            values[iAKIColumn] = getCertificateAKI(x509Cert);
+        }
+        if (iSKIColumn > 0) {
+            values[iSKIColumn] = getCertificateSKI(x509Cert);
+        }
+        if (iFingerprintColumn > 0) {
+            values[iFingerprintColumn] = X509CertUtil.getFingerprint(x509Cert,
+                                                                     keyStoreTableColumns.getFingerprintAlg());
+        }
 
-            if (chain == null) {
-                return null; // Key entry - no validity start date
-            }
+        return values;
+    }
 
-            // Key pair - first certificate in chain will be for the private key
-            X509Certificate[] x509Chain = X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(chain));
-            return x509Chain[0].getNotBefore();
+    private Date getCertificateExpiry(EntryType entryType, X509Certificate[] x509Chain) {
+        if (x509Chain == null) {
+            // Key entry - no expiry date
+            return null;
         }
-    }
 
-    private Date getCertificateExpiry(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
-            return X509CertUtil.convertCertificate(keyStore.getCertificate(alias)).getNotAfter();
+        if (entryType == EntryType.TRUST_CERT || expiryWarnDays < 1) {
+            return x509Chain[0].getNotAfter();
         } else {
-            Certificate[] chain = keyStore.getCertificateChain(alias);
-
-            if (chain == null) {
-                // Key entry - no expiry date
-                return null;
-            }
-
-            // Key pair - first certificate in chain will be for the private key
-            X509Certificate[] x509Chain = X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(chain));
-            if (expiryWarnDays < 1) {
-                return x509Chain[0].getNotAfter();
-            } else {
-                Calendar cal = Calendar.getInstance();
-                cal.set(9999, Calendar.FEBRUARY, 1);
-                Date earliest = cal.getTime();
-                for (X509Certificate x509Certificate : x509Chain) {
-                    if (x509Certificate.getNotAfter().before(earliest)) {
-                        earliest = x509Certificate.getNotAfter();
-                    }
+            Calendar cal = Calendar.getInstance();
+            cal.set(9999, Calendar.FEBRUARY, 1);
+            Date earliest = cal.getTime();
+            for (X509Certificate x509Certificate : x509Chain) {
+                if (x509Certificate.getNotAfter().before(earliest)) {
+                    earliest = x509Certificate.getNotAfter();
                 }
-                return earliest;
             }
+            return earliest;
         }
     }
 
-    private KeyInfo getKeyInfo(String alias, KeyStore keyStore, KeyStoreState currentState)
+    private KeyInfo getKeyInfo(String alias, X509Certificate x509Cert, KeyStore keyStore, KeyStoreState currentState)
             throws CryptoException, GeneralSecurityException {
-        if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
+        if (x509Cert != null) {
             // Get key info from certificate
-            X509Certificate cert = X509CertUtil.convertCertificate(keyStore.getCertificate(alias));
-            return KeyPairUtil.getKeyInfo(cert.getPublicKey());
-        } else {
-            Certificate[] chain = keyStore.getCertificateChain(alias);
+            return KeyPairUtil.getKeyInfo(x509Cert.getPublicKey());
+        }
 
-            if (chain != null) {
-                // Key pair - first certificate in chain will be for the private key
-                X509Certificate[] x509Chain = X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(chain));
+        // Key entry - get key info if entry is unlocked
+        if (currentState.getEntryPassword(alias) != null) {
+            char[] keyPassword = null;
 
-                return KeyPairUtil.getKeyInfo(x509Chain[0].getPublicKey());
-            } else {
-                // Key entry - get key info if entry is unlocked
-                if (currentState.getEntryPassword(alias) != null) {
-                    char[] keyPassword = null;
-
-                    keyPassword = currentState.getEntryPassword(alias).toCharArray();
-
-                    Key key = keyStore.getKey(alias, keyPassword);
-                    if (key instanceof SecretKey) {
-                        return SecretKeyUtil.getKeyInfo((SecretKey) key);
-                    } else if (key instanceof PrivateKey) {
-                        return KeyPairUtil.getKeyInfo((PrivateKey) key);
-                    } else if (key instanceof PublicKey) {
-                        return KeyPairUtil.getKeyInfo((PublicKey) key);
-                    }
-                }
+            keyPassword = currentState.getEntryPassword(alias).toCharArray();
+
+            Key key = keyStore.getKey(alias, keyPassword);
+            if (key instanceof SecretKey) {
+                return SecretKeyUtil.getKeyInfo((SecretKey) key);
+            } else if (key instanceof PrivateKey) {
+                return KeyPairUtil.getKeyInfo((PrivateKey) key);
+            } else if (key instanceof PublicKey) {
+                return KeyPairUtil.getKeyInfo((PublicKey) key);
             }
         }
 
@@ -454,44 +695,15 @@ public class KeyStoreTableModel extends AbstractTableModel {
         return algorithm;
     }
 
-    private String getCertificateSubjectDN(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateSubjectDN(X509Certificate x509Cert) {
         return X500NameUtils.x500PrincipalToX500Name(x509Cert.getSubjectX500Principal()).toString();
     }
 
-    private String getCertificateIssuerDN(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateIssuerDN(X509Certificate x509Cert) {
         return X500NameUtils.x500PrincipalToX500Name(x509Cert.getIssuerX500Principal()).toString();
     }
 
-    private String getCertificateSerialNumberHex(String alias, KeyStore ks) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, ks);
-        return X509CertUtil.getSerialNumberAsHex(x509Cert);
-    }
-
-    private String getCertificateSerialNumberDec(String alias, KeyStore ks) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, ks);
-        return X509CertUtil.getSerialNumberAsDec(x509Cert);
-    }
-
-    private String getCertificateFingerprint(String alias, KeyStore ks, DigestType fingerprintAlg)
-            throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, ks);
-        return X509CertUtil.getFingerprint(x509Cert, fingerprintAlg);
-    }
-
-    private String getCertificateSubjectCN(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
-        return X500NameUtils.extractCN(x509Cert.getSubjectX500Principal());
-    }
-
-    private String getCertificateIssuerCN(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
-        return X500NameUtils.extractCN(x509Cert.getIssuerX500Principal());
-    }
-
-    private String getCertificateSKI(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateSKI(X509Certificate x509Cert) {
         try {
             byte[] skiValue = x509Cert.getExtensionValue(Extension.subjectKeyIdentifier.getId());
             byte[] octets = DEROctetString.getInstance(skiValue).getOctets();
@@ -502,8 +714,7 @@ public class KeyStoreTableModel extends AbstractTableModel {
         }
     }
 
-    private String getCertificateAKI(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateAKI(X509Certificate x509Cert) {
         try {
             byte[] akiValue = x509Cert.getExtensionValue(Extension.authorityKeyIdentifier.getId());
             byte[] octets = DEROctetString.getInstance(akiValue).getOctets();
@@ -514,34 +725,16 @@ public class KeyStoreTableModel extends AbstractTableModel {
         }
     }
 
-    private String getCertificateSubjectO(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateSubjectO(X509Certificate x509Cert) {
         X500Name subject = X500NameUtils.x500PrincipalToX500Name(x509Cert.getSubjectX500Principal());
         return X500NameUtils.getRdn(subject, KseX500NameStyle.O);
     }
 
-    private String getCertificateIssuerO(String alias, KeyStore keyStore) throws CryptoException, KeyStoreException {
-        X509Certificate x509Cert = getCertificate(alias, keyStore);
+    private String getCertificateIssuerO(X509Certificate x509Cert) {
         X500Name issuer = X500NameUtils.x500PrincipalToX500Name(x509Cert.getIssuerX500Principal());
         return X500NameUtils.getRdn(issuer, KseX500NameStyle.O);
     }
 
-    private X509Certificate getCertificate(String alias, KeyStore keyStore) throws KeyStoreException, CryptoException {
-        X509Certificate x509Cert = null;
-        if (KeyStoreUtil.isTrustedCertificateEntry(alias, keyStore)) {
-            x509Cert = X509CertUtil.convertCertificate(keyStore.getCertificate(alias));
-        } else {
-            Certificate[] chain = keyStore.getCertificateChain(alias);
-            if (chain == null) {
-                return null;
-            }
-            // Key pair - first certificate in chain will be for the private key
-            X509Certificate[] x509Chain = X509CertUtil.orderX509CertChain(X509CertUtil.convertCertificates(chain));
-            x509Cert = x509Chain[0];
-        }
-        return x509Cert;
-    }
-
     private void adjustColumns() {
         nofColumns = 3 + keyStoreTableColumns.getNofColumns();
 
@@ -668,7 +861,7 @@ public class KeyStoreTableModel extends AbstractTableModel {
      */
     @Override
     public int getRowCount() {
-        return data.length;
+        return rows.length;
     }
 
     /**
@@ -691,7 +884,19 @@ public class KeyStoreTableModel extends AbstractTableModel {
      */
     @Override
     public Object getValueAt(int row, int col) {
-        return data[row][col];
+        KeyStoreTableRow keyStoreTableRow = rows[row];
+
+        if (col == 0) {
+            return keyStoreTableRow.entryType;
+        } else if (col == 1) {
+            return keyStoreTableRow.locked;
+        } else if (col == iNameColumn) {
+            return keyStoreTableRow.alias;
+        }
+
+        // placeholder until the row is decoded
+        Object[] values = keyStoreTableRow.values;
+        return (values == null) ? null : values[col];
     }
 
     /**
@@ -721,7 +926,43 @@ public class KeyStoreTableModel extends AbstractTableModel {
         return history;
     }
 
-    private class AliasComparator implements Comparator<String> {
+    /**
+     * Cached row of the table. The values of the certificate based columns are decoded only once.
+     */
+    private static class KeyStoreTableRow {
+        private final String alias;
+        private final EntryType entryType;
+        private final Boolean locked;
+        private final Certificate[] certificates;
+        private volatile Object[] values;
+        private boolean requested;
+
+        private KeyStoreTableRow(String alias, EntryType entryType, Boolean locked, Certificate[] certificates) {
+            this.alias = alias;
+            this.entryType = entryType;
+            this.locked = locked;
+            this.certificates = certificates;
+        }
+
+        private boolean hasSameContent(KeyStoreTableRow row) {
+            if (values == null || entryType != row.entryType || entryType == EntryType.KEY) {
+                return false;
+            }
+
+            // unchanged entries are shared between the states of a KeyStore, so identity is sufficient
+            if (certificates.length != row.certificates.length) {
+                return false;
+            }
+            for (int i = 0; i < certificates.length; i++) {
+                if (certificates[i] != row.certificates[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class AliasComparator implements Comparator<String> {
         @Override
         public int compare(String name1, String name2) {
             return name1.compareToIgnoreCase(name2);
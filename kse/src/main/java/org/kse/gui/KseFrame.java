@@ -88,6 +88,7 @@ import javax.swing.WindowConstants;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
+import javax.swing.event.RowSorterEvent;
 import javax.swing.plaf.TabbedPaneUI;
 import javax.swing.table.TableRowSorter;
 
@@ -155,6 +156,7 @@ import org.kse.gui.actions.RemoveFromCertificateChainAction;
 import org.kse.gui.actions.RenameKeyAction;
 import org.kse.gui.actions.RenameKeyPairAction;
 import org.kse.gui.actions.RenameTrustedCertificateAction;
+import org.kse.gui.actions.RevocationSweepAction;
 import org.kse.gui.actions.SaveAction;
 import org.kse.gui.actions.SaveAllAction;
 import org.kse.gui.actions.SaveAsAction;
@@ -196,6 +198,7 @@ import org.kse.gui.quickstart.JQuickStartPane;
 import org.kse.gui.statusbar.StatusBar;
 import org.kse.gui.statusbar.StatusBarChangeHandler;
 import org.kse.utilities.buffer.Buffer;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 import org.kse.utilities.os.OperatingSystem;
@@ -264,6 +267,7 @@ public final class KseFrame implements StatusBar {
     private JMenuItem jmiImportTrustedCertificate;
     private JMenuItem jmiImportKeyPair;
     private JMenuItem jmiVerifySignature;
+    private JMenuItem jmiRevocationSweep;
     private JMenu jmChangeType;
     private JRadioButtonMenuItem jrbmiChangeTypeJks;
     private JRadioButtonMenuItem jrbmiChangeTypeJceks;
@@ -528,6 +532,7 @@ public final class KseFrame implements StatusBar {
     private final GenerateCsrAction generateCsrAction = new GenerateCsrAction(this);
     private final VerifyCertificateAction verifyCertificateAction = new VerifyCertificateAction(this);
     private final VerifySignatureAction verifySignatureAction = new VerifySignatureAction(this);
+    private final RevocationSweepAction revocationSweepAction = new RevocationSweepAction(this);
     private final ImportCaReplyFromFileAction importCaReplyFromFileAction = new ImportCaReplyFromFileAction(this);
     private final ImportCaReplyFromClipboardAction importCaReplyFromClipboardAction =
             new ImportCaReplyFromClipboardAction(
@@ -950,6 +955,13 @@ public final class KseFrame implements StatusBar {
                                    this);
         jmTools.add(jmiVerifySignature);
 
+        jmiRevocationSweep = new JMenuItem(revocationSweepAction);
+        PlatformUtil.setMnemonic(jmiRevocationSweep, res.getString("KseFrame.jmiRevocationSweep.mnemonic").charAt(0));
+        jmiRevocationSweep.setToolTipText(null);
+        new StatusBarChangeHandler(jmiRevocationSweep, (String) revocationSweepAction.getValue(Action.LONG_DESCRIPTION),
+                                   this);
+        jmTools.add(jmiRevocationSweep);
+
         jmTools.addSeparator();
 
         jmiSetPassword = new JMenuItem(setPasswordAction);
@@ -1654,12 +1666,26 @@ public final class KseFrame implements StatusBar {
         return jspKeyStoreTable;
     }
 
+    private RowSorter<KeyStoreTableModel> createKeyStoreTableSorter(KeyStoreTableModel ksModel) {
+        TableRowSorter<KeyStoreTableModel> sorter = new TableRowSorter<>(ksModel);
+
+        // rows are decoded lazily, so sorting by a decoded column needs all rows and a re-sort when they arrive
+        sorter.setSortsOnUpdates(true);
+        sorter.addRowSorterListener(evt -> {
+            if (evt.getType() == RowSorterEvent.Type.SORT_ORDER_CHANGED &&
+                sorter.getSortKeys().stream().anyMatch(key -> ksModel.isColumnDecoded(key.getColumn()))) {
+                ksModel.requestAllRows();
+            }
+        });
+
+        return sorter;
+    }
+
     private JKseTable createEmptyKeyStoreTable() {
         KeyStoreTableModel ksModel = new KeyStoreTableModel(keyStoreTableColumns, preferences.getExpiryWarnDays());
         final JKseTable jtKeyStore = new JKseTable(ksModel);
 
-        RowSorter<KeyStoreTableModel> sorter = new TableRowSorter<>(ksModel);
-        jtKeyStore.setRowSorter(sorter);
+        jtKeyStore.setRowSorter(createKeyStoreTableSorter(ksModel));
 
         jtKeyStore.setShowGrid(false);
         jtKeyStore.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
@@ -2631,6 +2657,7 @@ public final class KseFrame implements StatusBar {
      * @param history KeyStore history
      */
     public void addKeyStoreHistory(KeyStoreHistory history) {
+        history.setMaxRetainedSize(preferences.getHistoryMemoryLimitInMegabytes() * 1024L * 1024L);
         histories.add(history);
 
         JKseTable jtKeyStore = createEmptyKeyStoreTable();
@@ -2689,8 +2716,7 @@ public final class KseFrame implements StatusBar {
                     ksModel.load(history);
                     keyStoreTable.setModel(ksModel);
 
-                    RowSorter<KeyStoreTableModel> sorter = new TableRowSorter<>(ksModel);
-                    keyStoreTable.setRowSorter(sorter);
+                    keyStoreTable.setRowSorter(createKeyStoreTableSorter(ksModel));
                     if (keyStoreTable instanceof JKseTable) {
                         JKseTable keyStoreTab = (JKseTable) keyStoreTable;
                         keyStoreTab.setColumnsToIconSize(0, 1, 2);
@@ -2951,6 +2977,46 @@ public final class KseFrame implements StatusBar {
         jtKeyStore.scrollRectToVisible(jtKeyStore.getCellRect(jtKeyStore.getSelectedRow(), 0, false));
     }
 
+    /**
+     * Update the frame's controls after single entries of the active KeyStore
+     * have changed. Only the rows of the changed entries are updated in the
+     * KeyStore table, which is a lot cheaper than reloading large KeyStores.
+     *
+     * @param changes Changes between the previous and the current state of the
+     *                active KeyStore
+     */
+    public void updateControls(List<KeyStoreEntryChange> changes) {
+        KeyStoreHistory history = getActiveKeyStoreHistory();
+
+        if (history != null) {
+            try {
+                String[] selectedAliases = getSelectedEntryAliases();
+
+                ((KeyStoreTableModel) getActiveKeyStoreTable().getModel()).update(history, changes);
+
+                // Renamed entries lose their selection (as does everything if the model had to be reloaded)
+                boolean renamed = false;
+                for (KeyStoreEntryChange change : changes) {
+                    if (change.getType() == KeyStoreEntryChange.Type.RENAMED) {
+                        for (int i = 0; i < selectedAliases.length; i++) {
+                            if (selectedAliases[i].equals(change.getOldAlias())) {
+                                selectedAliases[i] = change.getAlias();
+                                renamed = true;
+                            }
+                        }
+                    }
+                }
+                if (renamed || (selectedAliases.length > 0 && getActiveKeyStoreTable().getSelectedRowCount() == 0)) {
+                    setSelectedEntriesByAliases(selectedAliases);
+                }
+            } catch (GeneralSecurityException | CryptoException ex) {
+                DError.displayError(frame, ex);
+            }
+        }
+
+        updateControls(false);
+    }
+
     /**
      * Update the frame's controls dependent on the state of its open and active
      * KeyStores.
@@ -3029,6 +3095,7 @@ public final class KseFrame implements StatusBar {
         importTrustedCertificateAction.setEnabled(true);
         importKeyPairAction.setEnabled(true);
         verifySignatureAction.setEnabled(true);
+        revocationSweepAction.setEnabled(true);
         propertiesAction.setEnabled(true);
         exportCsvAction.setEnabled(true);
         if (type.isFileBased()) {
@@ -3159,6 +3226,7 @@ public final class KseFrame implements StatusBar {
         importTrustedCertificateAction.setEnabled(false);
         importKeyPairAction.setEnabled(false);
         verifySignatureAction.setEnabled(false);
+        revocationSweepAction.setEnabled(false);
         setPasswordAction.setEnabled(false);
         jmChangeType.setEnabled(false);
         propertiesAction.setEnabled(false);
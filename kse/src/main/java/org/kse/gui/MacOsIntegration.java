@@ -27,6 +27,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.List;
 
+import javax.swing.SwingUtilities;
+
 import org.kse.gui.actions.AboutAction;
 import org.kse.gui.actions.ExitAction;
 import org.kse.gui.actions.OpenAction;
@@ -72,10 +74,14 @@ public class MacOsIntegration implements InvocationHandler {
             if (args[0] != null) {
                 Object files = args[0].getClass().getMethod("getFiles").invoke(args[0]);
                 if (files instanceof List) {
-                    OpenAction openAction = new OpenAction(kseFrame);
-                    for (File file : (List<File>) files) {
-                        openAction.openKeyStore(file);
-                    }
+                    // called on the AppKit thread, but opening KeyStores must happen on the EDT
+                    List<File> fileList = (List<File>) files;
+                    SwingUtilities.invokeLater(() -> {
+                        OpenAction openAction = new OpenAction(kseFrame);
+                        for (File file : fileList) {
+                            openAction.openKeyStore(file);
+                        }
+                    });
                 }
             }
             break;
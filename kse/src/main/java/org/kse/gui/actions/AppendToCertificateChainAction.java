@@ -24,6 +24,7 @@ import java.io.File;
 import java.security.Key;
 import java.security.KeyStore;
 import java.security.cert.X509Certificate;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
@@ -36,6 +37,7 @@ import org.kse.gui.FileChooserFactory;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -139,7 +141,7 @@ public class AppendToCertificateChainAction extends KeyStoreExplorerAction imple
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.modified(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString(
                     "AppendToCertificateChainAction.AppendToCertificateChainSuccessful.message"), res.getString(
@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.Arrays;
 
 import javax.swing.JOptionPane;
 
@@ -30,6 +31,9 @@ import org.kse.AuthorityCertificates;
 import org.kse.crypto.CryptoException;
 import org.kse.crypto.keystore.KeyStoreLoadException;
 import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.x509.TrustAnchorIndex;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
+import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.gui.error.DProblem;
@@ -67,10 +71,6 @@ public abstract class AuthorityCertificatesAction extends KeyStoreExplorerAction
 
             if (caCertificates == null) {
                 caCertificates = loadCaCertificatesKeyStore();
-
-                if (caCertificates != null) {
-                    authorityCertificates.setCaCertificates(caCertificates);
-                }
             }
         }
 
@@ -95,6 +95,54 @@ public abstract class AuthorityCertificatesAction extends KeyStoreExplorerAction
         return windowsTrustedRootCertificates;
     }
 
+    /**
+     * Get the decoded and indexed trusted certificates of the CA Certificates KeyStore.
+     *
+     * @return Snapshot or null if unavailable
+     * @throws CryptoException If a problem occurred reading the certificates
+     */
+    protected TrustedCertificateSnapshot getCaCertificatesSnapshot() throws CryptoException {
+        if (getCaCertificates() == null) {
+            return null;
+        }
+
+        return AuthorityCertificates.getInstance().getCaCertificatesSnapshot();
+    }
+
+    /**
+     * Get the decoded and indexed trusted certificates of the Windows Trusted Root Certificates KeyStore.
+     *
+     * @return Snapshot or null if unavailable
+     * @throws CryptoException If a problem occurred getting the KeyStore
+     */
+    protected TrustedCertificateSnapshot getWindowsTrustedRootCertificatesSnapshot() throws CryptoException {
+        if (!preferences.getCaCertsSettings().isUseWindowsTrustedRootCertificates()) {
+            return null;
+        }
+
+        return AuthorityCertificates.getInstance().getWindowsTrustedRootCertificatesSnapshot();
+    }
+
+    /**
+     * Get an index for establishing trust against the trusted certificates of a KeyStore and the authority
+     * certificates snapshots.
+     *
+     * @param keyStore  The KeyStore, usually the current one
+     * @param snapshots The authority certificates snapshots, null elements are ignored
+     * @return The index
+     * @throws CryptoException If a problem occurred reading the certificates of the KeyStore
+     */
+    protected TrustAnchorIndex getTrustAnchorIndex(KeyStore keyStore, TrustedCertificateSnapshot... snapshots)
+            throws CryptoException {
+        return TrustedCertificateSnapshot.combine(Arrays.asList(snapshots), X509CertUtil.extractCertificates(keyStore));
+    }
+
+    /**
+     * Load the CA Certificates KeyStore from the file set in the preferences, asking for the password if the default
+     * one does not work. The loaded KeyStore is set in {@link AuthorityCertificates} for future reference.
+     *
+     * @return KeyStore or null if unavailable
+     */
     protected KeyStore loadCaCertificatesKeyStore() {
         File caCertificatesFile = new File(preferences.getCaCertsSettings().getCaCertificatesFile());
 
@@ -106,6 +154,8 @@ public abstract class AuthorityCertificatesAction extends KeyStoreExplorerAction
                 Password password = new Password(AuthorityCertificates.CACERTS_DEFAULT_PWD.toCharArray());
                 caCertificatesKeyStore = KeyStoreUtil.load(caCertificatesFile, password);
                 if (caCertificatesKeyStore != null) {
+                    AuthorityCertificates.getInstance().setCaCertificates(caCertificatesKeyStore, caCertificatesFile,
+                                                                          password);
                     return caCertificatesKeyStore;
                 }
             } catch (KeyStoreLoadException ex) {
@@ -151,6 +201,8 @@ public abstract class AuthorityCertificatesAction extends KeyStoreExplorerAction
                 return null;
             }
 
+            AuthorityCertificates.getInstance().setCaCertificates(caCertificatesKeyStore, caCertificatesFile, password);
+
             return caCertificatesKeyStore;
         } catch (FileNotFoundException ex) {
             JOptionPane.showMessageDialog(frame, MessageFormat.format(
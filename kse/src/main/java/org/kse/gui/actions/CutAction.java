@@ -26,6 +26,7 @@ import java.security.PrivateKey;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -41,6 +42,7 @@ import org.kse.utilities.buffer.KeyBufferEntry;
 import org.kse.utilities.buffer.KeyPairBufferEntry;
 import org.kse.utilities.buffer.TrustedCertificateBufferEntry;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -81,7 +83,9 @@ public class CutAction extends KeyStoreExplorerAction implements HistoryAction {
 
         if (bufferEntries != null && !bufferEntries.isEmpty()) {
             Buffer.populate(bufferEntries);
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(bufferEntries.stream()
+                                                 .map(bufferEntry -> KeyStoreEntryChange.removed(bufferEntry.getName()))
+                                                 .collect(Collectors.toList()));
             if (nextAlias != null) {
                 kseFrame.setSelectedEntriesByAliases(nextAlias);
             }
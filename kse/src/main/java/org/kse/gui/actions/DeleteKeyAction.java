@@ -23,6 +23,7 @@ import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -32,6 +33,7 @@ import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.gui.passwordmanager.PasswordManager;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 import org.kse.utilities.os.OperatingSystem;
@@ -97,7 +99,7 @@ public class DeleteKeyAction extends KeyStoreExplorerAction implements HistoryAc
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.removed(alias)));
         } catch (Exception ex) {
             DError.displayError(frame, ex);
         }
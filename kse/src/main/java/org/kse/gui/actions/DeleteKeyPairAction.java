@@ -23,6 +23,7 @@ import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -31,6 +32,7 @@ import javax.swing.KeyStroke;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 import org.kse.utilities.os.OperatingSystem;
@@ -98,7 +100,7 @@ public class DeleteKeyPairAction extends KeyStoreExplorerAction implements Histo
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.removed(alias)));
         } catch (Exception ex) {
             DError.displayError(frame, ex);
         }
@@ -22,6 +22,8 @@ package org.kse.gui.actions;
 import java.awt.Toolkit;
 import java.awt.event.KeyEvent;
 import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -30,6 +32,7 @@ import javax.swing.KeyStroke;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 import org.kse.utilities.os.OperatingSystem;
@@ -95,14 +98,16 @@ public class DeleteMultipleEntriesAction extends KeyStoreExplorerAction implemen
                 return;
             }
 
+            List<KeyStoreEntryChange> changes = new ArrayList<>();
             for (String alias : aliases) {
                 keyStore.deleteEntry(alias);
                 newState.removeEntryPassword(alias);
+                changes.add(KeyStoreEntryChange.removed(alias));
             }
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(changes);
         } catch (Exception ex) {
             DError.displayError(frame, ex);
         }
@@ -31,7 +31,6 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.Base64;
@@ -47,6 +46,7 @@ import javax.swing.SwingUtilities;
 import org.apache.commons.io.IOUtils;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlEntryIndex;
 import org.kse.crypto.csr.pkcs10.Pkcs10Util;
 import org.kse.crypto.csr.spkac.Spkac;
 import org.kse.crypto.filetype.CryptoFileType;
@@ -229,14 +229,12 @@ public class ExamineClipboardAction extends KeyStoreExplorerAction {
             urlConn = (HttpURLConnection) url.openConnection();
         }
         try (InputStream is = urlConn.getInputStream()) {
-            X509CRL crl = X509CertUtil.loadCRL(IOUtils.toByteArray(is));
-            if (crl != null) {
-                DViewCrl dViewCrl = new DViewCrl(frame,
-                                                 MessageFormat.format(resExt.getString("DViewExtensions.ViewCrl.Title"),
-                                                                      url.toString()), crl);
-                dViewCrl.setLocationRelativeTo(frame);
-                dViewCrl.setVisible(true);
-            }
+            byte[] encoded = CrlEntryIndex.toDer(IOUtils.toByteArray(is));
+            DViewCrl dViewCrl = new DViewCrl(frame,
+                                             MessageFormat.format(resExt.getString("DViewExtensions.ViewCrl.Title"),
+                                                                  url.toString()), encoded);
+            dViewCrl.setLocationRelativeTo(frame);
+            dViewCrl.setVisible(true);
         }
     }
 
@@ -249,7 +247,7 @@ public class ExamineClipboardAction extends KeyStoreExplorerAction {
             urlConn = (HttpURLConnection) url.openConnection();
         }
         try (InputStream is = urlConn.getInputStream()) {
-            X509Certificate[] certs = X509CertUtil.loadCertificates(IOUtils.toByteArray(is));
+            X509Certificate[] certs = X509CertUtil.loadCertificates(is);
             if (certs != null && certs.length > 0) {
                 DViewCertificate dViewCertificate = new DViewCertificate(frame,
                         MessageFormat.format(resExt.getString("DViewExtensions.ViewCert.Title"), url.toString()), certs,
@@ -366,9 +364,10 @@ public class ExamineClipboardAction extends KeyStoreExplorerAction {
             return;
         }
 
-        X509CRL crl = null;
+        DViewCrl dViewCrl = null;
         try {
-            crl = X509CertUtil.loadCRL(data);
+            dViewCrl = new DViewCrl(frame, res.getString("ExamineClipboardAction.CrlDetails.Title"),
+                                    CrlEntryIndex.toDer(data));
         } catch (Exception ex) {
             String problemStr = res.getString("ExamineClipboardAction.NoOpenCrl.Problem");
 
@@ -383,8 +382,7 @@ public class ExamineClipboardAction extends KeyStoreExplorerAction {
             dProblem.setVisible(true);
         }
 
-        if (crl != null) {
-            DViewCrl dViewCrl = new DViewCrl(frame, res.getString("ExamineClipboardAction.CrlDetails.Title"), crl);
+        if (dViewCrl != null) {
             dViewCrl.setLocationRelativeTo(frame);
             dViewCrl.setVisible(true);
         }
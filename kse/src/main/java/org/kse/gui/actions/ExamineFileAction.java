@@ -26,7 +26,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.Base64;
@@ -41,6 +40,7 @@ import javax.swing.KeyStroke;
 import org.apache.commons.io.FileUtils;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlEntryIndex;
 import org.kse.crypto.csr.pkcs10.Pkcs10Util;
 import org.kse.crypto.csr.spkac.Spkac;
 import org.kse.crypto.filetype.CryptoFileType;
@@ -51,7 +51,6 @@ import org.kse.crypto.privatekey.Pkcs8Util;
 import org.kse.crypto.privatekey.PrivateKeyFormat;
 import org.kse.crypto.publickey.OpenSslPubUtil;
 import org.kse.crypto.signing.JarParser;
-import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
 import org.kse.gui.KseFrame;
@@ -223,10 +222,11 @@ public class ExamineFileAction extends KeyStoreExplorerAction {
             return;
         }
 
-        X509CRL crl = null;
+        DViewCrl dViewCrl = null;
         try {
-            byte[] data = FileUtils.readFileToByteArray(file);
-            crl = X509CertUtil.loadCRL(data);
+            byte[] encoded = CrlEntryIndex.toDer(FileUtils.readFileToByteArray(file));
+            dViewCrl = new DViewCrl(frame, MessageFormat.format(
+                    res.getString("ExamineFileAction.CrlDetailsFile.Title"), file.getName()), encoded);
         } catch (Exception ex) {
             String problemStr = MessageFormat.format(res.getString("ExamineFileAction.NoOpenCrl.Problem"),
                                                      file.getName());
@@ -242,9 +242,7 @@ public class ExamineFileAction extends KeyStoreExplorerAction {
             dProblem.setVisible(true);
         }
 
-        if (crl != null) {
-            DViewCrl dViewCrl = new DViewCrl(frame, MessageFormat.format(
-                    res.getString("ExamineFileAction.CrlDetailsFile.Title"), file.getName()), crl);
+        if (dViewCrl != null) {
             dViewCrl.setLocationRelativeTo(frame);
             dViewCrl.setVisible(true);
         }
@@ -21,7 +21,10 @@ package org.kse.gui.actions;
 
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.KeyStroke;
@@ -29,8 +32,10 @@ import javax.swing.KeyStroke;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DExamineSsl;
 import org.kse.gui.dialogs.DExaminingSsl;
+import org.kse.gui.dialogs.DSslScan;
 import org.kse.gui.dialogs.DViewCertificate;
 import org.kse.gui.error.DError;
+import org.kse.gui.passwordmanager.Password;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.ssl.SslConnectionInfos;
 
@@ -77,6 +82,13 @@ public class ExamineSslAction extends KeyStoreExplorerAction {
                 return;
             }
 
+            List<InetSocketAddress> sslEndpoints = dExamineSsl.getSslEndpoints();
+
+            if (sslEndpoints.size() > 1) {
+                scanSsl(sslEndpoints, useClientAuth, ksh);
+                return;
+            }
+
             DExaminingSsl dExaminingSsl = new DExaminingSsl(frame, sslHost, sslPort, useClientAuth, ksh);
             dExaminingSsl.setLocationRelativeTo(frame);
             dExaminingSsl.startExamination();
@@ -98,4 +110,23 @@ public class ExamineSslAction extends KeyStoreExplorerAction {
             DError.displayError(frame, ex);
         }
     }
+
+    private void scanSsl(List<InetSocketAddress> sslEndpoints, boolean useClientAuth, KeyStoreHistory ksh) {
+        KeyStore keyStore = null;
+        char[] password = null;
+
+        if (useClientAuth) {
+            keyStore = ksh.getCurrentState().getKeyStore();
+
+            // some keystore types like MSCAPI and PKCS#11 have no password stored in their state
+            Password pwd = ksh.getCurrentState().getPassword();
+            if (pwd != null) {
+                password = pwd.toCharArray();
+            }
+        }
+
+        DSslScan dSslScan = new DSslScan(frame, sslEndpoints, keyStore, password, kseFrame);
+        dSslScan.setLocationRelativeTo(frame);
+        dSslScan.setVisible(true);
+    }
 }
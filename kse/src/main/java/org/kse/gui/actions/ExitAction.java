@@ -97,6 +97,9 @@ public class ExitAction extends CloseAllAction {
             KeyStoreExplorerAction.savePasswordManagerWithProgress(kseFrame.getUnderlyingFrame());
         }
 
+        // passwords of removed keystores are written in the background even if the password manager is locked
+        PasswordManager.getInstance().waitForBackgroundSaves();
+
         if (restart) {
             KseRestart.restart();
         }
@@ -39,6 +39,7 @@ import javax.swing.KeyStroke;
 import javax.swing.table.TableColumnModel;
 
 import org.kse.KSE;
+import org.kse.gui.KeyStoreTableModel;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DExportCsv;
 import org.kse.gui.error.DError;
@@ -81,7 +82,7 @@ public class ExportCsvAction extends KeyStoreExplorerAction {
             dExportCsv.setVisible(true);
 
             if (dExportCsv.exportSelected()) {
-                exportFile(kseFrame.getActiveKeyStoreTable(), dExportCsv.getExportFile());
+                exportTable(kseFrame.getActiveKeyStoreTable(), dExportCsv.getExportFile());
                 JOptionPane.showMessageDialog(frame, res.getString("ExportCsvAction.ExportSuccessful.message"),
                         res.getString("ExportCsvAction.ExportCsv.Title"),
                         JOptionPane.INFORMATION_MESSAGE);
@@ -91,8 +92,20 @@ public class ExportCsvAction extends KeyStoreExplorerAction {
         }
     }
 
-    private void exportFile(JTable table, File exportFile) throws IOException
+    /**
+     * Write the visible rows and columns of a table to a CSV file, in the order in which they are displayed.
+     *
+     * @param table      The table
+     * @param exportFile CSV file
+     * @throws IOException If the file could not be written
+     */
+    public static void exportTable(JTable table, File exportFile) throws IOException
     {
+        // rows of large KeyStores are only decoded once they are scrolled into view
+        if (table.getModel() instanceof KeyStoreTableModel) {
+            ((KeyStoreTableModel) table.getModel()).decodeAllRows();
+        }
+
         char listSeparator = getListSeparator();
         try (PrintStream csvOut = new PrintStream(exportFile, StandardCharsets.UTF_8)) {
             int columnCount = table.getColumnCount();
@@ -131,7 +144,7 @@ public class ExportCsvAction extends KeyStoreExplorerAction {
         }
     }
 
-    private char getListSeparator() {
+    private static char getListSeparator() {
         // Infer the list separator by inspecting the decimal separator of the system locale.
         // Default is the comma, but if the decimal separator is a comma, like in Europe,
         // switch the list separator to a semicolon.
@@ -27,11 +27,16 @@ import java.util.ResourceBundle;
 import javax.swing.ImageIcon;
 import javax.swing.KeyStroke;
 
+import org.kse.crypto.dh.DHGroup;
+import org.kse.crypto.dh.DHParametersCache;
+import org.kse.crypto.dh.DHParametersUtil;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DGenerateDHParameters;
 import org.kse.gui.dialogs.DGeneratingDHParameters;
 import org.kse.gui.dialogs.DViewDHParameters;
 import org.kse.gui.error.DError;
+import org.kse.gui.preferences.PreferencesManager;
+import org.kse.gui.preferences.data.KeyGenerationSettings;
 import org.kse.utilities.history.HistoryAction;
 
 /**
@@ -84,7 +89,9 @@ public class GenerateDHParametersAction extends KeyStoreExplorerAction implement
 
         try {
             //Get KeySize selection
-            DGenerateDHParameters dGenerateDHParameters = new DGenerateDHParameters(frame);
+            KeyGenerationSettings keyGenSettings = preferences.getKeyGenerationDefaults();
+            DGenerateDHParameters dGenerateDHParameters = new DGenerateDHParameters(
+                    frame, keyGenSettings.isDhParametersCacheEnabled());
             dGenerateDHParameters.setLocationRelativeTo(frame);
             dGenerateDHParameters.setVisible(true);
 
@@ -92,20 +99,39 @@ public class GenerateDHParametersAction extends KeyStoreExplorerAction implement
                 return;
             }
 
-            //Generate DER Encoded DH Parameters
-            DGeneratingDHParameters dGeneratingDH = new DGeneratingDHParameters(frame,
-                                                                                dGenerateDHParameters.getKeySize());
-            dGeneratingDH.setLocationRelativeTo(frame);
-            dGeneratingDH.startDHParametersGeneration();
-            dGeneratingDH.setVisible(true);
+            boolean reuseParameters = dGenerateDHParameters.isReuseParameters();
+            keyGenSettings.setDhParametersCacheEnabled(reuseParameters);
 
-            if (!dGeneratingDH.isSuccessful()) {
-                return;
+            DHParametersCache cache = DHParametersUtil.getCache();
+            if (reuseParameters && cache.getFile() == null) {
+                cache.setFile(PreferencesManager.getDHParametersCacheFile());
+            } else if (!reuseParameters && cache.getFile() != null) {
+                cache.setFile(null);
+            }
+
+            byte[] dhParameters;
+            DHGroup dhGroup = dGenerateDHParameters.getDHGroup();
+
+            if (dhGroup != null) {
+                //RFC 7919 groups need no generation
+                dhParameters = DHParametersUtil.getEncoded(dhGroup.parameters());
+            } else {
+                //Generate DER Encoded DH Parameters
+                DGeneratingDHParameters dGeneratingDH = new DGeneratingDHParameters(frame,
+                                                                                    dGenerateDHParameters.getKeySize());
+                dGeneratingDH.setLocationRelativeTo(frame);
+                dGeneratingDH.startDHParametersGeneration();
+                dGeneratingDH.setVisible(true);
+
+                if (!dGeneratingDH.isSuccessful()) {
+                    return;
+                }
+                dhParameters = dGeneratingDH.getDHParameters();
             }
 
             //View Base64 DH Parameters with copy and export
             DViewDHParameters dViewDH = new DViewDHParameters(frame, res.getString(
-                    "GenerateDHParametersAction.ViewDHParameters.Title"), dGeneratingDH.getDHParameters());
+                    "GenerateDHParametersAction.ViewDHParameters.Title"), dhParameters);
             dViewDH.setLocationRelativeTo(frame);
             dViewDH.setVisible(true);
 
@@ -26,6 +26,7 @@ import java.security.PrivateKey;
 import java.security.Provider;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -43,6 +44,7 @@ import org.kse.gui.error.DError;
 import org.kse.gui.password.DGetNewPassword;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -244,7 +246,7 @@ public class GenerateKeyPairAction extends KeyStoreExplorerAction implements His
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame,
                                           res.getString("GenerateKeyPairAction.KeyPairGenerationSuccessful.message"),
@@ -23,6 +23,7 @@ import java.awt.Toolkit;
 import java.awt.event.InputEvent;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.crypto.SecretKey;
 import javax.swing.ImageIcon;
@@ -39,6 +40,7 @@ import org.kse.gui.error.DError;
 import org.kse.gui.password.DGetNewPassword;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -157,7 +159,7 @@ public class GenerateSecretKeyAction extends KeyStoreExplorerAction implements H
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString(
                                                   "GenerateSecretKeyAction.SecretKeyGenerationSuccessful.message"),
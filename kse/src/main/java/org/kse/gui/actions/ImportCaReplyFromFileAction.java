@@ -26,7 +26,7 @@ import java.security.Key;
 import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
-import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
@@ -35,6 +35,8 @@ import javax.swing.JOptionPane;
 import org.apache.commons.io.FileUtils;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.x509.TrustAnchorIndex;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
 import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
@@ -44,6 +46,7 @@ import org.kse.gui.error.DError;
 import org.kse.gui.error.DProblem;
 import org.kse.gui.error.Problem;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -127,8 +130,9 @@ public class ImportCaReplyFromFileAction extends AuthorityCertificatesAction imp
             if (!preferences.getCaCertsSettings().isImportCaReplyTrustCheckEnabled()) {
                 newCertChain = certs;
             } else {
-                KeyStore caCertificates = getCaCertificates();
-                KeyStore windowsTrustedRootCertificates = getWindowsTrustedRootCertificates();
+                TrustedCertificateSnapshot caCertificates = getCaCertificatesSnapshot();
+                TrustedCertificateSnapshot windowsTrustedRootCertificates =
+                        getWindowsTrustedRootCertificatesSnapshot();
 
                 // PKCS #7 reply - try and match the self-signed root with any
                 // of the certificates in the CA Certificates or current KeyStore
@@ -138,12 +142,12 @@ public class ImportCaReplyFromFileAction extends AuthorityCertificatesAction imp
 
                     if (caCertificates != null) // Match against CA Certificates KeyStore
                     {
-                        matchAlias = X509CertUtil.matchCertificate(caCertificates, rootCert);
+                        matchAlias = caCertificates.matchCertificate(rootCert);
                     }
 
                     // Match against Windows Trusted Root Certificates KeyStore
                     if ((windowsTrustedRootCertificates != null) && (matchAlias == null)) {
-                        matchAlias = X509CertUtil.matchCertificate(windowsTrustedRootCertificates, rootCert);
+                        matchAlias = windowsTrustedRootCertificates.matchCertificate(rootCert);
                     }
 
                     if (matchAlias == null) // Match against current KeyStore
@@ -181,22 +185,12 @@ public class ImportCaReplyFromFileAction extends AuthorityCertificatesAction imp
                 // Single X.509 certificate reply - try and establish a chain of
                 // trust from the certificate and ending with a root CA self-signed certificate
                 else {
-                    // Establish trust against current KeyStore
-                    ArrayList<KeyStore> compKeyStores = new ArrayList<>();
-                    compKeyStores.add(keyStore);
+                    // Establish trust against current KeyStore, CA Certificates KeyStore and Windows Trusted Root
+                    // Certificates KeyStore
+                    TrustAnchorIndex trustAnchors = getTrustAnchorIndex(keyStore, caCertificates,
+                                                                        windowsTrustedRootCertificates);
 
-                    if (caCertificates != null) {
-                        // Establish trust against CA Certificates KeyStore
-                        compKeyStores.add(caCertificates);
-                    }
-
-                    if (windowsTrustedRootCertificates != null) {
-                        // Establish trust against Windows Trusted Root Certificates KeyStore
-                        compKeyStores.add(windowsTrustedRootCertificates);
-                    }
-
-                    X509Certificate[] trustChain = X509CertUtil.establishTrust(certs[0], compKeyStores.toArray(
-                            new KeyStore[0]));
+                    X509Certificate[] trustChain = trustAnchors.establishTrust(certs[0]);
 
                     if (trustChain != null) {
                         newCertChain = trustChain;
@@ -221,7 +215,7 @@ public class ImportCaReplyFromFileAction extends AuthorityCertificatesAction imp
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.modified(alias)));
 
             JOptionPane.showMessageDialog(frame,
                                           res.getString("ImportCaReplyFromFileAction.ImportCaReplySuccessful.message"),
@@ -25,6 +25,7 @@ import java.security.PrivateKey;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -43,6 +44,7 @@ import org.kse.gui.error.DError;
 import org.kse.gui.password.DGetNewPassword;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -166,7 +168,7 @@ public class ImportKeyPairAction extends KeyStoreExplorerAction implements Histo
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString("ImportKeyPairAction.KeyPairImportSuccessful.message"),
                                           res.getString("ImportKeyPairAction.ImportKeyPair.Title"),
@@ -245,7 +247,7 @@ public class ImportKeyPairAction extends KeyStoreExplorerAction implements Histo
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString("ImportKeyPairAction.KeyPairImportSuccessful.message"),
                                           res.getString("ImportKeyPairAction.ImportKeyPair.Title"),
@@ -324,7 +326,7 @@ public class ImportKeyPairAction extends KeyStoreExplorerAction implements Histo
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString("ImportKeyPairAction.KeyPairImportSuccessful.message"),
                                           res.getString("ImportKeyPairAction.ImportKeyPair.Title"),
@@ -403,7 +405,7 @@ public class ImportKeyPairAction extends KeyStoreExplorerAction implements Histo
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString("ImportKeyPairAction.KeyPairImportSuccessful.message"),
                                           res.getString("ImportKeyPairAction.ImportKeyPair.Title"),
@@ -24,13 +24,15 @@ import java.io.File;
 import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
-import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
 
+import org.kse.crypto.x509.TrustAnchorIndex;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
 import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
@@ -39,6 +41,7 @@ import org.kse.gui.dialogs.DGetAlias;
 import org.kse.gui.dialogs.DViewCertificate;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -136,26 +139,17 @@ public class ImportTrustedCertificateAction extends AuthorityCertificatesAction
                     }
                 }
 
-                KeyStore caCertificates = getCaCertificates();
-                KeyStore windowsTrustedRootCertificates = getWindowsTrustedRootCertificates();
+                TrustedCertificateSnapshot caCertificates = getCaCertificatesSnapshot();
+                TrustedCertificateSnapshot windowsTrustedRootCertificates =
+                        getWindowsTrustedRootCertificatesSnapshot();
 
-                // Establish against current KeyStore
-                ArrayList<KeyStore> compKeyStores = new ArrayList<>();
-                compKeyStores.add(keyStore);
-
-                if (caCertificates != null) {
-                    // Establish trust against CA Certificates KeyStore
-                    compKeyStores.add(caCertificates);
-                }
-
-                if (windowsTrustedRootCertificates != null) {
-                    // Establish trust against Windows Trusted Root Certificates KeyStore
-                    compKeyStores.add(windowsTrustedRootCertificates);
-                }
+                // Establish against current KeyStore, CA Certificates KeyStore and Windows Trusted Root Certificates
+                // KeyStore
+                TrustAnchorIndex trustAnchors = getTrustAnchorIndex(keyStore, caCertificates,
+                                                                    windowsTrustedRootCertificates);
 
                 // Can we establish trust for the certificate?
-                if (X509CertUtil.establishTrust(trustCert, compKeyStores.toArray(new KeyStore[0])) ==
-                    null) {
+                if (trustAnchors.establishTrust(trustCert) == null) {
 
                     // if trustCert comes from an Examination Dialog (i.e. certFile == null)
                     // there is no need to present it again to the user
@@ -214,7 +208,7 @@ public class ImportTrustedCertificateAction extends AuthorityCertificatesAction
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.added(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString(
                                                   "ImportTrustedCertificateAction.ImportTrustCertSuccessful.message"),
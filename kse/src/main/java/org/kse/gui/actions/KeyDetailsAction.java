@@ -27,6 +27,7 @@ import java.security.KeyStoreException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.Optional;
 
 import javax.crypto.SecretKey;
@@ -40,6 +41,7 @@ import org.kse.gui.dialogs.DViewPrivateKey;
 import org.kse.gui.dialogs.DViewPublicKey;
 import org.kse.gui.dialogs.DViewSecretKey;
 import org.kse.gui.error.DError;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -135,6 +137,6 @@ public class KeyDetailsAction extends KeyStoreExplorerAction {
         keyStore.setKeyEntry(alias, newSecretKey, password.toCharArray(), null);
         newState.setEntryPassword(alias, password);
         currentState.append(newState);
-        kseFrame.updateControls(true);
+        kseFrame.updateControls(List.of(KeyStoreEntryChange.modified(alias)));
     }
 }
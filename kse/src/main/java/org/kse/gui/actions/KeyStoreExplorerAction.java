@@ -21,7 +21,9 @@ package org.kse.gui.actions;
 
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -30,12 +32,12 @@ import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
 
 import javax.swing.AbstractAction;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
-import org.apache.commons.io.FileUtils;
 import org.kse.crypto.encryption.EncryptionException;
 import org.kse.crypto.keystore.KeyStoreType;
 import org.kse.crypto.x509.X509CertUtil;
@@ -222,8 +224,9 @@ public abstract class KeyStoreExplorerAction extends AbstractAction {
      * @return The certificates found in the file or null if open failed
      */
     protected X509Certificate[] openCertificate(File certificateFile) {
-        try {
-            return openCertificate(FileUtils.readFileToByteArray(certificateFile), certificateFile.getName());
+        // streamed, so that large PEM bundles are not read into memory as a whole
+        try (InputStream is = new FileInputStream(certificateFile)) {
+            return openCertificate(() -> X509CertUtil.loadCertificates(is), certificateFile.getName());
         } catch (IOException ex) {
             JOptionPane.showMessageDialog(frame, MessageFormat.format(
                                                   res.getString("KeyStoreExplorerAction.NoReadFile.message"),
@@ -242,9 +245,12 @@ public abstract class KeyStoreExplorerAction extends AbstractAction {
      * @return The certificates found in the file or null if open failed
      */
     protected X509Certificate[] openCertificate(byte[] data, String name) {
+        return openCertificate(() -> X509CertUtil.loadCertificates(data), name);
+    }
 
+    private X509Certificate[] openCertificate(Callable<X509Certificate[]> loader, String name) {
         try {
-            X509Certificate[] certs = X509CertUtil.loadCertificates(data);
+            X509Certificate[] certs = loader.call();
 
             if (certs.length == 0) {
                 JOptionPane.showMessageDialog(frame, MessageFormat.format(
@@ -350,16 +356,32 @@ public abstract class KeyStoreExplorerAction extends AbstractAction {
                 }
             }
             PasswordManager.getInstance().update(saveFile, password.toCharArray(), entryPasswords);
-            savePasswordManagerWithProgress(parent);
+
+            if (PasswordManager.getInstance().isEncryptionKeyCached()) {
+                // only the changed passwords are encrypted, the file is written in the background
+                PasswordManager.getInstance().saveInBackground();
+            } else {
+                savePasswordManagerWithProgress(parent);
+            }
         }
     }
 
     /**
      * Save the Password Manager with a progress dialog to prevent UI blocking.
+     * The dialog is skipped if the encryption key does not have to be derived.
      *
      * @param parent The parent frame for the dialog
      */
     protected static void savePasswordManagerWithProgress(JFrame parent) {
+        if (PasswordManager.getInstance().isEncryptionKeyCached()) {
+            try {
+                PasswordManager.getInstance().save();
+            } catch (Exception e) {
+                DError.displayError(parent, e);
+            }
+            return;
+        }
+
         DSavingPasswords dSavingPasswords = new DSavingPasswords(parent);
         dSavingPasswords.setLocationRelativeTo(parent);
         dSavingPasswords.startPasswordSaving(() -> PasswordManager.getInstance().save());
@@ -24,14 +24,26 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
+import org.kse.crypto.filetype.CryptoFileUtil;
 import org.kse.crypto.keystore.KeyStoreLoadException;
+import org.kse.crypto.keystore.KeyStoreType;
 import org.kse.crypto.keystore.KeyStoreUtil;
 import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
@@ -50,7 +62,20 @@ import org.kse.utilities.history.KeyStoreHistory;
 public class OpenAction extends KeyStoreExplorerAction {
     private static final long serialVersionUID = 1L;
 
-    private boolean newKeyStoreWasAdded = false;
+    // detecting the type is cheap, but loading a PKCS#12 KeyStore with strong PBKDF settings takes seconds
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "kse-keystore-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // files currently being opened and queued dialog sequences, only accessed on the event dispatch thread
+    private static final Set<File> LOADING = new HashSet<>();
+    private static final Queue<Runnable> PROMPTS = new ArrayDeque<>();
+    private static boolean prompting;
+
+    private Consumer<KeyStoreHistory> openedListener;
 
     /**
      * Construct action.
@@ -99,116 +124,224 @@ public class OpenAction extends KeyStoreExplorerAction {
 
     /**
      * Open the supplied KeyStore file from disk.
+     * <p>
+     * Type detection and loading run in the background, so this method returns before the KeyStore is opened. Any
+     * number of KeyStores can be opened concurrently; password prompts are shown one after the other while the
+     * KeyStores already unlocked are decrypted, and each KeyStore gets its tab as soon as it has been loaded.
+     * Must be called on the event dispatch thread.
      *
-     * @param keyStoreFile The KeyStore file
+     * @param keyStoreFile    The KeyStore file
+     * @param defaultPassword Password for the first attempt to unlock the KeyStore or null to ask the user
      */
     public void openKeyStore(File keyStoreFile, String defaultPassword) {
-        try {
-            if (!keyStoreFile.isFile()) {
-                JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("OpenAction.NotFile.message"),
-                                                                          keyStoreFile),
-                                              res.getString("OpenAction.OpenKeyStore.Title"),
-                                              JOptionPane.WARNING_MESSAGE);
-                return;
-            }
+        if (!keyStoreFile.isFile()) {
+            JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("OpenAction.NotFile.message"),
+                                                                      keyStoreFile),
+                                          res.getString("OpenAction.OpenKeyStore.Title"),
+                                          JOptionPane.WARNING_MESSAGE);
+            return;
+        }
 
-            if (isKeyStoreFileOpen(keyStoreFile)) {
+        if (isKeyStoreFileOpen(keyStoreFile) || LOADING.contains(keyStoreFile.getAbsoluteFile())) {
+            JOptionPane.showMessageDialog(frame, MessageFormat.format(
+                                                  res.getString("OpenAction.NoOpenKeyStoreAlreadyOpen.message"),
+                                                  keyStoreFile),
+                                          res.getString("OpenAction.OpenKeyStore.Title"),
+                                          JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        loadingStarted(keyStoreFile);
+
+        runInBackground(() -> CryptoFileUtil.detectKeyStoreType(keyStoreFile), (keyStoreType, ex) -> {
+            if (ex != null) {
+                loadingFinished(keyStoreFile, ex);
+            } else if (keyStoreType == null) {
+                loadingFinished(keyStoreFile, null);
                 JOptionPane.showMessageDialog(frame, MessageFormat.format(
-                                                      res.getString("OpenAction.NoOpenKeyStoreAlreadyOpen.message"),
-                                                      keyStoreFile),
+                                                      res.getString("OpenAction.FileNotRecognisedType.message"),
+                                                      keyStoreFile.getName()),
                                               res.getString("OpenAction.OpenKeyStore.Title"),
                                               JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-
-            Password password;
-            PasswordManager passwordManager = PasswordManager.getInstance();
-            if (passwordManager.isKeyStorePasswordKnown(keyStoreFile)) {
-                unlockPasswordManager();
-                password = passwordManager.getKeyStorePassword(keyStoreFile).map(Password::new).orElse(null);
             } else {
-                // use (optional) default password for first try
-                password = (defaultPassword != null) ? new Password(defaultPassword.toCharArray()) : null;
+                prompt(() -> unlockKeyStore(keyStoreFile, keyStoreType, defaultPassword, true));
             }
+        });
+    }
 
-            KeyStore openedKeyStore;
-            boolean firstTry = true;
-            while (true) {
-                boolean passwordManagerWanted = false;
-
-                // user might have cancelled password manager dialog, then no decision from user is required here
-                boolean askForPasswordManager = !passwordManager.isKeyStorePasswordKnown(keyStoreFile);
+    private void unlockKeyStore(File keyStoreFile, KeyStoreType keyStoreType, String defaultPassword,
+            boolean firstTry) {
+        Password password = null;
+        boolean passwordManagerWanted = false;
+        PasswordManager passwordManager = PasswordManager.getInstance();
+
+        if (firstTry && passwordManager.isKeyStorePasswordKnown(keyStoreFile)) {
+            unlockPasswordManager();
+            password = passwordManager.getKeyStorePassword(keyStoreFile).map(Password::new).orElse(null);
+        } else if (firstTry && defaultPassword != null) {
+            // use (optional) default password for first try
+            password = new Password(defaultPassword.toCharArray());
+        }
 
-                // show password dialog if no default password was passed or if last try to unlock ks has failed
-                if (password == null) {
-                    DGetPassword dGetPassword = new DGetPassword(frame, MessageFormat.format(
-                            res.getString("OpenAction.UnlockKeyStore.Title"), keyStoreFile.getName()),
-                            askForPasswordManager);
-                    dGetPassword.setLocationRelativeTo(frame);
-                    dGetPassword.setVisible(true);
+        // show password dialog if no default password was passed or if last try to unlock ks has failed
+        if (password == null) {
+            // user might have cancelled password manager dialog, then no decision from user is required here
+            boolean askForPasswordManager = !passwordManager.isKeyStorePasswordKnown(keyStoreFile);
 
-                    password = dGetPassword.getPassword();
-                    passwordManagerWanted = dGetPassword.isPasswordManagerWanted();
-                }
-
-                // user did not enter password -> abort
-                if (password == null) {
-                    return;
-                }
+            DGetPassword dGetPassword = new DGetPassword(frame, MessageFormat.format(
+                    res.getString("OpenAction.UnlockKeyStore.Title"), keyStoreFile.getName()),
+                    askForPasswordManager);
+            dGetPassword.setLocationRelativeTo(frame);
+            dGetPassword.setVisible(true);
 
-                // try to load keystore
-                try {
-                    openedKeyStore = KeyStoreUtil.load(keyStoreFile, password);
+            password = dGetPassword.getPassword();
+            passwordManagerWanted = dGetPassword.isPasswordManagerWanted();
+        }
 
-                    // store password in password manager
-                    if (passwordManagerWanted) {
-                        unlockPasswordManager();
-                        passwordManager.update(keyStoreFile, password.toCharArray(), new HashMap<>());
-                    }
+        // user did not enter password -> abort
+        if (password == null) {
+            loadingFinished(keyStoreFile, null);
+            return;
+        }
 
-                    break;
-                } catch (KeyStoreLoadException klex) {
+        final Password keyStorePassword = password;
+        final boolean storeInPasswordManager = passwordManagerWanted;
 
-                    // show error message only after first try with default password or if no default password set
-                    if (defaultPassword == null || !firstTry) {
+        // decrypt in the background, the user can meanwhile enter the passwords of other KeyStores
+        runInBackground(() -> KeyStoreUtil.load(keyStoreFile, keyStorePassword, keyStoreType), (keyStore, ex) -> {
+            if (ex instanceof KeyStoreLoadException) {
+                prompt(() -> retryUnlockKeyStore(keyStoreFile, keyStoreType, defaultPassword, firstTry,
+                                                 keyStorePassword, (KeyStoreLoadException) ex));
+            } else if (ex != null) {
+                loadingFinished(keyStoreFile, ex);
+            } else {
+                keyStoreLoaded(keyStoreFile, keyStore, keyStorePassword, storeInPasswordManager);
+            }
+        });
+    }
 
-                        int tryAgainChoice = showErrorMessage(keyStoreFile, klex);
-                        if (tryAgainChoice == JOptionPane.NO_OPTION) {
-                            return;
-                        }
-                    }
-                }
+    private void retryUnlockKeyStore(File keyStoreFile, KeyStoreType keyStoreType, String defaultPassword,
+            boolean firstTry, Password password, KeyStoreLoadException klex) {
 
-                // failure, reset password
+        // show error message only after first try with default password or if no default password set
+        if (defaultPassword == null || !firstTry) {
+            int tryAgainChoice = showErrorMessage(keyStoreFile, klex);
+            if (tryAgainChoice == JOptionPane.NO_OPTION) {
                 password.nullPassword();
-                password = null;
-                firstTry = false;
+                loadingFinished(keyStoreFile, null);
+                return;
             }
+        }
 
-            if (openedKeyStore == null) {
-                JOptionPane.showMessageDialog(frame, MessageFormat.format(
-                                                      res.getString("OpenAction.FileNotRecognisedType.message"),
-                                                      keyStoreFile.getName()),
-                                              res.getString("OpenAction.OpenKeyStore.Title"),
-                                              JOptionPane.WARNING_MESSAGE);
-                return;
+        // failure, reset password
+        password.nullPassword();
+        unlockKeyStore(keyStoreFile, keyStoreType, defaultPassword, false);
+    }
+
+    private void keyStoreLoaded(File keyStoreFile, KeyStore keyStore, Password password,
+            boolean passwordManagerWanted) {
+        try {
+            // store password in password manager
+            PasswordManager passwordManager = PasswordManager.getInstance();
+            if (passwordManagerWanted) {
+                unlockPasswordManager();
+                passwordManager.update(keyStoreFile, password.toCharArray(), new HashMap<>());
             }
 
-            KeyStoreHistory history = new KeyStoreHistory(openedKeyStore, keyStoreFile, password);
+            KeyStoreHistory history = new KeyStoreHistory(keyStore, keyStoreFile, password);
 
             history.getCurrentState().setStoredInPasswordManager(passwordManager.isKeyStorePasswordKnown(keyStoreFile));
 
             kseFrame.addKeyStoreHistory(history);
-            this.newKeyStoreWasAdded = true;
-        } catch (FileNotFoundException ex) {
+
+            loadingFinished(keyStoreFile, null);
+
+            if (openedListener != null) {
+                openedListener.accept(history);
+            }
+        } catch (Exception ex) {
+            loadingFinished(keyStoreFile, ex);
+        }
+    }
+
+    private void loadingStarted(File keyStoreFile) {
+        LOADING.add(keyStoreFile.getAbsoluteFile());
+        updateStatusBar();
+    }
+
+    private void loadingFinished(File keyStoreFile, Exception ex) {
+        LOADING.remove(keyStoreFile.getAbsoluteFile());
+        updateStatusBar();
+
+        if (ex instanceof FileNotFoundException) {
             JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("OpenAction.NoReadFile.message"),
                                                                       keyStoreFile),
                                           res.getString("OpenAction.OpenKeyStore.Title"), JOptionPane.WARNING_MESSAGE);
-        } catch (Exception ex) {
+        } else if (ex != null) {
             DError.displayError(frame, ex);
         }
     }
 
+    private void updateStatusBar() {
+        if (LOADING.isEmpty()) {
+            kseFrame.setDefaultStatusBarText();
+        } else {
+            kseFrame.setStatusBarText(MessageFormat.format(res.getString("OpenAction.Loading.statusbar"),
+                                                           LOADING.size()));
+        }
+    }
+
+    /**
+     * Run a dialog sequence on the event dispatch thread after all previously queued ones have finished. Loads
+     * complete in any order, this keeps their dialogs from piling up on top of each other.
+     */
+    private void prompt(Runnable dialogs) {
+        PROMPTS.add(dialogs);
+        if (prompting) {
+            // the running dialog sequence pumps events, the queue is drained once it has finished
+            return;
+        }
+
+        prompting = true;
+        try {
+            Runnable next;
+            while ((next = PROMPTS.poll()) != null) {
+                try {
+                    next.run();
+                } catch (Exception ex) {
+                    DError.displayError(frame, ex);
+                }
+            }
+        } finally {
+            prompting = false;
+        }
+    }
+
+    private static <T> void runInBackground(Callable<T> task, BiConsumer<T, Exception> onDone) {
+        LOADER.execute(() -> {
+            T result = null;
+            Exception error = null;
+            try {
+                result = task.call();
+            } catch (Exception ex) {
+                error = ex;
+            }
+
+            final T finalResult = result;
+            final Exception finalError = error;
+            SwingUtilities.invokeLater(() -> onDone.accept(finalResult, finalError));
+        });
+    }
+
+    /**
+     * Set a listener that is notified on the event dispatch thread when a KeyStore has been opened by this action.
+     *
+     * @param openedListener Listener or null
+     */
+    public void setOpenedListener(Consumer<KeyStoreHistory> openedListener) {
+        this.openedListener = openedListener;
+    }
+
     private int showErrorMessage(File keyStoreFile, KeyStoreLoadException klex) {
         String problemStr = MessageFormat.format(res.getString("OpenAction.NoOpenKeyStore.Problem"),
                                                  klex.getKeyStoreType().friendly(), keyStoreFile.getName());
@@ -225,8 +358,4 @@ public class OpenAction extends KeyStoreExplorerAction {
         return JOptionPane.showConfirmDialog(frame, res.getString("OpenAction.TryAgain.message"),
                                              res.getString("OpenAction.TryAgain.Title"), JOptionPane.YES_NO_OPTION);
     }
-
-    public boolean hasNewKeyStoreBeenAdded() {
-        return newKeyStoreWasAdded;
-    }
 }
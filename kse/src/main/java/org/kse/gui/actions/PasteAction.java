@@ -26,6 +26,8 @@ import java.security.KeyStoreException;
 import java.security.PrivateKey;
 import java.security.cert.Certificate;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.ImageIcon;
@@ -42,6 +44,7 @@ import org.kse.utilities.buffer.KeyBufferEntry;
 import org.kse.utilities.buffer.KeyPairBufferEntry;
 import org.kse.utilities.buffer.TrustedCertificateBufferEntry;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -82,15 +85,15 @@ public class PasteAction extends KeyStoreExplorerAction implements HistoryAction
         List<BufferEntry> bufferEntries = Buffer.interrogate();
 
         if (bufferEntries != null) {
-            boolean changed = pasteEntries(bufferEntries);
+            List<KeyStoreEntryChange> changes = pasteEntries(bufferEntries);
 
-            if (changed) {
-                kseFrame.updateControls(true);
+            if (!changes.isEmpty()) {
+                kseFrame.updateControls(changes);
             }
         }
     }
 
-    private boolean pasteEntries(List<BufferEntry> bufferEntries) {
+    private List<KeyStoreEntryChange> pasteEntries(List<BufferEntry> bufferEntries) {
         try {
             KeyStoreHistory history = kseFrame.getActiveKeyStoreHistory();
 
@@ -98,21 +101,24 @@ public class PasteAction extends KeyStoreExplorerAction implements HistoryAction
             KeyStoreState newState = currentState.createBasisForNextState(this);
 
             KeyStore keyStore = newState.getKeyStore();
-            boolean changed = false;
+            List<KeyStoreEntryChange> changes = new ArrayList<>();
             for (BufferEntry bufferEntry : bufferEntries) {
-                changed |= pasteEntry(bufferEntry, keyStore, newState);
+                String alias = pasteEntry(bufferEntry, keyStore, newState);
+                if (alias != null) {
+                    changes.add(KeyStoreEntryChange.added(alias));
+                }
             }
 
             currentState.append(newState);
 
-            return changed;
+            return changes;
         } catch (Exception ex) {
             DError.displayError(frame, ex);
-            return false;
+            return Collections.emptyList();
         }
     }
 
-    private boolean pasteEntry(BufferEntry bufferEntry, KeyStore keyStore, KeyStoreState newState)
+    private String pasteEntry(BufferEntry bufferEntry, KeyStore keyStore, KeyStoreState newState)
             throws KeyStoreException {
         String alias = bufferEntry.getName();
 
@@ -125,7 +131,7 @@ public class PasteAction extends KeyStoreExplorerAction implements HistoryAction
                                                              JOptionPane.YES_NO_OPTION);
 
                 if (selected != JOptionPane.YES_OPTION) {
-                    return false;
+                    return null;
                 }
 
                 keyStore.deleteEntry(alias);
@@ -144,7 +150,7 @@ public class PasteAction extends KeyStoreExplorerAction implements HistoryAction
                                                                    keyStoreType.friendly()),
                                               res.getString("PasteAction.Paste.Title"), JOptionPane.WARNING_MESSAGE);
 
-                return false;
+                return null;
             }
 
             KeyBufferEntry keyBufferEntry = (KeyBufferEntry) bufferEntry;
@@ -177,7 +183,7 @@ public class PasteAction extends KeyStoreExplorerAction implements HistoryAction
             Buffer.clear();
         }
 
-        return true;
+        return alias;
     }
 
     private String getUniqueEntryName(String name, KeyStore keyStore) throws KeyStoreException {
@@ -23,6 +23,7 @@ import java.awt.Toolkit;
 import java.security.Key;
 import java.security.KeyStore;
 import java.security.cert.X509Certificate;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -32,6 +33,7 @@ import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -107,7 +109,7 @@ public class RemoveFromCertificateChainAction extends KeyStoreExplorerAction imp
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.modified(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString(
                                                   "RemoveFromCertificateChainAction.RemoveFromCertificateChainSuccessful.message"), res.getString(
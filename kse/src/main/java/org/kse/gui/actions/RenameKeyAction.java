@@ -24,6 +24,7 @@ import java.awt.event.KeyEvent;
 import java.security.Key;
 import java.security.KeyStore;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -34,6 +35,7 @@ import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DGetAlias;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -135,7 +137,7 @@ public class RenameKeyAction extends KeyStoreExplorerAction implements HistoryAc
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.renamed(alias, newAlias)));
         } catch (Exception ex) {
             DError.displayError(frame, ex);
         }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.actions;
+
+import java.awt.Toolkit;
+
+import javax.swing.ImageIcon;
+
+import org.kse.gui.KseFrame;
+import org.kse.gui.dialogs.DRevocationSweep;
+import org.kse.gui.error.DError;
+import org.kse.utilities.history.KeyStoreHistory;
+
+/**
+ * Action to check the chain, revocation status and expiry of all certificates in the active KeyStore.
+ */
+public class RevocationSweepAction extends KeyStoreExplorerAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct action.
+     *
+     * @param kseFrame KeyStore Explorer frame
+     */
+    public RevocationSweepAction(KseFrame kseFrame) {
+        super(kseFrame);
+
+        putValue(LONG_DESCRIPTION, res.getString("RevocationSweepAction.statusbar"));
+        putValue(NAME, res.getString("RevocationSweepAction.text"));
+        putValue(SHORT_DESCRIPTION, res.getString("RevocationSweepAction.tooltip"));
+        putValue(SMALL_ICON, new ImageIcon(
+                Toolkit.getDefaultToolkit().createImage(getClass().getResource("images/verifycert.png"))));
+    }
+
+    /**
+     * Do action.
+     */
+    @Override
+    protected void doAction() {
+        try {
+            KeyStoreHistory history = kseFrame.getActiveKeyStoreHistory();
+
+            DRevocationSweep dRevocationSweep = new DRevocationSweep(frame, history.getName(),
+                                                                     history.getCurrentState().getKeyStore());
+            dRevocationSweep.setLocationRelativeTo(frame);
+            dRevocationSweep.setVisible(true);
+        } catch (Exception ex) {
+            DError.displayError(frame, ex);
+        }
+    }
+}
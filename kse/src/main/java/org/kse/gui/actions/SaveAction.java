@@ -21,14 +21,11 @@ package org.kse.gui.actions;
 
 import java.awt.Toolkit;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.text.MessageFormat;
+import java.util.function.Consumer;
 
 import javax.swing.ImageIcon;
-import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
 
-import org.kse.crypto.keystore.KeyStoreUtil;
 import org.kse.gui.KseFrame;
 import org.kse.gui.error.DError;
 import org.kse.gui.passwordmanager.Password;
@@ -63,28 +60,41 @@ public class SaveAction extends SaveAsAction {
      */
     @Override
     protected void doAction() {
-        saveKeyStore(kseFrame.getActiveKeyStoreHistory());
+        saveKeyStore(kseFrame.getActiveKeyStoreHistory(), saved -> {
+        });
     }
 
     /**
      * Save the supplied KeyStore back to the file it was originally opened
-     * from.
+     * from. Waits until the KeyStore has been written; the user interface
+     * remains responsive meanwhile.
      *
      * @param history KeyStore history
      * @return True if the KeyStore is saved to disk, false otherwise
      */
     public boolean saveKeyStore(KeyStoreHistory history) {
-        File saveFile = null;
+        return waitForSave(onDone -> saveKeyStore(history, onDone));
+    }
 
+    /**
+     * Save the supplied KeyStore back to the file it was originally opened
+     * from. The KeyStore is written in the background.
+     *
+     * @param history KeyStore history
+     * @param onDone  Notified on the event dispatch thread with true if the
+     *                KeyStore is saved to disk, false otherwise
+     */
+    public void saveKeyStore(KeyStoreHistory history, Consumer<Boolean> onDone) {
         try {
             KeyStoreState currentState = history.getCurrentState();
 
             kseFrame.focusOnKeyStore(currentState.getKeyStore());
 
-            saveFile = history.getFile();
+            File saveFile = history.getFile();
 
             if (saveFile == null) {
-                return saveKeyStoreAs(history);
+                saveKeyStoreAs(history, onDone);
+                return;
             }
 
             Password password = currentState.getPassword();
@@ -96,28 +106,17 @@ public class SaveAction extends SaveAsAction {
                     currentState = history.getCurrentState();
                     password = currentState.getPassword();
                 } else {
-                    return false;
+                    onDone.accept(false);
+                    return;
                 }
             }
 
             saveInPasswordManager(currentState, saveFile, password, frame);
 
-            KeyStoreUtil.save(currentState.getKeyStore(), saveFile, password);
-
-            currentState.setPassword(password);
-            currentState.setAsSavedState();
-
-            kseFrame.updateControls(false);
-
-            return true;
-        } catch (FileNotFoundException ex) {
-            JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("SaveAction.NoWriteFile.message"),
-                                                                      saveFile),
-                                          res.getString("SaveAction.SaveKeyStore.Title"), JOptionPane.WARNING_MESSAGE);
-            return false;
+            saveInBackground(history, currentState, saveFile, password, onDone);
         } catch (Exception ex) {
             DError.displayError(frame, ex);
-            return false;
+            onDone.accept(false);
         }
     }
 }
@@ -21,6 +21,7 @@ package org.kse.gui.actions;
 
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.ImageIcon;
 import javax.swing.KeyStroke;
@@ -62,12 +63,27 @@ public class SaveAllAction extends SaveAction {
         try {
             KeyStoreHistory[] histories = kseFrame.getKeyStoreHistories();
 
+            // Dialogs (password, file name) are shown one after the other, the KeyStores are written concurrently
+            AtomicBoolean cancelled = new AtomicBoolean();
+
             for (KeyStoreHistory history : histories) {
                 KeyStoreState currentState = history.getCurrentState();
 
-                // Does KeyStore require saving and has file been saved before?
-                if (!currentState.isSavedState()) {
-                    if (!saveKeyStore(history)) {
+                // Does KeyStore require saving and is it not being saved already?
+                if (!currentState.isSavedState() && !isSaving(history)) {
+                    AtomicBoolean started = new AtomicBoolean();
+
+                    saveKeyStore(history, saved -> {
+                        // A result before the save has started comes from a cancelled dialog. A failed write is
+                        // reported later by its own error dialog and does not stop the other KeyStores from saving.
+                        if (!saved && !started.get()) {
+                            cancelled.set(true);
+                        }
+                    });
+                    started.set(true);
+
+                    // Stop if a dialog was cancelled
+                    if (cancelled.get()) {
                         break;
                     }
                 }
@@ -19,16 +19,28 @@
  */
 package org.kse.gui.actions;
 
+import java.awt.SecondaryLoop;
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.file.FileSystemException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
 import org.kse.crypto.keystore.KeyStoreUtil;
 import org.kse.gui.CurrentDirectory;
@@ -45,6 +57,17 @@ import org.kse.utilities.history.KeyStoreState;
 public class SaveAsAction extends KeyStoreExplorerAction {
     private static final long serialVersionUID = 1L;
 
+    // encoding a PKCS#12 KeyStore with strong PBKDF settings takes seconds
+    private static final ExecutorService SAVER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "kse-keystore-saver");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // KeyStores being written to disk and the saves waiting for them, only accessed on the event dispatch thread
+    private static final Map<KeyStoreHistory, Queue<Runnable>> SAVING = new HashMap<>();
+
     /**
      * Construct action.
      *
@@ -68,19 +91,20 @@ public class SaveAsAction extends KeyStoreExplorerAction {
      */
     @Override
     protected void doAction() {
-        saveKeyStoreAs(kseFrame.getActiveKeyStoreHistory());
+        saveKeyStoreAs(kseFrame.getActiveKeyStoreHistory(), saved -> {
+        });
     }
 
     /**
      * Save the supplied opened KeyStore to disk to what may be a different file
-     * from the one it was opened from (if any).
+     * from the one it was opened from (if any). The KeyStore is written in the
+     * background once the file has been chosen.
      *
      * @param history KeyStore history
-     * @return True if the KeyStore is saved to disk, false otherwise
+     * @param onDone  Notified on the event dispatch thread with true if the
+     *                KeyStore is saved to disk, false otherwise
      */
-    protected boolean saveKeyStoreAs(KeyStoreHistory history) {
-        File saveFile = null;
-
+    protected void saveKeyStoreAs(KeyStoreHistory history, Consumer<Boolean> onDone) {
         try {
             KeyStoreState currentState = history.getCurrentState();
 
@@ -93,7 +117,8 @@ public class SaveAsAction extends KeyStoreExplorerAction {
                     currentState = history.getCurrentState();
                     password = currentState.getPassword();
                 } else {
-                    return false;
+                    onDone.accept(false);
+                    return;
                 }
             }
 
@@ -104,9 +129,10 @@ public class SaveAsAction extends KeyStoreExplorerAction {
 
             int rtnValue = chooser.showSaveDialog(frame);
             if (rtnValue != JFileChooser.APPROVE_OPTION) {
-                return false;
+                onDone.accept(false);
+                return;
             }
-            saveFile = chooser.getSelectedFile();
+            File saveFile = chooser.getSelectedFile();
             CurrentDirectory.updateForFile(saveFile);
 
             // TODO check for response if JavaFX file dialog (because overwrite dialog is shown 2x)
@@ -117,7 +143,8 @@ public class SaveAsAction extends KeyStoreExplorerAction {
                                                              res.getString("SaveAsAction.SaveKeyStoreAs.Title"),
                                                              JOptionPane.YES_NO_OPTION);
                 if (selected != JOptionPane.YES_OPTION) {
-                    return false;
+                    onDone.accept(false);
+                    return;
                 }
             }
 
@@ -125,31 +152,145 @@ public class SaveAsAction extends KeyStoreExplorerAction {
                 JOptionPane.showMessageDialog(frame, res.getString("SaveAsAction.NoSaveKeyStoreAlreadyOpen.message"),
                                               res.getString("SaveAsAction.SaveKeyStoreAs.Title"),
                                               JOptionPane.WARNING_MESSAGE);
-                return false;
+                onDone.accept(false);
+                return;
             }
 
             saveInPasswordManager(currentState, saveFile, password, frame);
 
-            KeyStoreUtil.save(currentState.getKeyStore(), saveFile, password);
+            saveInBackground(history, currentState, saveFile, password, saved -> {
+                if (saved) {
+                    kseFrame.addRecentFile(saveFile);
+                }
+                onDone.accept(saved);
+            });
+        } catch (Exception ex) {
+            DError.displayError(frame, ex);
+            onDone.accept(false);
+        }
+    }
+
+    /**
+     * Write the KeyStore of the supplied state to a file on a background thread.
+     * Several KeyStores can be written at the same time, progress and timing are
+     * shown in the status bar. If the KeyStore is still being written by an
+     * earlier save, this save starts once the earlier one has finished.
+     *
+     * @param history  KeyStore history
+     * @param state    The state to save, later states are unaffected
+     * @param saveFile File to write to
+     * @param password KeyStore password
+     * @param onDone   Notified on the event dispatch thread with true if the
+     *                 KeyStore is saved to disk, false otherwise
+     */
+    protected void saveInBackground(KeyStoreHistory history, KeyStoreState state, File saveFile, Password password,
+                                    Consumer<Boolean> onDone) {
+        Queue<Runnable> waiting = SAVING.get(history);
+        if (waiting != null) {
+            // Still busy with a previous save of this KeyStore
+            waiting.add(() -> saveInBackground(history, state, saveFile, password, onDone));
+            return;
+        }
+        SAVING.put(history, new ArrayDeque<>());
+        updateStatusBar();
+
+        long start = System.nanoTime();
+
+        SAVER.execute(() -> {
+            Exception error = null;
+            try {
+                KeyStoreUtil.save(state.getKeyStore(), saveFile, password);
+            } catch (Exception ex) {
+                error = ex;
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Exception finalError = error;
+
+            SwingUtilities.invokeLater(() -> {
+                Queue<Runnable> nextSaves = SAVING.remove(history);
+
+                if (finalError != null) {
+                    updateStatusBar();
+                    showSaveError(saveFile, finalError);
+                    onDone.accept(false);
+                    nextSaves.forEach(Runnable::run);
+                    return;
+                }
+
+                state.setPassword(password);
+                history.setFile(saveFile);
+                state.setAsSavedState();
+
+                kseFrame.updateControls(false);
 
-            currentState.setPassword(password);
-            history.setFile(saveFile);
-            currentState.setAsSavedState();
+                if (SAVING.isEmpty()) {
+                    kseFrame.setStatusBarText(MessageFormat.format(res.getString("SaveAsAction.Saved.statusbar"),
+                                                                   history.getName(), millis));
+                } else {
+                    updateStatusBar();
+                }
+
+                onDone.accept(true);
+                nextSaves.forEach(Runnable::run);
+            });
+        });
+    }
+
+    /**
+     * Is the KeyStore of the supplied history currently being written to disk?
+     *
+     * @param history KeyStore history
+     * @return True if it is
+     */
+    protected static boolean isSaving(KeyStoreHistory history) {
+        return SAVING.containsKey(history);
+    }
+
+    /**
+     * Start a save and wait for its result, processing events meanwhile so that
+     * the user interface keeps painting and the status bar shows progress.
+     *
+     * @param save Starts the save, given the callback for its result
+     * @return True if the KeyStore was saved to disk, false otherwise
+     */
+    protected static boolean waitForSave(Consumer<Consumer<Boolean>> save) {
+        AtomicBoolean result = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue().createSecondaryLoop();
 
-            kseFrame.updateControls(false);
+        save.accept(saved -> {
+            result.set(saved);
+            done.set(true);
+            loop.exit();
+        });
 
-            kseFrame.addRecentFile(saveFile);
+        // the result may have been delivered right away, e.g. if a dialog was cancelled
+        if (!done.get()) {
+            loop.enter();
+        }
+
+        return result.get();
+    }
 
-            return true;
-        } catch (FileNotFoundException ex) {
-            JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("SaveAsAction.NoWriteFile.message"),
+    private void showSaveError(File saveFile, Exception ex) {
+        Throwable cause = ex.getCause();
+
+        if (cause instanceof FileNotFoundException || cause instanceof FileSystemException) {
+            JOptionPane.showMessageDialog(frame, MessageFormat.format(res.getString("SaveAction.NoWriteFile.message"),
                                                                       saveFile),
-                                          res.getString("SaveAsAction.SaveKeyStoreAs.Title"),
-                                          JOptionPane.WARNING_MESSAGE);
-            return false;
-        } catch (Exception ex) {
+                                          res.getString("SaveAction.SaveKeyStore.Title"), JOptionPane.WARNING_MESSAGE);
+        } else {
             DError.displayError(frame, ex);
-            return false;
+        }
+    }
+
+    private void updateStatusBar() {
+        if (SAVING.isEmpty()) {
+            kseFrame.setDefaultStatusBarText();
+        } else {
+            kseFrame.setStatusBarText(MessageFormat.format(res.getString("SaveAsAction.Saving.statusbar"),
+                                                           SAVING.size()));
         }
     }
 }
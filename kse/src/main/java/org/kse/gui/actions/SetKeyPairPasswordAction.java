@@ -27,6 +27,7 @@ import java.security.Key;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.text.MessageFormat;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
@@ -40,6 +41,7 @@ import org.kse.gui.password.DChangePassword;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.gui.passwordmanager.PasswordManager;
 import org.kse.utilities.history.HistoryAction;
+import org.kse.utilities.history.KeyStoreEntryChange;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
 
@@ -132,7 +134,7 @@ public class SetKeyPairPasswordAction extends KeyStoreExplorerAction implements
 
             currentState.append(newState);
 
-            kseFrame.updateControls(true);
+            kseFrame.updateControls(List.of(KeyStoreEntryChange.modified(alias)));
 
             JOptionPane.showMessageDialog(frame, res.getString(
                                                   "SetKeyPairPasswordAction.SetKeyPairPasswordSuccessful.message"),
@@ -44,6 +44,7 @@ import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.sign.DSignFile;
+import org.kse.gui.dialogs.sign.DSignFileProgress;
 import org.kse.gui.error.DError;
 import org.kse.gui.passwordmanager.Password;
 import org.kse.utilities.history.KeyStoreHistory;
@@ -119,10 +120,27 @@ public class SignFileAction extends KeyStoreExplorerAction {
             File outputFile = dSignFile.getOutputFile();
             String tsaUrl = dSignFile.getTimestampingServerUrl();
 
-            CMSSignedData signedData;
             if (!dSignFile.isCounterSign()) {
-                signedData = CmsSigner.sign(inputFile, privateKey, certs, detachedSignature, signatureType, tsaUrl,
-                        provider);
+                // stream the file through the signature generator, the file may be larger than the heap
+                boolean outputPem = dSignFile.isOutputPem();
+                DSignFileProgress<Void> dSignFileProgress = new DSignFileProgress<>(frame,
+                        res.getString("SignFileAction.SignFile.Title"),
+                        MessageFormat.format(res.getString("SignFileAction.Signing.message"), inputFile.getName()),
+                        listener -> {
+                            CmsSigner.sign(inputFile, outputFile, privateKey, certs, detachedSignature,
+                                           signatureType, tsaUrl, outputPem, provider, listener);
+                            return null;
+                        });
+                dSignFileProgress.setLocationRelativeTo(frame);
+                dSignFileProgress.startTask();
+                dSignFileProgress.setVisible(true);
+
+                if (dSignFileProgress.isCancelled()) {
+                    return;
+                }
+                if (dSignFileProgress.getError() != null) {
+                    throw dSignFileProgress.getError();
+                }
             } else {
                 CMSSignedData signature = CmsUtil.loadSignature(inputFile, this::chooseContentFile);
 
@@ -145,20 +163,21 @@ public class SignFileAction extends KeyStoreExplorerAction {
                     return;
                 }
 
-                signedData = CmsSigner.counterSign(signature, privateKey, certs, detachedSignature, signatureType,
-                        tsaUrl, provider);
-            }
+                CMSSignedData signedData = CmsSigner.counterSign(signature, privateKey, certs, detachedSignature,
+                        signatureType, tsaUrl, provider);
 
-            byte[] encoded;
-            if (!dSignFile.isOutputPem()) {
-                encoded = signedData.getEncoded();
-            } else {
-                encoded = CmsUtil.getPem(signedData).getBytes();
-            }
+                byte[] encoded;
+                if (!dSignFile.isOutputPem()) {
+                    encoded = signedData.getEncoded();
+                } else {
+                    encoded = CmsUtil.getPem(signedData).getBytes();
+                }
 
-            try (OutputStream os = new FileOutputStream(outputFile)) {
-                os.write(encoded);
+                try (OutputStream os = new FileOutputStream(outputFile)) {
+                    os.write(encoded);
+                }
             }
+
             JOptionPane.showMessageDialog(frame, res.getString("SignFileAction.SignFileSuccessful.message"),
                     res.getString("SignFileAction.SignFile.Title"),
                     JOptionPane.INFORMATION_MESSAGE);
@@ -24,32 +24,24 @@ import java.awt.HeadlessException;
 import java.awt.Toolkit;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.math.BigInteger;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
-import java.security.SecureRandom;
 import java.security.Security;
 import java.security.SignatureException;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
 import java.security.cert.CertPathValidatorException;
-import java.security.cert.CertStore;
 import java.security.cert.Certificate;
-import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
-import java.security.cert.CollectionCertStoreParameters;
 import java.security.cert.PKIXCertPathChecker;
 import java.security.cert.PKIXParameters;
 import java.security.cert.PKIXRevocationChecker;
-import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -67,27 +59,16 @@ import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
-import org.bouncycastle.asn1.DEROctetString;
-import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
-import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
-import org.bouncycastle.asn1.x509.ExtensionsGenerator;
-import org.bouncycastle.cert.ocsp.BasicOCSPResp;
-import org.bouncycastle.cert.ocsp.CertificateID;
 import org.bouncycastle.cert.ocsp.CertificateStatus;
-import org.bouncycastle.cert.ocsp.OCSPException;
-import org.bouncycastle.cert.ocsp.OCSPReq;
-import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
 import org.bouncycastle.cert.ocsp.OCSPResp;
 import org.bouncycastle.cert.ocsp.RevokedStatus;
-import org.bouncycastle.cert.ocsp.SingleResp;
-import org.bouncycastle.cert.ocsp.jcajce.JcaCertificateID;
-import org.bouncycastle.operator.DigestCalculatorProvider;
-import org.bouncycastle.operator.OperatorCreationException;
-import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
 import org.kse.KSE;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlRevocationChecker;
+import org.kse.crypto.ocsp.OcspClient;
 import org.kse.crypto.ocsp.OcspDigestAlgorithm;
+import org.kse.crypto.ocsp.OcspResult;
+import org.kse.crypto.ocsp.OcspStatusException;
 import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DVerifyCertificate;
@@ -191,7 +172,7 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
     }
 
     private void verifyStatusOcspUrl(KeyStoreHistory keyStoreHistory, String alias, String ocspUrl, OcspDigestAlgorithm ocspDigestAlgorithm, boolean ocspIncludeNonce)
-            throws OperatorCreationException, OCSPException, IOException, HeadlessException, CertPathValidatorException,
+            throws IOException, HeadlessException, CertPathValidatorException,
                    KeyStoreException, NoSuchAlgorithmException, CertificateException,
                    InvalidAlgorithmParameterException, IllegalStateException, CryptoException {
 
@@ -219,9 +200,16 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
             if (issuer == null) {
                 throw new CertPathValidatorException(res.getString("VerifyCertificateAction.trustStoreEmpty.message"));
             }
-            OCSPReq request = makeOcspRequest(issuer, certificateEval, ocspDigestAlgorithm.algorithmIdentifier(), ocspIncludeNonce);
-            OCSPResp response = requestOCSPResponse(ocspUrl, request);
-            if (isGoodCertificate(response)) {
+            OcspClient ocspClient = new OcspClient();
+            ocspClient.setDigestAlgorithm(ocspDigestAlgorithm);
+            ocspClient.setIncludeNonce(ocspIncludeNonce);
+            OcspResult result;
+            try {
+                result = ocspClient.check(ocspUrl, issuer, certificateEval);
+            } catch (OcspStatusException ex) {
+                throw new CertPathValidatorException(getMessageStatus(ex.getStatus()));
+            }
+            if (isGoodCertificate(result)) {
                 JOptionPane.showMessageDialog(frame, res.getString("VerifyCertificateAction.OcspSuccessful.message"),
                                               MessageFormat.format(
                                                       res.getString("VerifyCertificateAction.Verify.Title"), alias),
@@ -230,59 +218,9 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
         }
     }
 
-    private static OCSPReq makeOcspRequest(X509Certificate caCert, X509Certificate certToCheck, AlgorithmIdentifier digestAlgorithm, boolean includeNonce)
-            throws IOException, OCSPException, OperatorCreationException, CertificateEncodingException {
-        DigestCalculatorProvider digCalcProv = new JcaDigestCalculatorProviderBuilder().setProvider(KSE.BC)
-                                                                                       .build();
-
-        CertificateID certId = new JcaCertificateID(digCalcProv.get(digestAlgorithm), caCert,
-                                                    certToCheck.getSerialNumber());
-
-        OCSPReqBuilder gen = new OCSPReqBuilder();
-        gen.addRequest(certId);
-        if (includeNonce) {
-            byte[] nonce = new byte[16];
-            new SecureRandom().nextBytes(nonce);
-            ExtensionsGenerator extGen = new ExtensionsGenerator();
-            extGen.addExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false, new DEROctetString(nonce));
-            gen.setRequestExtensions(extGen.generate());
-        }
-        return gen.build();
-    }
-
-    private OCSPResp requestOCSPResponse(String url, OCSPReq ocspReq) throws IOException {
-        byte[] ocspReqData = ocspReq.getEncoded();
-
-        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
-        try {
-            con.setRequestProperty("Content-Type", "application/ocsp-request");
-            con.setRequestProperty("Accept", "application/ocsp-response");
-            con.setDoInput(true);
-            con.setDoOutput(true);
-            con.setUseCaches(false);
-            try (OutputStream out = con.getOutputStream()) {
-                IOUtils.write(ocspReqData, out);
-                out.flush();
-            }
-            byte[] responseBytes = IOUtils.toByteArray(con.getInputStream());
-            OCSPResp ocspResp = new OCSPResp(responseBytes);
-            return ocspResp;
-        } finally {
-            if (con != null) {
-                con.disconnect();
-            }
-        }
-    }
-
-    private boolean isGoodCertificate(OCSPResp ocspResp) throws OCSPException, CertPathValidatorException {
-
-        if (ocspResp.getStatus() != OCSPResp.SUCCESSFUL) {
-            throw new CertPathValidatorException(getMessageStatus(ocspResp.getStatus()));
-        }
-        BasicOCSPResp basicResponse = (BasicOCSPResp) ocspResp.getResponseObject();
-        SingleResp first = basicResponse.getResponses()[0];
+    private boolean isGoodCertificate(OcspResult result) throws CertPathValidatorException {
 
-        CertificateStatus certStatus = first.getCertStatus();
+        CertificateStatus certStatus = result.getCertStatus();
 
         if (certStatus != CertificateStatus.GOOD) {
             if (certStatus instanceof RevokedStatus) {
@@ -303,7 +241,7 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
             }
         }
         BigInteger certSerial = certificateEval.getSerialNumber();
-        BigInteger ocspSerial = first.getCertID().getSerialNumber();
+        BigInteger ocspSerial = result.getSerialNumber();
         if (!certSerial.equals(ocspSerial)) {
             throw new CertPathValidatorException(
                     MessageFormat.format(res.getString("VerifyCertificateAction.badSerials.message"), certSerial,
@@ -336,10 +274,10 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
                    InvalidAlgorithmParameterException, CertPathValidatorException, IllegalStateException, IOException,
                    CryptoException {
         File file = new File(crlFile);
-        X509CRL crl = null;
         try {
+            // report an unreadable file here, the revocation checker reads it again from the CRL store
             byte[] data = FileUtils.readFileToByteArray(file);
-            crl = X509CertUtil.loadCRL(data);
+            X509CertUtil.loadCRL(data);
         } catch (Exception ex) {
             String problemStr = MessageFormat.format(res.getString("ExamineFileAction.NoOpenCrl.Problem"),
                                                      file.getName());
@@ -355,7 +293,7 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
             dProblem.setVisible(true);
             return;
         }
-        if (verify(true, false, keyStoreHistory, crl, alias)) {
+        if (verify(true, false, keyStoreHistory, file.toURI().toString(), alias)) {
             JOptionPane.showMessageDialog(frame, res.getString("VerifyCertificateAction.CrlSuccessful.message"),
                                           MessageFormat.format(res.getString("VerifyCertificateAction.Verify.Title"),
                                                                alias), JOptionPane.INFORMATION_MESSAGE);
@@ -373,7 +311,7 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
         }
     }
 
-    private boolean verify(boolean crl, boolean ocsp, KeyStoreHistory keyStoreHistory, X509CRL xCrl, String alias)
+    private boolean verify(boolean crl, boolean ocsp, KeyStoreHistory keyStoreHistory, String crlLocation, String alias)
             throws KeyStoreException, NoSuchAlgorithmException, CertificateException, IOException,
                    InvalidAlgorithmParameterException, CertPathValidatorException, IllegalStateException,
                    CryptoException {
@@ -388,9 +326,6 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
         }
 
         boolean revocationEnabled = crl || ocsp;
-        // The CRL DP is not used unless requested by these properties
-        System.setProperty("com.sun.security.enableCRLDP", Boolean.toString(crl));
-        System.setProperty("org.bouncycastle.x509.enableCRLDP", Boolean.toString(crl));
         // Used by both BC and SUN providers
         Security.setProperty("ocsp.enable", Boolean.toString(ocsp));
 
@@ -414,21 +349,25 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
         CertificateFactory factory = CertificateFactory.getInstance("X509");
         CertPath certPath = factory.generateCertPath(listCertificates);
         PKIXParameters params = new PKIXParameters(trustStore);
-        if (xCrl != null) {
-            params.addCertStore(CertStore.getInstance("Collection", new CollectionCertStoreParameters(
-                    Collections.singletonList(xCrl))));
+
+        if (crl) {
+            // CRLs are fetched, verified and indexed once and then served from the store
+            List<X509Certificate> trustAnchors = new ArrayList<>();
+            Enumeration<String> aliases = trustStore.aliases();
+            while (aliases.hasMoreElements()) {
+                trustAnchors.add((X509Certificate) trustStore.getCertificate(aliases.nextElement()));
+            }
+            List<String> crlLocations = (crlLocation != null) ? Collections.singletonList(crlLocation) :
+                                        Collections.emptyList();
+            params.addCertPathChecker(new CrlRevocationChecker(trustAnchors, crlLocations));
         }
 
         // This block is not needed when using the SUN provider
-        if (revocationEnabled) {
+        if (ocsp) {
             PKIXRevocationChecker revocationChecker = (PKIXRevocationChecker) validator.getRevocationChecker();
             // Don't fall back so that the UI options are not deceiving. The checker will
-            // fallback to the CRL if OCSP fails and vice-versa unless NO_FALLBACK is enabled.
-            Set<PKIXRevocationChecker.Option> options = EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK);
-            if (crl) {
-                options.add(PKIXRevocationChecker.Option.PREFER_CRLS);
-            }
-            revocationChecker.setOptions(options);
+            // fallback to the CRL if OCSP fails unless NO_FALLBACK is enabled.
+            revocationChecker.setOptions(EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK));
             params.addCertPathChecker(revocationChecker);
         }
 
@@ -438,7 +377,7 @@ public class VerifyCertificateAction extends KeyStoreExplorerAction {
         params.addCertPathChecker(certPathChecker);
 
         params.setDate(new Date());
-        params.setRevocationEnabled(revocationEnabled);
+        params.setRevocationEnabled(ocsp);
         validator.validate(certPath, params);
         return true;
     }
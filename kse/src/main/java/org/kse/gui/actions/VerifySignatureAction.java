@@ -23,6 +23,7 @@ package org.kse.gui.actions;
 import java.awt.Toolkit;
 import java.awt.event.InputEvent;
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.Security;
@@ -36,11 +37,13 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.jcajce.JcaCertStore;
@@ -52,11 +55,13 @@ import org.kse.crypto.CryptoException;
 import org.kse.crypto.SecurityProvider;
 import org.kse.crypto.signing.CmsUtil;
 import org.kse.crypto.signing.KseSignerInformation;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
 import org.kse.crypto.x509.X509CertUtil;
 import org.kse.gui.CurrentDirectory;
 import org.kse.gui.FileChooserFactory;
 import org.kse.gui.KseFrame;
 import org.kse.gui.dialogs.DViewSignature;
+import org.kse.gui.dialogs.sign.DSignFileProgress;
 import org.kse.gui.error.DError;
 import org.kse.utilities.history.KeyStoreHistory;
 import org.kse.utilities.history.KeyStoreState;
@@ -89,7 +94,24 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
                 return;
             }
 
-            CMSSignedData signedData = CmsUtil.loadSignature(signatureFile, this::chooseContentFile);
+            // detached content is digested while loading, which takes a while for large files
+            DSignFileProgress<CMSSignedData> dSignFileProgress = new DSignFileProgress<>(frame,
+                    res.getString("VerifySignatureAction.VerifySignature.Title"),
+                    MessageFormat.format(res.getString("VerifySignatureAction.Verifying.message"),
+                                         signatureFile.getName()),
+                    listener -> CmsUtil.loadSignature(signatureFile, this::chooseContentFileOnEdt, listener));
+            dSignFileProgress.setLocationRelativeTo(frame);
+            dSignFileProgress.startTask();
+            dSignFileProgress.setVisible(true);
+
+            if (dSignFileProgress.isCancelled()) {
+                return;
+            }
+            if (dSignFileProgress.getError() != null) {
+                throw dSignFileProgress.getError();
+            }
+
+            CMSSignedData signedData = dSignFileProgress.getResult();
             if (signedData.isCertificateManagementMessage()) {
                 JOptionPane.showMessageDialog(frame,
                         MessageFormat.format(res.getString("VerifySignatureAction.NoSignatures.message"),
@@ -99,8 +121,8 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
                 return;
             }
 
-            KeyStore caCertificates = getCaCertificates();
-            KeyStore windowsTrustedRootCertificates = getWindowsTrustedRootCertificates();
+            TrustedCertificateSnapshot caCertificates = getCaCertificatesSnapshot();
+            TrustedCertificateSnapshot windowsTrustedRootCertificates = getWindowsTrustedRootCertificatesSnapshot();
 
             // Perform cert lookup against current KeyStore
             Set<X509Certificate> compCerts = new HashSet<>();
@@ -108,12 +130,12 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
 
             if (caCertificates != null) {
                 // Perform cert lookup against CA Certificates KeyStore
-                compCerts.addAll(extractCertificates(caCertificates));
+                compCerts.addAll(caCertificates.getCertificates());
             }
 
             if (windowsTrustedRootCertificates != null) {
                 // Perform cert lookup against Windows Trusted Root Certificates KeyStore
-                compCerts.addAll(extractCertificates(windowsTrustedRootCertificates));
+                compCerts.addAll(windowsTrustedRootCertificates.getCertificates());
             }
 
             @SuppressWarnings("unchecked")
@@ -166,20 +188,20 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
 
     private Store<X509CertificateHolder> getTrustedCertsNoPrefs()
             throws CryptoException, CertificateEncodingException {
-        KeyStore caCertificates = getCaCertificatesNoPrefCheck();
-        KeyStore windowsTrustedRootCertificates = getWindowsTrustedRootCertificatesNoPrefCheck();
+        TrustedCertificateSnapshot caCertificates = getCaCertificatesNoPrefCheck();
+        TrustedCertificateSnapshot windowsTrustedRootCertificates = getWindowsTrustedRootCertificatesNoPrefCheck();
 
         // Perform cert lookup against current KeyStore
         Set<X509Certificate> compCerts = new HashSet<>();
 
         if (caCertificates != null) {
             // Perform cert lookup against CA Certificates KeyStore
-            compCerts.addAll(extractCertificates(caCertificates));
+            compCerts.addAll(caCertificates.getCertificates());
         }
 
         if (windowsTrustedRootCertificates != null) {
             // Perform cert lookup against Windows Trusted Root Certificates KeyStore
-            compCerts.addAll(extractCertificates(windowsTrustedRootCertificates));
+            compCerts.addAll(windowsTrustedRootCertificates.getCertificates());
         }
 
         @SuppressWarnings("unchecked")
@@ -188,39 +210,40 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
     }
 
     /**
-     * Get CA Certificates KeyStore.
+     * Get the decoded and indexed trusted certificates of the CA Certificates KeyStore.
      *
-     * @return KeyStore or null if unavailable
+     * @return Snapshot or null if unavailable
+     * @throws CryptoException If a problem occurred reading the certificates
      */
-    private KeyStore getCaCertificatesNoPrefCheck() {
+    private TrustedCertificateSnapshot getCaCertificatesNoPrefCheck() throws CryptoException {
         AuthorityCertificates authorityCertificates = AuthorityCertificates.getInstance();
 
         KeyStore caCertificates = authorityCertificates.getCaCertificates();
 
         if (caCertificates == null) {
             caCertificates = loadCaCertificatesKeyStore();
+        }
 
-            if (caCertificates != null) {
-                authorityCertificates.setCaCertificates(caCertificates);
-            }
+        if (caCertificates == null) {
+            return null;
         }
 
-        return caCertificates;
+        return authorityCertificates.getCaCertificatesSnapshot();
     }
 
     /**
-     * Get Windows Trusted Root Certificates KeyStore.
+     * Get the decoded and indexed trusted certificates of the Windows Trusted Root Certificates KeyStore.
      *
-     * @return KeyStore or null if unavailable
+     * @return Snapshot or null if unavailable
      * @throws CryptoException If a problem occurred getting the KeyStore
      */
-    private KeyStore getWindowsTrustedRootCertificatesNoPrefCheck() throws CryptoException {
+    private TrustedCertificateSnapshot getWindowsTrustedRootCertificatesNoPrefCheck() throws CryptoException {
         AuthorityCertificates authorityCertificates = AuthorityCertificates.getInstance();
 
-        KeyStore windowsTrustedRootCertificates = null;
+        TrustedCertificateSnapshot windowsTrustedRootCertificates = null;
 
         if (Security.getProvider(SecurityProvider.MS_CAPI.jce()) != null) {
-            windowsTrustedRootCertificates = authorityCertificates.getWindowsTrustedRootCertificates();
+            windowsTrustedRootCertificates = authorityCertificates.getWindowsTrustedRootCertificatesSnapshot();
         }
 
         return windowsTrustedRootCertificates;
@@ -251,6 +274,19 @@ public class VerifySignatureAction extends AuthorityCertificatesAction {
         return null;
     }
 
+    private File chooseContentFileOnEdt() {
+        // called by the thread loading the signature
+        AtomicReference<File> contentFile = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> contentFile.set(chooseContentFile()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return contentFile.get();
+    }
+
     private File chooseContentFile() {
         JFileChooser chooser = FileChooserFactory.getNoFileChooser();
         chooser.setCurrentDirectory(CurrentDirectory.get());
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.swing.tree.TreeNode;
+
+import org.kse.utilities.asn1.Asn1Element;
+
+/**
+ * Tree node of DViewAsn1Dump for an element of an ASN.1 object. Child nodes are created when the tree first asks for
+ * them, i.e. when the node is displayed or expanded.
+ */
+class Asn1TreeNode implements TreeNode {
+    private final Asn1TreeNode parent;
+    private final Asn1Element element;
+    private List<Asn1TreeNode> children;
+
+    /**
+     * Construct a new Asn1TreeNode.
+     *
+     * @param parent  Parent node, null for the root
+     * @param element The ASN.1 element
+     */
+    Asn1TreeNode(Asn1TreeNode parent, Asn1Element element) {
+        this.parent = parent;
+        this.element = element;
+    }
+
+    /**
+     * Get the ASN.1 element of the node.
+     *
+     * @return ASN.1 element
+     */
+    Asn1Element getElement() {
+        return element;
+    }
+
+    private List<Asn1TreeNode> getChildren() {
+        if (children == null) {
+            children = new ArrayList<>();
+            for (Asn1Element child : element.getChildren()) {
+                children.add(new Asn1TreeNode(this, child));
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public TreeNode getChildAt(int childIndex) {
+        return getChildren().get(childIndex);
+    }
+
+    @Override
+    public int getChildCount() {
+        return getChildren().size();
+    }
+
+    @Override
+    public TreeNode getParent() {
+        return parent;
+    }
+
+    @Override
+    public int getIndex(TreeNode node) {
+        return getChildren().indexOf(node);
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+        return !element.isLeaf();
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return element.isLeaf();
+    }
+
+    @Override
+    public Enumeration<? extends TreeNode> children() {
+        return Collections.enumeration(getChildren());
+    }
+
+    @Override
+    public String toString() {
+        return element.getLabel();
+    }
+}
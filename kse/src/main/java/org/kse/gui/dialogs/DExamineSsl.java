@@ -27,6 +27,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -55,6 +57,7 @@ import org.kse.gui.preferences.PreferencesManager;
 import org.kse.gui.preferences.data.KsePreferences;
 import org.kse.utilities.DialogViewer;
 import org.kse.utilities.history.KeyStoreHistory;
+import org.kse.utilities.ssl.SslScanner;
 
 import net.miginfocom.swing.MigLayout;
 
@@ -83,6 +86,7 @@ public class DExamineSsl extends JEscDialog {
 
     private String sslHost;
     private int sslPort = -1;
+    private List<InetSocketAddress> sslEndpoints = Collections.emptyList();
 
     private KseFrame kseFrame;
     private boolean cancelled = true;
@@ -149,8 +153,13 @@ public class DExamineSsl extends JEscDialog {
         jcbClientAuth.addActionListener(evt -> updateClientAuthComponents());
         jbLoadKeystore.addActionListener(evt -> {
             OpenAction openAction = new OpenAction(kseFrame);
+
+            // the KeyStore is loaded in the background, refresh the list once it has been added
+            openAction.setOpenedListener(history -> {
+                updateClientAuthComponents();
+                pack();
+            });
             openAction.actionPerformed(evt);
-            updateClientAuthComponents();
         });
         jbOK.addActionListener(evt -> okPressed());
         jbCancel.addActionListener(evt -> cancelPressed());
@@ -186,7 +195,7 @@ public class DExamineSsl extends JEscDialog {
     }
 
     /**
-     * Get selected SSL hostname.
+     * Get selected SSL hostname, the first one if several endpoints were selected.
      *
      * @return Hostname or null of dialog cancelled by user
      */
@@ -195,7 +204,7 @@ public class DExamineSsl extends JEscDialog {
     }
 
     /**
-     * Get selected SSL port number.
+     * Get selected SSL port number, the first one if several endpoints were selected.
      *
      * @return Port number or -1 if dialog cancelled by user
      */
@@ -203,6 +212,16 @@ public class DExamineSsl extends JEscDialog {
         return sslPort;
     }
 
+    /**
+     * Get all endpoints to examine. The host and port fields accept lists of hosts, CIDR ranges, ports and port
+     * ranges, see {@link SslScanner#parseEndpoints(String, String)}.
+     *
+     * @return Endpoints or an empty list if dialog cancelled by user
+     */
+    public List<InetSocketAddress> getSslEndpoints() {
+        return sslEndpoints;
+    }
+
     /**
      * User wants to use SSL client authentication?
      *
@@ -240,6 +259,14 @@ public class DExamineSsl extends JEscDialog {
         return sslPorts.toArray(new String[sslPorts.size()]);
     }
 
+    private static boolean isPositiveInteger(String value) {
+        try {
+            return Integer.parseInt(value) > 0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
     private void updateClientAuthComponents() {
         jcbKeyStore.setEnabled(jcbClientAuth.isSelected());
         jbLoadKeystore.setEnabled(jcbClientAuth.isSelected());
@@ -264,24 +291,26 @@ public class DExamineSsl extends JEscDialog {
             return;
         }
 
-        int sslPort = 0;
-
-        try {
-            sslPort = Integer.parseInt(sslPortStr);
-
-            if (sslPort < 1) {
-                JOptionPane.showMessageDialog(this, res.getString("DExamineSsl.PositiveIntegerSslPortReq.message"),
-                                              getTitle(), JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-        } catch (NumberFormatException ex) {
+        // a single port is checked here, lists and ranges of ports by the scanner
+        boolean singlePort = !sslPortStr.matches(".*[,\\s].*") && sslPortStr.lastIndexOf('-') <= 0;
+        if (singlePort && !isPositiveInteger(sslPortStr)) {
             JOptionPane.showMessageDialog(this, res.getString("DExamineSsl.PositiveIntegerSslPortReq.message"),
                                           getTitle(), JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        this.sslHost = sslHost;
-        this.sslPort = sslPort;
+        List<InetSocketAddress> sslEndpoints;
+
+        try {
+            sslEndpoints = SslScanner.parseEndpoints(sslHost, sslPortStr);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), getTitle(), JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        this.sslEndpoints = sslEndpoints;
+        this.sslHost = sslEndpoints.get(0).getHostString();
+        this.sslPort = sslEndpoints.get(0).getPort();
 
         // check selected key store
         if (useClientAuth()) {
@@ -31,6 +31,7 @@ import java.util.ResourceBundle;
 import javax.swing.AbstractAction;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
@@ -40,6 +41,7 @@ import javax.swing.JSeparator;
 import javax.swing.JTextArea;
 import javax.swing.KeyStroke;
 
+import org.kse.crypto.dh.DHGroup;
 import org.kse.gui.components.JEscDialog;
 import org.kse.gui.MiGUtil;
 import org.kse.gui.PlatformUtil;
@@ -54,14 +56,10 @@ import net.miginfocom.swing.MigLayout;
  * with the key size selection of DH Parameters to be
  * generated.
  * <p>
- * The parameter generation is through the provider Bouncy Castle which
- * uses a Sophie Germain search to identify a safe prime. The search
- * method takes an exceptionally lengthy time with a selection above a 2048 bit
- * key size. There is no technical limitation and the key size can be expanded
- * if there is a demand for additional settings.
- * <p>
- * An expansion of this class can allow specific key sizes and the inclusion
- * of DH standard RFC groups.
+ * Generating parameters requires a search for a safe prime, which takes
+ * a long time for key sizes above 2048 bits even though it runs on all cores.
+ * The RFC 7919 groups are offered as well, they are available immediately.
+ * Optionally, generated parameters are kept and reused for the same key size.
  */
 
 public class DGenerateDHParameters extends JEscDialog {
@@ -71,22 +69,28 @@ public class DGenerateDHParameters extends JEscDialog {
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
 
     private static final String CANCEL_KEY = "CANCEL_KEY";
-    private String[] keySizeSelection = { "1024", "2048" };
+    private Object[] keySizeSelection = { "1024", "2048", "3072", "4096", "8192", DHGroup.FFDHE2048, DHGroup.FFDHE3072,
+                                          DHGroup.FFDHE4096, DHGroup.FFDHE6144, DHGroup.FFDHE8192 };
     private JLabel jlDHKeySize;
-    private JComboBox<String> jcbDHKeySize;
+    private JComboBox<Object> jcbDHKeySize;
+    private JCheckBox jcbReuseParameters;
 
     private JButton jbOK;
     private JButton jbCancel;
     private int dhKeySize;
+    private DHGroup dhGroup;
+    private boolean reuseParameters;
     private boolean success = false;
 
     /**
      * Creates a new DGeneratingKeyPair dialog.
      *
-     * @param parent The parent frame
+     * @param parent          The parent frame
+     * @param reuseParameters Initial state of the option to reuse generated parameters
      */
-    public DGenerateDHParameters(JFrame parent) {
+    public DGenerateDHParameters(JFrame parent, boolean reuseParameters) {
         super(parent, res.getString("DGenerateDHParameters.Title"), Dialog.ModalityType.DOCUMENT_MODAL);
+        this.reuseParameters = reuseParameters;
         initComponents();
     }
 
@@ -101,6 +105,10 @@ public class DGenerateDHParameters extends JEscDialog {
         jcbDHKeySize.setSelectedIndex(1);
         jcbDHKeySize.setToolTipText(res.getString("DGenerateDHParameters.jcbDHKeySize.tooltip"));
 
+        jcbReuseParameters = new JCheckBox(res.getString("DGenerateDHParameters.jcbReuseParameters.text"));
+        jcbReuseParameters.setToolTipText(res.getString("DGenerateDHParameters.jcbReuseParameters.tooltip"));
+        jcbReuseParameters.setSelected(reuseParameters);
+
         JMultiLineLabel jmllFooter = new JMultiLineLabel(res.getString("DGenerateDHParameters.jtAreaFooter.text"));
         jmllFooter.setColumns(25);
 
@@ -115,6 +123,7 @@ public class DGenerateDHParameters extends JEscDialog {
         MiGUtil.addSeparator(pane, res.getString("DGenerateDHParameters.jpContent.text"));
         pane.add(jlDHKeySize, "skip, align right");
         pane.add(jcbDHKeySize, "wrap");
+        pane.add(jcbReuseParameters, "skip, spanx, wrap");
         pane.add(jmllFooter, "growx, spanx, wrap");
         pane.add(new JSeparator(), "spanx, growx, wrap");
         pane.add(buttons, "right, spanx");
@@ -147,10 +156,18 @@ public class DGenerateDHParameters extends JEscDialog {
     }
 
     /**
-     * Set the selected key size.
+     * Set the selected key size or group.
      */
     private void setKeySize() {
-        dhKeySize = Integer.parseInt((String) jcbDHKeySize.getSelectedItem());
+        Object selected = jcbDHKeySize.getSelectedItem();
+
+        if (selected instanceof DHGroup) {
+            dhGroup = (DHGroup) selected;
+            dhKeySize = dhGroup.bitLength();
+        } else {
+            dhGroup = null;
+            dhKeySize = Integer.parseInt((String) selected);
+        }
     }
 
     /**
@@ -162,6 +179,24 @@ public class DGenerateDHParameters extends JEscDialog {
         return dhKeySize;
     }
 
+    /**
+     * Get the selected RFC 7919 group.
+     *
+     * @return The group or null if parameters of the key size are to be generated
+     */
+    public DHGroup getDHGroup() {
+        return dhGroup;
+    }
+
+    /**
+     * Should generated parameters be kept and reused for the same key size?
+     *
+     * @return True if they should
+     */
+    public boolean isReuseParameters() {
+        return reuseParameters;
+    }
+
     /**
      * Have the parameters been entered correctly?
      *
@@ -180,6 +215,7 @@ public class DGenerateDHParameters extends JEscDialog {
      */
     private void okPressed() {
         setKeySize();
+        reuseParameters = jcbReuseParameters.isSelected();
         success = true;
         closeDialog();
     }
@@ -201,7 +237,7 @@ public class DGenerateDHParameters extends JEscDialog {
 
     // for quick UI testing
     public static void main(String[] args) throws Exception {
-        DGenerateDHParameters dialog = new DGenerateDHParameters(new JFrame());
+        DGenerateDHParameters dialog = new DGenerateDHParameters(new JFrame(), false);
         DialogViewer.run(dialog);
     }
 
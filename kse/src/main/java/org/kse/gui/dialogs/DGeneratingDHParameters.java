@@ -26,13 +26,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.math.BigInteger;
-import java.security.AlgorithmParameterGenerator;
-import java.security.AlgorithmParameters;
-import java.security.SecureRandom;
 import java.util.ResourceBundle;
 
-import javax.crypto.spec.DHParameterSpec;
 import javax.swing.AbstractAction;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -43,12 +38,8 @@ import javax.swing.JProgressBar;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 
-import org.bouncycastle.asn1.ASN1EncodableVector;
-import org.bouncycastle.asn1.ASN1Encoding;
-import org.bouncycastle.asn1.ASN1Integer;
-import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.crypto.params.DHParameters;
-import org.kse.KSE;
+import org.kse.crypto.dh.DHParametersUtil;
 import org.kse.gui.components.JEscDialog;
 import org.kse.gui.error.DError;
 
@@ -56,8 +47,8 @@ import net.miginfocom.swing.MigLayout;
 
 /**
  * <h1>DH Parameters generation</h1> The class DGeneratingDHParameters initiates
- * DH Parameters generation. Bouncy Castle is the provider used to generate the
- * parameters.
+ * DH Parameters generation. The safe prime is searched on all cores, parameters
+ * that were generated before are taken from the local cache.
  * <p>
  * The user may cancel at any time by pressing the cancel button.
  */
@@ -186,7 +177,8 @@ public class DGeneratingDHParameters extends JEscDialog {
     /**
      * Generates the DH Parameters.
      * <p>
-     * Identifies a safe prime using the Bouncy Castle provider.
+     * Takes parameters of the selected size from the cache or searches a safe
+     * prime on all cores.
      * <p>
      * The parameters are then encoded in DER.
      */
@@ -194,26 +186,16 @@ public class DGeneratingDHParameters extends JEscDialog {
         @Override
         public void run() {
             try {
-                AlgorithmParameterGenerator algGen = AlgorithmParameterGenerator.getInstance("DH", KSE.BC);
-                algGen.init(keySize, new SecureRandom());
-                AlgorithmParameters dhParams = algGen.generateParameters();
-                DHParameterSpec dhSpec = dhParams.getParameterSpec(DHParameterSpec.class);
-
-                // Generator G is set as random in params, but it has to be 2 to conform to
-                // openssl
-                DHParameters realParams = new DHParameters(dhSpec.getP(), BigInteger.valueOf(2));
-                // Add DH Params to ASN.1 Encoding vector
-                ASN1EncodableVector vec = new ASN1EncodableVector();
-                vec.add(new ASN1Integer(realParams.getP()));
-                vec.add(new ASN1Integer(realParams.getG()));
-                // Add DER Encoding to byte array
-                dhParameters = new DERSequence(vec).getEncoded(ASN1Encoding.DER);
+                DHParameters params = DHParametersUtil.generateDHParameters(keySize);
+                dhParameters = DHParametersUtil.getEncoded(params);
 
                 SwingUtilities.invokeLater(() -> {
                     if (DGeneratingDHParameters.this.isShowing()) {
                         closeDialog();
                     }
                 });
+            } catch (InterruptedException ex) {
+                // Cancelled by the user, the parallel search has been stopped
             } catch (final Exception ex) {
                 SwingUtilities.invokeLater(() -> {
                     if (DGeneratingDHParameters.this.isShowing()) {
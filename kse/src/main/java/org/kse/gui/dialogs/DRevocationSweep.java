@@ -0,0 +1,220 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs;
+
+import java.awt.Container;
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.security.KeyStore;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.RowSorter;
+import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableRowSorter;
+
+import org.kse.crypto.revocation.RevocationSweep;
+import org.kse.gui.CursorUtil;
+import org.kse.gui.JKseTable;
+import org.kse.gui.PlatformUtil;
+import org.kse.gui.actions.ExportCsvAction;
+import org.kse.gui.components.JEscDialog;
+import org.kse.gui.error.DError;
+
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Dialog that checks the chain, revocation status and expiry of all certificates of a KeyStore and shows the
+ * results in a sortable table as they come in. The results can be exported as CSV.
+ * <p>
+ * Closing the dialog stops the check.
+ */
+public class DRevocationSweep extends JEscDialog {
+    private static final long serialVersionUID = 1L;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
+
+    private JLabel jlStatus;
+    private JKseTable jtResults;
+    private JScrollPane jspResults;
+    private JButton jbExport;
+    private JButton jbClose;
+
+    private final JFrame parent;
+    private final String name;
+    private final KeyStore keyStore;
+    private RevocationSweepTableModel resultsModel;
+    private Thread sweeper;
+
+    /**
+     * Creates a new DRevocationSweep dialog and starts the check.
+     *
+     * @param parent   The parent frame
+     * @param name     The KeyStore name
+     * @param keyStore The KeyStore to check
+     */
+    public DRevocationSweep(JFrame parent, String name, KeyStore keyStore) {
+        super(parent, MessageFormat.format(res.getString("DRevocationSweep.Title"), name),
+              Dialog.ModalityType.DOCUMENT_MODAL);
+        this.parent = parent;
+        this.name = name;
+        this.keyStore = keyStore;
+        initComponents();
+        startSweep();
+    }
+
+    private void initComponents() {
+        jlStatus = new JLabel(MessageFormat.format(res.getString("DRevocationSweep.jlStatus.running.text"), 0));
+
+        resultsModel = new RevocationSweepTableModel();
+
+        jtResults = new JKseTable(resultsModel);
+        jtResults.setRowMargin(0);
+        jtResults.getColumnModel().setColumnMargin(0);
+        jtResults.getTableHeader().setReorderingAllowed(false);
+        jtResults.setAutoResizeMode(JKseTable.AUTO_RESIZE_OFF);
+
+        RowSorter<RevocationSweepTableModel> sorter = new TableRowSorter<>(resultsModel);
+        jtResults.setRowSorter(sorter);
+
+        for (int i = 0; i < jtResults.getColumnCount(); i++) {
+            jtResults.getColumnModel().getColumn(i).setPreferredWidth(150);
+        }
+        jtResults.getColumnModel().getColumn(RevocationSweepTableModel.COL_SUBJECT).setPreferredWidth(250);
+        jtResults.getColumnModel().getColumn(RevocationSweepTableModel.COL_DETAILS).setPreferredWidth(350);
+
+        jspResults = PlatformUtil.createScrollPane(jtResults, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                                                   ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        jspResults.getViewport().setBackground(jtResults.getBackground());
+        jspResults.setPreferredSize(new Dimension(800, 400));
+
+        jbExport = new JButton(res.getString("DRevocationSweep.jbExport.text"));
+        jbExport.setToolTipText(res.getString("DRevocationSweep.jbExport.tooltip"));
+        PlatformUtil.setMnemonic(jbExport, res.getString("DRevocationSweep.jbExport.mnemonic").charAt(0));
+        jbExport.setEnabled(false);
+
+        jbClose = new JButton(res.getString("DRevocationSweep.jbClose.text"));
+
+        // layout
+        Container pane = getContentPane();
+        pane.setLayout(new MigLayout("insets dialog, fill", "[grow]", "[][grow]unrel[]"));
+        pane.add(jlStatus, "wrap");
+        pane.add(jspResults, "grow, wrap");
+        pane.add(jbExport, "right, split");
+        pane.add(jbClose, "tag cancel");
+
+        jbExport.addActionListener(evt -> {
+            try {
+                CursorUtil.setCursorBusy(DRevocationSweep.this);
+                exportPressed();
+            } finally {
+                CursorUtil.setCursorFree(DRevocationSweep.this);
+            }
+        });
+
+        jbClose.addActionListener(evt -> closeDialog());
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent evt) {
+                closeDialog();
+            }
+        });
+
+        setResizable(true);
+
+        getRootPane().setDefaultButton(jbClose);
+
+        pack();
+    }
+
+    private void startSweep() {
+        sweeper = new Thread(() -> {
+            try {
+                RevocationSweep sweep = new RevocationSweep();
+
+                RevocationSweep.Summary summary = sweep.sweep(keyStore, result -> SwingUtilities.invokeLater(() -> {
+                    resultsModel.addResult(result);
+                    jlStatus.setText(MessageFormat.format(res.getString("DRevocationSweep.jlStatus.running.text"),
+                                                          resultsModel.getRowCount()));
+                }));
+
+                SwingUtilities.invokeLater(() -> sweepFinished(summary));
+            } catch (InterruptedException ex) {
+                // dialog closed
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (isDisplayable()) {
+                        DError.displayError(this, ex);
+                    }
+                });
+            }
+        }, "kse-revocation-sweep-dialog");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    private void sweepFinished(RevocationSweep.Summary summary) {
+        jlStatus.setText(MessageFormat.format(res.getString("DRevocationSweep.jlStatus.done.text"),
+                                              summary.getTotal(), summary.getIssuers(), summary.getElapsed(),
+                                              summary.getCount(RevocationSweep.RevocationStatus.REVOKED),
+                                              summary.getCount(RevocationSweep.RevocationStatus.FAILED),
+                                              summary.getCount(RevocationSweep.ExpiryStatus.EXPIRED),
+                                              summary.getCount(RevocationSweep.ExpiryStatus.EXPIRING)));
+        jbExport.setEnabled(true);
+    }
+
+    private void exportPressed() {
+        DExportCsv dExportCsv = new DExportCsv(parent, name);
+        dExportCsv.setLocationRelativeTo(this);
+        dExportCsv.setVisible(true);
+
+        if (!dExportCsv.exportSelected()) {
+            return;
+        }
+
+        try {
+            ExportCsvAction.exportTable(jtResults, dExportCsv.getExportFile());
+        } catch (Exception ex) {
+            DError.displayError(this, ex);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // also reached by the escape key
+        if (sweeper != null && sweeper.isAlive()) {
+            sweeper.interrupt();
+        }
+        super.dispose();
+    }
+
+    private void closeDialog() {
+        setVisible(false);
+        dispose();
+    }
+}
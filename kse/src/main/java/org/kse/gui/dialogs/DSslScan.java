@@ -0,0 +1,296 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs;
+
+import java.awt.Container;
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.RowSorter;
+import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableRowSorter;
+
+import org.kse.gui.CursorUtil;
+import org.kse.gui.JKseTable;
+import org.kse.gui.KseFrame;
+import org.kse.gui.PlatformUtil;
+import org.kse.gui.actions.ExportCsvAction;
+import org.kse.gui.components.JEscDialog;
+import org.kse.gui.error.DError;
+import org.kse.utilities.ssl.SslScanner;
+
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Dialog that examines the TLS connections of many endpoints at once and shows the protocol, cipher suite and server
+ * certificate of each endpoint in a sortable table as they come in. The server certificates of an endpoint can be
+ * viewed and the results can be exported as CSV.
+ * <p>
+ * Closing the dialog stops the scan.
+ */
+public class DSslScan extends JEscDialog {
+    private static final long serialVersionUID = 1L;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
+
+    private JLabel jlStatus;
+    private JKseTable jtResults;
+    private JScrollPane jspResults;
+    private JButton jbCertificates;
+    private JButton jbExport;
+    private JButton jbClose;
+
+    private final JFrame parent;
+    private final KseFrame kseFrame;
+    private final List<InetSocketAddress> endpoints;
+    private final KeyStore keyStore;
+    private final char[] password;
+    private SslScanTableModel resultsModel;
+    private Thread scanner;
+
+    /**
+     * Creates a new DSslScan dialog and starts the scan.
+     *
+     * @param parent    The parent frame
+     * @param endpoints The endpoints to examine
+     * @param keyStore  KeyStore with a key pair for SSL client authentication, null for none
+     * @param password  The password for the KeyStore
+     * @param kseFrame  KeyStore Explorer frame
+     */
+    public DSslScan(JFrame parent, List<InetSocketAddress> endpoints, KeyStore keyStore, char[] password,
+                    KseFrame kseFrame) {
+        super(parent, MessageFormat.format(res.getString("DSslScan.Title"), endpoints.size()),
+              Dialog.ModalityType.DOCUMENT_MODAL);
+        this.parent = parent;
+        this.kseFrame = kseFrame;
+        this.endpoints = endpoints;
+        this.keyStore = keyStore;
+        this.password = password;
+        initComponents();
+        startScan();
+    }
+
+    private void initComponents() {
+        jlStatus = new JLabel(MessageFormat.format(res.getString("DSslScan.jlStatus.running.text"), 0,
+                                                   endpoints.size()));
+
+        resultsModel = new SslScanTableModel();
+
+        jtResults = new JKseTable(resultsModel);
+        jtResults.setRowMargin(0);
+        jtResults.getColumnModel().setColumnMargin(0);
+        jtResults.getTableHeader().setReorderingAllowed(false);
+        jtResults.setAutoResizeMode(JKseTable.AUTO_RESIZE_OFF);
+        jtResults.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        RowSorter<SslScanTableModel> sorter = new TableRowSorter<>(resultsModel);
+        jtResults.setRowSorter(sorter);
+
+        for (int i = 0; i < jtResults.getColumnCount(); i++) {
+            jtResults.getColumnModel().getColumn(i).setPreferredWidth(150);
+        }
+        jtResults.getColumnModel().getColumn(SslScanTableModel.COL_PORT).setPreferredWidth(60);
+        jtResults.getColumnModel().getColumn(SslScanTableModel.COL_CIPHER_SUITE).setPreferredWidth(250);
+        jtResults.getColumnModel().getColumn(SslScanTableModel.COL_SUBJECT).setPreferredWidth(250);
+        jtResults.getColumnModel().getColumn(SslScanTableModel.COL_TIME).setPreferredWidth(80);
+        jtResults.getColumnModel().getColumn(SslScanTableModel.COL_ERROR).setPreferredWidth(300);
+
+        jspResults = PlatformUtil.createScrollPane(jtResults, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                                                   ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        jspResults.getViewport().setBackground(jtResults.getBackground());
+        jspResults.setPreferredSize(new Dimension(900, 400));
+
+        jbCertificates = new JButton(res.getString("DSslScan.jbCertificates.text"));
+        jbCertificates.setToolTipText(res.getString("DSslScan.jbCertificates.tooltip"));
+        PlatformUtil.setMnemonic(jbCertificates, res.getString("DSslScan.jbCertificates.mnemonic").charAt(0));
+        jbCertificates.setEnabled(false);
+
+        jbExport = new JButton(res.getString("DSslScan.jbExport.text"));
+        jbExport.setToolTipText(res.getString("DSslScan.jbExport.tooltip"));
+        PlatformUtil.setMnemonic(jbExport, res.getString("DSslScan.jbExport.mnemonic").charAt(0));
+        jbExport.setEnabled(false);
+
+        jbClose = new JButton(res.getString("DSslScan.jbClose.text"));
+
+        // layout
+        Container pane = getContentPane();
+        pane.setLayout(new MigLayout("insets dialog, fill", "[grow]", "[][grow]unrel[]"));
+        pane.add(jlStatus, "wrap");
+        pane.add(jspResults, "grow, wrap");
+        pane.add(jbCertificates, "split");
+        pane.add(jbExport, "gapbefore push");
+        pane.add(jbClose, "tag cancel");
+
+        jtResults.getSelectionModel().addListSelectionListener(evt -> {
+            if (!evt.getValueIsAdjusting()) {
+                jbCertificates.setEnabled(getSelectedResult() != null);
+            }
+        });
+
+        jtResults.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent evt) {
+                if (evt.getClickCount() > 1 && getSelectedResult() != null) {
+                    certificatesPressed();
+                }
+            }
+        });
+
+        jbCertificates.addActionListener(evt -> {
+            try {
+                CursorUtil.setCursorBusy(DSslScan.this);
+                certificatesPressed();
+            } finally {
+                CursorUtil.setCursorFree(DSslScan.this);
+            }
+        });
+
+        jbExport.addActionListener(evt -> {
+            try {
+                CursorUtil.setCursorBusy(DSslScan.this);
+                exportPressed();
+            } finally {
+                CursorUtil.setCursorFree(DSslScan.this);
+            }
+        });
+
+        jbClose.addActionListener(evt -> closeDialog());
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent evt) {
+                closeDialog();
+            }
+        });
+
+        setResizable(true);
+
+        getRootPane().setDefaultButton(jbClose);
+
+        pack();
+    }
+
+    private void startScan() {
+        scanner = new Thread(() -> {
+            try {
+                SslScanner sslScanner = new SslScanner();
+                sslScanner.setClientAuth(keyStore, password);
+
+                SslScanner.Summary summary = sslScanner.scan(endpoints, result -> SwingUtilities.invokeLater(() -> {
+                    resultsModel.addResult(result);
+                    jlStatus.setText(MessageFormat.format(res.getString("DSslScan.jlStatus.running.text"),
+                                                          resultsModel.getRowCount(), endpoints.size()));
+                }));
+
+                SwingUtilities.invokeLater(() -> scanFinished(summary));
+            } catch (InterruptedException ex) {
+                // dialog closed
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (isDisplayable()) {
+                        DError.displayError(this, ex);
+                    }
+                });
+            }
+        }, "kse-ssl-scan-dialog");
+        scanner.setDaemon(true);
+        scanner.start();
+    }
+
+    private void scanFinished(SslScanner.Summary summary) {
+        jlStatus.setText(MessageFormat.format(res.getString("DSslScan.jlStatus.done.text"), summary.getTotal(),
+                                              summary.getElapsed(), summary.getFailed()));
+        jbExport.setEnabled(true);
+    }
+
+    private SslScanner.Result getSelectedResult() {
+        int row = jtResults.getSelectedRow();
+        if (row < 0) {
+            return null;
+        }
+
+        SslScanner.Result result = resultsModel.getResult(jtResults.convertRowIndexToModel(row));
+        return (SslScanTableModel.getServerCertificate(result) != null) ? result : null;
+    }
+
+    private void certificatesPressed() {
+        SslScanner.Result result = getSelectedResult();
+        if (result == null) {
+            return;
+        }
+
+        try {
+            InetSocketAddress endpoint = result.getEndpoint();
+            DViewCertificate dViewCertificate = new DViewCertificate(this, MessageFormat.format(
+                    res.getString("DSslScan.CertDetails.Title"), endpoint.getHostString(),
+                    Integer.toString(endpoint.getPort())), result.getSslConnectionInfos().getServerCertificates(),
+                                                                     kseFrame, DViewCertificate.IMPORT_EXPORT);
+            dViewCertificate.setLocationRelativeTo(this);
+            dViewCertificate.setVisible(true);
+        } catch (Exception ex) {
+            DError.displayError(this, ex);
+        }
+    }
+
+    private void exportPressed() {
+        DExportCsv dExportCsv = new DExportCsv(parent, res.getString("DSslScan.ExportName"));
+        dExportCsv.setLocationRelativeTo(this);
+        dExportCsv.setVisible(true);
+
+        if (!dExportCsv.exportSelected()) {
+            return;
+        }
+
+        try {
+            ExportCsvAction.exportTable(jtResults, dExportCsv.getExportFile());
+        } catch (Exception ex) {
+            DError.displayError(this, ex);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // also reached by the escape key
+        if (scanner != null && scanner.isAlive()) {
+            scanner.interrupt();
+        }
+        super.dispose();
+    }
+
+    private void closeDialog() {
+        setVisible(false);
+        dispose();
+    }
+}
@@ -241,9 +241,13 @@ public class DVerifyCertificate extends JEscDialog {
 
         jbLoadKeystore.addActionListener(evt -> {
             OpenAction openAction = new OpenAction(kseFrame);
+
+            // the KeyStore is loaded in the background, refresh the list once it has been added
+            openAction.setOpenedListener(history -> {
+                updateVerifyControls();
+                pack();
+            });
             openAction.actionPerformed(evt);
-            updateVerifyControls();
-            pack();
         });
 
         addWindowListener(new WindowAdapter() {
@@ -30,7 +30,7 @@ import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.security.cert.X509CRL;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
 import java.util.ResourceBundle;
 
@@ -38,11 +38,17 @@ import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
 import javax.swing.JTextArea;
+import javax.swing.JTree;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import javax.swing.tree.TreeSelectionModel;
 
+import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.cms.SignerInfo;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.pkcs.PKCS10CertificationRequest;
@@ -52,12 +58,18 @@ import org.kse.gui.CursorUtil;
 import org.kse.gui.components.JEscFrame;
 import org.kse.gui.LnfUtil;
 import org.kse.gui.PlatformUtil;
+import org.kse.gui.error.DError;
 import org.kse.utilities.asn1.Asn1Dump;
+import org.kse.utilities.asn1.Asn1Element;
 import org.kse.utilities.asn1.Asn1Exception;
 
 /**
  * Displays an ASN.1 dump of the supplied object: an X.509 certificate, private
  * key, public key, CRL, Extension, or CMS.
+ * <p>
+ * The object is shown as a tree whose nodes are decoded when they are expanded,
+ * so that large objects open at once. The dump of the selected primitive
+ * element is shown below the tree.
  */
 public class DViewAsn1Dump extends JEscFrame {
     private static final long serialVersionUID = 1L;
@@ -68,11 +80,16 @@ public class DViewAsn1Dump extends JEscFrame {
     private JButton jbCopy;
     private JButton jbOK;
     private JPanel jpAsn1Dump;
-    private JScrollPane jspAsn1Dump;
-    private JTextArea jtaAsn1Dump;
+    private JSplitPane jspAsn1Dump;
+    private JScrollPane jspAsn1Tree;
+    private JTree jtrAsn1Dump;
+    private JScrollPane jspAsn1Element;
+    private JTextArea jtaAsn1Element;
+
+    private byte[] encoded;
 
     private X509Certificate certificate;
-    private X509CRL crl;
+    private byte[] encodedCrl;
     private X509Ext extension;
     private PrivateKey privateKey;
     private PublicKey publicKey;
@@ -99,14 +116,14 @@ public class DViewAsn1Dump extends JEscFrame {
     /**
      * Creates new DViewAsn1Dump dialog where the parent is a dialog.
      *
-     * @param parent Parent dialog
-     * @param crl    CRL to display dump for
+     * @param parent     Parent dialog
+     * @param encodedCrl DER encoded CRL to display dump for
      * @throws Asn1Exception A problem was encountered getting the extension's ASN.1 dump
      * @throws IOException   If an I/O problem occurred
      */
-    public DViewAsn1Dump(JDialog parent, X509CRL crl) throws Asn1Exception, IOException {
+    public DViewAsn1Dump(JDialog parent, byte[] encodedCrl) throws Asn1Exception, IOException {
         super(res.getString("DViewAsn1Dump.Crl.Title"));
-        this.crl = crl;
+        this.encodedCrl = encodedCrl;
         this.setIconImages(parent.getOwner().getIconImages());
         initComponents();
     }
@@ -240,37 +257,39 @@ public class DViewAsn1Dump extends JEscFrame {
         jpAsn1Dump = new JPanel(new BorderLayout());
         jpAsn1Dump.setBorder(new EmptyBorder(5, 5, 5, 5));
 
-        Asn1Dump asn1Dump = new Asn1Dump();
-
-        if (certificate != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(certificate));
-        } else if (cms != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(cms.getEncoded()));
-        } else if (crl != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(crl));
-        } else if (extension != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(extension));
-        } else if (privateKey != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(privateKey));
-        } else if (publicKey != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(publicKey));
-        } else if (pkcs10Csr != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(pkcs10Csr.getEncoded()));
-        } else if (signerInfo != null) {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(signerInfo.getEncoded()));
-        } else {
-            jtaAsn1Dump = new JTextArea(asn1Dump.dump(spkac.getEncoded()));
-        }
+        encoded = getEncoded();
+
+        Font font = new Font(Font.MONOSPACED, Font.PLAIN, LnfUtil.getDefaultFontSize());
+
+        jtrAsn1Dump = new JTree(new DefaultTreeModel(new Asn1TreeNode(null, Asn1Element.parse(encoded))));
+        jtrAsn1Dump.setFont(font);
+        jtrAsn1Dump.setRowHeight(0);
+        jtrAsn1Dump.getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
+        jtrAsn1Dump.addTreeSelectionListener(evt -> {
+            try {
+                CursorUtil.setCursorBusy(DViewAsn1Dump.this);
+                elementSelection();
+            } finally {
+                CursorUtil.setCursorFree(DViewAsn1Dump.this);
+            }
+        });
+
+        jspAsn1Tree = PlatformUtil.createScrollPane(jtrAsn1Dump, ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
+                                                    ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-        jtaAsn1Dump.setCaretPosition(0);
-        jtaAsn1Dump.setEditable(false);
-        jtaAsn1Dump.setFont(new Font(Font.MONOSPACED, Font.PLAIN, LnfUtil.getDefaultFontSize()));
+        jtaAsn1Element = new JTextArea();
+        jtaAsn1Element.setEditable(false);
+        jtaAsn1Element.setFont(font);
         // JGoodies - keep uneditable color same as editable
-        jtaAsn1Dump.putClientProperty("JTextArea.infoBackground", Boolean.TRUE);
+        jtaAsn1Element.putClientProperty("JTextArea.infoBackground", Boolean.TRUE);
+
+        jspAsn1Element = PlatformUtil.createScrollPane(jtaAsn1Element,
+                                                       ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                                                       ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-        jspAsn1Dump = PlatformUtil.createScrollPane(jtaAsn1Dump, ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
-                                                    ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
-        jspAsn1Dump.setPreferredSize(new Dimension(800, 400));
+        jspAsn1Dump = new JSplitPane(JSplitPane.VERTICAL_SPLIT, jspAsn1Tree, jspAsn1Element);
+        jspAsn1Dump.setResizeWeight(0.8);
+        jspAsn1Dump.setPreferredSize(new Dimension(800, 500));
         jpAsn1Dump.add(jspAsn1Dump, BorderLayout.CENTER);
 
         getContentPane().add(jpAsn1Dump, BorderLayout.CENTER);
@@ -289,14 +308,72 @@ public class DViewAsn1Dump extends JEscFrame {
 
         pack();
 
+        jtrAsn1Dump.expandRow(0);
+
         SwingUtilities.invokeLater(() -> jbOK.requestFocus());
     }
 
+    private byte[] getEncoded() throws Asn1Exception, IOException {
+        try {
+            if (certificate != null) {
+                return certificate.getEncoded();
+            } else if (cms != null) {
+                return cms.getEncoded();
+            } else if (encodedCrl != null) {
+                return encodedCrl;
+            } else if (extension != null) {
+                return ASN1OctetString.getInstance(extension.getValue()).getOctets();
+            } else if (privateKey != null) {
+                return privateKey.getEncoded();
+            } else if (publicKey != null) {
+                return publicKey.getEncoded();
+            } else if (pkcs10Csr != null) {
+                return pkcs10Csr.getEncoded();
+            } else if (signerInfo != null) {
+                return signerInfo.getEncoded();
+            } else {
+                return spkac.getEncoded();
+            }
+        } catch (CertificateEncodingException ex) {
+            throw new Asn1Exception(res.getString("DViewAsn1Dump.NoEncoding.message"), ex);
+        }
+    }
+
+    private void elementSelection() {
+        TreePath path = jtrAsn1Dump.getSelectionPath();
+        jtaAsn1Element.setText("");
+
+        if (path == null) {
+            return;
+        }
+
+        // the dump of a constructed element is in the tree already and may be large
+        Asn1Element element = ((Asn1TreeNode) path.getLastPathComponent()).getElement();
+        if (element.isLeaf()) {
+            StringBuilder sb = new StringBuilder();
+            try {
+                element.dump(sb);
+            } catch (Asn1Exception | IOException ex) {
+                // e.g. an element type that Asn1Dump does not know, the label shows its contents
+                sb.setLength(0);
+                sb.append(element.getLabel());
+            }
+            jtaAsn1Element.setText(sb.toString());
+            jtaAsn1Element.setCaretPosition(0);
+        }
+    }
+
     private void copyPressed() {
-        String policy = jtaAsn1Dump.getText();
+        StringBuilder sb = new StringBuilder();
+        try {
+            new Asn1Dump().dump(encoded, sb);
+        } catch (Asn1Exception | IOException ex) {
+            DError.displayError(this, ex);
+            return;
+        }
 
         Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
-        StringSelection copy = new StringSelection(policy);
+        StringSelection copy = new StringSelection(sb.toString());
         clipboard.setContents(copy, copy);
     }
 
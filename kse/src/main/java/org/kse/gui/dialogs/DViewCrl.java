@@ -30,13 +30,9 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.math.BigInteger;
-import java.security.cert.X509CRL;
-import java.security.cert.X509CRLEntry;
 import java.text.MessageFormat;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.ResourceBundle;
-import java.util.Set;
 
 import javax.swing.JButton;
 import javax.swing.JDialog;
@@ -47,15 +43,20 @@ import javax.swing.JSeparator;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
-import javax.swing.RowSorter;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.TableColumn;
-import javax.swing.table.TableRowSorter;
 
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlEntryIndex;
 import org.kse.crypto.signing.SignatureType;
-import org.kse.crypto.x509.X500NameUtils;
-import org.kse.crypto.x509.X509CertUtil;
+import org.kse.crypto.x509.X509ExtensionSet;
 import org.kse.gui.CursorUtil;
 import org.kse.gui.components.JEscDialog;
 import org.kse.gui.PlatformUtil;
@@ -90,22 +91,30 @@ public class DViewCrl extends JEscDialog {
     private JButton jbCrlExtensions;
     private JButton jbCrlAsn1;
     private JLabel jlRevokedCerts;
+    private JLabel jlSerialFilter;
+    private JTextField jtfSerialFilter;
+    private Timer filterTimer;
     private JScrollPane jspRevokedCertsTable;
     private JTable jtRevokedCerts;
     private JButton jbCrlEntryExtensions;
 
-    private X509CRL crl;
+    // only the encoding and the offsets of its entries are kept, so that large CRLs are not decoded
+    private byte[] encoded;
+    private CrlEntryIndex.Header header;
+    private CrlEntryIndex index;
 
     /**
      * Creates a new DViewCrl dialog.
      *
-     * @param parent Parent frame
-     * @param title  The dialog title
-     * @param crl    CRL to display
+     * @param parent  Parent frame
+     * @param title   The dialog title
+     * @param encoded DER encoded CRL to display, see {@link CrlEntryIndex#toDer(byte[])}
+     * @throws CryptoException If the CRL could not be read
      */
-    public DViewCrl(JFrame parent, String title, X509CRL crl) {
+    public DViewCrl(JFrame parent, String title, byte[] encoded) throws CryptoException {
         super(parent, title, Dialog.ModalityType.DOCUMENT_MODAL);
-        this.crl = crl;
+        this.encoded = encoded;
+        this.header = CrlEntryIndex.readHeader(encoded);
         initComponents();
     }
 
@@ -115,11 +124,14 @@ public class DViewCrl extends JEscDialog {
      * @param parent   Parent dialog
      * @param title    The dialog title
      * @param modality Dialog modality
-     * @param crl      CRL to display
+     * @param encoded  DER encoded CRL to display, see {@link CrlEntryIndex#toDer(byte[])}
+     * @throws CryptoException If the CRL could not be read
      */
-    public DViewCrl(JDialog parent, String title, Dialog.ModalityType modality, X509CRL crl) {
+    public DViewCrl(JDialog parent, String title, Dialog.ModalityType modality, byte[] encoded)
+            throws CryptoException {
         super(parent, title, modality);
-        this.crl = crl;
+        this.encoded = encoded;
+        this.header = CrlEntryIndex.readHeader(encoded);
         initComponents();
     }
 
@@ -179,16 +191,42 @@ public class DViewCrl extends JEscDialog {
             }
         });
 
-        jlRevokedCerts = new JLabel(MessageFormat.format(res.getString("DViewCrl.jlRevokedCerts.text"),
-                                                         getCrlEntrySize()));
+        jlRevokedCerts = new JLabel();
+
+        // searching millions of serial numbers takes a moment, so wait until the user stops typing
+        filterTimer = new Timer(300, evt -> filterPressed());
+        filterTimer.setRepeats(false);
+
+        jlSerialFilter = new JLabel(res.getString("DViewCrl.jlSerialFilter.text"));
+
+        jtfSerialFilter = new JTextField(20);
+        jtfSerialFilter.setToolTipText(res.getString("DViewCrl.jtfSerialFilter.tooltip"));
+        jtfSerialFilter.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent evt) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent evt) {
+                filterTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent evt) {
+                filterTimer.restart();
+            }
+        });
+        jtfSerialFilter.addActionListener(evt -> {
+            filterTimer.stop();
+            filterPressed();
+        });
 
         RevokedCertsTableModel rcModel = new RevokedCertsTableModel();
 
+        // rows are served on demand in serial number order, a row sorter would decode all of them
         jtRevokedCerts = new JTable(rcModel);
 
-        RowSorter<RevokedCertsTableModel> sorter = new TableRowSorter<>(rcModel);
-        jtRevokedCerts.setRowSorter(sorter);
-
         jtRevokedCerts.setShowGrid(false);
         jtRevokedCerts.setRowMargin(0);
         jtRevokedCerts.getColumnModel().setColumnMargin(0);
@@ -266,7 +304,9 @@ public class DViewCrl extends JEscDialog {
         pane.add(jbCrlExtensions, "split, spanx, right");
         pane.add(jbCrlAsn1, "wrap unrel");
         pane.add(new JSeparator(), "spanx, growx, wrap");
-        pane.add(jlRevokedCerts, "split, wrap");
+        pane.add(jlRevokedCerts, "split, spanx");
+        pane.add(jlSerialFilter, "gapleft push");
+        pane.add(jtfSerialFilter, "wrap");
         pane.add(jspRevokedCertsTable, "split, spanx, growx, wrap");
         pane.add(jbCrlEntryExtensions, "split, spanx, right, wrap");
         pane.add(new JSeparator(), "spanx, growx, wrap");
@@ -290,19 +330,11 @@ public class DViewCrl extends JEscDialog {
         SwingUtilities.invokeLater(() -> jbOK.requestFocus());
     }
 
-    private int getCrlEntrySize() {
-        Set<? extends X509CRLEntry> revokedCertificates = crl.getRevokedCertificates();
-        if (revokedCertificates == null) {
-            return 0;
-        }
-        return revokedCertificates.size();
-    }
-
     private void populateDialog() {
         Date currentDate = new Date();
 
-        Date effectiveDate = crl.getThisUpdate();
-        Date updateDate = crl.getNextUpdate();
+        Date effectiveDate = header.getThisUpdate();
+        Date updateDate = header.getNextUpdate();
 
         boolean effective = currentDate.before(effectiveDate);
 
@@ -312,10 +344,10 @@ public class DViewCrl extends JEscDialog {
             updateAvailable = currentDate.after(updateDate);
         }
 
-        jtfVersion.setText(Integer.toString(crl.getVersion()));
+        jtfVersion.setText(Integer.toString(header.getVersion()));
         jtfVersion.setCaretPosition(0);
 
-        jdnIssuer.setDistinguishedName(X500NameUtils.x500PrincipalToX500Name(crl.getIssuerX500Principal()));
+        jdnIssuer.setDistinguishedName(header.getIssuer());
 
         jtfEffectiveDate.setText(StringUtils.formatDate(effectiveDate));
 
@@ -343,50 +375,83 @@ public class DViewCrl extends JEscDialog {
         }
         jtfNextUpdate.setCaretPosition(0);
 
-        SignatureType sigAlg = SignatureType.resolveOid(crl.getSigAlgOID(), crl.getSigAlgParams());
-        String sigAlgName = (sigAlg != null) ? sigAlg.friendly() : crl.getSigAlgName();
+        AlgorithmIdentifier sigAlgId = header.getSignatureAlgorithm();
+        String sigAlgOid = sigAlgId.getAlgorithm().getId();
+        byte[] sigAlgParams = null;
+        if (sigAlgId.getParameters() != null) {
+            try {
+                sigAlgParams = sigAlgId.getParameters().toASN1Primitive().getEncoded();
+            } catch (IOException e) {
+                // resolve the algorithm without its parameters
+            }
+        }
+
+        SignatureType sigAlg = SignatureType.resolveOid(sigAlgOid, sigAlgParams);
+        String sigAlgName = (sigAlg != null) ? sigAlg.friendly() : sigAlgOid;
 
         jtfSignatureAlgorithm.setText(sigAlgName);
         jtfSignatureAlgorithm.setCaretPosition(0);
 
-        Set<?> critExts = crl.getCriticalExtensionOIDs();
-        Set<?> nonCritExts = crl.getNonCriticalExtensionOIDs();
+        Extensions extensions = header.getExtensions();
+        jbCrlExtensions.setEnabled(extensions != null && extensions.getExtensionOIDs().length > 0);
+
+        jlRevokedCerts.setText(res.getString("DViewCrl.jlRevokedCerts.loading.text"));
+        jtfSerialFilter.setEnabled(false);
 
-        jbCrlExtensions.setEnabled(
-                (critExts != null && !critExts.isEmpty()) || (nonCritExts != null && !nonCritExts.isEmpty()));
+        loadRevokedCerts();
+    }
 
-        Set<? extends X509CRLEntry> revokedCertsSet = crl.getRevokedCertificates();
-        if (revokedCertsSet == null) {
-            revokedCertsSet = new HashSet<>();
+    private void loadRevokedCerts() {
+        // indexing a CRL with millions of entries takes a while, so keep it off the event dispatch thread
+        Thread loader = new Thread(() -> {
+            try {
+                CrlEntryIndex crlIndex = CrlEntryIndex.index(encoded);
+                SwingUtilities.invokeLater(() -> revokedCertsLoaded(crlIndex));
+            } catch (CryptoException ex) {
+                SwingUtilities.invokeLater(() -> revokedCertsFailed(ex));
+            }
+        }, "kse-crl-indexer");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void revokedCertsLoaded(CrlEntryIndex crlIndex) {
+        if (!isDisplayable()) {
+            // dialog closed
+            return;
         }
-        X509CRLEntry[] revokedCerts = revokedCertsSet.toArray(new X509CRLEntry[0]);
+
+        index = crlIndex;
+
         RevokedCertsTableModel revokedCertsTableModel = (RevokedCertsTableModel) jtRevokedCerts.getModel();
-        revokedCertsTableModel.load(revokedCerts);
+        revokedCertsTableModel.load(index);
+        jtfSerialFilter.setEnabled(true);
+
+        jlRevokedCerts.setText(MessageFormat.format(res.getString("DViewCrl.jlRevokedCerts.text"),
+                                                    revokedCertsTableModel.getRowCount()));
 
         if (revokedCertsTableModel.getRowCount() > 0) {
             jtRevokedCerts.changeSelection(0, 0, false, false);
         }
     }
 
+    private void revokedCertsFailed(CryptoException ex) {
+        if (!isDisplayable()) {
+            // dialog closed
+            return;
+        }
+
+        jlRevokedCerts.setText(MessageFormat.format(res.getString("DViewCrl.jlRevokedCerts.text"), 0));
+        DError.displayError(this, ex);
+    }
+
     private void crlEntrySelection() {
         int row = jtRevokedCerts.getSelectedRow();
 
         if (row != -1) {
-            BigInteger serialNumber = (BigInteger) jtRevokedCerts.getValueAt(row, 0);
-
-            Set<?> revokedCertsSet = crl.getRevokedCertificates();
-
-            X509CRLEntry x509CrlEntry = null;
+            RevokedCertsTableModel revokedCertsTableModel = (RevokedCertsTableModel) jtRevokedCerts.getModel();
 
-            for (Object o : revokedCertsSet) {
-                X509CRLEntry entry = (X509CRLEntry) o;
-                if (serialNumber.equals(entry.getSerialNumber())) {
-                    x509CrlEntry = entry;
-                    break;
-                }
-            }
-
-            if (x509CrlEntry.hasExtensions()) {
+            if (revokedCertsTableModel.hasExtensions(row)) {
                 jbCrlEntryExtensions.setEnabled(true);
                 return;
             }
@@ -395,15 +460,45 @@ public class DViewCrl extends JEscDialog {
         jbCrlEntryExtensions.setEnabled(false);
     }
 
+    private void filterPressed() {
+        RevokedCertsTableModel revokedCertsTableModel = (RevokedCertsTableModel) jtRevokedCerts.getModel();
+
+        int row = jtRevokedCerts.getSelectedRow();
+        BigInteger selected = (row != -1) ? (BigInteger) jtRevokedCerts.getValueAt(row, 0) : null;
+
+        try {
+            CursorUtil.setCursorBusy(this);
+            revokedCertsTableModel.setFilter(jtfSerialFilter.getText());
+        } finally {
+            CursorUtil.setCursorFree(this);
+        }
+
+        // keep the selected entry if it still matches, otherwise select the first match
+        row = (selected != null) ? revokedCertsTableModel.findRow(selected) : -1;
+        if (row == -1 && revokedCertsTableModel.getRowCount() > 0) {
+            row = 0;
+        }
+
+        if (row != -1) {
+            jtRevokedCerts.changeSelection(row, 0, false, false);
+        } else {
+            jbCrlEntryExtensions.setEnabled(false);
+        }
+    }
+
     private void crlExtensionsPressed() {
-        DViewExtensions dViewExtensions = new DViewExtensions(this, res.getString("DViewCrl.Extensions.Title"), crl);
+        X509ExtensionSet extensions = new X509ExtensionSet(
+                (ASN1Sequence) header.getExtensions().toASN1Primitive());
+
+        DViewExtensions dViewExtensions = new DViewExtensions(this, res.getString("DViewCrl.Extensions.Title"),
+                                                              extensions);
         dViewExtensions.setLocationRelativeTo(this);
         dViewExtensions.setVisible(true);
     }
 
     private void asn1DumpPressed() {
         try {
-            DViewAsn1Dump dViewAsn1Dump = new DViewAsn1Dump(this, crl);
+            DViewAsn1Dump dViewAsn1Dump = new DViewAsn1Dump(this, encoded);
             dViewAsn1Dump.setLocationRelativeTo(this);
             dViewAsn1Dump.setVisible(true);
         } catch (Asn1Exception | IOException e) {
@@ -436,27 +531,22 @@ public class DViewCrl extends JEscDialog {
         int row = jtRevokedCerts.getSelectedRow();
 
         if (row != -1) {
-            BigInteger serialNumber = (BigInteger) jtRevokedCerts.getValueAt(row, 0);
+            RevokedCertsTableModel revokedCertsTableModel = (RevokedCertsTableModel) jtRevokedCerts.getModel();
 
-            Set<?> revokedCertsSet = crl.getRevokedCertificates();
+            if (revokedCertsTableModel.hasExtensions(row)) {
+                try {
+                    Extensions extensions = index.getEntryExtensions(revokedCertsTableModel.getIndexPosition(row));
+                    X509ExtensionSet extensionSet = new X509ExtensionSet((ASN1Sequence) extensions.toASN1Primitive());
 
-            X509CRLEntry x509CrlEntry = null;
+                    String title = res.getString("DViewCrl.EntryExtensions.Title");
 
-            for (Object o : revokedCertsSet) {
-                X509CRLEntry entry = (X509CRLEntry) o;
-                if (serialNumber.equals(entry.getSerialNumber())) {
-                    x509CrlEntry = entry;
-                    break;
+                    DViewExtensions dViewExtensions = new DViewExtensions(this, title, extensionSet);
+                    dViewExtensions.setLocationRelativeTo(this);
+                    dViewExtensions.setVisible(true);
+                } catch (CryptoException ex) {
+                    DError.displayError(this, ex);
                 }
             }
-
-            if (x509CrlEntry.hasExtensions()) {
-                DViewExtensions dViewExtensions = new DViewExtensions(this,
-                                                                      res.getString("DViewCrl.EntryExtensions.Title"),
-                                                                      x509CrlEntry);
-                dViewExtensions.setLocationRelativeTo(this);
-                dViewExtensions.setVisible(true);
-            }
         }
     }
 
@@ -465,6 +555,7 @@ public class DViewCrl extends JEscDialog {
     }
 
     private void closeDialog() {
+        filterTimer.stop();
         setVisible(false);
         dispose();
     }
@@ -486,6 +577,6 @@ public class DViewCrl extends JEscDialog {
                      "NnDBrnJ3rf7k\n" +
                      "-----END X509 CRL-----";
 
-        DialogViewer.run(new DViewCrl(new JFrame(), "CRL", X509CertUtil.loadCRL(crl.getBytes())));
+        DialogViewer.run(new DViewCrl(new JFrame(), "CRL", CrlEntryIndex.toDer(crl.getBytes())));
     }
 }
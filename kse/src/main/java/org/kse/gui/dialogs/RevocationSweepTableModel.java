@@ -0,0 +1,176 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.swing.table.AbstractTableModel;
+
+import org.kse.crypto.revocation.RevocationSweep;
+
+/**
+ * The table model used to display the results of a revocation sweep, rows are added while the sweep is running.
+ */
+public class RevocationSweepTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    static final int COL_ALIAS = 0;
+    static final int COL_SUBJECT = 1;
+    static final int COL_EXPIRY_DATE = 2;
+    static final int COL_EXPIRY = 3;
+    static final int COL_CHAIN = 4;
+    static final int COL_REVOCATION = 5;
+    static final int COL_DETAILS = 6;
+    static final int COL_SOURCE = 7;
+    private static final int COLUMN_COUNT = 8;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
+
+    private String[] columnNames;
+    private List<RevocationSweep.Result> results = new ArrayList<>();
+
+    /**
+     * Construct a new RevocationSweepTableModel.
+     */
+    public RevocationSweepTableModel() {
+        columnNames = new String[COLUMN_COUNT];
+        columnNames[COL_ALIAS] = res.getString("RevocationSweepTableModel.AliasColumn");
+        columnNames[COL_SUBJECT] = res.getString("RevocationSweepTableModel.SubjectColumn");
+        columnNames[COL_EXPIRY_DATE] = res.getString("RevocationSweepTableModel.ExpiryDateColumn");
+        columnNames[COL_EXPIRY] = res.getString("RevocationSweepTableModel.ExpiryColumn");
+        columnNames[COL_CHAIN] = res.getString("RevocationSweepTableModel.ChainColumn");
+        columnNames[COL_REVOCATION] = res.getString("RevocationSweepTableModel.RevocationColumn");
+        columnNames[COL_DETAILS] = res.getString("RevocationSweepTableModel.DetailsColumn");
+        columnNames[COL_SOURCE] = res.getString("RevocationSweepTableModel.SourceColumn");
+    }
+
+    /**
+     * Add the result of an entry.
+     *
+     * @param result The result
+     */
+    public void addResult(RevocationSweep.Result result) {
+        results.add(result);
+        fireTableRowsInserted(results.size() - 1, results.size() - 1);
+    }
+
+    /**
+     * Get the number of columns in the table.
+     *
+     * @return The number of columns
+     */
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Get the number of rows in the table.
+     *
+     * @return The number of rows
+     */
+    @Override
+    public int getRowCount() {
+        return results.size();
+    }
+
+    /**
+     * Get the name of the column at the given position.
+     *
+     * @param col The column position
+     * @return The column name
+     */
+    @Override
+    public String getColumnName(int col) {
+        return columnNames[col];
+    }
+
+    /**
+     * Get the cell value at the given row and column position.
+     *
+     * @param row The row position
+     * @param col The column position
+     * @return The cell value
+     */
+    @Override
+    public Object getValueAt(int row, int col) {
+        RevocationSweep.Result result = results.get(row);
+
+        switch (col) {
+        case COL_ALIAS:
+            return result.getAlias();
+        case COL_SUBJECT:
+            return result.getCertificate().getSubjectX500Principal().getName();
+        case COL_EXPIRY_DATE:
+            return result.getCertificate().getNotAfter();
+        case COL_EXPIRY:
+            return res.getString("RevocationSweepTableModel.ExpiryStatus." + result.getExpiryStatus().name());
+        case COL_CHAIN:
+            return res.getString("RevocationSweepTableModel.ChainStatus." + result.getChainStatus().name());
+        case COL_REVOCATION:
+            return res.getString("RevocationSweepTableModel.RevocationStatus." + result.getRevocationStatus().name());
+        case COL_DETAILS:
+            return getDetails(result);
+        case COL_SOURCE:
+        default:
+            return (result.getRevocationSource() != null) ? result.getRevocationSource() : "";
+        }
+    }
+
+    private static String getDetails(RevocationSweep.Result result) {
+        if (result.getChainMessage() != null && result.getRevocationMessage() != null) {
+            return result.getChainMessage() + " " + result.getRevocationMessage();
+        } else if (result.getChainMessage() != null) {
+            return result.getChainMessage();
+        } else if (result.getRevocationMessage() != null) {
+            return result.getRevocationMessage();
+        }
+        return "";
+    }
+
+    /**
+     * Get the class at of the cells at the given column position.
+     *
+     * @param col The column position
+     * @return The column cells' class
+     */
+    @Override
+    public Class<?> getColumnClass(int col) {
+        if (col == COL_EXPIRY_DATE) {
+            return Date.class;
+        }
+        return String.class;
+    }
+
+    /**
+     * Is the cell at the given row and column position editable?
+     *
+     * @param row The row position
+     * @param col The column position
+     * @return True if the cell is editable, false otherwise
+     */
+    @Override
+    public boolean isCellEditable(int row, int col) {
+        return false;
+    }
+}
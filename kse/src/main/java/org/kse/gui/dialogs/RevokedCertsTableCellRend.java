@@ -61,7 +61,7 @@ public class RevokedCertsTableCellRend extends DefaultTableCellRenderer {
                 cell.setText(HexUtil.getHexString((BigInteger) value, "0x", 4, 0));
                 break;
             case RevokedCertsTableModel.COL_REVOCATION_DATE:
-                cell.setText(StringUtils.formatDate((Date) value));
+                cell.setText((value != null) ? StringUtils.formatDate((Date) value) : "");
                 break;
             case RevokedCertsTableModel.COL_REASON:
                 cell.setText((String) value);
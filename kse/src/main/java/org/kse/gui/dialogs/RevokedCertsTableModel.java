@@ -23,19 +23,27 @@ package org.kse.gui.dialogs;
 import java.math.BigInteger;
 import java.security.cert.CRLReason;
 import java.security.cert.X509CRLEntry;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.TreeMap;
 
 import javax.swing.table.AbstractTableModel;
 
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlEntryIndex;
 import org.kse.gui.dialogs.sign.RevokedEntry;
 
 /**
  * The table model used to display an array of X.509 CRL entries sorted by
  * serial number.
+ * <p>
+ * When loaded with a {@link CrlEntryIndex}, entries are decoded a page at a
+ * time as the table asks for them and only recently displayed pages are kept,
+ * so that CRLs with millions of entries open quickly and with little memory.
  */
 public class RevokedCertsTableModel extends AbstractTableModel {
     private static final long serialVersionUID = 1L;
@@ -45,12 +53,20 @@ public class RevokedCertsTableModel extends AbstractTableModel {
     static final int COL_REASON = 2;
     private static final int COLUMN_COUNT = 3;
 
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_PAGES = 64;
+
     private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
     private static ResourceBundle resCryptoX509 = ResourceBundle.getBundle("org/kse/crypto/x509/resources");
 
     private String[] columnNames;
     private Object[][] data;
 
+    private CrlEntryIndex index;
+    // positions in the index of the rows that match the filter, null if no filter is set
+    private int[] rows;
+    private Map<Integer, Object[][]> pages;
+
     /**
      * Construct a new RevokedCertsTableModel.
      */
@@ -63,6 +79,133 @@ public class RevokedCertsTableModel extends AbstractTableModel {
         data = new Object[0][0];
     }
 
+    /**
+     * Load the RevokedCertsTableModel with the indexed entries of a CRL. The
+     * entries are decoded on demand.
+     *
+     * @param index The CRL entries
+     */
+    public void load(CrlEntryIndex index) {
+        this.index = index;
+        rows = null;
+        pages = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+        data = null;
+
+        fireTableDataChanged();
+    }
+
+    /**
+     * Only show the entries whose serial number contains the supplied hex
+     * digits. Only supported if loaded with a CrlEntryIndex.
+     *
+     * @param hex Hex digits, null or empty to show all entries
+     */
+    public void setFilter(String hex) {
+        if (index == null) {
+            return;
+        }
+
+        int[] filtered = null;
+        if (hex != null && !hex.trim().isEmpty()) {
+            filtered = index.search(hex);
+        }
+
+        if (rows != filtered) {
+            rows = filtered;
+            pages.clear();
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Get the row of an entry with the supplied serial number. Only supported
+     * if loaded with a CrlEntryIndex.
+     *
+     * @param serialNumber Serial number
+     * @return The row or -1 if no row shows an entry with this serial number
+     */
+    public int findRow(BigInteger serialNumber) {
+        if (index == null) {
+            return -1;
+        }
+
+        int position = index.find(serialNumber);
+        if (position == -1 || rows == null) {
+            return position;
+        }
+
+        int row = Arrays.binarySearch(rows, position);
+        return (row >= 0) ? row : -1;
+    }
+
+    /**
+     * Does the entry of the supplied row have extensions?
+     *
+     * @param row The row position
+     * @return True if it has
+     */
+    public boolean hasExtensions(int row) {
+        if (index == null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(getRow(row)[COLUMN_COUNT]);
+    }
+
+    /**
+     * Get the position in the CrlEntryIndex of the entry of the supplied row.
+     * Only supported if loaded with a CrlEntryIndex.
+     *
+     * @param row The row position
+     * @return The position of the entry in serial number order
+     */
+    public int getIndexPosition(int row) {
+        return (rows != null) ? rows[row] : row;
+    }
+
+    private Object[] getRow(int row) {
+        int page = row / PAGE_SIZE;
+        Object[][] pageData = pages.get(page);
+
+        if (pageData == null) {
+            int first = page * PAGE_SIZE;
+            pageData = new Object[Math.min(PAGE_SIZE, getRowCount() - first)][];
+
+            for (int i = 0; i < pageData.length; i++) {
+                pageData[i] = decodeRow((rows != null) ? rows[first + i] : first + i);
+            }
+            pages.put(page, pageData);
+        }
+
+        return pageData[row % PAGE_SIZE];
+    }
+
+    private Object[] decodeRow(int position) {
+        // the extra column tells whether the entry has extensions
+        Object[] row = new Object[COLUMN_COUNT + 1];
+
+        try {
+            CrlEntryIndex.Entry entry = index.getEntry(position);
+            row[COL_SERIAL_NUMBER] = entry.getSerialNumber();
+            row[COL_REVOCATION_DATE] = entry.getRevocationDate();
+            row[COL_REASON] = getReasonString(entry.getReason());
+            row[COLUMN_COUNT] = entry.hasExtensions();
+        } catch (CryptoException ex) {
+            // show what can be read of a malformed entry
+            row[COL_SERIAL_NUMBER] = index.getSerialNumber(position);
+            row[COL_REASON] = "";
+            row[COLUMN_COUNT] = false;
+        }
+
+        return row;
+    }
+
     /**
      * Load the RevokedCertsTableModel with an array of X.509 CRL entries.
      *
@@ -86,6 +229,7 @@ public class RevokedCertsTableModel extends AbstractTableModel {
             data[i][COL_REASON] = getReasonString(x509CrlEntry.getRevocationReason());
         }
 
+        index = null;
         fireTableDataChanged();
     }
 
@@ -105,9 +249,17 @@ public class RevokedCertsTableModel extends AbstractTableModel {
             data[i][COL_REASON] = getReasonString(entry.getReason());
             i++;
         }
+        index = null;
         fireTableDataChanged();
     }
 
+    private String getReasonString(int reason) {
+        if (reason < 0 || reason >= CRLReason.values().length) {
+            return "";
+        }
+        return getReasonString(CRLReason.values()[reason]);
+    }
+
     private String getReasonString(CRLReason reason) {
         String reasonString = "";
         if (reason != null) {
@@ -133,6 +285,9 @@ public class RevokedCertsTableModel extends AbstractTableModel {
      */
     @Override
     public int getRowCount() {
+        if (index != null) {
+            return (rows != null) ? rows.length : index.size();
+        }
         return data.length;
     }
 
@@ -156,6 +311,9 @@ public class RevokedCertsTableModel extends AbstractTableModel {
      */
     @Override
     public Object getValueAt(int row, int col) {
+        if (index != null) {
+            return getRow(row)[col];
+        }
         return data[row][col];
     }
 
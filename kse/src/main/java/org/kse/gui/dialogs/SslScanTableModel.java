@@ -0,0 +1,212 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import javax.swing.table.AbstractTableModel;
+
+import org.kse.utilities.ssl.SslConnectionInfos;
+import org.kse.utilities.ssl.SslScanner;
+
+/**
+ * The table model used to display the results of a TLS scan, rows are added while the scan is running.
+ */
+public class SslScanTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    static final int COL_HOST = 0;
+    static final int COL_PORT = 1;
+    static final int COL_PROTOCOL = 2;
+    static final int COL_CIPHER_SUITE = 3;
+    static final int COL_SUBJECT = 4;
+    static final int COL_EXPIRY_DATE = 5;
+    static final int COL_TIME = 6;
+    static final int COL_ERROR = 7;
+    private static final int COLUMN_COUNT = 8;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/resources");
+
+    private String[] columnNames;
+    private List<SslScanner.Result> results = new ArrayList<>();
+
+    /**
+     * Construct a new SslScanTableModel.
+     */
+    public SslScanTableModel() {
+        columnNames = new String[COLUMN_COUNT];
+        columnNames[COL_HOST] = res.getString("SslScanTableModel.HostColumn");
+        columnNames[COL_PORT] = res.getString("SslScanTableModel.PortColumn");
+        columnNames[COL_PROTOCOL] = res.getString("SslScanTableModel.ProtocolColumn");
+        columnNames[COL_CIPHER_SUITE] = res.getString("SslScanTableModel.CipherSuiteColumn");
+        columnNames[COL_SUBJECT] = res.getString("SslScanTableModel.SubjectColumn");
+        columnNames[COL_EXPIRY_DATE] = res.getString("SslScanTableModel.ExpiryDateColumn");
+        columnNames[COL_TIME] = res.getString("SslScanTableModel.TimeColumn");
+        columnNames[COL_ERROR] = res.getString("SslScanTableModel.ErrorColumn");
+    }
+
+    /**
+     * Add the result of an endpoint.
+     *
+     * @param result The result
+     */
+    public void addResult(SslScanner.Result result) {
+        results.add(result);
+        fireTableRowsInserted(results.size() - 1, results.size() - 1);
+    }
+
+    /**
+     * Get the result of a row.
+     *
+     * @param row The row position
+     * @return The result
+     */
+    public SslScanner.Result getResult(int row) {
+        return results.get(row);
+    }
+
+    /**
+     * Get the number of columns in the table.
+     *
+     * @return The number of columns
+     */
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Get the number of rows in the table.
+     *
+     * @return The number of rows
+     */
+    @Override
+    public int getRowCount() {
+        return results.size();
+    }
+
+    /**
+     * Get the name of the column at the given position.
+     *
+     * @param col The column position
+     * @return The column name
+     */
+    @Override
+    public String getColumnName(int col) {
+        return columnNames[col];
+    }
+
+    /**
+     * Get the cell value at the given row and column position.
+     *
+     * @param row The row position
+     * @param col The column position
+     * @return The cell value
+     */
+    @Override
+    public Object getValueAt(int row, int col) {
+        SslScanner.Result result = results.get(row);
+        SslConnectionInfos sslInfos = result.getSslConnectionInfos();
+        X509Certificate cert = getServerCertificate(result);
+
+        switch (col) {
+        case COL_HOST:
+            return result.getEndpoint().getHostString();
+        case COL_PORT:
+            return result.getEndpoint().getPort();
+        case COL_PROTOCOL:
+            return (sslInfos != null) ? sslInfos.getProtocol() : "";
+        case COL_CIPHER_SUITE:
+            return (sslInfos != null) ? sslInfos.getCipherSuite() : "";
+        case COL_SUBJECT:
+            return (cert != null) ? cert.getSubjectX500Principal().getName() : "";
+        case COL_EXPIRY_DATE:
+            return (cert != null) ? cert.getNotAfter() : null;
+        case COL_TIME:
+            return result.getElapsed();
+        case COL_ERROR:
+        default:
+            return getError(result);
+        }
+    }
+
+    /**
+     * Get the server certificate of a result.
+     *
+     * @param result The result
+     * @return The first certificate of the server's chain or null if there is none
+     */
+    static X509Certificate getServerCertificate(SslScanner.Result result) {
+        SslConnectionInfos sslInfos = result.getSslConnectionInfos();
+        if (sslInfos == null || sslInfos.getServerCertificates() == null ||
+            sslInfos.getServerCertificates().length == 0) {
+            return null;
+        }
+        return sslInfos.getServerCertificates()[0];
+    }
+
+    private static String getError(SslScanner.Result result) {
+        if (result.getError() == null) {
+            return "";
+        }
+
+        Throwable error = result.getError();
+        if (error.getMessage() != null) {
+            return error.getMessage();
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    /**
+     * Get the class at of the cells at the given column position.
+     *
+     * @param col The column position
+     * @return The column cells' class
+     */
+    @Override
+    public Class<?> getColumnClass(int col) {
+        switch (col) {
+        case COL_PORT:
+            return Integer.class;
+        case COL_EXPIRY_DATE:
+            return Date.class;
+        case COL_TIME:
+            return Long.class;
+        default:
+            return String.class;
+        }
+    }
+
+    /**
+     * Is the cell at the given row and column position editable?
+     *
+     * @param row The row position
+     * @param col The column position
+     * @return True if the cell is editable, false otherwise
+     */
+    @Override
+    public boolean isCellEditable(int row, int col) {
+        return false;
+    }
+}
@@ -32,7 +32,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.security.cert.X509Extension;
 import java.text.MessageFormat;
@@ -59,6 +58,7 @@ import javax.swing.table.TableRowSorter;
 import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.crl.CrlEntryIndex;
 import org.kse.crypto.x509.X509CertUtil;
 import org.kse.crypto.x509.X509Ext;
 import org.kse.crypto.x509.X509ExtensionSet;
@@ -387,15 +387,13 @@ public class DViewExtensions extends JEscDialog implements HyperlinkListener {
 			urlConn = (HttpURLConnection) url.openConnection();
 		}
         try (InputStream is = urlConn.getInputStream()) {
-            X509CRL crl = X509CertUtil.loadCRL(IOUtils.toByteArray(is));
-            if (crl != null) {
-                DViewCrl dViewCrl = new DViewCrl(this,
-                                                 MessageFormat.format(res.getString("DViewExtensions.ViewCrl.Title"),
-                                                                      url.toString()), ModalityType.DOCUMENT_MODAL,
-                                                 crl);
-                dViewCrl.setLocationRelativeTo(this);
-                dViewCrl.setVisible(true);
-            }
+            byte[] encoded = CrlEntryIndex.toDer(IOUtils.toByteArray(is));
+            DViewCrl dViewCrl = new DViewCrl(this,
+                                             MessageFormat.format(res.getString("DViewExtensions.ViewCrl.Title"),
+                                                                  url.toString()), ModalityType.DOCUMENT_MODAL,
+                                             encoded);
+            dViewCrl.setLocationRelativeTo(this);
+            dViewCrl.setVisible(true);
         }
     }
 
@@ -408,7 +406,7 @@ public class DViewExtensions extends JEscDialog implements HyperlinkListener {
 			urlConn = (HttpURLConnection) url.openConnection();
 		}
         try (InputStream is = urlConn.getInputStream()) {
-            X509Certificate[] certs = X509CertUtil.loadCertificates(IOUtils.toByteArray(is));
+            X509Certificate[] certs = X509CertUtil.loadCertificates(is);
             if (certs != null && certs.length > 0) {
                 int importExport = kseFrame == null ? DViewCertificate.NONE : DViewCertificate.IMPORT_EXPORT;
                 DViewCertificate dViewCertificate = new DViewCertificate(this,
@@ -151,16 +151,14 @@ public class DListCertificatesKS extends JEscDialog {
 
     private void updateKeyStoreList(ActionEvent evt) {
         OpenAction openAction = new OpenAction(kseFrame);
-        openAction.actionPerformed(evt);
-
-        populate();
-
-        if (openAction.hasNewKeyStoreBeenAdded()) {
-            KeyStoreHistory[] keyStoreHistories = kseFrame.getKeyStoreHistories();
-            jcbKeyStore.setSelectedItem(keyStoreHistories[keyStoreHistories.length - 1]);
-        }
 
-        pack();
+        // the KeyStore is loaded in the background, select it once it has been added
+        openAction.setOpenedListener(history -> {
+            populate();
+            jcbKeyStore.setSelectedItem(history);
+            pack();
+        });
+        openAction.actionPerformed(evt);
     }
 
     private void populate() {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.dialogs.sign;
+
+import java.awt.Container;
+import java.awt.Dialog;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.AbstractAction;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+
+import org.kse.gui.components.JEscDialog;
+import org.kse.utilities.io.ProgressListener;
+
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * <h1>File Signature Progress</h1> Runs a long running operation on a file signature, e.g. signing or verifying a
+ * large file, in a separate thread and shows its progress.
+ * <p>
+ * The user may cancel at any time by pressing the cancel button.
+ *
+ * @param <T> Type of the result of the operation
+ */
+public class DSignFileProgress<T> extends JEscDialog {
+    private static final long serialVersionUID = 1L;
+
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/gui/dialogs/sign/resources");
+
+    private static final String CANCEL_KEY = "CANCEL_KEY";
+
+    private static final int PROGRESS_MAX = 1000;
+
+    /**
+     * An operation that reports its progress.
+     *
+     * @param <T> Type of the result of the operation
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        /**
+         * Run the operation.
+         *
+         * @param listener Listener for the progress of the operation
+         * @return The result
+         * @throws Exception If the operation failed
+         */
+        T run(ProgressListener listener) throws Exception;
+    }
+
+    private JLabel jlProgress;
+    private JProgressBar jpbProgress;
+    private JButton jbCancel;
+
+    private final String message;
+    private final Task<T> task;
+
+    private Thread worker;
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    private volatile int progressValue;
+    private volatile boolean cancelled;
+    private T result;
+    private Exception error;
+
+    /**
+     * Creates a new DSignFileProgress dialog.
+     *
+     * @param parent  The parent frame
+     * @param title   The dialog title
+     * @param message The message shown above the progress bar
+     * @param task    The operation to run
+     */
+    public DSignFileProgress(JFrame parent, String title, String message, Task<T> task) {
+        super(parent, Dialog.ModalityType.DOCUMENT_MODAL);
+        this.message = message;
+        this.task = task;
+        setTitle(title);
+        initComponents();
+    }
+
+    private void initComponents() {
+        jlProgress = new JLabel(message);
+
+        jpbProgress = new JProgressBar(0, PROGRESS_MAX);
+        jpbProgress.setIndeterminate(true);
+
+        jbCancel = new JButton(res.getString("DSignFileProgress.jbCancel.text"));
+        jbCancel.addActionListener(evt -> cancelPressed());
+        jbCancel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), CANCEL_KEY);
+        jbCancel.getActionMap().put(CANCEL_KEY, new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void actionPerformed(ActionEvent evt) {
+                cancelPressed();
+            }
+        });
+
+        Container pane = getContentPane();
+        pane.setLayout(new MigLayout("insets dialog, fill", "[]", "[]unrel"));
+        pane.add(jlProgress, "wrap");
+        pane.add(jpbProgress, "growx, wmin 300lp, wrap");
+        pane.add(jbCancel, "tag Cancel");
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent evt) {
+                cancelPressed();
+            }
+        });
+
+        setResizable(false);
+
+        pack();
+    }
+
+    /**
+     * Start the operation in a separate thread.
+     */
+    public void startTask() {
+        worker = new Thread(this::runTask, "kse-sign-file");
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    /**
+     * Has the operation been cancelled by the user?
+     *
+     * @return True if it was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Get the result of the operation.
+     *
+     * @return The result or null if the operation failed or was cancelled
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * Get the exception the operation failed with.
+     *
+     * @return The exception or null if the operation succeeded or was cancelled
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    private void runTask() {
+        T taskResult = null;
+        Exception taskError = null;
+        try {
+            taskResult = task.run(this::progress);
+        } catch (Exception ex) {
+            taskError = ex;
+        }
+
+        final T finalResult = taskResult;
+        final Exception finalError = taskError;
+        SwingUtilities.invokeLater(() -> {
+            if (!cancelled) {
+                result = finalResult;
+                error = finalError;
+            }
+            closeDialog();
+        });
+    }
+
+    private void progress(long processed, long total) {
+        if (total <= 0) {
+            return;
+        }
+
+        progressValue = (int) (processed * PROGRESS_MAX / total);
+
+        // coalesce updates, the operation may report progress far more often than the bar can be repainted
+        if (updatePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                updatePending.set(false);
+                jpbProgress.setIndeterminate(false);
+                jpbProgress.setValue(progressValue);
+            });
+        }
+    }
+
+    private void cancelPressed() {
+        cancelled = true;
+        if ((worker != null) && (worker.isAlive())) {
+            worker.interrupt();
+        }
+        closeDialog();
+    }
+
+    private void closeDialog() {
+        setVisible(false);
+        dispose();
+    }
+}
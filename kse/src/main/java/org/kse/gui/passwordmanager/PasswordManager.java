@@ -26,16 +26,28 @@ import static org.kse.gui.passwordmanager.EncryptionAlgorithm.AES_GCM;
 import static org.kse.gui.passwordmanager.KeyDerivationAlgorithm.PBKDF2;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
+import javax.swing.SwingUtilities;
 
 import org.kse.crypto.encryption.AES;
+import org.kse.gui.components.JEscFrame;
+import org.kse.gui.error.DError;
 import org.kse.gui.preferences.PreferencesManager;
 import org.kse.gui.preferences.passwordmanager.EncryptedKeyStorePasswordData;
 import org.kse.gui.preferences.passwordmanager.EncryptedKeyStorePasswords;
@@ -46,6 +58,9 @@ import org.kse.utilities.PRNG;
 /**
  * This class is responsible for encrypting and decrypting keystore and keystore entry passwords, storing them and
  * providing them for unlocking keystores and keystore entries.
+ * <p>
+ * Once unlocked, the key that encrypts the passwords is kept in memory, so that saving only re-encrypts the passwords
+ * of keystores that have changed and does not run the key derivation function again.
  */
 public class PasswordManager {
     public static final int KEY_LENGTH_BITS = 256;
@@ -54,11 +69,26 @@ public class PasswordManager {
     public static final int IV_LENGTH_GCM_BYTES = 12;
     public static final int IV_LENGTH_CBC_BYTES = 16;
 
+    // writing the passwords file is serialized, so that an older state never overwrites a newer one
+    private static final ExecutorService SAVER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kse-password-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static PasswordManager INSTANCE;
     private char[] mainPassword;
     private boolean initialized = false;
     private boolean unlocked = false;
-    private List<KeyStorePasswordData> keyStorePasswords = new ArrayList<>();
+    private Map<File, KeyStorePasswordData> keyStorePasswords = new LinkedHashMap<>();
+
+    // key that encrypts the passwords, null until the encrypted key of the configuration has been unwrapped
+    private SecretKey encryptionKey;
+    // keystores whose passwords have changed since they were last encrypted
+    private final Set<File> changedKeyStores = new HashSet<>();
+    // encrypted passwords of the configuration by keystore file, rebuilt after the list of passwords has changed
+    private Map<File, EncryptedKeyStorePasswordData> encryptedIndex;
+    private List<EncryptedKeyStorePasswordData> indexedPasswords;
 
     /**
      * Get singleton instance of PasswordManager
@@ -79,11 +109,21 @@ public class PasswordManager {
      * @param keyStoreFile keystore file path
      * @return True, if password is available
      */
-    public boolean isKeyStorePasswordKnown(File keyStoreFile) {
-        return PreferencesManager.getKeyStorePasswords()
-                                 .getPasswords()
-                                 .stream()
-                                 .anyMatch(d -> d.getKeyStoreFile().equals(keyStoreFile));
+    public synchronized boolean isKeyStorePasswordKnown(File keyStoreFile) {
+        return getEncryptedIndex().containsKey(keyStoreFile);
+    }
+
+    private Map<File, EncryptedKeyStorePasswordData> getEncryptedIndex() {
+        List<EncryptedKeyStorePasswordData> passwords = PreferencesManager.getKeyStorePasswords().getPasswords();
+
+        if (encryptedIndex == null || indexedPasswords != passwords || encryptedIndex.size() != passwords.size()) {
+            encryptedIndex = new HashMap<>();
+            for (EncryptedKeyStorePasswordData data : passwords) {
+                encryptedIndex.putIfAbsent(data.getKeyStoreFile(), data);
+            }
+            indexedPasswords = passwords;
+        }
+        return encryptedIndex;
     }
 
     /**
@@ -93,7 +133,7 @@ public class PasswordManager {
      *
      * @return List of keystore files with passwords stored by the password manager.
      */
-    public List<File> getKnownKeyStorePasswordList() {
+    public synchronized List<File> getKnownKeyStorePasswordList() {
         return PreferencesManager.getKeyStorePasswords()
                                  .getPasswords()
                                  .stream()
@@ -114,8 +154,9 @@ public class PasswordManager {
     /**
      * Initialize password manager (this will create a password file)
      */
-    public void initialize(char[] passwordManagerMainPassword) {
+    public synchronized void initialize(char[] passwordManagerMainPassword) {
         mainPassword = passwordManagerMainPassword.clone();
+        encryptionKey = null;
         initialized = true;
         unlocked = true;
     }
@@ -134,13 +175,27 @@ public class PasswordManager {
      *
      * @param passwordManagerMainPassword The password used to decrypt the keystore passwords
      */
-    public void unlock(char[] passwordManagerMainPassword) {
+    public synchronized void unlock(char[] passwordManagerMainPassword) {
         if (unlocked) return;
         mainPassword = passwordManagerMainPassword.clone();
-        keyStorePasswords = decryptPasswords(PreferencesManager.getKeyStorePasswords(), mainPassword);
+        keyStorePasswords = new LinkedHashMap<>();
+        for (KeyStorePasswordData data : decryptPasswords(PreferencesManager.getKeyStorePasswords(), mainPassword)) {
+            keyStorePasswords.putIfAbsent(data.getKeyStoreFile(), data);
+        }
+        changedKeyStores.clear();
         unlocked = true;
     }
 
+    /**
+     * Returns whether saving only has to encrypt the changed passwords, i.e. the key that encrypts the passwords is
+     * known and does not have to be derived from the main password.
+     *
+     * @return True if the password manager can be saved without running the key derivation function
+     */
+    public synchronized boolean isEncryptionKeyCached() {
+        return encryptionKey != null;
+    }
+
     /**
      * Get copy of current KDF settings from configuration.
      * @return KDF settings
@@ -155,13 +210,10 @@ public class PasswordManager {
      * @param keyStoreFile File name and path of the keystore
      * @return keystore password - if found
      */
-    public Optional<char[]> getKeyStorePassword(File keyStoreFile) {
-        return keyStorePasswords.stream()
-                                .filter(d -> d.getKeyStoreFile().equals(keyStoreFile))
-                                .map(KeyStorePasswordData::getKeyStorePassword)
-                                .filter(Objects::nonNull)
-                                .map(char[]::clone)
-                                .findFirst();
+    public synchronized Optional<char[]> getKeyStorePassword(File keyStoreFile) {
+        return Optional.ofNullable(keyStorePasswords.get(keyStoreFile))
+                       .map(KeyStorePasswordData::getKeyStorePassword)
+                       .map(char[]::clone);
     }
 
     /**
@@ -171,13 +223,10 @@ public class PasswordManager {
      * @param alias Alias of the keystore entry
      * @return keystore entry password - if found
      */
-    public Optional<char[]> getKeyStoreEntryPassword(File keyStoreFile, String alias) {
-        return keyStorePasswords.stream()
-                                .filter(d -> d.getKeyStoreFile().equals(keyStoreFile))
-                                .map(p -> p.getKeyStoreEntryPasswords().get(alias))
-                                .filter(Objects::nonNull)
-                                .map(char[]::clone)
-                                .findFirst();
+    public synchronized Optional<char[]> getKeyStoreEntryPassword(File keyStoreFile, String alias) {
+        return Optional.ofNullable(keyStorePasswords.get(keyStoreFile))
+                       .map(p -> p.getKeyStoreEntryPasswords().get(alias))
+                       .map(char[]::clone);
     }
 
     /**
@@ -188,14 +237,15 @@ public class PasswordManager {
      * @param keyStoreFile A keystore managed by this password manager.
      * @return All aliases with a managed password of this keystore.
      */
-    public List<String> getAliasList(File keyStoreFile) {
-        return PreferencesManager.getKeyStorePasswords()
-                                 .getPasswords()
-                                 .stream()
-                                 .filter(d -> d.getKeyStoreFile().equals(keyStoreFile))
-                                 .flatMap(d -> d.getKeyStoreEntryPasswords().stream())
-                                 .map(KeyStoreEntryPassword::getEntryAlias)
-                                 .collect(Collectors.toList());
+    public synchronized List<String> getAliasList(File keyStoreFile) {
+        EncryptedKeyStorePasswordData data = getEncryptedIndex().get(keyStoreFile);
+        if (data == null) {
+            return new ArrayList<>();
+        }
+        return data.getKeyStoreEntryPasswords()
+                   .stream()
+                   .map(KeyStoreEntryPassword::getEntryAlias)
+                   .collect(Collectors.toList());
     }
 
     /**
@@ -205,25 +255,35 @@ public class PasswordManager {
      * @param keyStorePassword Password of keystore
      * @param entryPasswords Map of entry aliases and their passwords
      */
-    public void update(File keyStoreFile, char[] keyStorePassword, Map<String, char[]> entryPasswords) {
+    public synchronized void update(File keyStoreFile, char[] keyStorePassword, Map<String, char[]> entryPasswords) {
         KeyStorePasswordData newData = new KeyStorePasswordData();
         newData.setKeyStoreFile(keyStoreFile);
         newData.setKeyStorePassword(keyStorePassword.clone());
 
         // fetch existing data first, because we have to merge it with the updates
-        KeyStorePasswordData oldData = keyStorePasswords.stream()
-                                                                     .filter(d -> d.getKeyStoreFile()
-                                                                                   .equals(keyStoreFile))
-                                                                     .findFirst()
-                                                                     .orElse(new KeyStorePasswordData());
+        KeyStorePasswordData oldData = keyStorePasswords.getOrDefault(keyStoreFile, new KeyStorePasswordData());
 
         // the passed entry password list contains only unlocked entries, but there might be more in the keystore;
         // so we add the old entry data first and then overwrite/update them or add new ones
         oldData.getKeyStoreEntryPasswords().forEach((a, p) -> newData.getKeyStoreEntryPasswords().put(a, p.clone()));
         entryPasswords.forEach((a, p) -> newData.getKeyStoreEntryPasswords().put(a, p.clone()));
 
-        keyStorePasswords.removeIf(newData::equals);
-        keyStorePasswords.add(newData);
+        // saving the keystore again with the same passwords does not require encrypting them again
+        if (!samePasswords(oldData, newData)) {
+            keyStorePasswords.put(keyStoreFile, newData);
+            changedKeyStores.add(keyStoreFile);
+        }
+    }
+
+    private static boolean samePasswords(KeyStorePasswordData oldData, KeyStorePasswordData newData) {
+        if (!Arrays.equals(oldData.getKeyStorePassword(), newData.getKeyStorePassword())) {
+            return false;
+        }
+
+        Map<String, char[]> oldEntries = oldData.getKeyStoreEntryPasswords();
+        Map<String, char[]> newEntries = newData.getKeyStoreEntryPasswords();
+        return oldEntries.size() == newEntries.size() &&
+               newEntries.entrySet().stream().allMatch(e -> Arrays.equals(oldEntries.get(e.getKey()), e.getValue()));
     }
 
     /**
@@ -233,15 +293,17 @@ public class PasswordManager {
      *
      * @param keyStoreFile Keystore file
      */
-    public void removeKeyStore(File keyStoreFile) {
-        keyStorePasswords.removeIf(d -> d.getKeyStoreFile().equals(keyStoreFile));
+    public synchronized void removeKeyStore(File keyStoreFile) {
+        keyStorePasswords.remove(keyStoreFile);
+        changedKeyStores.remove(keyStoreFile);
         PreferencesManager.getKeyStorePasswords()
                           .getPasswords()
                           .removeIf(d -> d.getKeyStoreFile().equals(keyStoreFile));
+        encryptedIndex = null;
 
         if (!unlocked) {
             // we have to persist the passwords here, because save() is not called when the password manager is locked
-            PreferencesManager.persistKeyStorePasswords();
+            persistInBackground();
         }
     }
 
@@ -253,15 +315,23 @@ public class PasswordManager {
      * @param oldPath Old path of the keystore file
      * @param newPath New path of the keystore file
      */
-    public void updateKeyStoreFilePath(File oldPath, File newPath) {
-        keyStorePasswords.stream()
-                         .filter(d -> d.getKeyStoreFile().equals(oldPath))
-                         .forEach(d -> d.setKeyStoreFile(newPath));
+    public synchronized void updateKeyStoreFilePath(File oldPath, File newPath) {
+        KeyStorePasswordData data = keyStorePasswords.remove(oldPath);
+        if (data != null) {
+            data.setKeyStoreFile(newPath);
+            keyStorePasswords.put(newPath, data);
+        }
+        if (changedKeyStores.remove(oldPath)) {
+            changedKeyStores.add(newPath);
+        }
+
+        // the file is not encrypted, so the encrypted passwords can be moved as they are
         PreferencesManager.getKeyStorePasswords()
                           .getPasswords()
                           .stream()
                           .filter(d -> d.getKeyStoreFile().equals(oldPath))
                           .forEach(d -> d.setKeyStoreFile(newPath));
+        encryptedIndex = null;
     }
 
     /**
@@ -275,18 +345,134 @@ public class PasswordManager {
      * @param alias Alias of entry
      * @param password Password of entry
      */
-    public void updateEntryPassword(File keyStoreFile, String alias, char[] password) {
-        keyStorePasswords.stream()
-                         .filter(d -> d.getKeyStoreFile().equals(keyStoreFile))
-                         .findAny()
-                         .ifPresent(data -> data.getKeyStoreEntryPasswords().put(alias, password.clone()));
+    public synchronized void updateEntryPassword(File keyStoreFile, String alias, char[] password) {
+        KeyStorePasswordData data = keyStorePasswords.get(keyStoreFile);
+        if (data != null && !Arrays.equals(data.getKeyStoreEntryPasswords().get(alias), password)) {
+            data.getKeyStoreEntryPasswords().put(alias, password.clone());
+            changedKeyStores.add(keyStoreFile);
+        }
     }
 
     /**
-     * Encrypt and save passwords to the configuration file
+     * Encrypt and save passwords to the configuration file. Returns after the file has been written.
+     *
+     * @throws IllegalStateException If the configuration file could not be written
      */
-    @SuppressWarnings("ConstantValue")
     public void save() {
+        Future<Void> written;
+        synchronized (this) {
+            encrypt();
+            try {
+                written = persist();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        try {
+            // waits for saves in the background as well
+            written.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encrypt the changed passwords and write the configuration file in the background. Encrypting is fast once the
+     * encryption key is cached, see {@link #isEncryptionKeyCached()}. Failures to write the file are reported to the
+     * user.
+     */
+    public void saveInBackground() {
+        synchronized (this) {
+            encrypt();
+            persistInBackground();
+        }
+    }
+
+    /**
+     * Wait until all writes of the configuration file that have been started so far are completed, including those
+     * started while the password manager is locked. Failures are reported by the writes themselves.
+     */
+    public void waitForBackgroundSaves() {
+        try {
+            SAVER.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            // nothing to report for an empty task
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // called while holding the lock, so that the snapshots are written in the order they were taken; writing the
+    // file does not need the lock
+    private Future<Void> persist() throws IOException {
+        byte[] snapshot = PreferencesManager.getKeyStorePasswordsSnapshot();
+        return SAVER.submit(() -> {
+            PreferencesManager.writeKeyStorePasswords(snapshot);
+            return null;
+        });
+    }
+
+    private void persistInBackground() {
+        try {
+            byte[] snapshot = PreferencesManager.getKeyStorePasswordsSnapshot();
+            SAVER.execute(() -> {
+                try {
+                    PreferencesManager.writeKeyStorePasswords(snapshot);
+                } catch (IOException e) {
+                    reportError(e);
+                }
+            });
+        } catch (IOException e) {
+            reportError(e);
+        }
+    }
+
+    private static void reportError(Exception e) {
+        // nobody waits for a save in the background, so the error is shown on the event dispatch thread
+        SwingUtilities.invokeLater(() -> DError.displayError(new JEscFrame(), e));
+    }
+
+    private void encrypt() {
+        EncryptedKeyStorePasswords encryptedKeyStorePasswords = PreferencesManager.getKeyStorePasswords();
+
+        // passwords of older configurations are encrypted with the derived key or in CBC mode, replace them all
+        if (encryptionKey == null || encryptedKeyStorePasswords.getVersion() != 2 ||
+            encryptedKeyStorePasswords.getEncryptionAlgorithm() != AES_GCM) {
+            encryptAll();
+            return;
+        }
+
+        List<EncryptedKeyStorePasswordData> passwords = encryptedKeyStorePasswords.getPasswords();
+        Map<File, EncryptedKeyStorePasswordData> index = getEncryptedIndex();
+
+        for (File keyStoreFile : changedKeyStores) {
+            KeyStorePasswordData pwdData = keyStorePasswords.get(keyStoreFile);
+            EncryptedKeyStorePasswordData oldData = index.get(keyStoreFile);
+
+            if (pwdData == null) {
+                passwords.remove(oldData);
+                continue;
+            }
+
+            EncryptedKeyStorePasswordData newData = createEncryptedKeyStorePasswordData(pwdData, encryptionKey,
+                                                                                        AES_GCM);
+            if (oldData != null) {
+                passwords.set(passwords.indexOf(oldData), newData);
+            } else {
+                passwords.add(newData);
+            }
+        }
+
+        changedKeyStores.clear();
+        encryptedIndex = null;
+    }
+
+    @SuppressWarnings("ConstantValue")
+    private void encryptAll() {
         // use recommendations for PBKDF2 from NIST SP 800-132 for now and maybe make this configurable later
         int iterations = KDF_ITERATIONS;
         int keyLengthInBits = KEY_LENGTH_BITS;
@@ -314,10 +500,13 @@ public class PasswordManager {
         encryptedKeyStorePasswords.setEncryptionKeyInitVector(iv);
 
         List<EncryptedKeyStorePasswordData> passwords = new ArrayList<>();
-        keyStorePasswords.forEach(p -> passwords.add(createEncryptedKeyStorePasswordData(p, key, encrAlgorithm)));
+        keyStorePasswords.values()
+                         .forEach(p -> passwords.add(createEncryptedKeyStorePasswordData(p, key, encrAlgorithm)));
         encryptedKeyStorePasswords.setPasswords(passwords);
 
-        PreferencesManager.persistKeyStorePasswords();
+        encryptionKey = key;
+        changedKeyStores.clear();
+        encryptedIndex = null;
     }
 
     private byte[] encryptKey(SecretKey key, byte[] iv, SecretKey kek, EncryptionAlgorithm encrAlgorithm) {
@@ -340,6 +529,9 @@ public class PasswordManager {
                         decryptEncryptionKey(deriveKey(encryptedKeyStorePasswords, mainPassword),
                                              encryptedKeyStorePasswords, encrAlgorithm);
 
+        // the derived key of version 1 encrypts the passwords directly, those are replaced on the next save
+        encryptionKey = encryptedKeyStorePasswords.getVersion() == 1 ? null : key;
+
         for (EncryptedKeyStorePasswordData encryptedPwdData : encryptedKeyStorePasswords.getPasswords()) {
             byte[] decryptedPassword = encrAlgorithm == AES_GCM ?
                                        AES.decryptAesGcm(encryptedPwdData.getEncryptedKeyStorePassword(),
@@ -23,6 +23,7 @@ package org.kse.gui.preferences;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import org.kse.gui.components.JEscFrame;
 import org.kse.gui.KseRestart;
@@ -54,6 +55,7 @@ public class PreferencesManager {
     private static final String CONFIG_DOTTED_BASE_DIR = ".kse";
     private static final String CONFIG_FILE_NAME = "config.json";
     private static final String PASSWORDS_FILE_NAME = "keystore-passwords.json";
+    private static final String DH_PARAMETERS_FILE_NAME = "dh-parameters.pem";
     private static final String ENV_VAR_CONFIG_DIR = "KSE_CONFIG_DIR";
 
     private static KsePreferences ksePreferences;
@@ -143,6 +145,13 @@ public class PreferencesManager {
         return new File(determineConfigFilePath().getParentFile(), PASSWORDS_FILE_NAME).getCanonicalFile();
     }
 
+    /**
+     * Returns the file for the cache of generated DH parameters, which is located next to the config file.
+     */
+    public static File getDHParametersCacheFile() throws IOException {
+        return new File(determineConfigFilePath().getParentFile(), DH_PARAMETERS_FILE_NAME).getCanonicalFile();
+    }
+
     private static String getAppDataConfigDir() {
         String dir = System.getenv("APPDATA");
         if (dir == null || dir.trim().isEmpty()) {
@@ -177,15 +186,19 @@ public class PreferencesManager {
     }
 
     /**
-     * Save encrypted keystore passwords and metadata to JSON file
+     * Returns the JSON encoding of the encrypted keystore passwords and metadata, so that it can be written to file
+     * later by {@link #writeKeyStorePasswords(byte[])}.
      */
-    public static void persistKeyStorePasswords() {
-        try {
-            File passwordsFilePath = determinePasswordsFilePath();
-            passwordsFilePath.getParentFile().mkdirs();
-            json.write(keyStorePasswords, passwordsFilePath);
-        } catch (Exception e) {
-            DError.displayError(new JEscFrame(), e);
-        }
+    public static byte[] getKeyStorePasswordsSnapshot() throws IOException {
+        return json.asBytes(getKeyStorePasswords());
+    }
+
+    /**
+     * Save a snapshot of the encrypted keystore passwords and metadata to JSON file
+     */
+    public static void writeKeyStorePasswords(byte[] snapshot) throws IOException {
+        File passwordsFilePath = determinePasswordsFilePath();
+        passwordsFilePath.getParentFile().mkdirs();
+        Files.write(passwordsFilePath.toPath(), snapshot);
     }
 }
@@ -34,6 +34,8 @@ public class KeyGenerationSettings {
     private String ecCurveSet = "";
     private String ecCurveName = "";
     private KeyPairType mlDSAKeyPairType = KeyPairType.MLDSA44;
+    private int keyPairPoolDepth = 0;
+    private boolean dhParametersCacheEnabled = false;
 
     private SecretKeyType secretKeyType = SecretKeyType.AES;
     private int secretKeySize = 128;
@@ -95,6 +97,22 @@ public class KeyGenerationSettings {
         this.secretKeySize = secretKeySize;
     }
 
+    public int getKeyPairPoolDepth() {
+        return keyPairPoolDepth;
+    }
+
+    public void setKeyPairPoolDepth(int keyPairPoolDepth) {
+        this.keyPairPoolDepth = Math.max(0, keyPairPoolDepth);
+    }
+
+    public boolean isDhParametersCacheEnabled() {
+        return dhParametersCacheEnabled;
+    }
+
+    public void setDhParametersCacheEnabled(boolean dhParametersCacheEnabled) {
+        this.dhParametersCacheEnabled = dhParametersCacheEnabled;
+    }
+
     public KeyPairType getMLDSAKeyPairType() {
         return mlDSAKeyPairType;
     }
@@ -68,6 +68,7 @@ public class KsePreferences {
     private boolean nativeFileChooserEnabled = false;
     private Pkcs12EncryptionSetting pkcs12EncryptionSetting = Pkcs12EncryptionSetting.strong;
     private int serialNumberLengthInBytes = 20;
+    private int historyMemoryLimitInMegabytes = 64;
     private Map<String, String> properties = new HashMap<>() {{
         put("sun.java2d.d3d.onscreen", "false");
     }};
@@ -250,6 +251,14 @@ public class KsePreferences {
         this.serialNumberLengthInBytes = serialNumberLengthInBytes;
     }
 
+    public int getHistoryMemoryLimitInMegabytes() {
+        return historyMemoryLimitInMegabytes;
+    }
+
+    public void setHistoryMemoryLimitInMegabytes(int historyMemoryLimitInMegabytes) {
+        this.historyMemoryLimitInMegabytes = historyMemoryLimitInMegabytes;
+    }
+
     public ProxySettings getProxySettings() {
         return proxySettings;
     }
@@ -20,8 +20,6 @@
 package org.kse.utilities.asn1;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
 import java.math.BigInteger;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -176,6 +174,24 @@ public class Asn1Dump {
      * @throws IOException   If an I/O problem occurred
      */
     public String dump(byte[] der) throws Asn1Exception, IOException {
+        StringBuilder sb = new StringBuilder();
+        dump(der, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Write dump of the supplied DER encoded ASN.1 object as it is produced.
+     *
+     * @param der DER encoded ASN.1 object
+     * @param out Destination of the dump
+     * @throws Asn1Exception A problem was encountered getting the ASN.1 dump
+     * @throws IOException   If an I/O problem occurred
+     */
+    public void dump(byte[] der, Appendable out) throws Asn1Exception, IOException {
+        dump(parse(der), out);
+    }
+
+    private static ASN1Primitive parse(byte[] der) throws Asn1Exception {
         try {
             ASN1Primitive derObject = ASN1Primitive.fromByteArray(der);
 
@@ -184,7 +200,7 @@ public class Asn1Dump {
                 throw new Asn1Exception(res.getString("NoAsn1DumpObject.exception.message"));
             }
 
-            return dump(derObject);
+            return derObject;
         } catch (IOException ex) {
             throw new Asn1Exception(res.getString("NoAsn1DumpObject.exception.message"), ex);
         }
@@ -199,34 +215,49 @@ public class Asn1Dump {
      * @throws IOException   If an I/O problem occurred
      */
     public String dump(ASN1Object asn1Object) throws Asn1Exception, IOException {
-        // Get dump of the supplied ASN.1 object incrementing the indent level of the output
+        StringBuilder sb = new StringBuilder();
+        dump(asn1Object, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Write dump of the supplied ASN.1 object as it is produced. Each component is written once, so the cost is
+     * linear in the size of the dump regardless of the nesting depth.
+     *
+     * @param asn1Object ASN.1 object
+     * @param out        Destination of the dump
+     * @throws Asn1Exception A problem was encountered getting the ASN.1 dump
+     * @throws IOException   If an I/O problem occurred
+     */
+    public void dump(ASN1Object asn1Object, Appendable out) throws Asn1Exception, IOException {
+        // Write dump of the supplied ASN.1 object incrementing the indent level of the output
         try {
             indentLevel++;
 
             if (asn1Object instanceof DERBitString) { // special case of ASN1String
-                return dumpBitString((DERBitString) asn1Object);
+                dumpBitString((DERBitString) asn1Object, out);
             } else if (asn1Object instanceof ASN1String) {
-                return dumpString((ASN1String) asn1Object);
+                dumpString((ASN1String) asn1Object, out);
             } else if (asn1Object instanceof ASN1UTCTime) {
-                return dumpUTCTime((ASN1UTCTime) asn1Object);
+                dumpUTCTime((ASN1UTCTime) asn1Object, out);
             } else if (asn1Object instanceof ASN1GeneralizedTime) {
-                return dumpGeneralizedTime((ASN1GeneralizedTime) asn1Object);
+                dumpGeneralizedTime((ASN1GeneralizedTime) asn1Object, out);
             } else if (asn1Object instanceof ASN1Sequence || asn1Object instanceof ASN1Set) {
-                return dumpSetOrSequence(asn1Object);
+                dumpSetOrSequence(asn1Object, out);
             } else if (asn1Object instanceof ASN1TaggedObject) {
-                return dumpTaggedObject((ASN1TaggedObject) asn1Object);
+                dumpTaggedObject((ASN1TaggedObject) asn1Object, out);
             } else if (asn1Object instanceof ASN1Boolean) {
-                return dumpBoolean((ASN1Boolean) asn1Object);
+                dumpBoolean((ASN1Boolean) asn1Object, out);
             } else if (asn1Object instanceof ASN1Enumerated) {
-                return dumpEnumerated((ASN1Enumerated) asn1Object);
+                dumpEnumerated((ASN1Enumerated) asn1Object, out);
             } else if (asn1Object instanceof ASN1Integer) {
-                return dumpInteger((ASN1Integer) asn1Object);
+                dumpInteger((ASN1Integer) asn1Object, out);
             } else if (asn1Object instanceof ASN1Null) {
-                return dumpNull();
+                dumpNull(out);
             } else if (asn1Object instanceof ASN1ObjectIdentifier) {
-                return dumpObjectIdentifier((ASN1ObjectIdentifier) asn1Object);
+                dumpObjectIdentifier((ASN1ObjectIdentifier) asn1Object, out);
             } else if (asn1Object instanceof ASN1OctetString) {
-                return dumpOctetString((ASN1OctetString) asn1Object);
+                dumpOctetString((ASN1OctetString) asn1Object, out);
             } else {
                 throw new Asn1Exception("Unknown ASN.1 object: " + asn1Object.toString());
             }
@@ -235,185 +266,209 @@ public class Asn1Dump {
         }
     }
 
-    private String dumpTaggedObject(ASN1TaggedObject o) throws Asn1Exception, IOException {
+    /**
+     * Can the supplied object be dumped completely? Checked before dumping the contents of an octet or bit string,
+     * which are shown as hex instead if they are not a dumpable ASN.1 object, because output that has been written
+     * cannot be taken back.
+     */
+    private static boolean isDumpable(ASN1Primitive asn1Object) {
+        try {
+            if (asn1Object instanceof ASN1UTCTime) {
+                ((ASN1UTCTime) asn1Object).getDate();
+                return true;
+            } else if (asn1Object instanceof ASN1GeneralizedTime) {
+                ((ASN1GeneralizedTime) asn1Object).getDate();
+                return true;
+            }
+        } catch (ParseException ex) {
+            return false;
+        }
+
+        if (asn1Object instanceof ASN1Sequence || asn1Object instanceof ASN1Set) {
+            Enumeration<?> components = (asn1Object instanceof ASN1Sequence) ?
+                                        ((ASN1Sequence) asn1Object).getObjects() :
+                                        ((ASN1Set) asn1Object).getObjects();
+            while (components.hasMoreElements()) {
+                if (!isDumpable(((ASN1Encodable) components.nextElement()).toASN1Primitive())) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (asn1Object instanceof ASN1TaggedObject) {
+            return isDumpable(((ASN1TaggedObject) asn1Object).getBaseObject().toASN1Primitive());
+        }
+
+        return asn1Object instanceof ASN1String || asn1Object instanceof ASN1Boolean ||
+               asn1Object instanceof ASN1Enumerated || asn1Object instanceof ASN1Integer ||
+               asn1Object instanceof ASN1Null || asn1Object instanceof ASN1ObjectIdentifier ||
+               asn1Object instanceof ASN1OctetString;
+    }
+
+    private static ASN1Primitive parseEncapsulated(byte[] bytes) {
+        try {
+            ASN1Primitive encapsulated = parse(bytes);
+            return isDumpable(encapsulated) ? encapsulated : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
-        StringBuilder sb = new StringBuilder();
+    private void indent(Appendable out) throws IOException {
+        for (int i = 0; i < indentLevel; i++) {
+            out.append(indentSequence.toString());
+        }
+    }
 
-        sb.append(indentSequence.toString(indentLevel));
+    private void dumpTaggedObject(ASN1TaggedObject o, Appendable out) throws Asn1Exception, IOException {
+        indent(out);
         if (o instanceof BERTaggedObject) {
-            sb.append("BER TAGGED [");
+            out.append("BER TAGGED [");
         } else {
-            sb.append("TAGGED [");
+            out.append("TAGGED [");
         }
-        sb.append(o.getTagNo());
-        sb.append(']');
+        out.append(String.valueOf(o.getTagNo()));
+        out.append(']');
 
         if (!o.isExplicit()) {
-            sb.append(" IMPLICIT ");
+            out.append(" IMPLICIT ");
         }
-        sb.append(":");
-        sb.append(NEWLINE);
-        sb.append(dump(o.getBaseObject()));
-
-        return sb.toString();
+        out.append(":");
+        out.append(NEWLINE);
+        dump(o.getBaseObject(), out);
     }
 
-    private String dumpOctetString(ASN1OctetString asn1OctetString) throws IOException {
-        StringBuilder sb = new StringBuilder();
+    private void dumpOctetString(ASN1OctetString asn1OctetString, Appendable out) throws Asn1Exception, IOException {
         byte[] bytes = asn1OctetString.getOctets();
 
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("OCTET STRING (L:").append(bytes.length).append((")"));
-        try {
-            String encapsulated = dump(bytes);
-            sb.append(", encapsulates:");
-            sb.append(NEWLINE);
-            sb.append(encapsulated);
-        } catch (Exception e) {
-            sb.append("=");
+        indent(out);
+        out.append("OCTET STRING (L:").append(String.valueOf(bytes.length)).append(")");
+
+        ASN1Primitive encapsulated = parseEncapsulated(bytes);
+        if (encapsulated != null) {
+            out.append(", encapsulates:");
+            out.append(NEWLINE);
+            dump(encapsulated, out);
+        } else {
+            out.append("=");
             if (bytes.length < 8) {
-                sb.append(HexUtil.getHexString(bytes));
+                out.append(HexUtil.getHexString(bytes));
             } else {
-                sb.append(NEWLINE);
-                sb.append(dumpHexClear(bytes));
+                out.append(NEWLINE);
+                dumpHexClear(bytes, out);
             }
         }
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append(NEWLINE);
     }
 
-    private String dumpBitString(DERBitString asn1BitString) throws IOException {
-        StringBuilder sb = new StringBuilder();
+    private void dumpBitString(DERBitString asn1BitString, Appendable out) throws Asn1Exception, IOException {
         byte[] bytes = asn1BitString.getBytes();
 
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("BIT STRING (L:").append(bytes.length).append((")"));
-        try {
-            String dump = dump(bytes);
-            sb.append(", encapsulates:");
-            sb.append(NEWLINE);
-            sb.append(dump);
-        } catch (Exception e) {
-            sb.append("=");
+        indent(out);
+        out.append("BIT STRING (L:").append(String.valueOf(bytes.length)).append(")");
+
+        ASN1Primitive encapsulated = parseEncapsulated(bytes);
+        if (encapsulated != null) {
+            out.append(", encapsulates:");
+            out.append(NEWLINE);
+            dump(encapsulated, out);
+        } else {
+            out.append("=");
 
             // print short bit strings as string of bits and long ones as hex dump
             if (bytes.length < 8) {
-                sb.append(new BigInteger(1, bytes).toString(2));
+                out.append(new BigInteger(1, bytes).toString(2));
             } else {
-                sb.append(NEWLINE);
-                sb.append(dumpHexClear(bytes));
+                out.append(NEWLINE);
+                dumpHexClear(bytes, out);
             }
         }
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append(NEWLINE);
     }
 
-    private String dumpObjectIdentifier(ASN1ObjectIdentifier asn1ObjectIdentifier) {
-
-        String sb = indentSequence.toString(indentLevel) +
-                "OBJECT IDENTIFIER=" +
-                ObjectIdUtil.toString(asn1ObjectIdentifier) +
-                NEWLINE;
-
-        return sb;
+    private void dumpObjectIdentifier(ASN1ObjectIdentifier asn1ObjectIdentifier, Appendable out)
+            throws IOException {
+        indent(out);
+        out.append("OBJECT IDENTIFIER=");
+        out.append(ObjectIdUtil.toString(asn1ObjectIdentifier));
+        out.append(NEWLINE);
     }
 
-    private String dumpNull() {
-
-        String sb = indentSequence.toString(indentLevel) +
-                "NULL" +
-                NEWLINE;
-
-        return sb;
+    private void dumpNull(Appendable out) throws IOException {
+        indent(out);
+        out.append("NULL");
+        out.append(NEWLINE);
     }
 
-    private String dumpInteger(ASN1Integer asn1Integer) throws IOException {
-        StringBuilder sb = new StringBuilder();
+    private void dumpInteger(ASN1Integer asn1Integer, Appendable out) throws IOException {
         BigInteger value = asn1Integer.getValue();
 
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("INTEGER=");
+        indent(out);
+        out.append("INTEGER=");
         // is big int value small enough to be displayed as a number?
         if (value.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) == -1) {
-            sb.append(value.toString(10));
+            out.append(value.toString(10));
             if (value.longValue() >= 10) {
-                sb.append(" (0x").append(value.toString(16)).append(")");
+                out.append(" (0x").append(value.toString(16)).append(")");
             }
         } else {
             // else print as byte array
-            sb.append(NEWLINE);
-            sb.append(dumpHexClear(value.toByteArray()));
+            out.append(NEWLINE);
+            dumpHexClear(value.toByteArray(), out);
         }
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append(NEWLINE);
     }
 
-    private String dumpEnumerated(ASN1Enumerated asn1Enumerated) {
-
-        String sb = indentSequence.toString(indentLevel) +
-                "ENUMERATED=" +
-                asn1Enumerated.getValue() +
-                NEWLINE;
-
-        return sb;
+    private void dumpEnumerated(ASN1Enumerated asn1Enumerated, Appendable out) throws IOException {
+        indent(out);
+        out.append("ENUMERATED=");
+        out.append(String.valueOf(asn1Enumerated.getValue()));
+        out.append(NEWLINE);
     }
 
-    private String dumpBoolean(ASN1Boolean asn1Boolean) {
-
-        String sb = indentSequence.toString(indentLevel) +
-                "BOOLEAN=" +
-                asn1Boolean.isTrue() +
-                NEWLINE;
-
-        return sb;
+    private void dumpBoolean(ASN1Boolean asn1Boolean, Appendable out) throws IOException {
+        indent(out);
+        out.append("BOOLEAN=");
+        out.append(String.valueOf(asn1Boolean.isTrue()));
+        out.append(NEWLINE);
     }
 
-    private String dumpSetOrSequence(ASN1Encodable asn1ConstructedType) throws Asn1Exception, IOException {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(indentSequence.toString(indentLevel));
+    private void dumpSetOrSequence(ASN1Encodable asn1ConstructedType, Appendable out)
+            throws Asn1Exception, IOException {
+        indent(out);
 
         Enumeration<?> components;
 
         // Sequence or Set?
         if (asn1ConstructedType instanceof ASN1Sequence) {
-            sb.append("SEQUENCE");
+            out.append("SEQUENCE");
             ASN1Sequence sequence = (ASN1Sequence) asn1ConstructedType;
             components = sequence.getObjects();
         } else {
             // == SET
-            sb.append("SET");
+            out.append("SET");
             ASN1Set set = (ASN1Set) asn1ConstructedType;
             components = set.getObjects();
         }
 
-        sb.append(NEWLINE);
+        out.append(NEWLINE);
 
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("{");
-        sb.append(NEWLINE);
+        indent(out);
+        out.append("{");
+        out.append(NEWLINE);
 
         while (components.hasMoreElements()) {
             ASN1Primitive component = (ASN1Primitive) components.nextElement();
-            sb.append(dump(component));
+            dump(component, out);
         }
 
-        sb.append(indentSequence.toString(indentLevel));
-
-        sb.append("}");
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        indent(out);
+        out.append("}");
+        out.append(NEWLINE);
     }
 
-    private String dumpUTCTime(ASN1UTCTime asn1Time) {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("UTC TIME=");
+    private void dumpUTCTime(ASN1UTCTime asn1Time, Appendable out) throws IOException {
+        indent(out);
+        out.append("UTC TIME=");
 
         // UTCTime, note does not support ms precision hence the different date format
         Date date;
@@ -424,20 +479,16 @@ public class Asn1Dump {
         }
         String formattedDate = new SimpleDateFormat("dd/MMM/yyyy HH:mm:ss z").format(date);
 
-        sb.append(formattedDate);
-        sb.append(" (");
-        sb.append(asn1Time.getTime());
-        sb.append(")");
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append(formattedDate);
+        out.append(" (");
+        out.append(asn1Time.getTime());
+        out.append(")");
+        out.append(NEWLINE);
     }
 
-    private String dumpGeneralizedTime(ASN1GeneralizedTime asn1Time) {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(indentSequence.toString(indentLevel));
-        sb.append("GENERALIZED TIME=");
+    private void dumpGeneralizedTime(ASN1GeneralizedTime asn1Time, Appendable out) throws IOException {
+        indent(out);
+        out.append("GENERALIZED TIME=");
 
         Date date;
         try {
@@ -447,51 +498,45 @@ public class Asn1Dump {
         }
         String formattedDate = new SimpleDateFormat("dd/MMM/yyyy HH:mm:ss.SSS z").format(date);
 
-        sb.append(formattedDate);
-        sb.append(" (");
-        sb.append(asn1Time.getTime());
-        sb.append(")");
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append(formattedDate);
+        out.append(" (");
+        out.append(asn1Time.getTime());
+        out.append(")");
+        out.append(NEWLINE);
     }
 
-    private String dumpString(ASN1String asn1String) {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(indentSequence.toString(indentLevel));
+    private void dumpString(ASN1String asn1String, Appendable out) throws IOException {
+        indent(out);
 
         if (asn1String instanceof DERBMPString) {
-            sb.append("BMP STRING=");
+            out.append("BMP STRING=");
         } else if (asn1String instanceof DERGeneralString) {
-            sb.append("GENERAL STRING=");
+            out.append("GENERAL STRING=");
         } else if (asn1String instanceof DERIA5String) {
-            sb.append("IA5 STRING=");
+            out.append("IA5 STRING=");
         } else if (asn1String instanceof DERNumericString) {
-            sb.append("NUMERIC STRING=");
+            out.append("NUMERIC STRING=");
         } else if (asn1String instanceof DERPrintableString) {
-            sb.append("PRINTABLE STRING=");
+            out.append("PRINTABLE STRING=");
         } else if (asn1String instanceof DERT61String) {
-            sb.append("TELETEX STRING=");
+            out.append("TELETEX STRING=");
         } else if (asn1String instanceof DERUniversalString) {
-            sb.append("UNIVERSAL STRING=");
+            out.append("UNIVERSAL STRING=");
         } else if (asn1String instanceof DERUTF8String) {
-            sb.append("UTF8 STRING=");
+            out.append("UTF8 STRING=");
         } else if (asn1String instanceof DERVisibleString) {
-            sb.append("VISIBLE STRING=");
+            out.append("VISIBLE STRING=");
         } else {
-            sb.append("UNKNOWN STRING=");
+            out.append("UNKNOWN STRING=");
         }
 
-        sb.append("'");
-        sb.append(asn1String.getString());
-        sb.append("'");
-        sb.append(NEWLINE);
-
-        return sb.toString();
+        out.append("'");
+        out.append(asn1String.getString());
+        out.append("'");
+        out.append(NEWLINE);
     }
 
-    private String dumpHexClear(byte[] der) throws IOException {
+    private void dumpHexClear(byte[] der, Appendable out) throws IOException {
         try {
             indentLevel++;
 
@@ -499,26 +544,19 @@ public class Asn1Dump {
             String hexClearDump = HexUtil.getHexClearDump(der);
 
             // Put indent at the start of each line of the dump
-            LineNumberReader lnr = new LineNumberReader(new StringReader(hexClearDump));
-
-            StringBuilder sb = new StringBuilder();
-
-            String line = null;
-            boolean firstLine = true;
-
-            while ((line = lnr.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                } else {
-                    sb.append(NEWLINE);
+            int start = 0;
+            while (true) {
+                int end = hexClearDump.indexOf('\n', start);
+
+                indent(out);
+                if (end == -1) {
+                    out.append(hexClearDump, start, hexClearDump.length());
+                    break;
                 }
-
-                sb.append(indentSequence.toString(indentLevel));
-                sb.append(line);
+                out.append(hexClearDump, start, end);
+                out.append(NEWLINE);
+                start = end + 1;
             }
-
-            lnr.close();
-            return sb.toString();
         } finally {
             indentLevel--;
         }
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.asn1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.kse.utilities.io.HexUtil;
+
+/**
+ * An element of a DER (or BER) encoded ASN.1 object that is decoded lazily.
+ * <p>
+ * Only the tag and length of an element are read when it is created. Its components are located when they are first
+ * asked for and a value is only decoded for its label or dump, so that a tree of multi-MB objects can be browsed
+ * without decoding all of it.
+ */
+public final class Asn1Element {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/utilities/asn1/resources");
+
+    private static final int UNIVERSAL = 0x00;
+    private static final int APPLICATION = 0x40;
+    private static final int CONTEXT_SPECIFIC = 0x80;
+    private static final int CONSTRUCTED = 0x20;
+
+    private static final int BIT_STRING = 3;
+    private static final int OCTET_STRING = 4;
+    private static final int SEQUENCE = 16;
+    private static final int SET = 17;
+
+    private final byte[] encoded;
+    private final int offset;
+    private final int tagClass;
+    private final boolean constructed;
+    private final int tagNo;
+    private final int contentOffset;
+    private final int contentEnd;
+    private final int end;
+
+    private List<Asn1Element> children;
+    private String label;
+
+    private Asn1Element(byte[] encoded, int offset, int limit) throws Asn1Exception {
+        this.encoded = encoded;
+        this.offset = offset;
+
+        int pos = offset;
+        int tag = read(pos++, limit);
+        tagClass = tag & 0xc0;
+        constructed = (tag & CONSTRUCTED) != 0;
+
+        if ((tag & 0x1f) == 0x1f) {
+            // high tag number form
+            int number = 0;
+            int b;
+            do {
+                b = read(pos++, limit);
+                number = (number << 7) | (b & 0x7f);
+                if (number > 0xffffff) {
+                    throw invalid();
+                }
+            } while ((b & 0x80) != 0);
+            tagNo = number;
+        } else {
+            tagNo = tag & 0x1f;
+        }
+
+        int first = read(pos++, limit);
+        if (first == 0x80) {
+            // indefinite length, the contents end with two zero bytes
+            if (!constructed) {
+                throw invalid();
+            }
+            contentOffset = pos;
+            while (read(pos, limit) != 0 || read(pos + 1, limit) != 0) {
+                pos = new Asn1Element(encoded, pos, limit).end;
+            }
+            contentEnd = pos;
+            end = pos + 2;
+        } else {
+            long length = first;
+            if (first > 0x80) {
+                int count = first & 0x7f;
+                if (count > 4) {
+                    throw invalid();
+                }
+                length = 0;
+                for (int i = 0; i < count; i++) {
+                    length = (length << 8) | read(pos++, limit);
+                }
+            }
+            if (pos + length > limit) {
+                throw invalid();
+            }
+            contentOffset = pos;
+            contentEnd = (int) (pos + length);
+            end = contentEnd;
+        }
+    }
+
+    private int read(int pos, int limit) throws Asn1Exception {
+        if (pos >= limit) {
+            throw invalid();
+        }
+        return encoded[pos] & 0xff;
+    }
+
+    private static Asn1Exception invalid() {
+        return new Asn1Exception(res.getString("NoAsn1DumpObject.exception.message"));
+    }
+
+    /**
+     * Read the outermost element of an encoded ASN.1 object. The encoding must not be modified afterwards.
+     *
+     * @param encoded Encoded ASN.1 object
+     * @return The element
+     * @throws Asn1Exception If the encoding is not a single ASN.1 object
+     */
+    public static Asn1Element parse(byte[] encoded) throws Asn1Exception {
+        Asn1Element element = new Asn1Element(encoded, 0, encoded.length);
+        if (element.end != encoded.length) {
+            throw invalid();
+        }
+        return element;
+    }
+
+    /**
+     * Get the components of the element, located on first use. Octet and bit strings that encapsulate an ASN.1
+     * object have it as their only component.
+     *
+     * @return Components, empty for primitive elements
+     */
+    public List<Asn1Element> getChildren() {
+        if (children == null) {
+            children = findChildren();
+        }
+        return children;
+    }
+
+    private List<Asn1Element> findChildren() {
+        if (constructed) {
+            List<Asn1Element> elements = new ArrayList<>();
+            try {
+                for (int pos = contentOffset; pos < contentEnd; ) {
+                    Asn1Element element = new Asn1Element(encoded, pos, contentEnd);
+                    elements.add(element);
+                    pos = element.end;
+                }
+            } catch (Asn1Exception ex) {
+                // show the components up to the malformed one
+            }
+            return Collections.unmodifiableList(elements);
+        }
+
+        Asn1Element encapsulated = getEncapsulated();
+        return (encapsulated != null) ? Collections.singletonList(encapsulated) : Collections.emptyList();
+    }
+
+    private Asn1Element getEncapsulated() {
+        if (tagClass != UNIVERSAL || (tagNo != OCTET_STRING && tagNo != BIT_STRING)) {
+            return null;
+        }
+
+        int start = contentOffset;
+        if (tagNo == BIT_STRING) {
+            // only whole bytes can hold an encoding
+            if (start >= contentEnd || encoded[start] != 0) {
+                return null;
+            }
+            start++;
+        }
+
+        // like Asn1Dump, content that is exactly one well-formed object is shown as encapsulated
+        try {
+            Asn1Element element = new Asn1Element(encoded, start, contentEnd);
+            if (element.end == contentEnd && (element.constructed || element.tagClass == UNIVERSAL) &&
+                element.tagNo != 0 && element.isWellFormed()) {
+                return element;
+            }
+        } catch (Asn1Exception ex) {
+            // not an encapsulated object
+        }
+        return null;
+    }
+
+    private boolean isWellFormed() throws Asn1Exception {
+        if (constructed) {
+            for (int pos = contentOffset; pos < contentEnd; ) {
+                Asn1Element element = new Asn1Element(encoded, pos, contentEnd);
+                if (!element.isWellFormed()) {
+                    return false;
+                }
+                pos = element.end;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Is this a primitive element, i.e. one without components?
+     *
+     * @return True if it is
+     */
+    public boolean isLeaf() {
+        return getChildren().isEmpty();
+    }
+
+    /**
+     * Get the offset of the element in the encoding of the outermost object.
+     *
+     * @return Offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the length of the encoded element including tag and length.
+     *
+     * @return Length in bytes
+     */
+    public int getLength() {
+        return end - offset;
+    }
+
+    /**
+     * Get the encoding of the element.
+     *
+     * @return Encoded element
+     */
+    public byte[] getEncoded() {
+        return Arrays.copyOfRange(encoded, offset, end);
+    }
+
+    /**
+     * Get a one line description of the element in the style of {@link Asn1Dump}.
+     *
+     * @return Label
+     */
+    public String getLabel() {
+        if (label == null) {
+            label = createLabel();
+        }
+        return label;
+    }
+
+    private String createLabel() {
+        int length = contentEnd - contentOffset;
+
+        if (tagClass != UNIVERSAL) {
+            String prefix = (tagClass == CONTEXT_SPECIFIC) ? "TAGGED [" :
+                            (tagClass == APPLICATION) ? "APPLICATION [" : "PRIVATE [";
+            if (constructed) {
+                return prefix + tagNo + "]:";
+            }
+            return prefix + tagNo + "] IMPLICIT (L:" + length + ")=" + shortHex();
+        }
+
+        switch (tagNo) {
+        case SEQUENCE:
+            return "SEQUENCE";
+        case SET:
+            return "SET";
+        case OCTET_STRING:
+        case BIT_STRING:
+            String name = (tagNo == OCTET_STRING) ? "OCTET STRING" : "BIT STRING";
+            int bytes = (tagNo == BIT_STRING && length > 0) ? length - 1 : length;
+            if (constructed) {
+                return name + " (constructed)";
+            } else if (getEncapsulated() != null) {
+                return name + " (L:" + bytes + "), encapsulates:";
+            } else if (bytes < 8) {
+                return primitiveLabel();
+            }
+            return name + " (L:" + bytes + ")=" + shortHex();
+        default:
+            if (constructed) {
+                return "[UNIVERSAL " + tagNo + "]";
+            }
+            return primitiveLabel();
+        }
+    }
+
+    private String primitiveLabel() {
+        try {
+            String dump = new Asn1Dump().dump(ASN1Primitive.fromByteArray(getEncoded()));
+            int newline = dump.indexOf('\n');
+            String firstLine = (newline == -1) ? dump : dump.substring(0, newline);
+
+            // values that are too long for one line are dumped as hex below it
+            if (firstLine.endsWith("=") && newline != -1 && newline < dump.length() - 1) {
+                return firstLine + shortHex();
+            }
+            return firstLine;
+        } catch (Asn1Exception | IOException | RuntimeException ex) {
+            return "[UNIVERSAL " + tagNo + "] (L:" + (contentEnd - contentOffset) + ")=" + shortHex();
+        }
+    }
+
+    // hex of the first bytes of the contents
+    private String shortHex() {
+        // skip the unused bits of a bit string
+        int from = (tagClass == UNIVERSAL && tagNo == BIT_STRING) ? contentOffset + 1 : contentOffset;
+        int length = contentEnd - from;
+        if (length <= 0) {
+            return "";
+        }
+
+        byte[] start = Arrays.copyOfRange(encoded, from, from + Math.min(length, 16));
+        String hex = HexUtil.getHexString(start, "0x", 0, 0);
+        return (length > 16) ? hex + "..." : hex;
+    }
+
+    /**
+     * Get the complete dump of the element by {@link Asn1Dump}, which decodes all of it.
+     *
+     * @param out Destination of the dump
+     * @throws Asn1Exception If the element could not be dumped
+     * @throws IOException   If an I/O problem occurred
+     */
+    public void dump(Appendable out) throws Asn1Exception, IOException {
+        new Asn1Dump().dump(getEncoded(), out);
+    }
+
+    @Override
+    public String toString() {
+        return getLabel();
+    }
+}
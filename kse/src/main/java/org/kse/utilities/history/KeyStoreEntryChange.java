@@ -0,0 +1,135 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.history;
+
+/**
+ * Describes how a single entry of a KeyStore differs between a state and its previous state. Actions that change
+ * only a few entries publish these, so that views can be updated without reloading the whole KeyStore.
+ */
+public final class KeyStoreEntryChange {
+
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        /**
+         * The entry was added or an existing entry with the same alias was replaced
+         */
+        ADDED,
+
+        /**
+         * The entry was removed
+         */
+        REMOVED,
+
+        /**
+         * The entry was moved to a new alias
+         */
+        RENAMED,
+
+        /**
+         * The content of the entry (key, certificates or password) changed
+         */
+        MODIFIED
+    }
+
+    private final Type type;
+    private final String alias;
+    private final String oldAlias;
+
+    private KeyStoreEntryChange(Type type, String alias, String oldAlias) {
+        this.type = type;
+        this.alias = alias;
+        this.oldAlias = oldAlias;
+    }
+
+    /**
+     * An entry was added.
+     *
+     * @param alias Alias of the entry
+     * @return The change
+     */
+    public static KeyStoreEntryChange added(String alias) {
+        return new KeyStoreEntryChange(Type.ADDED, alias, null);
+    }
+
+    /**
+     * An entry was removed.
+     *
+     * @param alias Alias of the entry
+     * @return The change
+     */
+    public static KeyStoreEntryChange removed(String alias) {
+        return new KeyStoreEntryChange(Type.REMOVED, alias, null);
+    }
+
+    /**
+     * An entry was renamed.
+     *
+     * @param oldAlias Previous alias of the entry
+     * @param alias    New alias of the entry
+     * @return The change
+     */
+    public static KeyStoreEntryChange renamed(String oldAlias, String alias) {
+        return new KeyStoreEntryChange(Type.RENAMED, alias, oldAlias);
+    }
+
+    /**
+     * An entry was modified.
+     *
+     * @param alias Alias of the entry
+     * @return The change
+     */
+    public static KeyStoreEntryChange modified(String alias) {
+        return new KeyStoreEntryChange(Type.MODIFIED, alias, null);
+    }
+
+    /**
+     * Get the kind of change.
+     *
+     * @return The type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the alias of the entry after the change.
+     *
+     * @return The alias
+     */
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Get the alias of a renamed entry before the change.
+     *
+     * @return The previous alias or null if the entry was not renamed
+     */
+    public String getOldAlias() {
+        return oldAlias;
+    }
+
+    @Override
+    public String toString() {
+        return (oldAlias == null) ? type + " " + alias : type + " " + oldAlias + " -> " + alias;
+    }
+}
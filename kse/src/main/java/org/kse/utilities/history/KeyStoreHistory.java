@@ -30,12 +30,18 @@ import org.kse.gui.passwordmanager.Password;
  * Undo/redo history for a KeyStore.
  */
 public class KeyStoreHistory {
+    /**
+     * Default limit for the approximate memory retained by the undo states (64 MB)
+     */
+    public static final long DEFAULT_MAX_RETAINED_SIZE = 64L * 1024 * 1024;
+
     private KeyStoreState initialState;
     private KeyStoreState currentState;
     private KeyStoreState savedState;
     private File file;
     private String name;
     private Provider explicitProvider;
+    private long maxRetainedSize = DEFAULT_MAX_RETAINED_SIZE;
 
     /**
      * Create a new history for an unsaved KeyStore.
@@ -141,6 +147,67 @@ public class KeyStoreHistory {
         return name;
     }
 
+    /**
+     * Get the limit for the approximate memory retained by the undo states.
+     *
+     * @return Limit in bytes, zero or less means unlimited
+     */
+    public long getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+
+    /**
+     * Set the limit for the approximate memory retained by the undo states. When the limit is exceeded, the oldest
+     * states are dropped from the history.
+     * <p>
+     * The limit only applies above the baseline, which is the initial state of the history. When states are dropped,
+     * their changes are merged into the new initial state and become part of the baseline, because all later states
+     * are built on them.
+     * </p>
+     *
+     * @param maxRetainedSize Limit in bytes, zero or less means unlimited
+     */
+    public void setMaxRetainedSize(long maxRetainedSize) {
+        this.maxRetainedSize = maxRetainedSize;
+        trimHistory();
+    }
+
+    /**
+     * Drop the oldest states until the memory retained by the history is below the limit. The current state is never
+     * dropped.
+     */
+    void trimHistory() {
+        if (maxRetainedSize <= 0) {
+            return;
+        }
+
+        // the initial state is the baseline and not counted, including the changes merged into it by earlier trims
+        long retainedSize = 0;
+        for (KeyStoreState state = initialState.nextState(); state != null; state = state.nextState()) {
+            retainedSize += state.getRetainedSize();
+        }
+
+        KeyStoreState newInitialState = initialState;
+        while (retainedSize > maxRetainedSize && newInitialState != currentState) {
+            newInitialState = newInitialState.nextState();
+            retainedSize -= newInitialState.getRetainedSize();
+        }
+
+        if (newInitialState == initialState) {
+            return;
+        }
+
+        newInitialState.dropPreviousStates();
+
+        for (KeyStoreState state = initialState; state != newInitialState; state = state.nextState()) {
+            if (savedState == state) {
+                savedState = null;
+            }
+        }
+
+        initialState = newInitialState;
+    }
+
     KeyStoreState getInitialState() {
         return initialState;
     }
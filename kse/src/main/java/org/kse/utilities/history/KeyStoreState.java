@@ -29,6 +29,7 @@ import java.util.ResourceBundle;
 
 import org.bouncycastle.jce.provider.JDKDSAPrivateKey;
 import org.kse.crypto.CryptoException;
+import org.kse.crypto.keystore.CopyOnWriteKeyStore;
 import org.kse.crypto.keystore.KeyStoreType;
 import org.kse.crypto.keystore.KeyStoreUtil;
 import org.kse.gui.passwordmanager.Password;
@@ -49,6 +50,7 @@ public class KeyStoreState {
     private boolean isStoredInPasswordManager = false;
     private KeyStoreState previous;
     private KeyStoreState next;
+    private long retainedSize = -1;
 
     /**
      * Create an empty state.
@@ -79,6 +81,7 @@ public class KeyStoreState {
         keyStoreState.previous = this;
         this.next = keyStoreState;
         keyStoreState.setAsCurrentState();
+        history.trimHistory();
     }
 
     /**
@@ -186,6 +189,35 @@ public class KeyStoreState {
         return next;
     }
 
+    /**
+     * Remove the link to the previous state, which is dropped from the history together with all states before it.
+     * The KeyStore of this state is detached from the copy-on-write KeyStores of the dropped states, otherwise they
+     * would still be referenced by this and all following states. Their changes are merged into this state, which
+     * keeps referencing the KeyStore of the first state.
+     */
+    void dropPreviousStates() {
+        if (keyStore instanceof CopyOnWriteKeyStore) {
+            ((CopyOnWriteKeyStore) keyStore).detachFromParents();
+            retainedSize = -1;
+        }
+
+        previous = null;
+    }
+
+    /**
+     * Get the approximate amount of memory retained by this state that is not shared with the previous states.
+     *
+     * @return Approximate size in bytes
+     */
+    long getRetainedSize() {
+        // states are not changed anymore once they are part of the history, so the size can be cached until the
+        // state is detached
+        if (retainedSize < 0) {
+            retainedSize = CopyOnWriteKeyStore.getRetainedSize(keyStore);
+        }
+        return retainedSize;
+    }
+
     /**
      * Get KeyStore's type.
      *
@@ -220,6 +252,7 @@ public class KeyStoreState {
      */
     public void setKeyStore(KeyStore keyStore) {
         this.keyStore = keyStore;
+        this.retainedSize = -1;
     }
 
     /**
@@ -290,7 +323,9 @@ public class KeyStoreState {
 
     /**
      * Create the basis for the next state based on this one. Makes a copy of
-     * the current state excluding its position in the history.
+     * the current state excluding its position in the history. The KeyStore of
+     * the new state shares all unchanged entries with the KeyStore of this
+     * state, so only the entries changed by the action take up additional memory.
      *
      * @param action The action responsible for the creation of the next state
      * @return Next state
@@ -299,7 +334,7 @@ public class KeyStoreState {
     public KeyStoreState createBasisForNextState(HistoryAction action) throws CryptoException {
         KeyStoreState copy = new KeyStoreState();
         copy.history = this.history;
-        copy.keyStore = KeyStoreUtil.copy(this.keyStore);
+        copy.keyStore = CopyOnWriteKeyStore.create(this.keyStore);
 
         if (password != null) {
             copy.password = new Password(password); // Copy as may be cleared
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Input stream that reports the number of bytes read to a {@link ProgressListener}. Reading is aborted with an
+ * InterruptedIOException when the reading thread is interrupted, which allows cancelling long running operations.
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    private static final long REPORT_INTERVAL = 256 * 1024;
+
+    private final long total;
+    private final ProgressListener listener;
+    private long processed;
+    private long reported;
+
+    /**
+     * Construct a ProgressInputStream.
+     *
+     * @param in       The stream to read from
+     * @param total    Total number of bytes or -1 if unknown
+     * @param listener Listener for progress updates, may be null
+     */
+    public ProgressInputStream(InputStream in, long total, ProgressListener listener) {
+        super(in);
+        this.total = total;
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkInterrupted();
+        int b = super.read();
+        update((b < 0) ? -1 : 1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkInterrupted();
+        int read = super.read(b, off, len);
+        update(read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkInterrupted();
+        long skipped = super.skip(n);
+        update(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void update(long read) {
+        if (read > 0) {
+            processed += read;
+        }
+
+        // report in intervals and once at the end of the stream
+        if (listener != null && (processed - reported >= REPORT_INTERVAL || (read < 0 && reported != processed))) {
+            reported = processed;
+            listener.progress(processed, total);
+        }
+    }
+}
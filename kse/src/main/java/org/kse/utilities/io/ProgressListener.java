@@ -0,0 +1,35 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.io;
+
+/**
+ * Receives progress updates of long running I/O operations.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called after another chunk of data has been processed. May be called on any thread.
+     *
+     * @param processed Number of bytes processed so far
+     * @param total     Total number of bytes or -1 if unknown
+     */
+    void progress(long processed, long total);
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.oid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Friendly names of Object Identifiers, stored as a trie of arcs.
+ * <p>
+ * The nodes are kept in flat arrays in pre-order, i.e. in ascending OID order, and every node knows where its subtree
+ * ends. Looking up a name walks the arcs of the OID without allocating and all OIDs below a node are a contiguous
+ * range of the arrays. The names are read from a resource that is sorted by OID, on first use.
+ */
+final class ObjectIdRegistry {
+
+    static final String RESOURCE = "oids.txt";
+
+    private final int[] arcs;
+    private final int[] depths;
+    private final int[] subtreeEnds;
+    private final String[] names;
+    private final int size;
+    private final int count;
+
+    private ObjectIdRegistry(int[] arcs, int[] depths, int[] subtreeEnds, String[] names, int size, int count) {
+        this.arcs = arcs;
+        this.depths = depths;
+        this.subtreeEnds = subtreeEnds;
+        this.names = names;
+        this.size = size;
+        this.count = count;
+    }
+
+    /**
+     * Get the registry with the OIDs of the resource, loading it if this is the first call.
+     *
+     * @return The registry
+     */
+    static ObjectIdRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final ObjectIdRegistry INSTANCE = load();
+    }
+
+    static ObjectIdRegistry load() {
+        try (InputStream is = ObjectIdRegistry.class.getResourceAsStream(RESOURCE)) {
+            if (is == null) {
+                throw new IllegalStateException("Missing resource " + RESOURCE);
+            }
+            return load(is.readAllBytes());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Build a registry from ASCII lines of "&lt;oid&gt; &lt;name&gt;" in ascending arc order. Empty lines and lines
+     * starting with '#' are skipped.
+     *
+     * @param data The lines
+     * @return The registry
+     */
+    static ObjectIdRegistry load(byte[] data) {
+        Builder builder = new Builder();
+
+        // parsed in place, only the names become strings
+        int lineStart = 0;
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            int end = lineEnd;
+            while (end > lineStart && data[end - 1] <= ' ') {
+                end--;
+            }
+
+            if (end > lineStart && data[lineStart] != '#') {
+                int separator = lineStart;
+                while (separator < end && data[separator] != ' ') {
+                    separator++;
+                }
+
+                int nameStart = separator;
+                while (nameStart < end && data[nameStart] == ' ') {
+                    nameStart++;
+                }
+
+                if (nameStart == end) {
+                    throw new IllegalStateException("No name for OID " + ascii(data, lineStart, end));
+                }
+
+                builder.add(data, lineStart, separator, ascii(data, nameStart, end));
+            }
+
+            lineStart = lineEnd + 1;
+        }
+
+        return builder.build();
+    }
+
+    private static String ascii(byte[] data, int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Get the number of OIDs with a name.
+     *
+     * @return Number of OIDs
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Resolve OID to human readable name.
+     *
+     * @param oid OID as string
+     * @return Friendly name or null if unknown
+     */
+    String getFriendlyName(String oid) {
+        if (oid == null) {
+            return null;
+        }
+
+        int node = find(oid, 0, oid.length());
+        return (node >= 0) ? names[node] : null;
+    }
+
+    /**
+     * Get all OIDs whose string representation starts with the given prefix, in ascending order.
+     *
+     * @param prefix First characters of the OIDs, usually complete arcs followed by a period
+     * @return The OIDs, their identifiers relative to the prefix
+     */
+    ObjectOid[] getAllOidsStartingWith(String prefix) {
+        // complete arcs are looked up in the trie, the rest has to be the beginning of the next arc
+        int lastPeriod = prefix.lastIndexOf('.');
+
+        int from = 0;
+        int to = size;
+
+        if (lastPeriod >= 0) {
+            int node = find(prefix, 0, lastPeriod);
+
+            if (node < 0) {
+                return new ObjectOid[0];
+            }
+            from = node + 1;
+            to = subtreeEnds[node];
+        }
+
+        // the arcs below the complete ones are appended to them to get the OIDs
+        String completeArcs = prefix.substring(0, lastPeriod + 1);
+        String partialArc = prefix.substring(lastPeriod + 1);
+        List<ObjectOid> oids = new ArrayList<>();
+
+        if (partialArc.isEmpty()) {
+            collect(from, to, completeArcs, prefix.length(), oids);
+        } else {
+            for (int child = from; child < to; child = subtreeEnds[child]) {
+                if (startsWith(arcs[child], partialArc)) {
+                    collect(child, subtreeEnds[child], completeArcs, prefix.length(), oids);
+                }
+            }
+        }
+
+        return oids.toArray(new ObjectOid[0]);
+    }
+
+    private void collect(int from, int to, String completeArcs, int prefixLength, List<ObjectOid> oids) {
+        if (from >= to) {
+            return;
+        }
+
+        int baseDepth = depths[from];
+        int[] path = new int[16];
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = from; i < to; i++) {
+            int depth = depths[i] - baseDepth;
+
+            if (depth >= path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+            }
+            path[depth] = arcs[i];
+
+            if (names[i] == null) {
+                continue;
+            }
+
+            sb.setLength(0);
+            sb.append(completeArcs);
+            for (int j = 0; j <= depth; j++) {
+                if (j > 0) {
+                    sb.append('.');
+                }
+                sb.append(path[j]);
+            }
+
+            oids.add(new ObjectOid(sb.substring(prefixLength), names[i]));
+        }
+    }
+
+    /**
+     * Find the node for the OID in the given part of a string.
+     *
+     * @return Index of the node or -1 if the OID is not in the trie or malformed
+     */
+    private int find(String oid, int start, int end) {
+        int node = -1;
+        int from = 0;
+        int to = size;
+        int arc = 0;
+        int digits = 0;
+
+        for (int i = start; i <= end; i++) {
+            char c = (i < end) ? oid.charAt(i) : '.';
+
+            if (c == '.') {
+                if (digits == 0 || (node = child(from, to, arc)) < 0) {
+                    return -1;
+                }
+                from = node + 1;
+                to = subtreeEnds[node];
+                arc = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                // no leading zeros, arcs beyond int range are not in the trie
+                if ((digits > 0 && arc == 0) || arc > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                    return -1;
+                }
+                arc = arc * 10 + (c - '0');
+                digits++;
+            } else {
+                return -1;
+            }
+        }
+
+        return node;
+    }
+
+    private int child(int from, int to, int arc) {
+        // siblings are in ascending order, each followed by its subtree
+        for (int i = from; i < to && arcs[i] <= arc; i = subtreeEnds[i]) {
+            if (arcs[i] == arc) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(int arc, String digits) {
+        int arcDigits = 1;
+        for (int value = arc; value >= 10; value /= 10) {
+            arcDigits++;
+        }
+
+        if (digits.length() > arcDigits) {
+            return false;
+        }
+
+        // compare the leading digits of the arc numerically
+        int leading = arc;
+        for (int i = digits.length(); i < arcDigits; i++) {
+            leading /= 10;
+        }
+
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            char c = digits.charAt(i);
+
+            if (c < '0' || c > '9' || c - '0' != leading % 10) {
+                return false;
+            }
+            leading /= 10;
+        }
+
+        return true;
+    }
+
+    private static final class Builder {
+        private int[] arcs = new int[4096];
+        private int[] depths = new int[4096];
+        private int[] subtreeEnds = new int[4096];
+        private String[] names = new String[4096];
+        private int size;
+        private int count;
+
+        // nodes of the most recently added OID, their subtrees are still open
+        private int[] path = new int[16];
+        private int pathLength;
+        private int[] oidArcs = new int[16];
+
+        void add(byte[] data, int oidStart, int oidEnd, String name) {
+            int length = parse(data, oidStart, oidEnd);
+
+            int common = 0;
+            while (common < pathLength && common < length && arcs[path[common]] == oidArcs[common]) {
+                common++;
+            }
+
+            if (common == length || (common < pathLength && arcs[path[common]] > oidArcs[common])) {
+                throw new IllegalStateException("OID " + ascii(data, oidStart, oidEnd) +
+                                                " is a duplicate or not in ascending order");
+            }
+
+            while (pathLength > common) {
+                subtreeEnds[path[--pathLength]] = size;
+            }
+
+            for (int depth = common; depth < length; depth++) {
+                if (size == arcs.length) {
+                    grow();
+                }
+                if (pathLength == path.length) {
+                    path = Arrays.copyOf(path, path.length * 2);
+                }
+
+                arcs[size] = oidArcs[depth];
+                depths[size] = depth;
+                path[pathLength++] = size++;
+            }
+
+            names[size - 1] = name;
+            count++;
+        }
+
+        private int parse(byte[] data, int start, int end) {
+            int length = 0;
+            long arc = 0;
+            int digits = 0;
+
+            for (int i = start; i <= end; i++) {
+                int c = (i < end) ? data[i] : '.';
+
+                if (c == '.' && digits > 0) {
+                    if (length == oidArcs.length) {
+                        oidArcs = Arrays.copyOf(oidArcs, length * 2);
+                    }
+                    oidArcs[length++] = (int) arc;
+                    arc = 0;
+                    digits = 0;
+                } else if (c >= '0' && c <= '9' && arc <= Integer.MAX_VALUE / 10) {
+                    arc = arc * 10 + (c - '0');
+                    digits++;
+                } else {
+                    throw new IllegalStateException("Invalid OID " + ascii(data, start, end));
+                }
+
+                if (arc > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Invalid OID " + ascii(data, start, end));
+                }
+            }
+
+            return length;
+        }
+
+        private void grow() {
+            int capacity = arcs.length * 2;
+            arcs = Arrays.copyOf(arcs, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+
+        ObjectIdRegistry build() {
+            while (pathLength > 0) {
+                subtreeEnds[path[--pathLength]] = size;
+            }
+
+            return new ObjectIdRegistry(Arrays.copyOf(arcs, size), Arrays.copyOf(depths, size),
+                                        Arrays.copyOf(subtreeEnds, size), Arrays.copyOf(names, size), size, count);
+        }
+    }
+}
@@ -35,6 +35,11 @@ public class ObjectOid implements Comparable<ObjectOid> {
         this.representation = representation;
     }
 
+    ObjectOid(String identifier, String representation) {
+        this.identifier = identifier;
+        this.representation = representation;
+    }
+
     public String getIdentifier() {
         return identifier;
     }
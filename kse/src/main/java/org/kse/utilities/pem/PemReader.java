@@ -0,0 +1,368 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.pem;
+
+import static org.kse.utilities.pem.PemUtil.PEM_BEGIN_MARKER;
+import static org.kse.utilities.pem.PemUtil.PEM_END_MARKER;
+import static org.kse.utilities.pem.PemUtil.PEM_FIVE_DASHES;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+
+/**
+ * Reads the PEM blocks of a stream one after the other, e.g. the certificates of a CA bundle. Text before, between
+ * and after the blocks is skipped.
+ * <p>
+ * Only the current block is held in memory: its Base64 content is decoded line by line into a buffer that is reused
+ * for the next block.
+ */
+public class PemReader implements Closeable {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/utilities/pem/resources");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // longer lines outside of a block cannot be a header and are not kept
+    private static final int MAX_TEXT_LINE_LENGTH = 1024;
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final InputStream in;
+    private final ReadableByteChannel channel;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private byte[] line = new byte[128];
+    private int lineLength;
+    private boolean lineComplete;
+
+    private byte[] content = new byte[4096];
+    private int contentLength;
+
+    // Base64 decoding state: bits of the current quantum, its number of characters and padding characters and
+    // whether a padded quantum has ended the content
+    private int bits;
+    private int quantumLength;
+    private int padding;
+    private boolean padded;
+
+    /**
+     * Construct a reader for a stream.
+     *
+     * @param in Stream with PEM blocks
+     */
+    public PemReader(InputStream in) {
+        this.in = in;
+        this.channel = null;
+    }
+
+    /**
+     * Construct a reader for a channel.
+     *
+     * @param channel Channel with PEM blocks
+     */
+    public PemReader(ReadableByteChannel channel) {
+        this.in = null;
+        this.channel = channel;
+    }
+
+    /**
+     * Read the next PEM block.
+     *
+     * @return PEM information or null if there are no more blocks
+     * @throws IOException If an I/O problem occurs or the block is malformed
+     */
+    public PemInfo read() throws IOException {
+        String type = null;
+
+        while (type == null) {
+            if (!readLine(MAX_TEXT_LINE_LENGTH)) {
+                return null;
+            }
+            if (lineComplete) {
+                type = getType(PEM_BEGIN_MARKER);
+            } else {
+                skipLine();
+            }
+        }
+
+        if (!readLine(Integer.MAX_VALUE)) {
+            throw new IOException(MessageFormat.format(res.getString("NoPemEnd.exception.message"), type));
+        }
+
+        PemAttributes attributes = null;
+
+        if (contains(": ")) {
+            attributes = readAttributes(type);
+        }
+
+        contentLength = 0;
+        bits = 0;
+        quantumLength = 0;
+        padding = 0;
+        padded = false;
+
+        // the first line of the content has already been read
+        while (true) {
+            int start = trimStart();
+
+            if (start < lineLength && line[start] == '-') {
+                String footerType = getType(PEM_END_MARKER);
+
+                if (!type.equals(footerType)) {
+                    throw new IOException(MessageFormat.format(res.getString("NoPemEnd.exception.message"), type));
+                }
+                break;
+            }
+
+            decode(start, type);
+
+            if (!readLine(Integer.MAX_VALUE)) {
+                throw new IOException(MessageFormat.format(res.getString("NoPemEnd.exception.message"), type));
+            }
+        }
+
+        finishDecoding(type);
+
+        return new PemInfo(type, attributes, Arrays.copyOf(content, contentLength));
+    }
+
+    private PemAttributes readAttributes(String type) throws IOException {
+        PemAttributes attributes = new PemAttributes();
+
+        while (true) {
+            String attribute = new String(line, 0, lineLength, StandardCharsets.US_ASCII).trim();
+
+            // Empty line - end of attributes
+            if (attribute.isEmpty()) {
+                break;
+            }
+
+            // Run out of attributes before blank line - not PEM
+            if (!attribute.contains(": ")) {
+                throw new IOException(MessageFormat.format(res.getString("InvalidPemAttributes.exception.message"),
+                                                           type));
+            }
+
+            int separator = attribute.indexOf(':');
+            attributes.add(new PemAttribute(attribute.substring(0, separator), attribute.substring(separator + 2)));
+
+            if (!readLine(Integer.MAX_VALUE)) {
+                throw new IOException(MessageFormat.format(res.getString("NoPemEnd.exception.message"), type));
+            }
+        }
+
+        if (!readLine(Integer.MAX_VALUE)) {
+            throw new IOException(MessageFormat.format(res.getString("NoPemEnd.exception.message"), type));
+        }
+
+        return attributes;
+    }
+
+    private void decode(int start, String type) throws IOException {
+        for (int i = start; i < lineLength; i++) {
+            int c = line[i];
+
+            if (c <= ' ') {
+                continue;
+            }
+
+            if (c == '=') {
+                // padding may only complete a quantum of at least two characters
+                if (quantumLength < 2) {
+                    throw invalidContent(type);
+                }
+                padding++;
+                bits <<= 6;
+            } else {
+                int value = (c < BASE64_VALUES.length) ? BASE64_VALUES[c] : -1;
+
+                // no data after padding
+                if (value < 0 || padding > 0 || padded) {
+                    throw invalidContent(type);
+                }
+                bits = (bits << 6) | value;
+            }
+
+            if (++quantumLength == 4) {
+                appendQuantum(3 - padding);
+
+                // a padded quantum ends the content
+                padded = padding > 0;
+                padding = 0;
+            }
+        }
+    }
+
+    private void appendQuantum(int length) {
+        if (contentLength + 3 > content.length) {
+            content = Arrays.copyOf(content, content.length * 2);
+        }
+
+        content[contentLength++] = (byte) (bits >> 16);
+        if (length > 1) {
+            content[contentLength++] = (byte) (bits >> 8);
+        }
+        if (length > 2) {
+            content[contentLength++] = (byte) bits;
+        }
+
+        bits = 0;
+        quantumLength = 0;
+    }
+
+    private void finishDecoding(String type) throws IOException {
+        // tolerate missing padding of the last quantum
+        if (quantumLength == 1) {
+            throw invalidContent(type);
+        } else if (quantumLength > 1) {
+            bits <<= 6 * (4 - quantumLength);
+            appendQuantum(quantumLength - 1 - padding);
+        }
+    }
+
+    private IOException invalidContent(String type) {
+        return new IOException(MessageFormat.format(res.getString("InvalidPemContent.exception.message"), type));
+    }
+
+    private String getType(String marker) {
+        int start = trimStart();
+        int end = lineLength;
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+
+        String trimmed = new String(line, start, end - start, StandardCharsets.US_ASCII);
+
+        if (trimmed.startsWith(marker) && trimmed.endsWith(PEM_FIVE_DASHES) &&
+            trimmed.length() >= marker.length() + PEM_FIVE_DASHES.length()) {
+            return trimmed.substring(marker.length(), trimmed.length() - PEM_FIVE_DASHES.length());
+        }
+
+        return null;
+    }
+
+    private int trimStart() {
+        int start = 0;
+        while (start < lineLength && line[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private boolean contains(String text) {
+        outer:
+        for (int i = 0; i + text.length() <= lineLength; i++) {
+            for (int j = 0; j < text.length(); j++) {
+                if (line[i + j] != text.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read the next line without its terminator into the line buffer.
+     *
+     * @param maxLength Maximum number of bytes to keep, the rest of a longer line is left in the stream
+     * @return False at the end of the stream
+     */
+    private boolean readLine(int maxLength) throws IOException {
+        lineLength = 0;
+        lineComplete = false;
+
+        while (position < limit || fill()) {
+            byte b = buffer[position];
+
+            if (b == '\n') {
+                position++;
+                lineComplete = true;
+                return true;
+            }
+            if (lineLength == maxLength) {
+                return true;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+
+            line[lineLength++] = b;
+            position++;
+        }
+
+        lineComplete = true;
+        return lineLength > 0;
+    }
+
+    private void skipLine() throws IOException {
+        while (position < limit || fill()) {
+            if (buffer[position++] == '\n') {
+                return;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = (in != null) ? in.read(buffer) : channel.read(ByteBuffer.wrap(buffer));
+        } while (read == 0);
+
+        if (read < 0) {
+            return false;
+        }
+
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Close the underlying stream or channel.
+     *
+     * @throws IOException If an I/O problem occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        } else {
+            channel.close();
+        }
+    }
+}
@@ -20,12 +20,14 @@
 package org.kse.utilities.pem;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 
-import org.bouncycastle.util.encoders.Base64;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
 /**
  * Provides utility methods relating to PEM.
@@ -50,7 +52,8 @@ public class PemUtil {
      * @return True, if data starts with PEM header
      */
     public static boolean isPemFormat(byte[] data) {
-        return new String(data, StandardCharsets.US_ASCII).startsWith(PEM_BEGIN_MARKER);
+        byte[] marker = PEM_BEGIN_MARKER.getBytes(StandardCharsets.US_ASCII);
+        return data.length >= marker.length && Arrays.equals(data, 0, marker.length, marker, 0, marker.length);
     }
 
     /**
@@ -82,7 +85,7 @@ public class PemUtil {
         }
 
         // Output content
-        String base64 = Base64.toBase64String(pemInfo.getContent());
+        String base64 = Base64.getEncoder().encodeToString(pemInfo.getContent());
 
         // Limit line lengths
         for (int i = 0; i < base64.length(); i += MAX_PRINTABLE_ENCODING_LINE_LENGTH) {
@@ -108,128 +111,108 @@ public class PemUtil {
     }
 
     /**
-     * Decode the PEM included in the supplied input stream.
+     * Get a stream that writes its content PEM encoded to the supplied stream. The header is written immediately,
+     * the footer when the returned stream is closed, which also closes the supplied stream. Unlike
+     * {@link #encode(PemInfo)} the content does not have to be held in memory.
      *
-     * @param pemData PEM data as byte array
-     * @return PEM information or null if stream does not contain PEM
+     * @param type PEM type
+     * @param out  Stream for the PEM encoding
+     * @return Stream for the content
      * @throws IOException If an I/O problem occurs
      */
-    public static PemInfo decode(byte[] pemData) throws IOException {
-
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(pemData);
-             InputStreamReader inputStreamReader = new InputStreamReader(byteArrayInputStream);
-             LineNumberReader lnr = new LineNumberReader(inputStreamReader)) {
-
-            // we ignore EC parameter blocks for now
-            String line = skipOverEcParams(lnr);
-            StringBuilder sbBase64 = new StringBuilder();
-
-            if (line != null) {
-                line = line.trim();
-                String headerType = getTypeFromHeader(line);
-
-                if (headerType != null) {
-                    line = lnr.readLine();
-
-                    PemAttributes attributes = null;
-
-                    // Read any header attributes
-                    if (line != null && line.contains(": ")) {
-                        line = line.trim();
-
-                        attributes = new PemAttributes();
-
-                        while (line != null) {
-                            line = line.trim();
-
-                            // Empty line - end of attributes
-                            if (line.isEmpty()) {
-                                line = lnr.readLine();
-                                break;
-                            }
-
-                            // Run out of attributes before blank line - not PEM
-                            if (!line.contains(": ")) {
-                                return null;
-                            }
-
-                            // Parse attribute from line
-                            int separator = line.indexOf(':');
+    public static OutputStream getEncodingStream(String type, OutputStream out) throws IOException {
+        return new PemOutputStream(type, out);
+    }
 
-                            String attributeName = line.substring(0, separator);
-                            String attributeValue = line.substring(separator + 2);
+    private static class PemOutputStream extends FilterOutputStream {
+        private final String type;
+        private final OutputStream target;
+        private boolean empty = true;
+        private boolean closed;
 
-                            attributes.add(new PemAttribute(attributeName, attributeValue));
+        PemOutputStream(String type, OutputStream target) throws IOException {
+            super(Base64.getMimeEncoder(MAX_PRINTABLE_ENCODING_LINE_LENGTH, new byte[] { '\n' })
+                                  .wrap(CloseShieldOutputStream.wrap(target)));
+            this.type = type;
+            this.target = target;
 
-                            line = lnr.readLine();
-                        }
-                    }
+            target.write((PEM_BEGIN_MARKER + type + PEM_FIVE_DASHES + '\n').getBytes(StandardCharsets.US_ASCII));
+        }
 
-                    // Read content
-                    while (line != null) {
-                        line = line.trim();
-                        String footerType = getTypeFromFooter(line);
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            empty = false;
+        }
 
-                        if (footerType == null) {
-                            sbBase64.append(line);
-                        } else {
-                            // Header and footer types do not match - not PEM
-                            if (!headerType.equals(footerType)) {
-                                return null;
-                            } else {
-                                // Decode base 64 content
-                                byte[] content = Base64.decode(sbBase64.toString());
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            empty &= (len == 0);
+        }
 
-                                return new PemInfo(headerType, attributes, content);
-                            }
-                        }
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
 
-                        line = lnr.readLine();
-                    }
+            try {
+                // flushes the final base64 quantum, the encoder does not terminate the last line
+                out.close();
+                if (!empty) {
+                    target.write('\n');
                 }
+                target.write((PEM_END_MARKER + type + PEM_FIVE_DASHES + '\n').getBytes(StandardCharsets.US_ASCII));
+            } finally {
+                target.close();
             }
         }
-
-        return null; // Not PEM
     }
 
-    private static String skipOverEcParams(LineNumberReader lnr) throws IOException {
-
-        String line = lnr.readLine();
-
-        // skip over EC parameter block
-        if (line != null && OPENSSL_EC_PARAMS_PEM_TYPE.equals(getTypeFromHeader(line.trim()))) {
-
-            // now find end line
-            while ((line = lnr.readLine()) != null) {
-                line = line.trim();
-                if (OPENSSL_EC_PARAMS_PEM_TYPE.equals(getTypeFromFooter(line))) {
-                    line = lnr.readLine();
-                    break;
-                }
-            }
+    /**
+     * Decode the PEM included in the supplied input stream. Only data that starts with a PEM header is decoded, use
+     * {@link PemReader} for all blocks of a bundle.
+     *
+     * @param pemData PEM data as byte array
+     * @return PEM information or null if stream does not contain PEM
+     * @throws IOException If an I/O problem occurs
+     */
+    public static PemInfo decode(byte[] pemData) throws IOException {
+        if (!startsWithHeader(pemData)) {
+            return null; // Not PEM
         }
 
-        return line;
-    }
+        try (PemReader pemReader = new PemReader(new ByteArrayInputStream(pemData))) {
+            PemInfo pemInfo = pemReader.read();
 
-    private static String getTypeFromHeader(String header) {
-        String type = null;
+            // we ignore EC parameter blocks for now
+            if (pemInfo != null && OPENSSL_EC_PARAMS_PEM_TYPE.equals(pemInfo.getType())) {
+                pemInfo = pemReader.read();
+            }
 
-        if (header.startsWith(PEM_BEGIN_MARKER) && header.endsWith(PEM_FIVE_DASHES)) {
-            type = header.substring(11, header.length() - 5);
+            return pemInfo;
+        } catch (IOException ex) {
+            return null; // Malformed PEM
         }
-
-        return type;
     }
 
-    private static String getTypeFromFooter(String footer) {
-        String type = null;
+    private static boolean startsWithHeader(byte[] data) {
+        int start = 0;
+        while (start < data.length && data[start] != '\n' && data[start] <= ' ') {
+            start++;
+        }
 
-        if (footer.startsWith(PEM_END_MARKER) && footer.endsWith(PEM_FIVE_DASHES)) {
-            type = footer.substring(9, footer.length() - 5);
+        int end = start;
+        while (end < data.length && data[end] != '\n') {
+            end++;
+        }
+        while (end > start && data[end - 1] <= ' ') {
+            end--;
         }
 
-        return type;
+        String firstLine = new String(data, start, end - start, StandardCharsets.US_ASCII);
+        return firstLine.startsWith(PEM_BEGIN_MARKER) && firstLine.endsWith(PEM_FIVE_DASHES);
     }
 }
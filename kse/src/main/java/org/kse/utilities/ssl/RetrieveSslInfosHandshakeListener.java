@@ -34,8 +34,17 @@ public class RetrieveSslInfosHandshakeListener implements HandshakeCompletedList
 
     @Override
     public void handshakeCompleted(HandshakeCompletedEvent event) {
+        sslConnectionInfos = readSession(event.getSession());
+    }
 
-        SSLSession session = event.getSession();
+    /**
+     * Read the connection infos of an SSL session.
+     *
+     * @param session SSL session after the handshake
+     * @return SSL infos
+     */
+    static SslConnectionInfos readSession(SSLSession session) {
+        SslConnectionInfos sslConnectionInfos = new SslConnectionInfos();
         sslConnectionInfos.setPeerHost(session.getPeerHost());
         sslConnectionInfos.setPeerPort(session.getPeerPort());
         sslConnectionInfos.setProtocol(session.getProtocol());
@@ -56,6 +65,8 @@ public class RetrieveSslInfosHandshakeListener implements HandshakeCompletedList
         } catch (SSLPeerUnverifiedException e) {
             // do nothing
         }
+
+        return sslConnectionInfos;
     }
 
     public SslConnectionInfos getSslConnectionInfos() {
@@ -0,0 +1,575 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.ssl;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLProtocolException;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.kse.crypto.CryptoException;
+
+/**
+ * Examines the TLS connections of many endpoints at once.
+ * <p>
+ * Each endpoint is connected to with a connect timeout and its handshake runs with a read timeout, on a bounded pool
+ * of worker threads, so that unreachable hosts of a range only hold a worker for the timeout. Host names are resolved
+ * by the workers as well. As for a single connection examined with {@link SslUtils}, the server certificates are
+ * accepted without validation and the host name is not verified. Unlike there, no HTTP request is sent. Endpoints
+ * are connected to through the proxy that the default {@link ProxySelector} selects for an HTTPS connection to them,
+ * which then resolves the host names instead of the workers.
+ * <p>
+ * Results are passed to a {@link ResultHandler} on the calling thread as soon as they are available. Interrupting
+ * the calling thread stops the scan and aborts the handshakes in progress.
+ */
+public class SslScanner {
+    private static ResourceBundle res = ResourceBundle.getBundle("org/kse/utilities/ssl/resources");
+
+    /** Default number of worker threads */
+    public static final int DEFAULT_THREADS = 32;
+
+    /** Default connect and read timeout in msecs */
+    public static final int DEFAULT_TIMEOUT = 5000;
+
+    /** Default port if an endpoint has none */
+    public static final int DEFAULT_PORT = 443;
+
+    /** Maximum number of endpoints of a scan */
+    public static final int MAX_ENDPOINTS = 65536;
+
+    /**
+     * Result of examining a single endpoint.
+     */
+    public static final class Result {
+        private final InetSocketAddress endpoint;
+        private final SslConnectionInfos sslConnectionInfos;
+        private final IOException error;
+        private final long elapsed;
+
+        private Result(InetSocketAddress endpoint, SslConnectionInfos sslConnectionInfos, IOException error,
+                       long elapsed) {
+            this.endpoint = endpoint;
+            this.sslConnectionInfos = sslConnectionInfos;
+            this.error = error;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the endpoint.
+         *
+         * @return Host name or IP address and port
+         */
+        public InetSocketAddress getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Get the infos of the connection.
+         *
+         * @return SSL infos or null if the handshake failed
+         */
+        public SslConnectionInfos getSslConnectionInfos() {
+            return sslConnectionInfos;
+        }
+
+        /**
+         * Get the reason why the handshake failed.
+         *
+         * @return Error or null if the handshake succeeded
+         */
+        public IOException getError() {
+            return error;
+        }
+
+        /**
+         * Get the time from connecting to the end of the handshake or the failure.
+         *
+         * @return Duration in msecs
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+
+    /**
+     * Receives the results of a scan on the thread that runs the scan, in the order the endpoints are finished.
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+        /**
+         * Handle the result of an endpoint.
+         *
+         * @param result The result
+         * @throws IOException If the result could not be written, this stops the scan
+         */
+        void handle(Result result) throws IOException;
+    }
+
+    /**
+     * Counts of a finished scan.
+     */
+    public static final class Summary {
+        private final int total;
+        private final int failed;
+        private final long elapsed;
+
+        private Summary(int total, int failed, long elapsed) {
+            this.total = total;
+            this.failed = failed;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the number of examined endpoints.
+         *
+         * @return Number of endpoints
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Get the number of endpoints without a successful handshake.
+         *
+         * @return Number of endpoints
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Get the duration of the scan.
+         *
+         * @return Duration in msecs
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+
+    private int threads = DEFAULT_THREADS;
+    private int timeout = DEFAULT_TIMEOUT;
+    private KeyStore keyStore;
+    private char[] password;
+
+    /**
+     * Set the number of worker threads, i.e. the number of concurrent handshakes.
+     *
+     * @param threads Number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Set the connect timeout and the read timeout of the handshake per endpoint.
+     *
+     * @param timeout Timeout in msecs, 0 for none
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = Math.max(0, timeout);
+    }
+
+    /**
+     * Offer a key pair for SSL client authentication.
+     *
+     * @param keyStore KeyStore with a key pair, null for none
+     * @param password The password for the KeyStore
+     */
+    public void setClientAuth(KeyStore keyStore, char[] password) {
+        this.keyStore = keyStore;
+        this.password = password;
+    }
+
+    /**
+     * Parse lists of hosts and ports into the endpoints to examine.
+     * <p>
+     * Hosts are host names, IP addresses (IPv6 addresses optionally in brackets) or IPv4 CIDR ranges like
+     * 192.168.1.0/24, separated by commas or whitespace. A host may be followed by its own port like
+     * "example.com:8443" or "[::1]:8443", then the list of ports does not apply to it. Ports are port numbers or port
+     * ranges like 8443-8445, separated by commas or whitespace. Every host is combined with every port.
+     *
+     * @param hosts Hosts
+     * @param ports Ports, the default port if empty
+     * @return Endpoints, IP addresses are resolved and host names are not
+     * @throws IllegalArgumentException If a host or port is invalid, or there are more than {@link #MAX_ENDPOINTS}
+     */
+    public static List<InetSocketAddress> parseEndpoints(String hosts, String ports) {
+        List<Integer> portList = parsePorts(ports.trim().isEmpty() ? Integer.toString(DEFAULT_PORT) : ports);
+        Set<InetSocketAddress> endpoints = new LinkedHashSet<>();
+
+        for (String token : split(hosts)) {
+            String host = token;
+            List<Integer> hostPorts = portList;
+
+            // host:port, [IPv6]:port or [IPv6], a plain IPv6 address has more colons
+            int colon = token.lastIndexOf(':');
+            if (token.startsWith("[")) {
+                int bracket = token.indexOf(']');
+                if (bracket < 0 || (bracket < token.length() - 1 && colon != bracket + 1)) {
+                    throw invalidHost(token);
+                }
+                host = token.substring(1, bracket);
+                if (colon == bracket + 1) {
+                    hostPorts = parsePorts(token.substring(colon + 1));
+                }
+            } else if (colon > 0 && colon == token.indexOf(':')) {
+                host = token.substring(0, colon);
+                hostPorts = parsePorts(token.substring(colon + 1));
+            }
+
+            List<String> addresses = (host.indexOf('/') >= 0) ? parseCidr(host, token) : null;
+
+            long count = (long) endpoints.size() + (long) hostPorts.size() * (addresses != null ? addresses.size() : 1);
+            if (count > MAX_ENDPOINTS) {
+                throw new IllegalArgumentException(
+                        MessageFormat.format(res.getString("TooManySslEndpoints.exception.message"), MAX_ENDPOINTS));
+            }
+
+            if (addresses != null) {
+                for (String address : addresses) {
+                    for (int port : hostPorts) {
+                        endpoints.add(new InetSocketAddress(address, port));
+                    }
+                }
+            } else {
+                if (host.isEmpty() || (host.indexOf(':') >= 0 && !isIpv6Address(host))) {
+                    throw invalidHost(token);
+                }
+                for (int port : hostPorts) {
+                    endpoints.add(isIpAddress(host) ?
+                                  new InetSocketAddress(host, port) :
+                                  InetSocketAddress.createUnresolved(host, port));
+                }
+            }
+        }
+
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException(res.getString("NoSslEndpoints.exception.message"));
+        }
+
+        return new ArrayList<>(endpoints);
+    }
+
+    private static List<Integer> parsePorts(String ports) {
+        Set<Integer> portSet = new LinkedHashSet<>();
+
+        for (String token : split(ports)) {
+            int dash = token.indexOf('-');
+            int from = parsePort(dash < 0 ? token : token.substring(0, dash), token);
+            int to = (dash < 0) ? from : parsePort(token.substring(dash + 1), token);
+
+            if (to < from) {
+                throw invalidPort(token);
+            }
+            for (int port = from; port <= to; port++) {
+                portSet.add(port);
+            }
+        }
+
+        if (portSet.isEmpty()) {
+            throw invalidPort(ports.trim());
+        }
+
+        return new ArrayList<>(portSet);
+    }
+
+    private static int parsePort(String port, String token) {
+        try {
+            int value = Integer.parseInt(port);
+            if (value >= 1 && value <= 65535) {
+                return value;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        throw invalidPort(token);
+    }
+
+    private static List<String> parseCidr(String cidr, String token) {
+        int slash = cidr.indexOf('/');
+        long address = parseIpv4Address(cidr.substring(0, slash));
+        int prefixLength;
+
+        try {
+            prefixLength = Integer.parseInt(cidr.substring(slash + 1));
+        } catch (NumberFormatException ex) {
+            throw invalidHost(token);
+        }
+        if (address < 0 || prefixLength < 0 || prefixLength > 32) {
+            throw invalidHost(token);
+        }
+
+        long count = 1L << (32 - prefixLength);
+        if (count > MAX_ENDPOINTS) {
+            throw new IllegalArgumentException(
+                    MessageFormat.format(res.getString("TooManySslEndpoints.exception.message"), MAX_ENDPOINTS));
+        }
+
+        int network = (prefixLength == 0) ? 0 : (int) address & (-1 << (32 - prefixLength));
+        List<String> addresses = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++) {
+            int value = network + (int) i;
+            addresses.add((value >>> 24) + "." + ((value >>> 16) & 0xff) + "." + ((value >>> 8) & 0xff) + "." +
+                          (value & 0xff));
+        }
+        return addresses;
+    }
+
+    // returns -1 for invalid addresses
+    private static long parseIpv4Address(String address) {
+        String[] octets = address.split("\\.", -1);
+        if (octets.length != 4) {
+            return -1;
+        }
+
+        long value = 0;
+        for (String octet : octets) {
+            if (octet.isEmpty() || octet.length() > 3 || !octet.chars().allMatch(Character::isDigit)) {
+                return -1;
+            }
+            int number = Integer.parseInt(octet);
+            if (number > 255) {
+                return -1;
+            }
+            value = (value << 8) | number;
+        }
+        return value;
+    }
+
+    private static boolean isIpAddress(String host) {
+        return parseIpv4Address(host) >= 0 || isIpv6Address(host);
+    }
+
+    private static boolean isIpv6Address(String host) {
+        return host.indexOf(':') >= 0 && host.chars().allMatch(c -> Character.digit(c, 16) >= 0 || c == ':' ||
+                                                                    c == '.');
+    }
+
+    private static List<String> split(String list) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : list.trim().split("[,\\s]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static IllegalArgumentException invalidHost(String token) {
+        return new IllegalArgumentException(MessageFormat.format(res.getString("InvalidSslHost.exception.message"),
+                                                                 token));
+    }
+
+    private static IllegalArgumentException invalidPort(String token) {
+        return new IllegalArgumentException(MessageFormat.format(res.getString("InvalidSslPort.exception.message"),
+                                                                 token));
+    }
+
+    /**
+     * Examine the TLS connections of endpoints.
+     *
+     * @param endpoints The endpoints, see {@link #parseEndpoints(String, String)}
+     * @param handler   Receives the result of each endpoint
+     * @return Summary of the scan
+     * @throws CryptoException      If the KeyStore for client authentication could not be used
+     * @throws IOException          If the handler failed
+     * @throws InterruptedException If the calling thread was interrupted
+     */
+    public Summary scan(List<InetSocketAddress> endpoints, ResultHandler handler)
+            throws CryptoException, IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+
+        SSLSocketFactory factory;
+        try {
+            factory = SslUtils.createTrustingContext(keyStore, password).getSocketFactory();
+        } catch (GeneralSecurityException ex) {
+            throw new CryptoException(res.getString("NoLoadCertificate.exception.message"), ex);
+        }
+
+        // sockets of the handshakes in progress, closed to abort them
+        Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+        int failed = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, endpoints.size())),
+                                                                runnable -> {
+                                                                    Thread thread = new Thread(runnable,
+                                                                                               "kse-ssl-scanner");
+                                                                    thread.setDaemon(true);
+                                                                    return thread;
+                                                                });
+
+        try {
+            CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+
+            for (InetSocketAddress endpoint : endpoints) {
+                completionService.submit(() -> examine(factory, endpoint, sockets));
+            }
+
+            for (int i = 0; i < endpoints.size(); i++) {
+                Result result = take(completionService);
+                if (result.getError() != null) {
+                    failed++;
+                }
+                handler.handle(result);
+            }
+        } finally {
+            executor.shutdownNow();
+            for (Socket socket : sockets) {
+                closeQuietly(socket);
+            }
+        }
+
+        return new Summary(endpoints.size(), failed, System.currentTimeMillis() - start);
+    }
+
+    private Result examine(SSLSocketFactory factory, InetSocketAddress endpoint, Set<Socket> sockets) {
+        long start = System.nanoTime();
+
+        try {
+            SslConnectionInfos sslConnectionInfos;
+            try {
+                sslConnectionInfos = handshake(factory, endpoint, true, sockets);
+            } catch (SSLProtocolException ex) {
+                // handle server misconfiguration, as in SslUtils
+                if (ex.getMessage() == null || !ex.getMessage().contains("unrecognized_name")) {
+                    throw ex;
+                }
+                sslConnectionInfos = handshake(factory, endpoint, false, sockets);
+            }
+            return new Result(endpoint, sslConnectionInfos, null, elapsed(start));
+        } catch (IOException ex) {
+            return new Result(endpoint, null, ex, elapsed(start));
+        }
+    }
+
+    private SslConnectionInfos handshake(SSLSocketFactory factory, InetSocketAddress endpoint, boolean sniEnabled,
+                                         Set<Socket> sockets) throws IOException {
+        Proxy proxy = selectProxy(endpoint);
+
+        // a proxy resolves the host name itself
+        InetSocketAddress address = endpoint;
+        if (proxy.type() != Proxy.Type.DIRECT) {
+            address = InetSocketAddress.createUnresolved(endpoint.getHostString(), endpoint.getPort());
+        } else if (address.isUnresolved()) {
+            address = new InetSocketAddress(endpoint.getHostString(), endpoint.getPort());
+            if (address.isUnresolved()) {
+                throw new UnknownHostException(endpoint.getHostString());
+            }
+        }
+
+        Socket socket = new Socket(proxy);
+        sockets.add(socket);
+
+        try {
+            // the scan has been stopped
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IOException(new InterruptedException());
+            }
+
+            socket.connect(address, timeout);
+            socket.setSoTimeout(timeout);
+
+            try (SSLSocket sslSocket = (SSLSocket) factory.createSocket(socket, endpoint.getHostString(),
+                                                                        endpoint.getPort(), true)) {
+                if (!sniEnabled) {
+                    SSLParameters sslParameters = sslSocket.getSSLParameters();
+                    sslParameters.setServerNames(Collections.emptyList());
+                    sslSocket.setSSLParameters(sslParameters);
+                }
+
+                sslSocket.startHandshake();
+
+                SslConnectionInfos sslConnectionInfos = RetrieveSslInfosHandshakeListener.readSession(
+                        sslSocket.getSession());
+                sslConnectionInfos.setSniEnabled(sniEnabled);
+                return sslConnectionInfos;
+            }
+        } finally {
+            sockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static Proxy selectProxy(InetSocketAddress endpoint) {
+        ProxySelector proxySelector = ProxySelector.getDefault();
+        if (proxySelector == null) {
+            return Proxy.NO_PROXY;
+        }
+
+        try {
+            // same proxy as for an HTTPS connection to the endpoint
+            URI uri = new URI("https", null, endpoint.getHostString(), endpoint.getPort(), null, null, null);
+            List<Proxy> proxies = proxySelector.select(uri);
+            if (proxies == null || proxies.isEmpty()) {
+                return Proxy.NO_PROXY;
+            }
+            return proxies.get(0);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return Proxy.NO_PROXY;
+        }
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    private static Result take(CompletionService<Result> completionService) throws InterruptedException {
+        try {
+            return completionService.take().get();
+        } catch (ExecutionException ex) {
+            // the handshakes report all expected exceptions in their results
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -64,31 +64,14 @@ public class SslUtils {
         URL url = new URL(MessageFormat.format("https://{0}:{1}/", host, "" + port));
         HttpsURLConnection connection = null;
 
-        System.setProperty("javax.net.debug", "ssl");
-
         try {
             connection = (HttpsURLConnection) url.openConnection();
 
-            // create a key manager for client authentication
-            X509KeyManager km = null;
-            if (keyStore != null) {
-                KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance("SunX509", "SunJSSE");
-                keyManagerFactory.init(keyStore, password);
-                for (KeyManager keyManager : keyManagerFactory.getKeyManagers()) {
-                    if (keyManager instanceof X509KeyManager) {
-                        km = (X509KeyManager) keyManager;
-                        break;
-                    }
-                }
-            }
-
             // We are only interested in getting the SSL certificates even if they are invalid
             // either in and of themselves or for the host name they are associated with
 
             // 1) set connection's SSL Socket factory to have a very trusting trust manager
-            SSLContext context = SSLContext.getInstance("TLS");
-            X509TrustingManager tm = new X509TrustingManager();
-            context.init(new KeyManager[] { km }, new TrustManager[] { tm }, null);
+            SSLContext context = createTrustingContext(keyStore, password);
 
             // 2) set a host name verifier that always verifies the host name
             connection.setHostnameVerifier((hostname, sslSession) -> true);
@@ -131,6 +114,34 @@ public class SslUtils {
         }
     }
 
+    /**
+     * Create an SSL context that trusts every server certificate.
+     *
+     * @param keyStore KeyStore with a key pair for SSL client authentication, null for none
+     * @param password The password for the KeyStore
+     * @return SSL context
+     * @throws GeneralSecurityException If the KeyStore could not be used
+     */
+    static SSLContext createTrustingContext(KeyStore keyStore, char[] password) throws GeneralSecurityException {
+        // create a key manager for client authentication
+        X509KeyManager km = null;
+        if (keyStore != null) {
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance("SunX509", "SunJSSE");
+            keyManagerFactory.init(keyStore, password);
+            for (KeyManager keyManager : keyManagerFactory.getKeyManagers()) {
+                if (keyManager instanceof X509KeyManager) {
+                    km = (X509KeyManager) keyManager;
+                    break;
+                }
+            }
+        }
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        X509TrustingManager tm = new X509TrustingManager();
+        context.init(new KeyManager[] { km }, new TrustManager[] { tm }, null);
+        return context;
+    }
+
     /**
      * Implementation of the X509TrustManager. In this implementation we
      * always trust the server as we are only interested in getting its
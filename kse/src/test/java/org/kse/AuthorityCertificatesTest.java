@@ -0,0 +1,101 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.CryptoTestsBase;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.x509.TrustedCertificateSnapshot;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.gui.passwordmanager.Password;
+
+/**
+ * Unit tests for AuthorityCertificates.
+ */
+public class AuthorityCertificatesTest extends CryptoTestsBase {
+    private static final Password PASSWORD = new Password(AuthorityCertificates.CACERTS_DEFAULT_PWD.toCharArray());
+
+    @AfterEach
+    public void reset() {
+        AuthorityCertificates.getInstance().setCaCertificates(null);
+    }
+
+    private static X509Certificate loadCertificate() throws Exception {
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        return X509CertUtil.loadCertificates(certBytes)[0];
+    }
+
+    @Test
+    public void snapshotIsReloadedWhenFileChanges() throws Exception {
+        X509Certificate cert = loadCertificate();
+
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        keyStore.setCertificateEntry("ca", cert);
+        File file = File.createTempFile("cacerts", ".jks");
+        file.deleteOnExit();
+        KeyStoreUtil.save(keyStore, file, PASSWORD);
+
+        AuthorityCertificates authorityCertificates = AuthorityCertificates.getInstance();
+        authorityCertificates.setCaCertificates(keyStore, file, PASSWORD);
+
+        TrustedCertificateSnapshot snapshot = authorityCertificates.getCaCertificatesSnapshot();
+        assertThat(snapshot.getCertificates()).containsExactly(cert);
+        assertThat(snapshot.matchCertificate(cert)).isEqualTo("ca");
+        assertThat(authorityCertificates.getCaCertificatesSnapshot()).isSameAs(snapshot);
+
+        // file changed by another program
+        KeyStore changed = KeyStoreUtil.create(KeyStoreType.JKS);
+        changed.setCertificateEntry("renamed", cert);
+        KeyStoreUtil.save(changed, file, PASSWORD);
+        file.setLastModified(file.lastModified() + 2000);
+
+        TrustedCertificateSnapshot reloaded = authorityCertificates.getCaCertificatesSnapshot();
+        assertThat(reloaded).isNotSameAs(snapshot);
+        assertThat(reloaded.matchCertificate(cert)).isEqualTo("renamed");
+        assertThat(authorityCertificates.getCaCertificates().containsAlias("renamed")).isTrue();
+
+        // file deleted
+        assertThat(file.delete()).isTrue();
+        assertThat(authorityCertificates.getCaCertificates()).isNull();
+        assertThat(authorityCertificates.getCaCertificatesSnapshot()).isNull();
+    }
+
+    @Test
+    public void keyStoreWithoutFileIsNotWatched() throws Exception {
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        keyStore.setCertificateEntry("ca", loadCertificate());
+
+        AuthorityCertificates authorityCertificates = AuthorityCertificates.getInstance();
+        authorityCertificates.setCaCertificates(keyStore);
+
+        assertThat(authorityCertificates.getCaCertificates()).isSameAs(keyStore);
+        assertThat(authorityCertificates.getCaCertificatesSnapshot().getCertificates()).hasSize(1);
+    }
+}
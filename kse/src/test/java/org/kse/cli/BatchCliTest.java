@@ -0,0 +1,235 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.csr.pkcs10.Pkcs10Util;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.privatekey.Pkcs8Util;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.gui.passwordmanager.Password;
+
+/**
+ * Unit tests for BatchCli.
+ */
+public class BatchCliTest extends KeyPairTestsBase {
+    private static final String PASSWORD = "password";
+
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void loadCertificate() throws Exception {
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        cert = X509CertUtil.loadCertificates(certBytes)[0];
+    }
+
+    private static File createKeyStore(int certificates) throws Exception {
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        for (int i = 0; i < certificates; i++) {
+            keyStore.setCertificateEntry("cert" + i, cert);
+        }
+        keyStore.setKeyEntry("key", rsaKeyPair.getPrivate(), PASSWORD.toCharArray(), new Certificate[] { cert });
+
+        File file = createTempFile(".jks");
+        KeyStoreUtil.save(keyStore, file, new Password(PASSWORD.toCharArray()));
+        return file;
+    }
+
+    private static File createTempFile(String suffix) throws Exception {
+        File file = File.createTempFile("batch", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static int run(File manifest, ByteArrayOutputStream out, String... options) {
+        String[] args = Arrays.copyOf(options, options.length + 1);
+        args[options.length] = manifest.getPath();
+        PrintStream stream = new PrintStream(out, true, StandardCharsets.UTF_8);
+        return BatchCli.run(args, stream, stream);
+    }
+
+    @Test
+    public void convertAndExport() throws Exception {
+        File keyStore = createKeyStore(5);
+        File converted = createTempFile(".p12");
+        File exported = createTempFile(".pem");
+        File key = createTempFile(".key");
+
+        File manifest = createTempFile(".txt");
+        Files.write(manifest.toPath(), Arrays.asList(
+                "# convert and export",
+                "convert keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " out=\"" + converted +
+                "\" outtype=PKCS12",
+                "export-cert keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " alias=cert3 out=\"" + exported +
+                "\"",
+                "export-key keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " alias=key format=der out=\"" +
+                key + "\""), StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exitCode = run(manifest, out, "--threads", "2");
+
+        assertThat(exitCode).as(out.toString(StandardCharsets.UTF_8)).isEqualTo(BatchCli.EXIT_OK);
+
+        KeyStore loaded = KeyStoreUtil.load(converted, new Password(PASSWORD.toCharArray()));
+        assertThat(loaded.getType()).isEqualTo(KeyStoreType.PKCS12.jce());
+        assertThat(loaded.size()).isEqualTo(6);
+        assertThat(loaded.getKey("key", PASSWORD.toCharArray())).isNotNull();
+
+        assertThat(X509CertUtil.loadCertificates(Files.readAllBytes(exported.toPath()))).containsExactly(cert);
+        RSAPrivateKey exportedKey = (RSAPrivateKey) Pkcs8Util.load(Files.readAllBytes(key.toPath()));
+        assertThat(exportedKey.getModulus()).isEqualTo(((RSAPrivateKey) rsaKeyPair.getPrivate()).getModulus());
+    }
+
+    @Test
+    public void failedJobsAreReported() throws Exception {
+        File keyStore = createKeyStore(1);
+
+        File manifest = createTempFile(".txt");
+        Files.write(manifest.toPath(), Arrays.asList(
+                "export-cert keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " alias=missing out=x.pem",
+                "export-cert keystore=\"" + keyStore + "\" storepass=wrong alias=cert0 out=x.pem"),
+                    StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exitCode = run(manifest, out);
+
+        assertThat(exitCode).isEqualTo(BatchCli.EXIT_JOB_FAILED);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("line 1", "line 2", "2 failed");
+    }
+
+    @Test
+    public void signCsrBundle() throws Exception {
+        File keyStore = createKeyStore(0);
+        File bundle = createTempFile(".pem");
+        File outDir = Files.createTempDirectory("batch").toFile();
+        outDir.deleteOnExit();
+
+        StringBuilder csrs = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            csrs.append(Pkcs10Util.getCsrEncodedDerPem(
+                    Pkcs10Util.generateCsr(new X500Principal("CN=Client " + i), dsaKeyPair.getPublic(),
+                                           dsaKeyPair.getPrivate(), SignatureType.SHA256_DSA, null, null, null,
+                                           KSE.BC)));
+        }
+        Files.write(bundle.toPath(), csrs.toString().getBytes(StandardCharsets.US_ASCII));
+
+        File manifest = createTempFile(".txt");
+        Files.write(manifest.toPath(), Arrays.asList(
+                "sign-csrs keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " alias=key csrs=\"" + bundle +
+                "\" out=\"" + outDir + "\" validity=90 chain=true"), StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exitCode = run(manifest, out);
+
+        assertThat(exitCode).as(out.toString(StandardCharsets.UTF_8)).isEqualTo(BatchCli.EXIT_OK);
+
+        String baseName = bundle.getName().substring(0, bundle.getName().length() - ".pem".length());
+        for (int i = 1; i <= 3; i++) {
+            File certFile = new File(outDir, baseName + "-" + i + ".cer");
+            certFile.deleteOnExit();
+            X509Certificate[] chain = X509CertUtil.loadCertificates(Files.readAllBytes(certFile.toPath()));
+
+            assertThat(chain).hasSize(2);
+            assertThat(chain[1]).isEqualTo(cert);
+            assertThat(chain[0].getIssuerX500Principal()).isEqualTo(cert.getSubjectX500Principal());
+        }
+
+        File report = new File(outDir, "report.csv");
+        report.deleteOnExit();
+        List<String> lines = Files.readAllLines(report.toPath(), StandardCharsets.UTF_8);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.subList(1, 4)).allMatch(line -> line.contains(",SIGNED,"));
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("line 1: 3 CSRs signed, 0 rejected, 0 failed");
+    }
+
+    @Test
+    public void signCsrsWithCollidingNames() throws Exception {
+        File keyStore = createKeyStore(0);
+        File csrDir = Files.createTempDirectory("batch").toFile();
+        csrDir.deleteOnExit();
+        File outDir = Files.createTempDirectory("batch").toFile();
+        outDir.deleteOnExit();
+
+        for (String name : Arrays.asList("a.csr", "a.pem", "a b.csr", "a_b.csr")) {
+            File csrFile = new File(csrDir, name);
+            csrFile.deleteOnExit();
+            Files.write(csrFile.toPath(), Pkcs10Util.getCsrEncodedDerPem(
+                    Pkcs10Util.generateCsr(new X500Principal("CN=" + name), dsaKeyPair.getPublic(),
+                                           dsaKeyPair.getPrivate(), SignatureType.SHA256_DSA, null, null, null,
+                                           KSE.BC)).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        File manifest = createTempFile(".txt");
+        Files.write(manifest.toPath(), Arrays.asList(
+                "sign-csrs keystore=\"" + keyStore + "\" storepass=" + PASSWORD + " alias=key csrs=\"" + csrDir +
+                "\" out=\"" + outDir + "\""), StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(run(manifest, out)).as(out.toString(StandardCharsets.UTF_8)).isEqualTo(BatchCli.EXIT_OK);
+
+        // "a b.csr" and "a_b.csr" are cleaned to the same file name, no certificate overwrites another one
+        Set<String> subjects = new HashSet<>();
+        File report = new File(outDir, "report.csv");
+        report.deleteOnExit();
+        for (String line : Files.readAllLines(report.toPath(), StandardCharsets.UTF_8).subList(1, 5)) {
+            File certFile = new File(outDir, line.split(",")[1]);
+            certFile.deleteOnExit();
+            subjects.add(X509CertUtil.loadCertificates(Files.readAllBytes(certFile.toPath()))[0]
+                                 .getSubjectX500Principal().getName());
+        }
+        assertThat(subjects).containsExactlyInAnyOrder("CN=a.csr", "CN=a.pem", "CN=a b.csr", "CN=a_b.csr");
+    }
+
+    @Test
+    public void invalidManifest() throws Exception {
+        File manifest = createTempFile(".txt");
+        Files.write(manifest.toPath(), Arrays.asList("frobnicate keystore=a"), StandardCharsets.UTF_8);
+
+        assertThat(run(manifest, new ByteArrayOutputStream())).isEqualTo(BatchCli.EXIT_USAGE);
+        assertThat(run(new File("does-not-exist.txt"), new ByteArrayOutputStream())).isEqualTo(BatchCli.EXIT_USAGE);
+        assertThat(run(manifest, new ByteArrayOutputStream(), "--threads", "0")).isEqualTo(BatchCli.EXIT_USAGE);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for BatchJob.
+ */
+public class BatchJobTest {
+
+    @Test
+    public void parsesQuotedParameters() throws Exception {
+        BatchJob job = BatchJob.parse("export-cert keystore=\"my keys.jks\" storepass=secret alias=a out=a.pem", 3);
+
+        assertThat(job.getLineNumber()).isEqualTo(3);
+        assertThat(job.getOperation()).isEqualTo(BatchOperation.EXPORT_CERT);
+        assertThat(job.getRequired("keystore")).isEqualTo("my keys.jks");
+        assertThat(job.getPassword("storepass").toCharArray()).isEqualTo("secret".toCharArray());
+        assertThat(job.get("format", "pem")).isEqualTo("pem");
+        assertThat(job.getPassword("keypass")).isNull();
+    }
+
+    @Test
+    public void skipsCommentsAndEmptyLines() throws Exception {
+        List<String> lines = Arrays.asList("# comment", "", "convert keystore=a storepass=b out=c outtype=PKCS12",
+                                           "   ", "export-cert keystore=a storepass=b alias=x out=y");
+
+        List<BatchJob> jobs = BatchJob.parseManifest(lines);
+
+        assertThat(jobs).hasSize(2);
+        assertThat(jobs.get(0).getLineNumber()).isEqualTo(3);
+        assertThat(jobs.get(1).getLineNumber()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "unknown keystore=a", "convert keystore", "convert =a", "convert keystore=\"a" })
+    public void rejectsMalformedLines(String line) {
+        assertThatThrownBy(() -> BatchJob.parse(line, 1)).isInstanceOf(BatchException.class);
+    }
+
+    @Test
+    public void missingParameter() throws Exception {
+        BatchJob job = BatchJob.parse("convert keystore=a", 1);
+
+        assertThatThrownBy(() -> job.getRequired("out")).isInstanceOf(BatchException.class).hasMessageContaining(
+                "out");
+    }
+
+    @Test
+    public void invalidValueDoesNotRevealPassword() throws Exception {
+        BatchJob job = BatchJob.parse("convert storepass=topsecret detached=maybe", 1);
+
+        assertThat(job.invalidValue("storepass")).hasMessageNotContaining("topsecret");
+        assertThatThrownBy(() -> job.getBoolean("detached", true)).isInstanceOf(BatchException.class);
+    }
+}
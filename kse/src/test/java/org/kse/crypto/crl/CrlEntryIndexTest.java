@@ -0,0 +1,188 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.utilities.pem.PemInfo;
+import org.kse.utilities.pem.PemUtil;
+
+/**
+ * Unit tests for CrlEntryIndex.
+ */
+public class CrlEntryIndexTest extends KeyPairTestsBase {
+
+    private static final X500Principal ISSUER = new X500Principal("CN=CRL Issuer");
+
+    private static byte[] encode(X509v2CRLBuilder builder) throws Exception {
+        return builder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC)
+                                                                         .build(rsaKeyPair.getPrivate()))
+                      .getEncoded();
+    }
+
+    @Test
+    public void sortsAndFindsEntries() throws Exception {
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(ISSUER, now);
+
+        Random random = new Random(1);
+        Set<BigInteger> revoked = new HashSet<>();
+        while (revoked.size() < 5000) {
+            BigInteger serialNumber = new BigInteger(1 + random.nextInt(159), random);
+            if (revoked.add(serialNumber)) {
+                builder.addCRLEntry(serialNumber, now, 0);
+            }
+        }
+        BigInteger superseded = new BigInteger("7fff", 16);
+        builder.addCRLEntry(superseded, now, CRLReason.superseded);
+
+        CrlEntryIndex index = CrlEntryIndex.index(encode(builder));
+
+        assertThat(index.size()).isEqualTo(revoked.size() + 1);
+
+        for (int i = 1; i < index.size(); i++) {
+            assertThat(index.getSerialNumber(i - 1)).isLessThanOrEqualTo(index.getSerialNumber(i));
+        }
+
+        for (BigInteger serialNumber : revoked) {
+            assertThat(index.getSerialNumber(index.find(serialNumber))).isEqualTo(serialNumber);
+        }
+        assertThat(index.find(new BigInteger(64, random).setBit(160))).isEqualTo(-1);
+
+        CrlEntryIndex.Entry entry = index.getEntry(index.find(superseded));
+        assertThat(entry.getSerialNumber()).isEqualTo(superseded);
+        assertThat(entry.getRevocationDate()).isEqualTo(now);
+        assertThat(entry.getReason()).isEqualTo(CRLReason.superseded);
+        assertThat(entry.hasExtensions()).isTrue();
+    }
+
+    @Test
+    public void searchesHexDigits() throws Exception {
+        Date now = new Date();
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(ISSUER, now);
+
+        builder.addCRLEntry(new BigInteger("12abcd", 16), now, CRLReason.keyCompromise);
+        builder.addCRLEntry(new BigInteger("0abc", 16), now, CRLReason.keyCompromise);
+        builder.addCRLEntry(new BigInteger("1234", 16), now, CRLReason.keyCompromise);
+
+        CrlEntryIndex index = CrlEntryIndex.index(encode(builder));
+
+        assertThat(serialNumbers(index, index.search("ABC"))).containsExactly("abc", "12abcd");
+        assertThat(serialNumbers(index, index.search("0x12 AB"))).containsExactly("12abcd");
+        assertThat(index.search("abx")).isEmpty();
+    }
+
+    private static String[] serialNumbers(CrlEntryIndex index, int[] positions) {
+        return Arrays.stream(positions).mapToObj(p -> index.getSerialNumber(p).toString(16)).toArray(String[]::new);
+    }
+
+    @Test
+    public void emptyCrl() throws Exception {
+        CrlEntryIndex index = CrlEntryIndex.index(encode(new JcaX509v2CRLBuilder(ISSUER, new Date())));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.find(BigInteger.ONE)).isEqualTo(-1);
+    }
+
+    @Test
+    public void truncatedCrl() throws Exception {
+        Date now = new Date();
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(ISSUER, now);
+        builder.addCRLEntry(BigInteger.ONE, now, CRLReason.keyCompromise);
+        byte[] encoded = encode(builder);
+
+        assertThatThrownBy(() -> CrlEntryIndex.index(Arrays.copyOf(encoded, encoded.length / 2)))
+                .isInstanceOf(CryptoException.class);
+    }
+
+    @Test
+    public void readsHeader() throws Exception {
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+        Date next = new Date(now.getTime() + 86400000L);
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(ISSUER, now);
+        builder.setNextUpdate(next);
+        builder.addCRLEntry(BigInteger.TEN, now, CRLReason.keyCompromise);
+        builder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(42)));
+        byte[] encoded = encode(builder);
+
+        CrlEntryIndex.Header header = CrlEntryIndex.readHeader(encoded);
+
+        assertThat(header.getVersion()).isEqualTo(X509CertUtil.loadCRL(encoded).getVersion());
+        assertThat(header.getIssuer()).isEqualTo(new X500Name("CN=CRL Issuer"));
+        assertThat(header.getThisUpdate()).isEqualTo(now);
+        assertThat(header.getNextUpdate()).isEqualTo(next);
+        assertThat(header.getSignatureAlgorithm().getAlgorithm().getId())
+                .isEqualTo(X509CertUtil.loadCRL(encoded).getSigAlgOID());
+
+        Extensions extensions = header.getExtensions();
+        assertThat(extensions.getExtensionOIDs()).containsExactly(Extension.cRLNumber);
+        assertThat(CRLNumber.getInstance(extensions.getExtensionParsedValue(Extension.cRLNumber)).getCRLNumber())
+                .isEqualTo(BigInteger.valueOf(42));
+
+        CrlEntryIndex index = CrlEntryIndex.index(encoded);
+        assertThat(index.getEncoded()).isSameAs(encoded);
+        assertThat(index.getEntryExtensions(0).getExtension(Extension.reasonCode)).isNotNull();
+    }
+
+    @Test
+    public void readsHeaderWithoutOptionalFields() throws Exception {
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+        byte[] encoded = encode(new JcaX509v2CRLBuilder(ISSUER, now));
+
+        CrlEntryIndex.Header header = CrlEntryIndex.readHeader(encoded);
+
+        assertThat(header.getThisUpdate()).isEqualTo(now);
+        assertThat(header.getNextUpdate()).isNull();
+        assertThat(header.getExtensions()).isNull();
+    }
+
+    @Test
+    public void convertsPemToDer() throws Exception {
+        byte[] encoded = encode(new JcaX509v2CRLBuilder(ISSUER, new Date()));
+        byte[] pem = PemUtil.encode(new PemInfo("X509 CRL", null, encoded)).getBytes();
+
+        assertThat(CrlEntryIndex.toDer(encoded)).isSameAs(encoded);
+        assertThat(CrlEntryIndex.toDer(pem)).isEqualTo(encoded);
+        assertThatThrownBy(() -> CrlEntryIndex.toDer(new byte[] { 1, 2, 3 })).isInstanceOf(CryptoException.class);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+
+/**
+ * Unit tests for CrlRevocationChecker and CrlStore.
+ */
+public class CrlRevocationCheckerTest extends KeyPairTestsBase {
+
+    private static final X500Name CA_NAME = new X500Name("CN=CRL CA");
+
+    private static X509Certificate caCert;
+    private static X509Certificate goodCert;
+    private static X509Certificate revokedCert;
+
+    @BeforeAll
+    public static void createCertificates() throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+
+        caCert = generator.generateSelfSigned(CA_NAME, TimeUnit.DAYS.toMillis(30), rsaKeyPair.getPublic(),
+                                              rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+        goodCert = createCertificate(generator, 2);
+        revokedCert = createCertificate(generator, 3);
+    }
+
+    private static X509Certificate createCertificate(X509CertificateGenerator generator, int serialNumber)
+            throws CryptoException {
+        Date start = new Date();
+        return generator.generate(new X500Name("CN=Client " + serialNumber), CA_NAME, start,
+                                  new Date(start.getTime() + TimeUnit.DAYS.toMillis(30)), dsaKeyPair.getPublic(),
+                                  rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA,
+                                  BigInteger.valueOf(serialNumber));
+    }
+
+    private static File writeCrl(BigInteger... revoked) throws Exception {
+        Date now = new Date();
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(caCert.getSubjectX500Principal(),
+                                                           new Date(now.getTime() - 60000));
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        for (BigInteger serialNumber : revoked) {
+            builder.addCRLEntry(serialNumber, new Date(now.getTime() - 60000), CRLReason.keyCompromise);
+        }
+
+        File file = File.createTempFile("crlstore", ".crl");
+        file.deleteOnExit();
+        Files.write(file.toPath(), builder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC)
+                                                                                             .build(rsaKeyPair.getPrivate()))
+                                          .getEncoded());
+        return file;
+    }
+
+    private static void validate(X509Certificate cert, CrlRevocationChecker checker) throws Exception {
+        CertPathValidator validator = CertPathValidator.getInstance("PKIX", KSE.BC);
+        PKIXParameters params = new PKIXParameters(Collections.singleton(new TrustAnchor(caCert, null)));
+        params.setRevocationEnabled(false);
+        params.addCertPathChecker(checker);
+
+        validator.validate(CertificateFactory.getInstance("X.509").generateCertPath(Collections.singletonList(cert)),
+                           params);
+    }
+
+    @Test
+    public void checksCertificatesAgainstCrl() throws Exception {
+        File crlFile = writeCrl(revokedCert.getSerialNumber());
+        CrlStore store = new CrlStore(4);
+        List<String> locations = Collections.singletonList(crlFile.toURI().toString());
+
+        validate(goodCert, new CrlRevocationChecker(store, Collections.singletonList(caCert), locations));
+
+        assertThatThrownBy(() -> validate(revokedCert, new CrlRevocationChecker(store, Collections.singletonList(
+                caCert), locations))).isInstanceOf(CertPathValidatorException.class).hasMessageContaining(
+                "CN=Client 3");
+
+        // the CRL was read and verified once
+        assertThat(store.getMisses()).isEqualTo(1);
+        assertThat(store.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void failsWithoutCrl() throws Exception {
+        CrlRevocationChecker checker = new CrlRevocationChecker(new CrlStore(4), Collections.singletonList(caCert),
+                                                                Collections.emptyList());
+
+        assertThatThrownBy(() -> validate(goodCert, checker)).isInstanceOf(CertPathValidatorException.class);
+    }
+
+    @Test
+    public void readsChangedFileAgain() throws Exception {
+        File crlFile = writeCrl();
+        String location = crlFile.toURI().toString();
+        CrlStore store = new CrlStore(4);
+
+        assertThat(store.get(location, caCert).lookup(revokedCert.getSerialNumber())).isNull();
+        assertThat(store.get(location, caCert).lookup(revokedCert.getSerialNumber())).isNull();
+
+        Files.copy(writeCrl(revokedCert.getSerialNumber()).toPath(), crlFile.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING);
+        crlFile.setLastModified(crlFile.lastModified() + 2000);
+
+        assertThat(store.get(location, caCert).lookup(revokedCert.getSerialNumber())).isNotNull();
+        assertThat(store.getHits()).isEqualTo(1);
+        assertThat(store.getMisses()).isEqualTo(2);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsCrlOfAnotherKey() throws Exception {
+        X509Certificate otherCa = new X509CertificateGenerator(X509CertificateVersion.VERSION3).generateSelfSigned(
+                CA_NAME, TimeUnit.DAYS.toMillis(30), dsaKeyPair.getPublic(), dsaKeyPair.getPrivate(),
+                SignatureType.SHA256_DSA, BigInteger.TEN);
+        String location = writeCrl().toURI().toString();
+        CrlStore store = new CrlStore(4);
+
+        assertThatThrownBy(() -> store.get(location, otherCa)).isInstanceOf(CryptoException.class);
+        assertThatThrownBy(() -> store.get("ldap://ldap.example.com/cn=CA", caCert)).isInstanceOf(
+                CryptoException.class);
+        assertThat(store.size()).isZero();
+    }
+}
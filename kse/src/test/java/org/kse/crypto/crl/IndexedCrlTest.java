@@ -0,0 +1,141 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.crl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.KeyPairTestsBase;
+
+/**
+ * Unit tests for IndexedCrl.
+ */
+public class IndexedCrlTest extends KeyPairTestsBase {
+
+    private static final X500Principal ISSUER = new X500Principal("CN=CRL Issuer");
+
+    private static X509v2CRLBuilder createBuilder(Date thisUpdate) {
+        return new JcaX509v2CRLBuilder(ISSUER, thisUpdate);
+    }
+
+    private static IndexedCrl index(X509v2CRLBuilder builder) throws Exception {
+        return IndexedCrl.index(builder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC)
+                                                                                          .build(rsaKeyPair.getPrivate()))
+                                       .toASN1Structure());
+    }
+
+    @Test
+    public void findsRevokedSerialNumbers() throws Exception {
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+        X509v2CRLBuilder builder = createBuilder(now);
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(7)));
+
+        Random random = new Random(1);
+        Set<BigInteger> revoked = new HashSet<>();
+        BigInteger first = BigInteger.valueOf(0x7fff);
+        builder.addCRLEntry(first, now, CRLReason.superseded);
+        revoked.add(first);
+        while (revoked.size() < 5000) {
+            BigInteger serialNumber = new BigInteger(1 + random.nextInt(159), random);
+            if (revoked.add(serialNumber)) {
+                builder.addCRLEntry(serialNumber, now, CRLReason.superseded);
+            }
+        }
+        // a serial number that is listed twice is indexed once
+        builder.addCRLEntry(first, now, CRLReason.keyCompromise);
+
+        IndexedCrl crl = index(builder);
+
+        assertThat(crl.size()).isEqualTo(revoked.size());
+        assertThat(crl.getIssuer()).isEqualTo(ISSUER);
+        assertThat(crl.isCurrent(new Date())).isTrue();
+        assertThat(crl.isCurrent(new Date(now.getTime() + TimeUnit.DAYS.toMillis(8)))).isFalse();
+
+        for (BigInteger serialNumber : revoked) {
+            assertThat(crl.lookup(serialNumber)).isNotNull();
+        }
+
+        IndexedCrl.Entry entry = crl.lookup(first);
+        assertThat(entry.getRevocationDate()).isEqualTo(now);
+        assertThat(entry.getReason()).isEqualTo(CRLReason.superseded);
+
+        for (int i = 0; i < 5000; i++) {
+            BigInteger serialNumber = new BigInteger(64, random).setBit(64);
+            assertThat(crl.lookup(serialNumber)).isNull();
+        }
+    }
+
+    @Test
+    public void emptyCrl() throws Exception {
+        IndexedCrl crl = index(createBuilder(new Date()));
+
+        assertThat(crl.size()).isZero();
+        assertThat(crl.getNextUpdate()).isNull();
+        assertThat(crl.lookup(BigInteger.ONE)).isNull();
+    }
+
+    @Test
+    public void skipsEntriesOfOtherIssuers() throws Exception {
+        Date now = new Date();
+        X509v2CRLBuilder builder = createBuilder(now);
+
+        builder.addCRLEntry(BigInteger.valueOf(1), now, CRLReason.keyCompromise);
+        builder.addCRLEntry(BigInteger.valueOf(2), now, certificateIssuer("CN=Other"));
+        builder.addCRLEntry(BigInteger.valueOf(3), now, CRLReason.keyCompromise);
+        builder.addCRLEntry(BigInteger.valueOf(4), now, certificateIssuer(ISSUER.getName()));
+        builder.addCRLEntry(BigInteger.valueOf(5), now, CRLReason.keyCompromise);
+
+        IndexedCrl crl = index(builder);
+
+        assertThat(crl.lookup(BigInteger.valueOf(1))).isNotNull();
+        assertThat(crl.lookup(BigInteger.valueOf(2))).isNull();
+        assertThat(crl.lookup(BigInteger.valueOf(3))).isNull();
+        assertThat(crl.lookup(BigInteger.valueOf(4))).isNotNull();
+        assertThat(crl.lookup(BigInteger.valueOf(5))).isNotNull();
+        assertThat(crl.lookup(BigInteger.valueOf(4)).getReason()).isEqualTo(-1);
+    }
+
+    private static Extensions certificateIssuer(String name) throws Exception {
+        ExtensionsGenerator generator = new ExtensionsGenerator();
+        generator.addExtension(Extension.certificateIssuer, true,
+                               new GeneralNames(new GeneralName(new X500Name(name))));
+        return generator.generate();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.csr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.csr.CsrBatchSigner.Result;
+import org.kse.crypto.csr.CsrBatchSigner.Status;
+import org.kse.crypto.csr.CsrBatchSigner.Summary;
+import org.kse.crypto.csr.pkcs10.Pkcs10Util;
+import org.kse.crypto.csr.spkac.Spkac;
+import org.kse.crypto.csr.spkac.SpkacSubject;
+import org.kse.crypto.publickey.KeyIdentifierGenerator;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.crypto.x509.X509Ext;
+import org.kse.crypto.x509.X509ExtensionSet;
+import org.kse.crypto.x509.X509ExtensionType;
+
+/**
+ * Unit tests for CsrBatchSigner.
+ */
+public class CsrBatchSignerTest extends KeyPairTestsBase {
+
+    private static X509Certificate caCert;
+
+    @BeforeAll
+    public static void createCaCertificate() throws Exception {
+        caCert = new X509CertificateGenerator(X509CertificateVersion.VERSION3).generateSelfSigned(
+                new X500Name("CN=Batch CA"), TimeUnit.DAYS.toMillis(30), rsaKeyPair.getPublic(),
+                rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+    }
+
+    private static PKCS10CertificationRequest createCsr(String cn, KeyPair keyPair) throws Exception {
+        return Pkcs10Util.generateCsr(new X500Principal("CN=" + cn), keyPair.getPublic(), keyPair.getPrivate(),
+                                      SignatureType.SHA256_DSA, null, null, null, KSE.BC);
+    }
+
+    private static File createTempFile(String suffix) throws Exception {
+        File file = File.createTempFile("csrbatch", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static CsrBatchSigner createSigner() {
+        CsrBatchSigner signer = new CsrBatchSigner(rsaKeyPair.getPrivate(), caCert, SignatureType.SHA256_RSA, null);
+        signer.setThreads(3);
+        return signer;
+    }
+
+    @Test
+    public void signsPemBundle() throws Exception {
+        StringBuilder bundle = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            bundle.append(Pkcs10Util.getCsrEncodedDerPem(createCsr("Client " + i, dsaKeyPair)));
+        }
+
+        // the same key for all requests, the SKI of the template belongs to another key
+        byte[] otherSki = X509Ext.wrapInOctetString(new SubjectKeyIdentifier(new byte[20]).getEncoded(
+                ASN1Encoding.DER));
+        X509ExtensionSet extensions = new X509ExtensionSet();
+        extensions.addExtension(X509ExtensionType.SUBJECT_KEY_IDENTIFIER.oid(), false, otherSki);
+
+        File bundleFile = createTempFile(".pem");
+        Files.write(bundleFile.toPath(), bundle.toString().getBytes(StandardCharsets.US_ASCII));
+
+        CsrBatchSigner signer = createSigner();
+        signer.setExtensions(extensions);
+
+        List<Result> results = Collections.synchronizedList(new ArrayList<>());
+        Summary summary = signer.sign(bundleFile, results::add);
+
+        assertThat(summary.getSigned()).isEqualTo(20);
+        assertThat(summary.getRejected() + summary.getFailed()).isZero();
+        assertThat(results).hasSize(20);
+
+        byte[] expectedSki = new KeyIdentifierGenerator(dsaKeyPair.getPublic()).generate160BitHashId();
+
+        for (Result result : results) {
+            X509Certificate cert = result.getCertificate();
+            cert.verify(caCert.getPublicKey());
+
+            int index = Integer.parseInt(result.getName().substring(result.getName().lastIndexOf('-') + 1)) - 1;
+            assertThat(cert.getSubjectX500Principal()).isEqualTo(new X500Principal("CN=Client " + index));
+            assertThat(cert.getIssuerX500Principal()).isEqualTo(caCert.getSubjectX500Principal());
+            assertThat(cert.getPublicKey()).isEqualTo(dsaKeyPair.getPublic());
+
+            byte[] ski = X509Ext.unwrapExtension(
+                    cert.getExtensionValue(X509ExtensionType.SUBJECT_KEY_IDENTIFIER.oid()));
+            assertThat(SubjectKeyIdentifier.getInstance(ski).getKeyIdentifier()).isEqualTo(expectedSki);
+        }
+
+        assertThat(results.stream().map(r -> r.getCertificate().getSerialNumber()).distinct()).hasSize(20);
+    }
+
+    @Test
+    public void reportsInvalidRequests() throws Exception {
+        File dir = Files.createTempDirectory("csrbatch").toFile();
+        dir.deleteOnExit();
+
+        byte[] valid = Pkcs10Util.getCsrEncodedDer(createCsr("Valid", dsaKeyPair));
+        byte[] tampered = Pkcs10Util.getCsrEncodedDer(createCsr("Tampered", dsaKeyPair));
+        // flip a bit of the signature value
+        tampered[tampered.length - 1] ^= 1;
+
+        ByteArrayOutputStream spkac = new ByteArrayOutputStream();
+        new Spkac("challenge", SignatureType.SHA256_RSA, new SpkacSubject(new X500Name("CN=Spkac")),
+                  rsaKeyPair.getPublic(), rsaKeyPair.getPrivate()).output(spkac);
+
+        Map<String, byte[]> files = Map.of("valid.csr", valid, "tampered.csr", tampered, "browser.spkac",
+                                           spkac.toByteArray(), "notes.txt",
+                                           "not a request".getBytes(StandardCharsets.US_ASCII));
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            File csrFile = new File(dir, file.getKey());
+            csrFile.deleteOnExit();
+            Files.write(csrFile.toPath(), file.getValue());
+        }
+
+        Map<String, Status> statuses = new ConcurrentHashMap<>();
+        Summary summary = createSigner().sign(dir, result -> statuses.put(result.getName(), result.getStatus()));
+
+        assertThat(statuses).containsEntry("valid.csr", Status.SIGNED)
+                            .containsEntry("browser.spkac", Status.SIGNED)
+                            .containsEntry("tampered.csr", Status.REJECTED)
+                            .containsEntry("notes.txt", Status.FAILED);
+        assertThat(Arrays.asList(summary.getSigned(), summary.getRejected(), summary.getFailed()))
+                .containsExactly(2, 1, 1);
+    }
+
+    @Test
+    public void readsRequestsLazily() throws Exception {
+        byte[] encoded = Pkcs10Util.getCsrEncodedDer(createCsr("Lazy", dsaKeyPair));
+        AtomicInteger read = new AtomicInteger();
+
+        Iterator<CsrBatchSigner.Request> requests = new Iterator<CsrBatchSigner.Request>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 100;
+            }
+
+            @Override
+            public CsrBatchSigner.Request next() {
+                return new CsrBatchSigner.Request("csr" + read.incrementAndGet(), encoded);
+            }
+        };
+
+        CsrBatchSigner signer = createSigner();
+        signer.setThreads(1);
+
+        List<Integer> readWhenHandled = new ArrayList<>();
+        Summary summary = signer.sign(requests, result -> readWhenHandled.add(read.get()));
+
+        assertThat(summary.getSigned()).isEqualTo(100);
+        assertThat(readWhenHandled).hasSize(100);
+        // only a few requests are in progress at any time
+        assertThat(readWhenHandled.get(0)).isLessThanOrEqualTo(5);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.dh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
+import org.bouncycastle.crypto.agreement.DHBasicAgreement;
+import org.bouncycastle.crypto.generators.DHBasicKeyPairGenerator;
+import org.bouncycastle.crypto.params.DHKeyGenerationParameters;
+import org.bouncycastle.crypto.params.DHParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.CryptoTestsBase;
+
+/**
+ * Unit tests for DHParametersUtil and DHParametersCache.
+ */
+public class DHParametersUtilTest extends CryptoTestsBase {
+
+    @Test
+    public void generatesSafePrimeParameters() throws Exception {
+        DHParameters dhParameters = DHParametersUtil.generateSafePrimeParameters(512, 2);
+
+        assertThat(dhParameters.getP().bitLength()).isEqualTo(512);
+        assertThat(dhParameters.getG()).isEqualTo(BigInteger.valueOf(2));
+        assertThat(DHParametersUtil.isSafePrimeGroup(dhParameters)).isTrue();
+    }
+
+    @Test
+    public void generatorTwoGeneratesPrimeOrderSubgroup() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            DHParameters dhParameters = DHParametersUtil.generateSafePrimeParameters(512, 1);
+            BigInteger p = dhParameters.getP();
+
+            assertThat(p.mod(BigInteger.valueOf(24))).isEqualTo(BigInteger.valueOf(23));
+            assertThat(dhParameters.getG().modPow(dhParameters.getQ(), p)).isEqualTo(BigInteger.ONE);
+
+            // key agreement validates the public keys against the subgroup order
+            DHBasicKeyPairGenerator generator = new DHBasicKeyPairGenerator();
+            generator.init(new DHKeyGenerationParameters(new SecureRandom(), dhParameters));
+            AsymmetricCipherKeyPair alice = generator.generateKeyPair();
+            AsymmetricCipherKeyPair bob = generator.generateKeyPair();
+
+            DHBasicAgreement agreement = new DHBasicAgreement();
+            agreement.init(alice.getPrivate());
+            assertThat(agreement.calculateAgreement(bob.getPublic())).isNotNull();
+        }
+    }
+
+    @Test
+    public void rejectsGeneratorOfWholeGroup() throws Exception {
+        DHParameters dhParameters = DHParametersUtil.generateSafePrimeParameters(512, 1);
+        BigInteger p = dhParameters.getP();
+        BigInteger q = dhParameters.getQ();
+
+        // a quadratic non-residue has order 2q
+        BigInteger g = BigInteger.valueOf(3);
+        while (!g.modPow(q, p).equals(p.subtract(BigInteger.ONE))) {
+            g = g.add(BigInteger.ONE);
+        }
+
+        assertThat(DHParametersUtil.isSafePrimeGroup(new DHParameters(p, g))).isFalse();
+    }
+
+    @Test
+    public void rejectsTooSmallKeySize() {
+        assertThatThrownBy(() -> DHParametersUtil.generateSafePrimeParameters(256, 1))
+                .isInstanceOf(CryptoException.class);
+    }
+
+    @Test
+    public void interruptionStopsSearch() throws Exception {
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<DHParameters> search = caller.submit(
+                    () -> DHParametersUtil.generateSafePrimeParameters(8192, 2));
+            Thread.sleep(200);
+            caller.shutdownNow();
+
+            assertThat(caller.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(search::get).isInstanceOf(ExecutionException.class)
+                                           .hasCauseInstanceOf(InterruptedException.class);
+
+            // the searches have been cancelled and do not block new ones
+            assertThat(DHParametersUtil.generateSafePrimeParameters(512, 1).getP().bitLength()).isEqualTo(512);
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DHGroup.class, names = { "FFDHE2048", "FFDHE3072" })
+    public void rfc7919GroupsAreSafePrimeGroups(DHGroup dhGroup) throws Exception {
+        DHParameters decoded = DHParametersUtil.decode(DHParametersUtil.getEncoded(dhGroup.parameters()));
+
+        assertThat(decoded.getP()).isEqualTo(dhGroup.parameters().getP());
+        assertThat(decoded.getG()).isEqualTo(BigInteger.valueOf(2));
+        assertThat(dhGroup.bitLength()).isEqualTo(Integer.parseInt(dhGroup.groupName().substring(5)));
+        assertThat(DHParametersUtil.isSafePrimeGroup(decoded)).isTrue();
+    }
+
+    @Test
+    public void cacheServesParametersAcrossSessions() throws Exception {
+        File cacheFile = File.createTempFile("dh-parameters", ".pem");
+        cacheFile.deleteOnExit();
+        cacheFile.delete();
+
+        DHParametersCache cache = new DHParametersCache();
+        assertThat(cache.get(512)).isNull();
+
+        cache.setFile(cacheFile);
+        DHParameters generated = DHParametersUtil.generateSafePrimeParameters(512, 1);
+        cache.put(generated);
+        assertThat(cacheFile).exists();
+
+        DHParametersCache restarted = new DHParametersCache();
+        restarted.setFile(cacheFile);
+
+        assertThat(restarted.get(1024)).isNull();
+        assertThat(restarted.get(512).getP()).isEqualTo(generated.getP());
+        assertThat(restarted.getHits()).isEqualTo(1);
+        assertThat(restarted.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void cacheDropsInvalidParameters() throws Exception {
+        File cacheFile = File.createTempFile("dh-parameters", ".pem");
+        cacheFile.deleteOnExit();
+
+        // a random odd number instead of a safe prime
+        BigInteger notSafe = new BigInteger(512, new Random(1)).setBit(511).setBit(0);
+        DHParametersCache writer = new DHParametersCache();
+        writer.setFile(cacheFile);
+        writer.put(new DHParameters(notSafe, BigInteger.valueOf(2)));
+
+        DHParametersCache cache = new DHParametersCache();
+        cache.setFile(cacheFile);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(512)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void cacheIgnoresDamagedFile() throws Exception {
+        File cacheFile = File.createTempFile("dh-parameters", ".pem");
+        cacheFile.deleteOnExit();
+        Files.write(cacheFile.toPath(), "-----BEGIN DH PARAMETERS-----\n!!!\n".getBytes(StandardCharsets.US_ASCII));
+
+        DHParametersCache cache = new DHParametersCache();
+        cache.setFile(cacheFile);
+
+        assertThat(cache.get(512)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -21,8 +21,17 @@ package org.kse.crypto.digest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.kse.crypto.CryptoTestsBase;
 
 /**
@@ -47,4 +56,49 @@ public class DigestUtilTest extends CryptoTestsBase {
         String digest = DigestUtil.getFriendlyMessageDigest(MESSAGE.getBytes(), digestType);
         assertThat(digest).isNotEqualTo(MESSAGE);
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 4096, 1024 * 1024, 3 * 1024 * 1024 + 17 })
+    public void fileDigestsMatchArrayDigests(int size) throws Exception {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+
+        File file = File.createTempFile("kse", ".bin");
+        file.deleteOnExit();
+        Path path = file.toPath();
+        Files.write(path, content);
+
+        Map<DigestType, byte[]> digests = DigestUtil.getMessageDigests(path, DigestType.SHA256, DigestType.SHA1,
+                                                                       DigestType.MD5, DigestType.SHA3_512);
+
+        assertThat(digests).hasSize(4);
+        for (Map.Entry<DigestType, byte[]> digest : digests.entrySet()) {
+            assertThat(digest.getValue()).isEqualTo(DigestUtil.getMessageDigest(content, digest.getKey()));
+            assertThat(digest.getValue()).isEqualTo(
+                    DigestUtil.getMessageDigest(new ByteArrayInputStream(content), digest.getKey()));
+        }
+        assertThat(DigestUtil.getMessageDigest(path, DigestType.SHA256)).isEqualTo(digests.get(DigestType.SHA256));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 100, 2 * 1024 * 1024 })
+    public void channelRegionDigest(int offset) throws Exception {
+        byte[] content = new byte[offset + 2 * 1024 * 1024];
+        new Random(offset).nextBytes(content);
+
+        File file = File.createTempFile("kse", ".bin");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content);
+
+        byte[] region = new byte[content.length - offset - 10];
+        System.arraycopy(content, offset, region, 0, region.length);
+
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            Map<DigestType, byte[]> digests = DigestUtil.getMessageDigests(channel, offset, region.length,
+                                                                           DigestType.SHA384);
+            assertThat(digests.get(DigestType.SHA384)).isEqualTo(
+                    DigestUtil.getMessageDigest(region, DigestType.SHA384));
+            assertThat(channel.position()).isZero();
+        }
+    }
 }
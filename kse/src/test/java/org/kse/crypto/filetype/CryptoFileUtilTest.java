@@ -25,10 +25,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.io.File;
 import java.io.IOException;
 import java.security.Security;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
+import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.kse.KSE;
 
 class CryptoFileUtilTest {
@@ -122,8 +126,42 @@ class CryptoFileUtilTest {
     })
     // @formatter:on
     void detectFileType(String fileName, CryptoFileType expectedResult) throws IOException {
+        File file = new File(TEST_FILES_PATH, fileName);
+        byte[] data = FileUtils.readFileToByteArray(file);
+
+        assertEquals(expectedResult, CryptoFileUtil.detectFileType(data));
+        assertEquals(expectedResult, CryptoFileUtil.detectFileType(file));
+    }
+
+    static Stream<String> testFiles() {
+        return Stream.of(new File(TEST_FILES_PATH).list()).sorted();
+    }
+
+    @ParameterizedTest
+    @MethodSource("testFiles")
+    void dispatchingMatchesTryingAllParsers(String fileName) throws IOException {
         byte[] data = FileUtils.readFileToByteArray(new File(TEST_FILES_PATH, fileName));
 
+        assertEquals(CryptoFileUtil.detectFileTypeWithAllParsers(data), CryptoFileUtil.detectFileType(data));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "504B0304, JAR",
+            "FEEDFEED, JKS_KS",
+            "CECECECE, JCEKS_KS",
+            "0199AB00, UNKNOWN",
+    })
+    void detectFileTypeOfLargeFile(String magic, CryptoFileType expectedResult) throws IOException {
+        byte[] data = new byte[1024 * 1024];
+        new Random(1).nextBytes(data);
+        System.arraycopy(Hex.decode(magic), 0, data, 0, 4);
+
+        File file = File.createTempFile("detect", ".bin");
+        file.deleteOnExit();
+        FileUtils.writeByteArrayToFile(file, data);
+
+        assertEquals(expectedResult, CryptoFileUtil.detectFileType(file));
         assertEquals(expectedResult, CryptoFileUtil.detectFileType(data));
     }
 }
\ No newline at end of file
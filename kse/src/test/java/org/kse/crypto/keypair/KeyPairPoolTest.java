@@ -0,0 +1,136 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.keypair;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.KeyPair;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.CryptoTestsBase;
+
+/**
+ * Unit tests for KeyPairPool.
+ */
+public class KeyPairPoolTest extends CryptoTestsBase {
+
+    private final AtomicInteger generated = new AtomicInteger();
+
+    private KeyPair generate() {
+        generated.incrementAndGet();
+        return new KeyPair(null, null);
+    }
+
+    private static void awaitStock(KeyPairPool pool, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        KeyPairPool pool = new KeyPairPool();
+
+        pool.take(KeyPairType.RSA, "4096", KSE.BC, this::generate);
+        Thread.sleep(100);
+
+        assertThat(generated.get()).isEqualTo(1);
+        assertThat(pool.size()).isZero();
+        assertThat(pool.getHits() + pool.getMisses()).isZero();
+    }
+
+    @Test
+    public void servesPreGeneratedKeyPairs() throws Exception {
+        KeyPairPool pool = new KeyPairPool();
+        pool.setDepth(2);
+
+        KeyPair first = pool.take(KeyPairType.RSA, "4096", KSE.BC, this::generate);
+        awaitStock(pool, 2);
+
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.getMisses()).isEqualTo(1);
+
+        KeyPair second = pool.take(KeyPairType.RSA, "4096", KSE.BC, this::generate);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(pool.getHits()).isEqualTo(1);
+
+        // other parameters have their own stock
+        pool.take(KeyPairType.RSA, "2048", KSE.BC, this::generate);
+
+        assertThat(pool.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void doesNotPoolHardwareProviders() throws Exception {
+        KeyPairPool pool = new KeyPairPool();
+        pool.setDepth(2);
+        Provider pkcs11 = new Provider("SunPKCS11-Token", "1.0", "Test") {
+            private static final long serialVersionUID = 1L;
+        };
+
+        pool.take(KeyPairType.RSA, "2048", pkcs11, this::generate);
+        pool.take(KeyPairType.RSA, "2048", pkcs11, this::generate);
+        Thread.sleep(100);
+
+        assertThat(KeyPairPool.isPoolable(pkcs11)).isFalse();
+        assertThat(generated.get()).isEqualTo(2);
+        assertThat(pool.size()).isZero();
+    }
+
+    @Test
+    public void disablingDiscardsStock() throws Exception {
+        KeyPairPool pool = new KeyPairPool();
+        pool.setDepth(3);
+
+        pool.take(KeyPairType.EC, "secp256r1", null, this::generate);
+        awaitStock(pool, 3);
+        assertThat(pool.size()).isEqualTo(3);
+
+        pool.setDepth(1);
+        assertThat(pool.size()).isEqualTo(1);
+
+        pool.setDepth(0);
+        assertThat(pool.size()).isZero();
+    }
+
+    @Test
+    public void generatesRealKeyPairs() throws Exception {
+        KeyPairPool pool = KeyPairUtil.getKeyPairPool();
+        pool.setDepth(1);
+        try {
+            KeyPair first = KeyPairUtil.generateECKeyPair("secp256r1", KSE.BC);
+            awaitStock(pool, 1);
+            KeyPair second = KeyPairUtil.generateECKeyPair("secp256r1", KSE.BC);
+
+            assertThat(pool.getHits()).isEqualTo(1);
+            assertThat(second.getPrivate()).isNotEqualTo(first.getPrivate());
+            assertThat(KeyPairUtil.validKeyPair(second.getPrivate(), second.getPublic())).isTrue();
+        } finally {
+            pool.setDepth(0);
+            pool.clear();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.keystore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.gui.passwordmanager.Password;
+
+/**
+ * Unit tests for CopyOnWriteKeyStore.
+ */
+public class CopyOnWriteKeyStoreTest extends KeyPairTestsBase {
+    private static final char[] ENTRY_PASSWORD = "entry".toCharArray();
+    private static final Password PASSWORD = new Password(new char[] { 'p', 'a', 's', 's', 'w', 'o', 'r', 'd' });
+
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void loadCertificate() throws Exception {
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        cert = X509CertUtil.loadCertificates(certBytes)[0];
+    }
+
+    private static KeyStore createKeyStore(KeyStoreType keyStoreType, int size) throws Exception {
+        KeyStore keyStore = KeyStoreUtil.create(keyStoreType);
+        for (int i = 0; i < size; i++) {
+            keyStore.setCertificateEntry("cert" + i, cert);
+        }
+        keyStore.setKeyEntry("key", rsaKeyPair.getPrivate(), ENTRY_PASSWORD, new Certificate[] { cert });
+        return keyStore;
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "JCEKS", "PKCS12", "BKS", "UBER", "BCFKS" })
+    public void changesDoNotAffectParent(KeyStoreType keyStoreType) throws Exception {
+        KeyStore parent = createKeyStore(keyStoreType, 10);
+        KeyStore child = CopyOnWriteKeyStore.create(parent);
+
+        child.deleteEntry("cert1");
+        child.setCertificateEntry("cert10", cert);
+        child.setKeyEntry("key2", rsaKeyPair.getPrivate(), ENTRY_PASSWORD, new Certificate[] { cert });
+
+        assertThat(child.getType()).isEqualTo(parent.getType());
+        assertThat(child.size()).isEqualTo(12);
+        assertThat(child.containsAlias("cert1")).isFalse();
+        assertThat(child.isCertificateEntry("cert10")).isTrue();
+        assertThat(child.getKey("key", ENTRY_PASSWORD)).isEqualTo(rsaKeyPair.getPrivate());
+        assertThat(child.getKey("key2", ENTRY_PASSWORD)).isEqualTo(rsaKeyPair.getPrivate());
+        assertThat(Collections.list(child.aliases())).hasSize(12);
+
+        assertThat(parent.size()).isEqualTo(11);
+        assertThat(parent.containsAlias("cert1")).isTrue();
+        assertThat(parent.containsAlias("cert10")).isFalse();
+        assertThat(parent.containsAlias("key2")).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void deepHistoryIsStoredCompletely(KeyStoreType keyStoreType) throws Exception {
+        KeyStore keyStore = createKeyStore(keyStoreType, 100);
+
+        for (int i = 0; i < CopyOnWriteKeyStore.MAX_DEPTH * 3; i++) {
+            keyStore = CopyOnWriteKeyStore.create(keyStore);
+            keyStore.deleteEntry("cert" + i);
+            keyStore.setCertificateEntry("renamed" + i, cert);
+        }
+
+        File keyStoreFile = File.createTempFile("keystore", keyStoreType.jce().toLowerCase());
+        keyStoreFile.deleteOnExit();
+
+        KeyStoreUtil.save(keyStore, keyStoreFile, PASSWORD);
+        KeyStore loaded = KeyStoreUtil.load(keyStoreFile, PASSWORD, keyStoreType);
+
+        assertThat(loaded.size()).isEqualTo(keyStore.size()).isEqualTo(101);
+        assertThat(loaded.containsAlias("cert0")).isFalse();
+        assertThat(loaded.containsAlias("renamed0")).isTrue();
+        assertThat(loaded.containsAlias("cert99")).isTrue();
+        assertThat(loaded.getKey("key", ENTRY_PASSWORD)).isNotNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void copyIsIndependent(KeyStoreType keyStoreType) throws Exception {
+        KeyStore child = CopyOnWriteKeyStore.create(createKeyStore(keyStoreType, 5));
+        child.deleteEntry("cert0");
+
+        KeyStore copy = KeyStoreUtil.copy(child);
+
+        assertThat(copy).isNotInstanceOf(CopyOnWriteKeyStore.class);
+        assertThat(copy.size()).isEqualTo(5);
+        assertThat(copy.containsAlias("cert0")).isFalse();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        child.store(baos, PASSWORD.toCharArray());
+        KeyStore reloaded = KeyStoreUtil.create(keyStoreType);
+        reloaded.load(new ByteArrayInputStream(baos.toByteArray()), PASSWORD.toCharArray());
+        assertThat(reloaded.size()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void keyEntryCannotBeOverwrittenByCertificate(KeyStoreType keyStoreType) throws Exception {
+        KeyStore child = CopyOnWriteKeyStore.create(createKeyStore(keyStoreType, 1));
+
+        assertThatThrownBy(() -> child.setCertificateEntry("key", cert)).isInstanceOf(KeyStoreException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void retainedSizeOnlyCountsChanges(KeyStoreType keyStoreType) throws Exception {
+        KeyStore parent = createKeyStore(keyStoreType, 100);
+        KeyStore child = CopyOnWriteKeyStore.create(parent);
+        child.setCertificateEntry("new", cert);
+
+        assertThat(CopyOnWriteKeyStore.getRetainedSize(child)).isLessThan(
+                CopyOnWriteKeyStore.getRetainedSize(parent) / 10);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void collapsedChangesAreCounted(KeyStoreType keyStoreType) throws Exception {
+        KeyStore keyStore = createKeyStore(keyStoreType, 1);
+
+        for (int i = 0; i < CopyOnWriteKeyStore.MAX_DEPTH; i++) {
+            keyStore = CopyOnWriteKeyStore.create(keyStore);
+            keyStore.setCertificateEntry("new" + i, cert);
+        }
+        long changeSize = CopyOnWriteKeyStore.getRetainedSize(keyStore);
+
+        // the next KeyStore is created on top of the root with all changes merged
+        KeyStore collapsed = CopyOnWriteKeyStore.create(keyStore);
+
+        assertThat(CopyOnWriteKeyStore.getRetainedSize(collapsed)).isGreaterThan(
+                CopyOnWriteKeyStore.MAX_DEPTH * changeSize / 2);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BKS" })
+    public void detachedKeyStoreKeepsContent(KeyStoreType keyStoreType) throws Exception {
+        KeyStore root = createKeyStore(keyStoreType, 5);
+
+        KeyStore first = CopyOnWriteKeyStore.create(root);
+        first.deleteEntry("cert0");
+        first.setCertificateEntry("new", cert);
+
+        CopyOnWriteKeyStore second = (CopyOnWriteKeyStore) CopyOnWriteKeyStore.create(first);
+        second.deleteEntry("new");
+        second.setCertificateEntry("newer", cert);
+
+        KeyStore third = CopyOnWriteKeyStore.create(second);
+        third.setCertificateEntry("newest", cert);
+
+        second.detachFromParents();
+
+        assertThat(second.size()).isEqualTo(6);
+        assertThat(second.containsAlias("cert0")).isFalse();
+        assertThat(second.containsAlias("new")).isFalse();
+        assertThat(second.containsAlias("newer")).isTrue();
+        assertThat(second.getKey("key", ENTRY_PASSWORD)).isNotNull();
+        assertThat(third.size()).isEqualTo(7);
+        assertThat(third.containsAlias("newest")).isTrue();
+
+        // only the merged changes are retained, the root is shared
+        assertThat(CopyOnWriteKeyStore.getRetainedSize(second)).isLessThan(CopyOnWriteKeyStore.getRetainedSize(root));
+    }
+}
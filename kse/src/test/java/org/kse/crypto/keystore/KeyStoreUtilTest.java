@@ -20,20 +20,25 @@
 package org.kse.crypto.keystore;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
 import java.security.Provider;
 import java.util.Arrays;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.kse.crypto.CryptoException;
 import org.kse.crypto.CryptoTestsBase;
 import org.kse.crypto.keypair.KeyPairType;
 import org.kse.crypto.signing.SignatureType;
@@ -81,6 +86,39 @@ public class KeyStoreUtilTest extends CryptoTestsBase {
         assertThat(keyStore.getType()).isEqualTo(keyStoreType.jce());
     }
 
+    @ParameterizedTest
+    @CsvSource({ "JKS", "PKCS12", "BCFKS" })
+    void saveReplacesExistingFile(KeyStoreType keyStoreType) throws Exception {
+        File keyStoreFile = File.createTempFile("keystore", keyStoreType.jce().toLowerCase());
+        keyStoreFile.deleteOnExit();
+        FileUtils.writeStringToFile(keyStoreFile, "previous content", StandardCharsets.US_ASCII);
+
+        KeyStoreUtil.save(KeyStoreUtil.create(keyStoreType), keyStoreFile, PASSWORD);
+
+        assertThat(KeyStoreUtil.load(keyStoreFile, PASSWORD).getType()).isEqualTo(keyStoreType.jce());
+        assertThat(leftoverTempFiles(keyStoreFile)).isEmpty();
+    }
+
+    @Test
+    void failedSaveKeepsExistingFile() throws Exception {
+        File keyStoreFile = File.createTempFile("keystore", ".jks");
+        keyStoreFile.deleteOnExit();
+        FileUtils.writeStringToFile(keyStoreFile, "previous content", StandardCharsets.US_ASCII);
+
+        // store() fails for a KeyStore that has not been loaded
+        KeyStore uninitialized = KeyStore.getInstance(KeyStoreType.JKS.jce());
+
+        assertThatThrownBy(() -> KeyStoreUtil.save(uninitialized, keyStoreFile, PASSWORD)).isInstanceOf(
+                CryptoException.class);
+        assertThat(FileUtils.readFileToString(keyStoreFile, StandardCharsets.US_ASCII)).isEqualTo(
+                "previous content");
+        assertThat(leftoverTempFiles(keyStoreFile)).isEmpty();
+    }
+
+    private static String[] leftoverTempFiles(File keyStoreFile) {
+        return keyStoreFile.getParentFile().list((dir, name) -> name.startsWith("." + keyStoreFile.getName()));
+    }
+
     @ParameterizedTest
     @MethodSource(value = "mldsaSupportedKeyStores")
     void shouldHandleMLDSAKeyPairs(KeyStoreType keyStoreType) throws Exception {
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.keypair.KeyPairType;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+
+/**
+ * Unit tests for OcspClient.
+ */
+public class OcspClientTest extends KeyPairTestsBase {
+
+    private static X509Certificate caCert;
+    private static List<X509Certificate> certs;
+    private static KeyPair responderKeyPair;
+
+    @BeforeAll
+    public static void createCertificates() throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        X500Name caName = new X500Name("CN=OCSP CA");
+
+        caCert = generator.generateSelfSigned(caName, TimeUnit.DAYS.toMillis(30), rsaKeyPair.getPublic(),
+                                              rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+
+        certs = new ArrayList<>();
+        Date start = new Date();
+        Date end = new Date(start.getTime() + TimeUnit.DAYS.toMillis(30));
+        for (int i = 2; i < 7; i++) {
+            certs.add(generator.generate(new X500Name("CN=Client " + i), caName, start, end, dsaKeyPair.getPublic(),
+                                         rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.valueOf(i)));
+        }
+
+        responderKeyPair = KeyPairUtil.generateKeyPair(KeyPairType.RSA, 2048, KSE.BC);
+    }
+
+    private static X509Certificate createResponderCertificate(KeyPurposeId keyPurposeId) throws Exception {
+        Date start = new Date();
+        X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caCert, BigInteger.valueOf(100), start,
+                                                                           new Date(start.getTime() +
+                                                                                    TimeUnit.DAYS.toMillis(1)),
+                                                                           new X500Name("CN=OCSP Responder"),
+                                                                           responderKeyPair.getPublic());
+        builder.addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(keyPurposeId));
+
+        ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC)
+                                                                            .build(rsaKeyPair.getPrivate());
+        return new JcaX509CertificateConverter().setProvider(KSE.BC).getCertificate(builder.build(signer));
+    }
+
+    private static OcspStubResponder startResponder() throws Exception {
+        return new OcspStubResponder(caCert, rsaKeyPair.getPrivate());
+    }
+
+    @Test
+    public void checksCertificatesOfAnIssuerInOneRequest() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.revoke(BigInteger.valueOf(4));
+
+            Map<BigInteger, OcspResult> results = new OcspClient(new OcspResponseCache(100)).check(
+                    responder.getUrl(), caCert, certs);
+
+            assertThat(responder.getRequests()).isEqualTo(1);
+            assertThat(results).hasSize(5);
+            assertThat(results.keySet()).containsExactly(BigInteger.valueOf(2), BigInteger.valueOf(3),
+                                                         BigInteger.valueOf(4), BigInteger.valueOf(5),
+                                                         BigInteger.valueOf(6));
+            assertThat(results.get(BigInteger.valueOf(4)).getCertStatus()).isInstanceOf(RevokedStatus.class);
+            assertThat(results.values()).filteredOn(OcspResult::isGood).hasSize(4);
+        }
+    }
+
+    @Test
+    public void splitsIntoBatches() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            OcspClient client = new OcspClient(new OcspResponseCache(100));
+            client.setMaxBatchSize(2);
+
+            assertThat(client.check(responder.getUrl(), caCert, certs)).hasSize(5);
+            assertThat(responder.getRequests()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void cachesStatusUntilNextUpdate() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            OcspResponseCache cache = new OcspResponseCache(100);
+            OcspClient client = new OcspClient(cache);
+
+            OcspResult first = client.check(responder.getUrl(), caCert, certs.get(0));
+            OcspResult second = client.check(responder.getUrl(), caCert, certs.get(0));
+
+            assertThat(responder.getRequests()).isEqualTo(1);
+            assertThat(first.isFromCache()).isFalse();
+            assertThat(second.isFromCache()).isTrue();
+            assertThat(second.getSingleResponse()).isSameAs(first.getSingleResponse());
+            assertThat(cache.getHits()).isEqualTo(1);
+
+            // only the missing statuses are requested
+            client.check(responder.getUrl(), caCert, certs);
+            assertThat(responder.getRequests()).isEqualTo(2);
+            assertThat(cache.size()).isEqualTo(5);
+
+            long nextUpdate = first.getNextUpdate().getTime();
+            assertThat(cache.get(responder.getUrl(), first.getCertificateId(), nextUpdate - 1)).isNotNull();
+            assertThat(cache.get(responder.getUrl(), first.getCertificateId(), nextUpdate)).isNull();
+            assertThat(cache.size()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void doesNotCacheStatusWithoutNextUpdate() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setValidity(0);
+            OcspResponseCache cache = new OcspResponseCache(100);
+            OcspClient client = new OcspClient(cache);
+
+            client.check(responder.getUrl(), caCert, certs.get(0));
+            client.check(responder.getUrl(), caCert, certs.get(0));
+
+            assertThat(responder.getRequests()).isEqualTo(2);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    public void nonceRequestsReuseConnection() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            OcspClient client = new OcspClient(new OcspResponseCache(100));
+            client.setIncludeNonce(true);
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.check(responder.getUrl(), caCert, certs.get(0)).isFromCache()).isFalse();
+            }
+
+            assertThat(responder.getRequests()).isEqualTo(3);
+            assertThat(responder.getConnections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void fallsBackToSingleRequests() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setMaxBatchSize(1);
+
+            Map<BigInteger, OcspResult> results = new OcspClient(new OcspResponseCache(100)).check(
+                    responder.getUrl(), caCert, certs.subList(0, 3));
+
+            assertThat(results.values()).hasSize(3).allMatch(OcspResult::isGood);
+            assertThat(responder.getRequests()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void asksAgainForUnansweredCertificates() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setMaxAnswers(1);
+
+            Map<BigInteger, OcspResult> results = new OcspClient(new OcspResponseCache(100)).check(
+                    responder.getUrl(), caCert, certs.subList(0, 3));
+
+            assertThat(results.values()).hasSize(3).allMatch(OcspResult::isGood);
+            assertThat(responder.getRequests()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void reportsResponseStatus() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setStatus(OCSPResp.TRY_LATER);
+
+            assertThatThrownBy(() -> new OcspClient(new OcspResponseCache(100)).check(responder.getUrl(), caCert,
+                                                                                      certs.get(0)))
+                    .isInstanceOfSatisfying(OcspStatusException.class,
+                                            ex -> assertThat(ex.getStatus()).isEqualTo(OCSPResp.TRY_LATER));
+        }
+    }
+
+    @Test
+    public void rejectsResponsesNotSignedByTheIssuer() throws Exception {
+        try (OcspStubResponder responder = new OcspStubResponder(caCert, responderKeyPair.getPrivate())) {
+            OcspResponseCache cache = new OcspResponseCache(100);
+
+            assertThatThrownBy(() -> new OcspClient(cache).check(responder.getUrl(), caCert, certs))
+                    .isInstanceOf(CryptoException.class)
+                    .isNotInstanceOf(OcspStatusException.class);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    public void acceptsDelegatedResponder() throws Exception {
+        X509Certificate responderCert = createResponderCertificate(KeyPurposeId.id_kp_OCSPSigning);
+
+        try (OcspStubResponder responder = new OcspStubResponder(responderCert, responderKeyPair.getPrivate())) {
+            Map<BigInteger, OcspResult> results = new OcspClient(new OcspResponseCache(100)).check(
+                    responder.getUrl(), caCert, certs);
+
+            assertThat(results.values()).hasSize(5).allMatch(OcspResult::isGood);
+        }
+    }
+
+    @Test
+    public void rejectsDelegatedResponderWithoutOcspSigningUsage() throws Exception {
+        X509Certificate responderCert = createResponderCertificate(KeyPurposeId.id_kp_serverAuth);
+
+        try (OcspStubResponder responder = new OcspStubResponder(responderCert, responderKeyPair.getPrivate())) {
+            assertThatThrownBy(() -> new OcspClient(new OcspResponseCache(100)).check(responder.getUrl(), caCert,
+                                                                                      certs.get(0)))
+                    .isInstanceOf(CryptoException.class);
+        }
+    }
+
+    @Test
+    public void rejectsStatusesOfAnotherIssuer() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setOtherIssuer(true);
+            OcspResponseCache cache = new OcspResponseCache(100);
+
+            assertThatThrownBy(() -> new OcspClient(cache).check(responder.getUrl(), caCert, certs))
+                    .isInstanceOf(CryptoException.class);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    public void rejectsOutdatedStatuses() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setClockOffset(-TimeUnit.HOURS.toMillis(2));
+            OcspResponseCache cache = new OcspResponseCache(100);
+
+            assertThatThrownBy(() -> new OcspClient(cache).check(responder.getUrl(), caCert, certs.get(0)))
+                    .isInstanceOf(CryptoException.class);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    public void rejectsStatusesNotYetValid() throws Exception {
+        try (OcspStubResponder responder = startResponder()) {
+            responder.setClockOffset(TimeUnit.HOURS.toMillis(1));
+            OcspResponseCache cache = new OcspResponseCache(100);
+
+            assertThatThrownBy(() -> new OcspClient(cache).check(responder.getUrl(), caCert, certs.get(0)))
+                    .isInstanceOf(CryptoException.class);
+            assertThat(cache.size()).isZero();
+
+            // a small clock skew is accepted
+            responder.setClockOffset(TimeUnit.MINUTES.toMillis(1));
+            assertThat(new OcspClient(cache).check(responder.getUrl(), caCert, certs.get(0)).isGood()).isTrue();
+        }
+    }
+}
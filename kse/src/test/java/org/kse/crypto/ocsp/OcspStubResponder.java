@@ -0,0 +1,255 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.ocsp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.CertID;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.Req;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.kse.KSE;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal OCSP responder on a local port for tests and benchmarks. Every certificate it is asked for is good unless
+ * it has been revoked; the responses are signed with the issuer key or the key of a delegated responder.
+ */
+public class OcspStubResponder implements Closeable {
+
+    private final X509Certificate issuer;
+    private final PrivateKey issuerKey;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Set<BigInteger> revoked = ConcurrentHashMap.newKeySet();
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = OCSPRespBuilder.SUCCESSFUL;
+    private volatile long validity = TimeUnit.HOURS.toMillis(1);
+    private volatile int maxBatchSize = Integer.MAX_VALUE;
+    private volatile int maxAnswers = Integer.MAX_VALUE;
+    private volatile long delay;
+    private volatile long clockOffset;
+    private volatile boolean otherIssuer;
+
+    /**
+     * Start a responder.
+     *
+     * @param issuer    Issuer of the certificates or delegated responder, included in the responses
+     * @param issuerKey Private key the responses are signed with
+     * @throws IOException If the server could not be started
+     */
+    public OcspStubResponder(X509Certificate issuer, PrivateKey issuerKey) throws IOException {
+        this.issuer = issuer;
+        this.issuerKey = issuerKey;
+
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kse-ocsp-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/ocsp";
+    }
+
+    public void revoke(BigInteger serialNumber) {
+        revoked.add(serialNumber);
+    }
+
+    /**
+     * Answer all requests with this status instead of a successful response.
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Time between this and next update of the statuses, 0 for responses without a next update.
+     */
+    public void setValidity(long validity) {
+        this.validity = validity;
+    }
+
+    /**
+     * Reject requests for more certificates as malformed.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Only answer this many certificates of a request.
+     */
+    public void setMaxAnswers(int maxAnswers) {
+        this.maxAnswers = maxAnswers;
+    }
+
+    /**
+     * Wait before answering, to simulate the latency of a remote responder.
+     */
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Shift the this and next update times of the statuses, to simulate outdated or not yet valid statuses.
+     */
+    public void setClockOffset(long clockOffset) {
+        this.clockOffset = clockOffset;
+    }
+
+    /**
+     * Answer with the issuer key hash of another issuer.
+     */
+    public void setOtherIssuer(boolean otherIssuer) {
+        this.otherIssuer = otherIssuer;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Get the number of TCP connections the requests were received on.
+     */
+    public int getConnections() {
+        return connections.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        connections.add(exchange.getRemoteAddress().toString());
+
+        try {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            byte[] response = respond(new OCSPReq(request)).getEncoded();
+
+            exchange.getResponseHeaders().set("Content-Type", "application/ocsp-response");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (Exception ex) {
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private OCSPResp respond(OCSPReq request) throws Exception {
+        Req[] requestList = request.getRequestList();
+
+        if (status != OCSPRespBuilder.SUCCESSFUL) {
+            return new OCSPRespBuilder().build(status, null);
+        }
+        if (requestList.length > maxBatchSize) {
+            return new OCSPRespBuilder().build(OCSPRespBuilder.MALFORMED_REQUEST, null);
+        }
+
+        Date now = new Date();
+        Date thisUpdate = new Date(now.getTime() + clockOffset);
+        Date nextUpdate = (validity > 0) ? new Date(thisUpdate.getTime() + validity) : null;
+
+        BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(
+                new RespID(X500Name.getInstance(issuer.getSubjectX500Principal().getEncoded())));
+
+        for (int i = 0; i < Math.min(requestList.length, maxAnswers); i++) {
+            Req req = requestList[i];
+            CertificateStatus certStatus = revoked.contains(req.getCertID().getSerialNumber()) ?
+                                           new RevokedStatus(new Date(now.getTime() - 1000), CRLReason.keyCompromise) :
+                                           CertificateStatus.GOOD;
+            builder.addResponse(otherIssuer ? getOtherIssuerId(req.getCertID()) : req.getCertID(), certStatus,
+                                thisUpdate, nextUpdate);
+        }
+
+        Extension nonce = request.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+        if (nonce != null) {
+            builder.setResponseExtensions(new Extensions(nonce));
+        }
+
+        ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC).build(issuerKey);
+        BasicOCSPResp basicResponse = builder.build(signer, new X509CertificateHolder[] {
+                new JcaX509CertificateHolder(issuer) }, now);
+
+        return new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, basicResponse);
+    }
+
+    private static CertificateID getOtherIssuerId(CertificateID certificateId) {
+        byte[] issuerKeyHash = certificateId.getIssuerKeyHash().clone();
+        issuerKeyHash[0] ^= 1;
+
+        return new CertificateID(new CertID(new AlgorithmIdentifier(certificateId.getHashAlgOID()),
+                                            new DEROctetString(certificateId.getIssuerNameHash()),
+                                            new DEROctetString(issuerKeyHash),
+                                            new ASN1Integer(certificateId.getSerialNumber())));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v2CRLBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.crl.CrlStore;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.ocsp.OcspClient;
+import org.kse.crypto.ocsp.OcspResponseCache;
+import org.kse.crypto.ocsp.OcspStubResponder;
+import org.kse.crypto.revocation.RevocationSweep.ChainStatus;
+import org.kse.crypto.revocation.RevocationSweep.ExpiryStatus;
+import org.kse.crypto.revocation.RevocationSweep.Result;
+import org.kse.crypto.revocation.RevocationSweep.RevocationStatus;
+import org.kse.crypto.revocation.RevocationSweep.Summary;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.crypto.x509.X509ExtensionSet;
+
+/**
+ * Unit tests for RevocationSweep.
+ */
+public class RevocationSweepTest extends KeyPairTestsBase {
+
+    private static final X500Name CA_NAME = new X500Name("CN=Sweep CA");
+
+    private static X509Certificate caCert;
+    private static File crlFile;
+
+    @BeforeAll
+    public static void createCa() throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        caCert = generator.generateSelfSigned(CA_NAME, TimeUnit.DAYS.toMillis(30), rsaKeyPair.getPublic(),
+                                              rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA, BigInteger.ONE);
+
+        Date now = new Date();
+        X509v2CRLBuilder builder = new JcaX509v2CRLBuilder(caCert.getSubjectX500Principal(),
+                                                           new Date(now.getTime() - 60000));
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        builder.addCRLEntry(BigInteger.valueOf(1001), new Date(now.getTime() - 60000), CRLReason.keyCompromise);
+
+        crlFile = File.createTempFile("sweep", ".crl");
+        crlFile.deleteOnExit();
+        Files.write(crlFile.toPath(), builder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(KSE.BC)
+                                                                                                .build(rsaKeyPair.getPrivate()))
+                                             .getEncoded());
+    }
+
+    private static X509Certificate issue(int serialNumber, String ocspUrl, String crlLocation, long validity)
+            throws Exception {
+        X509ExtensionSet extensions = new X509ExtensionSet();
+        if (ocspUrl != null) {
+            AuthorityInformationAccess aia = new AuthorityInformationAccess(
+                    new AccessDescription(AccessDescription.id_ad_ocsp,
+                                          new GeneralName(GeneralName.uniformResourceIdentifier, ocspUrl)));
+            extensions.addExtension(Extension.authorityInfoAccess.getId(), false,
+                                    new DEROctetString(aia).getEncoded());
+        }
+        if (crlLocation != null) {
+            CRLDistPoint crlDistPoint = new CRLDistPoint(new DistributionPoint[] {
+                    new DistributionPoint(new DistributionPointName(new GeneralNames(
+                            new GeneralName(GeneralName.uniformResourceIdentifier, crlLocation))), null, null) });
+            extensions.addExtension(Extension.cRLDistributionPoints.getId(), false,
+                                    new DEROctetString(crlDistPoint).getEncoded());
+        }
+
+        Date start = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        return generator.generate(new X500Name("CN=Client " + serialNumber), CA_NAME, start,
+                                  new Date(System.currentTimeMillis() + validity), dsaKeyPair.getPublic(),
+                                  rsaKeyPair.getPrivate(), SignatureType.SHA256_RSA,
+                                  BigInteger.valueOf(serialNumber), extensions, KSE.BC);
+    }
+
+    private static RevocationSweep createSweep() {
+        return new RevocationSweep(new OcspClient(new OcspResponseCache(1000)), new CrlStore(4));
+    }
+
+    private static Map<String, Result> sweep(RevocationSweep sweep, KeyStore keyStore, Summary[] summary)
+            throws Exception {
+        Map<String, Result> results = new HashMap<>();
+        summary[0] = sweep.sweep(keyStore, result -> results.put(result.getAlias(), result));
+        return results;
+    }
+
+    @Test
+    public void checksAllEntries() throws Exception {
+        long validity = TimeUnit.DAYS.toMillis(90);
+        String crlLocation = crlFile.toURI().toString();
+
+        try (OcspStubResponder responder = new OcspStubResponder(caCert, rsaKeyPair.getPrivate())) {
+            responder.revoke(BigInteger.valueOf(13));
+
+            KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+            keyStore.setCertificateEntry("ca", caCert);
+            for (int i = 0; i < 45; i++) {
+                keyStore.setCertificateEntry("ocsp" + i, issue(i, responder.getUrl(), null, validity));
+            }
+            keyStore.setCertificateEntry("crl-good", issue(1000, null, crlLocation, validity));
+            keyStore.setCertificateEntry("crl-revoked", issue(1001, null, crlLocation, validity));
+            keyStore.setCertificateEntry("expiring", issue(2000, null, crlLocation, TimeUnit.DAYS.toMillis(2)));
+            keyStore.setCertificateEntry("expired", issue(2001, responder.getUrl(), null, -TimeUnit.DAYS.toMillis(1)));
+            keyStore.setCertificateEntry("no-source", issue(2002, null, null, validity));
+
+            Summary[] summary = new Summary[1];
+            Map<String, Result> results = sweep(createSweep(), keyStore, summary);
+
+            assertThat(results).hasSize(51);
+            assertThat(summary[0].getTotal()).isEqualTo(51);
+            assertThat(summary[0].getIssuers()).isEqualTo(1);
+
+            // one request per batch of an issuer, not one per certificate
+            assertThat(responder.getRequests()).isEqualTo(3);
+
+            assertThat(results.get("ca").getChainStatus()).isEqualTo(ChainStatus.TRUST_ANCHOR);
+            assertThat(results.get("ca").getRevocationStatus()).isEqualTo(RevocationStatus.NOT_CHECKED);
+
+            assertThat(results.get("ocsp0").getChainStatus()).isEqualTo(ChainStatus.VALID);
+            assertThat(results.get("ocsp0").getRevocationStatus()).isEqualTo(RevocationStatus.GOOD);
+            assertThat(results.get("ocsp0").getRevocationSource()).isEqualTo(responder.getUrl());
+            assertThat(results.get("ocsp13").getRevocationStatus()).isEqualTo(RevocationStatus.REVOKED);
+
+            assertThat(results.get("crl-good").getRevocationStatus()).isEqualTo(RevocationStatus.GOOD);
+            assertThat(results.get("crl-good").getRevocationSource()).isEqualTo(crlLocation);
+            assertThat(results.get("crl-revoked").getRevocationStatus()).isEqualTo(RevocationStatus.REVOKED);
+
+            assertThat(results.get("expiring").getExpiryStatus()).isEqualTo(ExpiryStatus.EXPIRING);
+            assertThat(results.get("expired").getExpiryStatus()).isEqualTo(ExpiryStatus.EXPIRED);
+            assertThat(results.get("expired").getRevocationStatus()).isEqualTo(RevocationStatus.NOT_CHECKED);
+            assertThat(results.get("no-source").getRevocationStatus()).isEqualTo(RevocationStatus.NOT_CHECKED);
+
+            assertThat(summary[0].getCount(RevocationStatus.GOOD)).isEqualTo(46);
+            assertThat(summary[0].getCount(RevocationStatus.REVOKED)).isEqualTo(2);
+            assertThat(summary[0].getCount(RevocationStatus.NOT_CHECKED)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void reportsUntrustedCertificates() throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        Date start = new Date();
+        X509Certificate stranger = generator.generate(new X500Name("CN=Stranger"), new X500Name("CN=Unknown CA"),
+                                                      start, new Date(start.getTime() + TimeUnit.DAYS.toMillis(90)),
+                                                      dsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                                                      SignatureType.SHA256_RSA, BigInteger.TEN);
+
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        keyStore.setCertificateEntry("stranger", stranger);
+
+        Summary[] summary = new Summary[1];
+        Result result = sweep(createSweep(), keyStore, summary).get("stranger");
+
+        assertThat(result.getChainStatus()).isEqualTo(ChainStatus.UNTRUSTED);
+        assertThat(result.getChainMessage()).isNotEmpty();
+        assertThat(result.getRevocationStatus()).isEqualTo(RevocationStatus.NOT_CHECKED);
+        assertThat(result.getExpiryStatus()).isEqualTo(ExpiryStatus.VALID);
+        assertThat(summary[0].getIssuers()).isZero();
+    }
+
+    @Test
+    public void limitsConnectionsPerHost() throws Exception {
+        try (OcspStubResponder responder = new OcspStubResponder(caCert, rsaKeyPair.getPrivate())) {
+            responder.setDelay(50);
+
+            KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+            keyStore.setCertificateEntry("ca", caCert);
+            for (int i = 0; i < 60; i++) {
+                keyStore.setCertificateEntry("ocsp" + i, issue(i, responder.getUrl(), null,
+                                                               TimeUnit.DAYS.toMillis(90)));
+            }
+
+            RevocationSweep sweep = createSweep();
+            sweep.setHostConnections(1);
+            Summary[] summary = new Summary[1];
+            sweep(sweep, keyStore, summary);
+
+            assertThat(summary[0].getCount(RevocationStatus.GOOD)).isEqualTo(60);
+            assertThat(responder.getRequests()).isEqualTo(3);
+            // the requests were sent one after the other over a single kept-alive connection
+            assertThat(responder.getConnections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void fallsBackToCrlIfResponderIsDown() throws Exception {
+        String crlLocation = crlFile.toURI().toString();
+
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        keyStore.setCertificateEntry("ca", caCert);
+        keyStore.setCertificateEntry("good", issue(1000, "http://127.0.0.1:1/ocsp", crlLocation,
+                                                   TimeUnit.DAYS.toMillis(90)));
+        keyStore.setCertificateEntry("revoked", issue(1001, "http://127.0.0.1:1/ocsp", crlLocation,
+                                                      TimeUnit.DAYS.toMillis(90)));
+        keyStore.setCertificateEntry("ocsp-only", issue(3, "http://127.0.0.1:1/ocsp", null,
+                                                        TimeUnit.DAYS.toMillis(90)));
+
+        Summary[] summary = new Summary[1];
+        Map<String, Result> results = sweep(createSweep(), keyStore, summary);
+
+        assertThat(results.get("good").getRevocationStatus()).isEqualTo(RevocationStatus.GOOD);
+        assertThat(results.get("good").getRevocationSource()).isEqualTo(crlLocation);
+        assertThat(results.get("revoked").getRevocationStatus()).isEqualTo(RevocationStatus.REVOKED);
+        assertThat(results.get("ocsp-only").getRevocationStatus()).isEqualTo(RevocationStatus.FAILED);
+        assertThat(results.get("ocsp-only").getRevocationMessage()).isNotEmpty();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.CMSSignerDigestMismatchException;
+import org.bouncycastle.cms.SignerInformation;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.kse.KSE;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+
+/**
+ * Unit tests for CmsSigner.
+ */
+public class CmsSignerTest extends KeyPairTestsBase {
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void createCertificate() throws Exception {
+        Date now = new Date();
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        cert = generator.generateSelfSigned(new X500Name("CN=CmsSignerTest"), now,
+                                            new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)),
+                                            rsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                                            SignatureType.SHA256_RSA, BigInteger.ONE);
+    }
+
+    private static File createContent(int size) throws Exception {
+        File contentFile = File.createTempFile("kse", ".bin");
+        contentFile.deleteOnExit();
+
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Files.write(contentFile.toPath(), content);
+        return contentFile;
+    }
+
+    private static File getSignatureFile(File contentFile) {
+        File signatureFile = new File(contentFile.getPath() + ".p7s");
+        signatureFile.deleteOnExit();
+        return signatureFile;
+    }
+
+    private static void assertSignersAreValid(CMSSignedData signedData) throws Exception {
+        assertThat(signedData.getSignerInfos().getSigners()).hasSize(1);
+        for (SignerInformation signer : signedData.getSignerInfos().getSigners()) {
+            assertThat(signer.verify(new JcaSimpleSignerInfoVerifierBuilder().setProvider(KSE.BC).build(cert)))
+                    .isTrue();
+        }
+    }
+
+    private static int countTempSignatureFiles(File directory) {
+        return directory.listFiles((dir, name) -> name.matches("kse\\d+\\.p7s")).length;
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "true, false", "true, true", "false, false", "false, true" })
+    public void streamedSignatureIsValid(boolean detached, boolean pem) throws Exception {
+        File contentFile = createContent(3 * 1024 * 1024 + 17);
+        File signatureFile = getSignatureFile(contentFile);
+
+        AtomicLong processed = new AtomicLong();
+        CmsSigner.sign(contentFile, signatureFile, rsaKeyPair.getPrivate(), new X509Certificate[] { cert }, detached,
+                       SignatureType.SHA256_RSA, null, pem, KSE.BC, (p, total) -> processed.set(p));
+
+        assertThat(processed.get()).isEqualTo(contentFile.length());
+
+        byte[] signature = Files.readAllBytes(signatureFile.toPath());
+        assertThat(new String(signature, 0, 10, StandardCharsets.US_ASCII).startsWith("-----BEGIN")).isEqualTo(pem);
+
+        CMSSignedData signedData = CmsUtil.loadSignature(signatureFile, null);
+        assertThat(signedData.isDetachedSignature()).isEqualTo(detached);
+        assertThat(signedData.getSignedContent()).isNotNull();
+        assertSignersAreValid(signedData);
+
+        if (!detached) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            signedData.getSignedContent().write(content);
+            assertThat(content.toByteArray()).isEqualTo(Files.readAllBytes(contentFile.toPath()));
+        }
+    }
+
+    @Test
+    public void detachedContentIsDigestedOnLoad() throws Exception {
+        File contentFile = createContent(1024 * 1024);
+        File signatureFile = getSignatureFile(contentFile);
+        CmsSigner.sign(contentFile, signatureFile, rsaKeyPair.getPrivate(), new X509Certificate[] { cert }, true,
+                       SignatureType.SHA256_RSA, null, false, KSE.BC, null);
+
+        AtomicLong processed = new AtomicLong();
+        CMSSignedData signedData = CmsUtil.loadSignature(signatureFile, null, (p, total) -> processed.set(p));
+        assertThat(processed.get()).isEqualTo(contentFile.length());
+        assertSignersAreValid(signedData);
+
+        // modified content must not verify
+        byte[] content = Files.readAllBytes(contentFile.toPath());
+        content[content.length / 2] ^= 1;
+        Files.write(contentFile.toPath(), content);
+
+        SignerInformation signer = CmsUtil.loadSignature(signatureFile, null).getSignerInfos().getSigners().iterator()
+                                          .next();
+        assertThatThrownBy(
+                () -> signer.verify(new JcaSimpleSignerInfoVerifierBuilder().setProvider(KSE.BC).build(cert)))
+                .isInstanceOf(CMSSignerDigestMismatchException.class);
+    }
+
+    @Test
+    public void failedSigningKeepsExistingOutput() throws Exception {
+        File contentFile = createContent(1024);
+        File signatureFile = getSignatureFile(contentFile);
+        Files.write(signatureFile.toPath(), new byte[] { 1, 2, 3 });
+        int tempFiles = countTempSignatureFiles(signatureFile.getParentFile());
+
+        File missingFile = new File(contentFile.getPath() + ".missing");
+        assertThatThrownBy(() -> CmsSigner.sign(missingFile, signatureFile, rsaKeyPair.getPrivate(),
+                                                new X509Certificate[] { cert }, true, SignatureType.SHA256_RSA, null,
+                                                false, KSE.BC, null)).isInstanceOf(CryptoException.class);
+
+        assertThat(Files.readAllBytes(signatureFile.toPath())).containsExactly(1, 2, 3);
+        assertThat(countTempSignatureFiles(signatureFile.getParentFile())).isEqualTo(tempFiles);
+    }
+}
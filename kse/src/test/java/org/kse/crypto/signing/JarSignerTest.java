@@ -0,0 +1,193 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kse.KSE;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.digest.DigestType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+
+/**
+ * Unit tests for JarSigner.
+ */
+public class JarSignerTest extends KeyPairTestsBase {
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void createCertificate() throws Exception {
+        Date now = new Date();
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        cert = generator.generateSelfSigned(new X500Name("CN=JarSignerTest"), now,
+                                            new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)),
+                                            rsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                                            SignatureType.SHA256_RSA, BigInteger.ONE);
+    }
+
+    private static File createJar(int entries) throws Exception {
+        File jarFile = createTempFile();
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+        manifest.getMainAttributes().putValue("Main-Class", "org.example.Main");
+
+        Random random = new Random(entries);
+        try (OutputStream os = Files.newOutputStream(jarFile.toPath());
+             JarOutputStream jos = new JarOutputStream(os, manifest)) {
+            jos.putNextEntry(new JarEntry("org/example/"));
+            jos.closeEntry();
+            jos.putNextEntry(new JarEntry("org/example/empty/"));
+            jos.closeEntry();
+
+            for (int i = 0; i < entries; i++) {
+                byte[] content = new byte[random.nextInt(4096)];
+                for (int j = 0; j < content.length; j++) {
+                    content[j] = (byte) random.nextInt(32);
+                }
+
+                JarEntry entry = new JarEntry("org/example/Class" + i + ".class");
+                if (i % 5 == 0) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(JarEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                jos.putNextEntry(entry);
+                jos.write(content);
+                jos.closeEntry();
+            }
+        }
+
+        return jarFile;
+    }
+
+    private static File createTempFile() throws Exception {
+        File file = File.createTempFile("kse", ".jar");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static File sign(File jarFile, boolean parallel) throws Exception {
+        File signedJarFile = createTempFile();
+        JarSigner.sign(jarFile, signedJarFile, rsaKeyPair.getPrivate(), new X509Certificate[] { cert },
+                       SignatureType.SHA256_RSA, "test", "KSE", DigestType.SHA256, null, KSE.BC, parallel);
+        return signedJarFile;
+    }
+
+    private static byte[] readEntry(File jarFile, String name) throws Exception {
+        try (JarFile jar = new JarFile(jarFile); InputStream is = jar.getInputStream(jar.getJarEntry(name))) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static void assertSignatureIsValid(File signedJarFile, int entries) throws Exception {
+        try (JarFile jar = new JarFile(signedJarFile, true)) {
+            int signed = 0;
+            for (JarEntry entry : Collections.list(jar.entries())) {
+                try (InputStream is = jar.getInputStream(entry)) {
+                    // reading the entry completely verifies its digest
+                    is.readAllBytes();
+                }
+                if (!entry.isDirectory() && !entry.getName().startsWith("META-INF/")) {
+                    assertThat(entry.getCodeSigners()).as(entry.getName()).isNotNull();
+                    signed++;
+                }
+            }
+            assertThat(signed).isEqualTo(entries);
+            assertThat(jar.getManifest().getMainAttributes().getValue("Main-Class")).isEqualTo("org.example.Main");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void signedJarIsValid(boolean parallel) throws Exception {
+        File signedJarFile = sign(createJar(200), parallel);
+
+        assertSignatureIsValid(signedJarFile, 200);
+        assertThat(JarSigner.hasSignature(signedJarFile, "TEST")).isTrue();
+    }
+
+    @Test
+    public void parallelSigningCreatesSameManifest() throws Exception {
+        File jarFile = createJar(500);
+
+        File sequential = sign(jarFile, false);
+        File parallel = sign(jarFile, true);
+
+        assertThat(readEntry(parallel, "META-INF/MANIFEST.MF")).isEqualTo(readEntry(sequential, "META-INF/MANIFEST.MF"));
+        assertThat(readEntry(parallel, "META-INF/TEST.SF")).isEqualTo(readEntry(sequential, "META-INF/TEST.SF"));
+    }
+
+    @Test
+    public void parallelSigningWritesSameEntries() throws Exception {
+        File jarFile = sign(createJar(100), false);
+
+        File sequential = sign(jarFile, false);
+        File parallel = sign(jarFile, true);
+
+        assertThat(entryNames(parallel)).containsExactlyElementsOf(entryNames(sequential))
+                                        .contains("org/example/", "org/example/empty/");
+    }
+
+    private static List<String> entryNames(File jarFile) throws Exception {
+        try (JarFile jar = new JarFile(jarFile)) {
+            return Collections.list(jar.entries()).stream().map(JarEntry::getName).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void resigningReplacesSignature() throws Exception {
+        File signedJarFile = sign(sign(createJar(50), true), true);
+
+        assertSignatureIsValid(signedJarFile, 50);
+        try (JarFile jar = new JarFile(signedJarFile)) {
+            long signatureFiles = Collections.list(jar.entries()).stream()
+                                             .filter(e -> e.getName().equals("META-INF/TEST.SF"))
+                                             .count();
+            assertThat(signatureFiles).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.KSE;
+import org.kse.crypto.CryptoTestsBase;
+import org.kse.crypto.keypair.KeyPairUtil;
+import org.kse.crypto.signing.SignatureType;
+
+/**
+ * Unit tests for TrustAnchorIndex and the chain building methods of X509CertUtil that use it.
+ */
+public class TrustAnchorIndexTest extends CryptoTestsBase {
+    private static final Date START = new Date();
+    private static final Date END = new Date(START.getTime() + TimeUnit.DAYS.toMillis(1));
+
+    private static KeyPair caKeyPair;
+    private static KeyPair otherKeyPair;
+
+    private static long serial;
+
+    @BeforeAll
+    public static void initKeyPairs() throws Exception {
+        caKeyPair = KeyPairUtil.generateECKeyPair("prime256v1", KSE.BC);
+        otherKeyPair = KeyPairUtil.generateECKeyPair("prime256v1", KSE.BC);
+    }
+
+    private static X509Certificate issue(String subject, String issuer, KeyPair subjectKeyPair, KeyPair issuerKeyPair,
+                                         int keyId, int issuerKeyId) throws Exception {
+        X509ExtensionSet extensions = new X509ExtensionSet();
+        extensions.addExtension(Extension.subjectKeyIdentifier.getId(), false,
+                                new DEROctetString(new SubjectKeyIdentifier(keyId(keyId))).getEncoded());
+        extensions.addExtension(Extension.authorityKeyIdentifier.getId(), false,
+                                new DEROctetString(new AuthorityKeyIdentifier(keyId(issuerKeyId))).getEncoded());
+
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        return generator.generate(new X500Name(subject), new X500Name(issuer), START, END,
+                                  subjectKeyPair.getPublic(), issuerKeyPair.getPrivate(), SignatureType.SHA256_ECDSA,
+                                  BigInteger.valueOf(++serial), extensions, KSE.BC);
+    }
+
+    private static byte[] keyId(int id) {
+        return BigInteger.valueOf(id).toByteArray();
+    }
+
+    @Test
+    public void establishTrustInLargeHierarchy() throws Exception {
+        List<X509Certificate> certs = new ArrayList<>();
+        X509Certificate root = issue("CN=Root", "CN=Root", caKeyPair, caKeyPair, 1, 1);
+        certs.add(root);
+
+        // 10 intermediate CAs with 10 issuing CAs each, all sharing one key so that only the DN and the key
+        // identifiers tell them apart
+        int keyId = 2;
+        X509Certificate lastIssuingCa = null;
+        for (int i = 0; i < 10; i++) {
+            int intermediateKeyId = keyId++;
+            String intermediate = "CN=Intermediate " + i;
+            certs.add(issue(intermediate, "CN=Root", caKeyPair, caKeyPair, intermediateKeyId, 1));
+
+            for (int j = 0; j < 10; j++) {
+                lastIssuingCa = issue("CN=Issuing " + i + "-" + j, intermediate, caKeyPair, caKeyPair, keyId++,
+                                      intermediateKeyId);
+                certs.add(lastIssuingCa);
+            }
+        }
+        Collections.shuffle(certs, new Random(42));
+
+        X509Certificate leaf = issue("CN=Leaf", "CN=Issuing 9-9", otherKeyPair, caKeyPair, keyId, keyId - 1);
+
+        X509Certificate[] chain = X509CertUtil.establishTrust(leaf, certs);
+
+        assertThat(chain).hasSize(4);
+        assertThat(chain[0]).isSameAs(leaf);
+        assertThat(chain[1]).isSameAs(lastIssuingCa);
+        assertThat(chain[2].getSubjectX500Principal().getName()).isEqualTo("CN=Intermediate 9");
+        assertThat(chain[3]).isSameAs(root);
+    }
+
+    @Test
+    public void untrustedCertificateHasNoChain() throws Exception {
+        List<X509Certificate> certs = new ArrayList<>();
+        certs.add(issue("CN=Root", "CN=Root", caKeyPair, caKeyPair, 1, 1));
+        certs.add(issue("CN=CA", "CN=Root", caKeyPair, caKeyPair, 2, 1));
+
+        // right DN, wrong key
+        X509Certificate leaf = issue("CN=Leaf", "CN=CA", caKeyPair, otherKeyPair, 3, 2);
+
+        assertThat(X509CertUtil.establishTrust(leaf, certs)).isNull();
+    }
+
+    @Test
+    public void sameSubjectIsResolvedByKey() throws Exception {
+        X509Certificate root = issue("CN=Root", "CN=Root", caKeyPair, caKeyPair, 1, 1);
+        X509Certificate oldCa = issue("CN=CA", "CN=Root", otherKeyPair, caKeyPair, 2, 1);
+        X509Certificate newCa = issue("CN=CA", "CN=Root", caKeyPair, caKeyPair, 3, 1);
+        X509Certificate leaf = issue("CN=Leaf", "CN=CA", otherKeyPair, caKeyPair, 4, 3);
+
+        TrustAnchorIndex index = new TrustAnchorIndex(new X509Certificate[] { root, oldCa, newCa });
+
+        assertThat(index.findIssuerCandidates(leaf)).containsExactly(newCa);
+        assertThat(index.establishTrust(leaf)).containsExactly(leaf, newCa, root);
+        assertThat(index.isIssuedBy(leaf, oldCa)).isFalse();
+    }
+
+    @Test
+    public void crossCertifiedCycleTerminates() throws Exception {
+        X509Certificate caA = issue("CN=A", "CN=B", caKeyPair, otherKeyPair, 1, 2);
+        X509Certificate caB = issue("CN=B", "CN=A", otherKeyPair, caKeyPair, 2, 1);
+        X509Certificate leaf = issue("CN=Leaf", "CN=A", otherKeyPair, caKeyPair, 3, 1);
+
+        List<X509Certificate> certs = List.of(caA, caB);
+
+        assertThat(X509CertUtil.establishTrust(leaf, certs)).isNull();
+        assertThat(X509CertUtil.orderX509CertChain(new X509Certificate[] { caA, caB, leaf })).hasSize(3);
+    }
+
+    @Test
+    public void orderLongChain() throws Exception {
+        int depth = 50;
+        X509Certificate[] ordered = new X509Certificate[depth];
+        ordered[depth - 1] = issue("CN=CA 0", "CN=CA 0", caKeyPair, caKeyPair, 1, 1);
+        for (int i = 1; i < depth; i++) {
+            ordered[depth - 1 - i] = issue("CN=CA " + i, "CN=CA " + (i - 1), caKeyPair, caKeyPair, i + 1, i);
+        }
+
+        List<X509Certificate> shuffled = new ArrayList<>(List.of(ordered));
+        Collections.shuffle(shuffled, new Random(42));
+        X509Certificate[] certs = shuffled.toArray(new X509Certificate[0]);
+
+        assertThat(X509CertUtil.orderX509CertChain(certs)).containsExactly(ordered);
+    }
+}
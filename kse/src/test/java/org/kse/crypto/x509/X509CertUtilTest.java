@@ -0,0 +1,65 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.X509Certificate;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.CryptoException;
+import org.kse.crypto.CryptoTestsBase;
+
+/**
+ * Unit tests for loading certificates with X509CertUtil.
+ */
+public class X509CertUtilTest extends CryptoTestsBase {
+
+    private static byte[] readBundle() throws Exception {
+        return FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.multi.pem.cer"));
+    }
+
+    @Test
+    public void loadsPemBundleFromBytesAndStream() throws Exception {
+        byte[] bundle = readBundle();
+
+        X509Certificate[] fromBytes = X509CertUtil.loadCertificates(bundle);
+        X509Certificate[] fromStream = X509CertUtil.loadCertificates(new ByteArrayInputStream(bundle));
+
+        assertThat(fromBytes).hasSize(3);
+        assertThat(fromStream).containsExactly(fromBytes);
+    }
+
+    @Test
+    public void truncatedPemBundleFails() throws Exception {
+        String bundle = new String(readBundle(), StandardCharsets.US_ASCII);
+        byte[] truncated = bundle.substring(0, bundle.lastIndexOf("-----END")).getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> X509CertUtil.loadCertificates(truncated)).isInstanceOf(CryptoException.class);
+        assertThatThrownBy(() -> X509CertUtil.loadCertificates(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(CryptoException.class);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.crypto.x509;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+
+import org.apache.commons.io.FileUtils;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.signing.SignatureType;
+
+/**
+ * Unit tests for X509CertificateCache.
+ */
+public class X509CertificateCacheTest extends KeyPairTestsBase {
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void loadCertificate() throws Exception {
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        cert = X509CertUtil.loadCertificates(certBytes)[0];
+    }
+
+    private static X509Certificate generateCertificate(int serial) throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        return generator.generateSelfSigned(new X500Name("CN=test" + serial), 1000L * 60 * 60 * 24,
+                                            rsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                                            SignatureType.SHA256_RSA, BigInteger.valueOf(serial));
+    }
+
+    @Test
+    public void convertReturnsCachedInstance() throws Exception {
+        X509CertificateCache cache = X509CertUtil.getCertificateCache();
+
+        X509Certificate first = X509CertUtil.convertCertificate(cert);
+        long hits = cache.getHits();
+        X509Certificate second = X509CertUtil.convertCertificate(cert);
+
+        assertThat(second).isSameAs(first).isEqualTo(cert);
+        assertThat(cache.getHits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws Exception {
+        X509CertificateCache cache = new X509CertificateCache(2);
+        X509Certificate cert1 = generateCertificate(1);
+        X509Certificate cert2 = generateCertificate(2);
+        X509Certificate cert3 = generateCertificate(3);
+
+        cache.put(cert1.getEncoded(), cert1);
+        cache.put(cert2.getEncoded(), cert2);
+        assertThat(cache.get(cert1.getEncoded())).isSameAs(cert1);
+
+        cache.put(cert3.getEncoded(), cert3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(cert1.getEncoded())).isSameAs(cert1);
+        assertThat(cache.get(cert2.getEncoded())).isNull();
+        assertThat(cache.get(cert3.getEncoded())).isSameAs(cert3);
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void putKeepsExistingInstance() throws Exception {
+        X509CertificateCache cache = new X509CertificateCache(10);
+        X509Certificate copy = X509CertUtil.loadCertificates(cert.getEncoded())[0];
+
+        assertThat(cache.put(cert.getEncoded(), cert)).isSameAs(cert);
+        assertThat(cache.put(copy.getEncoded(), copy)).isSameAs(cert);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void disabledCacheStoresNothing() throws Exception {
+        X509CertificateCache cache = new X509CertificateCache(0);
+
+        assertThat(cache.put(cert.getEncoded(), cert)).isSameAs(cert);
+        assertThat(cache.get(cert.getEncoded())).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.gui.passwordmanager.Password;
+import org.kse.utilities.history.KeyStoreHistory;
+
+/**
+ * Unit tests for KeyStoreTableModel.
+ */
+public class KeyStoreTableModelTest extends KeyPairTestsBase {
+
+    // above the limit up to which rows are decoded when the KeyStore is loaded
+    private static final int ENTRIES = 600;
+
+    private static KeyStoreHistory history;
+
+    @BeforeAll
+    public static void createKeyStore() throws Exception {
+        Date now = new Date();
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+
+        for (int i = 0; i < ENTRIES; i++) {
+            // every other certificate is about to expire, so the expiry status differs between the rows
+            Date end = new Date(now.getTime() + TimeUnit.DAYS.toMillis(i % 2 == 0 ? 365 : 5));
+            keyStore.setCertificateEntry("cert" + i, generator.generateSelfSigned(
+                    new X500Name("CN=Entry " + i), now, end, rsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                    SignatureType.SHA256_RSA, BigInteger.valueOf(i + 1)));
+        }
+
+        history = new KeyStoreHistory(keyStore, "test", new Password("password".toCharArray()), null);
+    }
+
+    private static KeyStoreTableColumns createColumns() {
+        KeyStoreTableColumns columns = new KeyStoreTableColumns();
+        columns.setEnableSubjectCN(true);
+        columns.setEnableSerialNumberHex(true);
+        return columns;
+    }
+
+    private static KeyStoreTableModel createModel() throws Exception {
+        KeyStoreTableModel model = new KeyStoreTableModel(createColumns(), 30);
+        model.load(history);
+        return model;
+    }
+
+    private static boolean isDecoded(KeyStoreTableModel model) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            if (!model.isRowDecoded(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object[][] getValues(KeyStoreTableModel model) {
+        Object[][] values = new Object[model.getRowCount()][model.getColumnCount()];
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int col = 0; col < model.getColumnCount(); col++) {
+                values[row][col] = model.getValueAt(row, col);
+            }
+        }
+        return values;
+    }
+
+    @Test
+    void largeKeyStoreIsNotDecodedOnLoad() throws Exception {
+        KeyStoreTableModel model = createModel();
+
+        assertThat(model.getRowCount()).isEqualTo(ENTRIES);
+        assertThat(model.isRowDecoded(0)).isFalse();
+        assertThat(model.isRowDecoded(ENTRIES - 1)).isFalse();
+    }
+
+    @Test
+    void backgroundDecodeMatchesSynchronousDecode() throws Exception {
+        KeyStoreTableModel synchronous = createModel();
+        synchronous.decodeAllRows();
+
+        KeyStoreTableModel background = createModel();
+        SwingUtilities.invokeAndWait(background::requestAllRows);
+        for (int i = 0; i < 500 && !isDecoded(background); i++) {
+            Thread.sleep(20);
+        }
+        // the table is notified on the EDT after the rows are decoded
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertThat(isDecoded(background)).isTrue();
+        assertThat(getValues(background)).isDeepEqualTo(getValues(synchronous));
+    }
+
+    @Test
+    void decodeAllRowsDecodesEveryRow() throws Exception {
+        KeyStoreTableModel model = createModel();
+        KeyStoreTableColumns columns = createColumns();
+
+        // rows that were already requested are decoded as well
+        SwingUtilities.invokeAndWait(() -> model.requestRows(Arrays.asList(0, 1, 2)));
+        model.decodeAllRows();
+
+        assertThat(isDecoded(model)).isTrue();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            assertThat(model.getValueAt(row, 2)).as("row %d", row).isNotNull();
+            String alias = (String) model.getValueAt(row, columns.colIndexEntryName());
+            assertThat(model.getValueAt(row, columns.colIndexSubjectCN())).isEqualTo(
+                    "Entry " + alias.substring("cert".length()));
+        }
+    }
+}
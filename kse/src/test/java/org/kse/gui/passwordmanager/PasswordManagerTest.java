@@ -0,0 +1,201 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.gui.passwordmanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kse.gui.passwordmanager.EncryptionAlgorithm.AES_CBC;
+import static org.kse.gui.passwordmanager.EncryptionAlgorithm.AES_GCM;
+import static org.kse.gui.passwordmanager.KeyDerivationAlgorithm.PBKDF2;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kse.crypto.CryptoTestsBase;
+import org.kse.crypto.encryption.AES;
+import org.kse.crypto.pbkd.PasswordBasedKeyDerivation;
+import org.kse.gui.KseRestart;
+import org.kse.gui.preferences.PreferencesManager;
+import org.kse.gui.preferences.passwordmanager.EncryptedKeyStorePasswordData;
+import org.kse.gui.preferences.passwordmanager.EncryptedKeyStorePasswords;
+import org.kse.gui.preferences.passwordmanager.KeyDerivationSettings;
+import org.kse.gui.preferences.passwordmanager.KeyStoreEntryPassword;
+import org.kse.utilities.PRNG;
+
+/**
+ * Unit tests for PasswordManager.
+ */
+public class PasswordManagerTest extends CryptoTestsBase {
+    private static final char[] MAIN_PASSWORD = "main".toCharArray();
+    private static final File KEYSTORE_A = new File("a.p12");
+    private static final File KEYSTORE_B = new File("b.p12");
+
+    @TempDir
+    static Path configDir;
+
+    @BeforeAll
+    public static void useTemporaryConfigDir() throws Exception {
+        // a config file in the install dir takes precedence over the user's config
+        Files.write(configDir.resolve("config.json"), "{}".getBytes());
+        System.setProperty(KseRestart.KSE_INSTALL_DIR, configDir.toString());
+    }
+
+    @BeforeEach
+    public void clearPasswords() {
+        EncryptedKeyStorePasswords encryptedPasswords = PreferencesManager.getKeyStorePasswords();
+        encryptedPasswords.setVersion(2);
+        encryptedPasswords.setKeyDerivationSettings(new KeyDerivationSettings());
+        encryptedPasswords.setEncryptionAlgorithm(AES_CBC);
+        encryptedPasswords.setEncryptionKey(null);
+        encryptedPasswords.setEncryptionKeyInitVector(null);
+        encryptedPasswords.setPasswords(new ArrayList<>());
+    }
+
+    private static EncryptedKeyStorePasswordData getEncrypted(File keyStoreFile) {
+        return PreferencesManager.getKeyStorePasswords()
+                                 .getPasswords()
+                                 .stream()
+                                 .filter(data -> data.getKeyStoreFile().equals(keyStoreFile))
+                                 .findFirst()
+                                 .orElseThrow();
+    }
+
+    private static void assertPasswordsFileIsCurrent() throws Exception {
+        assertThat(configDir.resolve("keystore-passwords.json")).hasBinaryContent(
+                PreferencesManager.getKeyStorePasswordsSnapshot());
+    }
+
+    @Test
+    void onlyChangedPasswordsAreEncryptedAgain() throws Exception {
+        PasswordManager passwordManager = new PasswordManager();
+        passwordManager.initialize(MAIN_PASSWORD);
+        passwordManager.update(KEYSTORE_A, "a".toCharArray(), Map.of("key", "entry".toCharArray()));
+        passwordManager.update(KEYSTORE_B, "b".toCharArray(), Map.of());
+        passwordManager.save();
+
+        assertThat(passwordManager.isEncryptionKeyCached()).isTrue();
+        assertPasswordsFileIsCurrent();
+
+        EncryptedKeyStorePasswords encryptedPasswords = PreferencesManager.getKeyStorePasswords();
+        byte[] salt = encryptedPasswords.getKeyDerivationSettings().getSalt();
+        byte[] encryptionKey = encryptedPasswords.getEncryptionKey();
+        EncryptedKeyStorePasswordData encryptedA = getEncrypted(KEYSTORE_A);
+        EncryptedKeyStorePasswordData encryptedB = getEncrypted(KEYSTORE_B);
+
+        // saving the same passwords again does not encrypt anything
+        passwordManager.update(KEYSTORE_A, "a".toCharArray(), Map.of());
+        passwordManager.save();
+        assertThat(getEncrypted(KEYSTORE_A)).isSameAs(encryptedA);
+
+        passwordManager.update(KEYSTORE_A, "a2".toCharArray(), Map.of());
+        passwordManager.saveInBackground();
+        passwordManager.save();
+
+        // neither the key was derived again nor the password of the other keystore encrypted again
+        assertThat(encryptedPasswords.getKeyDerivationSettings().getSalt()).isEqualTo(salt);
+        assertThat(encryptedPasswords.getEncryptionKey()).isEqualTo(encryptionKey);
+        assertThat(getEncrypted(KEYSTORE_B)).isSameAs(encryptedB);
+        assertThat(getEncrypted(KEYSTORE_A)).isNotSameAs(encryptedA);
+        assertPasswordsFileIsCurrent();
+
+        PasswordManager reloaded = new PasswordManager();
+        reloaded.unlock(MAIN_PASSWORD);
+        assertThat(reloaded.getKeyStorePassword(KEYSTORE_A).orElseThrow()).isEqualTo("a2".toCharArray());
+        assertThat(reloaded.getKeyStoreEntryPassword(KEYSTORE_A, "key").orElseThrow())
+                .isEqualTo("entry".toCharArray());
+        assertThat(reloaded.getKeyStorePassword(KEYSTORE_B).orElseThrow()).isEqualTo("b".toCharArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2 })
+    void cbcConfigurationIsMigrated(int version) throws Exception {
+        byte[] salt = PRNG.generate(PasswordManager.SALT_LENGTH_BYTES);
+        KeyDerivationSettings keyDerivationSettings = new KeyDerivationSettings();
+        keyDerivationSettings.setKeyDerivationAlgorithm(PBKDF2);
+        keyDerivationSettings.setSalt(salt);
+        keyDerivationSettings.setIterations(1000);
+        keyDerivationSettings.setDerivedKeyLength(PasswordManager.KEY_LENGTH_BITS);
+
+        SecretKey derivedKey = PasswordBasedKeyDerivation.deriveKeyWithPbkdf2(MAIN_PASSWORD, salt, 1000,
+                                                                              PasswordManager.KEY_LENGTH_BITS);
+
+        EncryptedKeyStorePasswords encryptedPasswords = PreferencesManager.getKeyStorePasswords();
+        encryptedPasswords.setVersion(version);
+        encryptedPasswords.setKeyDerivationSettings(keyDerivationSettings);
+        encryptedPasswords.setEncryptionAlgorithm(AES_CBC);
+
+        // version 1 encrypts the passwords with the derived key, version 2 with a key encrypted by the derived key
+        SecretKey key = derivedKey;
+        if (version == 2) {
+            key = AES.generateKey(PasswordManager.KEY_LENGTH_BITS);
+            byte[] iv = PRNG.generate(PasswordManager.IV_LENGTH_CBC_BYTES);
+            encryptedPasswords.setEncryptionKey(AES.encryptAesCbc(key.getEncoded(), iv, derivedKey));
+            encryptedPasswords.setEncryptionKeyInitVector(iv);
+        }
+
+        byte[] iv = PRNG.generate(PasswordManager.IV_LENGTH_CBC_BYTES);
+        byte[] entryIv = PRNG.generate(PasswordManager.IV_LENGTH_CBC_BYTES);
+
+        KeyStoreEntryPassword entryPassword = new KeyStoreEntryPassword();
+        entryPassword.setEntryAlias("key");
+        entryPassword.setEncryptedKeyEntryPassword(AES.encryptAesCbc("entry".getBytes(), entryIv, key));
+        entryPassword.setEncryptedKeyEntryPasswordInitVector(entryIv);
+
+        EncryptedKeyStorePasswordData encryptedA = new EncryptedKeyStorePasswordData();
+        encryptedA.setKeyStoreFile(KEYSTORE_A);
+        encryptedA.setEncryptedKeyStorePassword(AES.encryptAesCbc("a".getBytes(), iv, key));
+        encryptedA.setEncryptedKeyStorePasswordInitVector(iv);
+        encryptedA.setKeyStoreEntryPasswords(new ArrayList<>(List.of(entryPassword)));
+        encryptedPasswords.setPasswords(new ArrayList<>(List.of(encryptedA)));
+
+        PasswordManager passwordManager = new PasswordManager();
+        passwordManager.unlock(MAIN_PASSWORD);
+        assertThat(passwordManager.getKeyStorePassword(KEYSTORE_A).orElseThrow()).isEqualTo("a".toCharArray());
+        assertThat(passwordManager.isEncryptionKeyCached()).isEqualTo(version == 2);
+
+        // nothing has changed, but all passwords are replaced by the current format
+        passwordManager.save();
+
+        assertThat(encryptedPasswords.getVersion()).isEqualTo(2);
+        assertThat(encryptedPasswords.getEncryptionAlgorithm()).isEqualTo(AES_GCM);
+        assertThat(encryptedPasswords.getKeyDerivationSettings().getIterations())
+                .isEqualTo(PasswordManager.KDF_ITERATIONS);
+        assertThat(getEncrypted(KEYSTORE_A)).isNotSameAs(encryptedA);
+        assertThat(passwordManager.isEncryptionKeyCached()).isTrue();
+        assertPasswordsFileIsCurrent();
+
+        PasswordManager reloaded = new PasswordManager();
+        reloaded.unlock(MAIN_PASSWORD);
+        assertThat(reloaded.getKeyStorePassword(KEYSTORE_A).orElseThrow()).isEqualTo("a".toCharArray());
+        assertThat(reloaded.getKeyStoreEntryPassword(KEYSTORE_A, "key").orElseThrow())
+                .isEqualTo("entry".toCharArray());
+    }
+}
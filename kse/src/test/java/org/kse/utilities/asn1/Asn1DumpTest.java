@@ -0,0 +1,63 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.asn1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.bouncycastle.asn1.ASN1Boolean;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERPrintableString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.DERSet;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.DERUTF8String;
+import org.junit.jupiter.api.Test;
+
+class Asn1DumpTest {
+
+    private static final File EXPECTED_DUMP = new File("src/test/resources/testdata/Asn1DumpTest/nested.dump.txt");
+
+    @Test
+    void dumpsNestedAndEncapsulatedObjects() throws Exception {
+        ASN1EncodableVector vector = new ASN1EncodableVector();
+        vector.add(new ASN1Integer(5));
+        vector.add(new DERSet(new ASN1Encodable[] { ASN1Boolean.TRUE, new DERUTF8String("abc") }));
+        vector.add(new DERTaggedObject(true, 0, new DERSequence(new DERPrintableString("x"))));
+        vector.add(new DEROctetString(new DERSequence(new ASN1Encodable[] { new ASN1Integer(1), DERNull.INSTANCE })));
+        // parses as a UTCTime, but its content is not a valid time, so it is dumped as hex
+        vector.add(new DEROctetString(new byte[] { 0x17, 0x03, 0x61, 0x62, 0x63 }));
+        vector.add(new DEROctetString(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+        vector.add(new DERBitString(new byte[] { (byte) 0xA5 }, 0));
+        byte[] encoded = new DERSequence(vector).getEncoded();
+
+        String expected = FileUtils.readFileToString(EXPECTED_DUMP, StandardCharsets.UTF_8).replace("\r\n", "\n");
+
+        assertThat(new Asn1Dump().dump(encoded)).isEqualTo(expected);
+    }
+}
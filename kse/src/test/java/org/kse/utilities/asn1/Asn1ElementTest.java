@@ -0,0 +1,105 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.asn1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.BERSequence;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.junit.jupiter.api.Test;
+
+class Asn1ElementTest {
+
+    private static final File CERTIFICATE = new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer");
+
+    @Test
+    void browsesCertificate() throws Exception {
+        Asn1Element certificate = Asn1Element.parse(FileUtils.readFileToByteArray(CERTIFICATE));
+
+        assertThat(certificate.getLabel()).isEqualTo("SEQUENCE");
+        assertThat(certificate.getChildren()).hasSize(3);
+
+        List<Asn1Element> tbsCertificate = certificate.getChildren().get(0).getChildren();
+        assertThat(tbsCertificate.get(0).getLabel()).isEqualTo("TAGGED [0]:");
+        assertThat(tbsCertificate.get(0).getChildren().get(0).getLabel()).isEqualTo("INTEGER=2");
+        assertThat(tbsCertificate.get(2).getChildren().get(0).getLabel()).startsWith("OBJECT IDENTIFIER=");
+        assertThat(tbsCertificate.get(2).getChildren().get(1).isLeaf()).isTrue();
+    }
+
+    @Test
+    void showsEncapsulatedObjects() throws Exception {
+        byte[] inner = new DERSequence(new ASN1Integer(42)).getEncoded();
+        Asn1Element encapsulating = Asn1Element.parse(new DEROctetString(inner).getEncoded());
+
+        assertThat(encapsulating.getLabel()).isEqualTo("OCTET STRING (L:5), encapsulates:");
+        assertThat(encapsulating.getChildren()).hasSize(1);
+        assertThat(encapsulating.getChildren().get(0).getEncoded()).isEqualTo(inner);
+
+        Asn1Element plain = Asn1Element.parse(new DEROctetString(new byte[] { 0x30, 0x05, 0x01 }).getEncoded());
+
+        assertThat(plain.isLeaf()).isTrue();
+        assertThat(plain.getLabel()).startsWith("OCTET STRING (L:3)=");
+    }
+
+    @Test
+    void readsIndefiniteLengths() throws Exception {
+        ASN1EncodableVector vector = new ASN1EncodableVector();
+        vector.add(new ASN1Integer(1));
+        vector.add(new BERSequence(new ASN1Integer(2)));
+        byte[] encoded = new BERSequence(vector).getEncoded();
+
+        Asn1Element sequence = Asn1Element.parse(encoded);
+
+        assertThat(sequence.getLength()).isEqualTo(encoded.length);
+        assertThat(sequence.getChildren()).hasSize(2);
+        assertThat(sequence.getChildren().get(1).getChildren().get(0).getLabel()).isEqualTo("INTEGER=2");
+    }
+
+    @Test
+    void rejectsMalformedEncodings() throws Exception {
+        byte[] encoded = new DERSequence(new ASN1Integer(1)).getEncoded();
+
+        assertThatThrownBy(() -> Asn1Element.parse(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(Asn1Exception.class);
+        assertThatThrownBy(() -> Asn1Element.parse(Arrays.copyOf(encoded, encoded.length + 1)))
+                .isInstanceOf(Asn1Exception.class);
+    }
+
+    @Test
+    void dumpsToWriter() throws Exception {
+        byte[] encoded = FileUtils.readFileToByteArray(CERTIFICATE);
+
+        StringWriter writer = new StringWriter();
+        new Asn1Dump().dump(encoded, writer);
+
+        assertThat(writer.toString()).isEqualTo(new Asn1Dump().dump(encoded));
+        assertThat(writer.toString()).startsWith("SEQUENCE\n{\n");
+    }
+}
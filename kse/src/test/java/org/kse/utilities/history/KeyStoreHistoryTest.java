@@ -0,0 +1,141 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.CryptoTestsBase;
+import org.kse.crypto.keystore.CopyOnWriteKeyStore;
+import org.kse.crypto.keystore.KeyStoreType;
+import org.kse.crypto.keystore.KeyStoreUtil;
+import org.kse.crypto.x509.X509CertUtil;
+import org.kse.gui.passwordmanager.Password;
+
+/**
+ * Unit tests for KeyStoreHistory.
+ */
+public class KeyStoreHistoryTest extends CryptoTestsBase {
+    private static X509Certificate cert;
+
+    @BeforeAll
+    public static void loadCertificate() throws Exception {
+        byte[] certBytes = FileUtils.readFileToByteArray(
+                new File("src/test/resources/testdata/CryptoFileUtilTest/cert.der.cer"));
+        cert = X509CertUtil.loadCertificates(certBytes)[0];
+    }
+
+    private static KeyStoreHistory createHistory(List<WeakReference<KeyStore>> keyStores, int changes)
+            throws Exception {
+        KeyStore keyStore = KeyStoreUtil.create(KeyStoreType.JKS);
+        keyStore.setCertificateEntry("cert0", cert);
+        keyStores.add(new WeakReference<>(keyStore));
+
+        KeyStoreHistory history = new KeyStoreHistory(keyStore, "test", new Password("password".toCharArray()), null);
+
+        for (int i = 1; i <= changes; i++) {
+            KeyStoreState nextState = history.getCurrentState().createBasisForNextState(null);
+            nextState.getKeyStore().setCertificateEntry("cert" + i, cert);
+            history.getCurrentState().append(nextState);
+            keyStores.add(new WeakReference<>(nextState.getKeyStore()));
+        }
+
+        return history;
+    }
+
+    private static boolean isCollected(List<WeakReference<KeyStore>> keyStores) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (keyStores.stream().allMatch(keyStore -> keyStore.get() == null)) {
+                return true;
+            }
+
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        return false;
+    }
+
+    @Test
+    void statesWithinLimitAreKept() throws Exception {
+        KeyStoreHistory history = createHistory(new ArrayList<>(), 4);
+
+        assertThat(history.getInitialState().isSavedState()).isFalse();
+        assertThat(history.getInitialState().getKeyStore().size()).isEqualTo(1);
+        assertThat(history.getCurrentState().getKeyStore().size()).isEqualTo(5);
+    }
+
+    @Test
+    void droppedStatesBecomeUnreachable() throws Exception {
+        List<WeakReference<KeyStore>> keyStores = new ArrayList<>();
+        KeyStoreHistory history = createHistory(keyStores, 4);
+
+        // every change exceeds the limit, so only the current state is kept
+        history.setMaxRetainedSize(1);
+
+        KeyStoreState currentState = history.getCurrentState();
+        assertThat(currentState.isInitialState()).isTrue();
+        assertThat(currentState.hasPreviousState()).isFalse();
+
+        // the current KeyStore is still referenced and so is the root KeyStore that its merged changes are based on,
+        // all copy-on-write KeyStores of the dropped states must be collectable
+        assertThat(keyStores.remove(keyStores.size() - 1).get()).isSameAs(currentState.getKeyStore());
+        keyStores.remove(0);
+        assertThat(isCollected(keyStores)).isTrue();
+
+        KeyStore keyStore = currentState.getKeyStore();
+        assertThat(keyStore.size()).isEqualTo(5);
+        for (int i = 0; i <= 4; i++) {
+            assertThat(keyStore.isCertificateEntry("cert" + i)).isTrue();
+        }
+
+        // states derived from the trimmed history still work
+        KeyStoreState nextState = currentState.createBasisForNextState(null);
+        nextState.getKeyStore().deleteEntry("cert0");
+        currentState.append(nextState);
+
+        assertThat(nextState.getKeyStore().size()).isEqualTo(4);
+        assertThat(keyStore.size()).isEqualTo(5);
+    }
+
+    @Test
+    void retainedSizeIsRecomputedAfterTrim() throws Exception {
+        KeyStoreHistory history = createHistory(new ArrayList<>(), 4);
+
+        KeyStoreState lastState = history.getCurrentState();
+        long sizeBeforeTrim = lastState.getRetainedSize();
+
+        history.setMaxRetainedSize(1);
+
+        // the changes of the dropped states are merged into the new initial state
+        assertThat(lastState.getRetainedSize()).isGreaterThan(sizeBeforeTrim);
+        assertThat(lastState.getRetainedSize()).isEqualTo(
+                CopyOnWriteKeyStore.getRetainedSize(lastState.getKeyStore()));
+    }
+}
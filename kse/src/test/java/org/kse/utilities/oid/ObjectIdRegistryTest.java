@@ -0,0 +1,99 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.oid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ObjectIdRegistryTest {
+
+    private static ObjectIdRegistry load(String lines) {
+        return ObjectIdRegistry.load(lines.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void resolvesFriendlyNames() {
+        assertThat(ObjectIdUtil.getFriendlyName("2.5.4.3")).isEqualTo("CommonName");
+        assertThat(ObjectIdUtil.getFriendlyName("1.2.840.113549.1.1.11")).isEqualTo("Sha256WithRSAEncryption");
+        assertThat(ObjectIdUtil.toString(new ASN1ObjectIdentifier("2.5.4.3"))).isEqualTo("CommonName (2.5.4.3)");
+        assertThat(ObjectIdUtil.toString(new ASN1ObjectIdentifier("2.5.4.3.99"))).isEqualTo("2.5.4.3.99");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "2", "2.5.4", "2.5.4.3.0", "2.5.4.03", "2.5.4.3.", ".2.5.4.3", "2.5..4.3", "2.5.4.x",
+                             "2.25.178307330326388478625988293987992454427" })
+    void unknownOrMalformedOidsHaveNoName(String oid) {
+        assertThat(ObjectIdUtil.getFriendlyName(oid)).isNull();
+    }
+
+    @Test
+    void listsOidsBelowCompleteArcsInOrder() {
+        ObjectOid[] oids = ObjectIdUtil.getAllOidsStartingWith("2.5.4.");
+
+        assertThat(oids[0].getIdentifier()).isEqualTo("0");
+        assertThat(oids[0].getRepresentation()).isEqualTo("ObjectClass");
+        assertThat(oids).extracting(ObjectOid::getIdentifier).contains("3", "9", "9.1", "97")
+                        .doesNotContain("");
+
+        ObjectOid[] sorted = oids.clone();
+        Arrays.sort(sorted);
+        assertThat(oids).containsExactly(sorted);
+
+        assertThat(ObjectIdUtil.getAllOidsStartingWith("")).hasSize(ObjectIdRegistry.getInstance().size());
+        assertThat(ObjectIdUtil.getAllOidsStartingWith("2.5.4.97.")).isEmpty();
+        assertThat(ObjectIdUtil.getAllOidsStartingWith("2.5.4.x.")).isEmpty();
+    }
+
+    @Test
+    void listsOidsStartingWithPartialArc() {
+        ObjectOid[] oids = ObjectIdUtil.getAllOidsStartingWith("2.5.4.9");
+
+        assertThat(oids).extracting(ObjectOid::getIdentifier)
+                        .containsExactly("", ".1", "0", "1", "2", "3", "4", "5", "6", "7");
+        assertThat(ObjectIdUtil.getAllOidsStartingWith("2.5.4.09")).isEmpty();
+    }
+
+    @Test
+    void buildsTrieWithIntermediateArcs() {
+        ObjectIdRegistry registry = load("# comment\n\n1.2.3 Three\n1.2.3.4.5 Five  \r\n1.2.10 Ten\n2.1 Other\n");
+
+        assertThat(registry.size()).isEqualTo(4);
+        assertThat(registry.getFriendlyName("1.2.3.4.5")).isEqualTo("Five");
+        assertThat(registry.getFriendlyName("1.2.3.4")).isNull();
+        assertThat(registry.getFriendlyName("1.2.10")).isEqualTo("Ten");
+        assertThat(registry.getAllOidsStartingWith("1.2.")).extracting(ObjectOid::toString)
+                                                         .containsExactly("3 Three", "3.4.5 Five", "10 Ten");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1.2.3 A\n1.2.3 B\n", "1.2.4 A\n1.2.3 B\n", "1.2.3.4 A\n1.2.3 B\n", "1.2.a A\n",
+                             "1..2 A\n", "1.2.3\n", "1.2.99999999999 A\n" })
+    void rejectsInvalidLines(String lines) {
+        assertThatThrownBy(() -> load(lines)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.pem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PemUtilTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2, 3, 47, 48, 49, 96, 1000, 100000 })
+    void encodingStreamMatchesEncode(int length) throws Exception {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream out = PemUtil.getEncodingStream("PKCS7", baos)) {
+            // write in odd chunks to cover partial base64 groups between writes
+            for (int i = 0; i < length; i += 7) {
+                out.write(content, i, Math.min(7, length - i));
+            }
+        }
+
+        String expected = PemUtil.encode(new PemInfo("PKCS7", null, content));
+        assertThat(baos.toString(StandardCharsets.US_ASCII.name())).isEqualTo(expected);
+        assertThat(PemUtil.decode(baos.toByteArray()).getContent()).isEqualTo(content);
+    }
+}
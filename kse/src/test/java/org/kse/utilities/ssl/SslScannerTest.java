@@ -0,0 +1,277 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.ssl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kse.crypto.KeyPairTestsBase;
+import org.kse.crypto.signing.SignatureType;
+import org.kse.crypto.x509.X509CertificateGenerator;
+import org.kse.crypto.x509.X509CertificateVersion;
+import org.kse.utilities.ssl.SslScanner.Result;
+import org.kse.utilities.ssl.SslScanner.Summary;
+
+class SslScannerTest extends KeyPairTestsBase {
+
+    private static X509Certificate cert;
+    private static TlsTestServer server;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        X509CertificateGenerator generator = new X509CertificateGenerator(X509CertificateVersion.VERSION3);
+        cert = generator.generateSelfSigned(new X500Name("CN=localhost"), TimeUnit.DAYS.toMillis(30),
+                                            rsaKeyPair.getPublic(), rsaKeyPair.getPrivate(),
+                                            SignatureType.SHA256_RSA, BigInteger.ONE);
+        server = new TlsTestServer(rsaKeyPair, cert);
+    }
+
+    @AfterAll
+    static void stopServer() throws Exception {
+        server.close();
+    }
+
+    private static InetSocketAddress local(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static int closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<Result> scan(SslScanner scanner, List<InetSocketAddress> endpoints, Summary[] summary)
+            throws Exception {
+        List<Result> results = new ArrayList<>();
+        summary[0] = scanner.scan(endpoints, results::add);
+        return results;
+    }
+
+    @Test
+    void parsesHostsAndPorts() {
+        List<InetSocketAddress> endpoints = SslScanner.parseEndpoints("example.com, 10.0.0.4/31", "443,8443-8444");
+
+        assertThat(endpoints).extracting(InetSocketAddress::getHostString)
+                             .containsExactly("example.com", "example.com", "example.com", "10.0.0.4", "10.0.0.4",
+                                              "10.0.0.4", "10.0.0.5", "10.0.0.5", "10.0.0.5");
+        assertThat(endpoints).extracting(InetSocketAddress::getPort)
+                             .containsExactly(443, 8443, 8444, 443, 8443, 8444, 443, 8443, 8444);
+
+        // host names are resolved by the scan, IP addresses need no lookup
+        assertThat(endpoints.get(0).isUnresolved()).isTrue();
+        assertThat(endpoints.get(3).isUnresolved()).isFalse();
+    }
+
+    @Test
+    void parsesHostsWithPorts() {
+        List<InetSocketAddress> endpoints = SslScanner.parseEndpoints("example.com:8443 [::1]:636 ::1 [::2]\n192.168.1.1",
+                                                                      "");
+
+        assertThat(endpoints).extracting(InetSocketAddress::getPort).containsExactly(8443, 636, 443, 443, 443);
+        assertThat(endpoints.get(1).getAddress()).isEqualTo(endpoints.get(2).getAddress());
+        assertThat(endpoints.get(4).getHostString()).isEqualTo("192.168.1.1");
+
+        // duplicates are examined once
+        assertThat(SslScanner.parseEndpoints("a.example a.example:443", "443")).hasSize(1);
+    }
+
+    @Test
+    void expandsCidrRanges() {
+        assertThat(SslScanner.parseEndpoints("192.168.1.77/24", "443")).hasSize(256)
+                                                                        .first()
+                                                                        .extracting(InetSocketAddress::getHostString)
+                                                                        .isEqualTo("192.168.1.0");
+        assertThat(SslScanner.parseEndpoints("255.255.255.255/32", "443")).extracting(InetSocketAddress::getHostString)
+                                                                          .containsExactly("255.255.255.255");
+        assertThat(SslScanner.parseEndpoints("10.0.0.0/16", "443")).hasSize(SslScanner.MAX_ENDPOINTS);
+    }
+
+    @Test
+    void rejectsInvalidEndpoints() {
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("10.0.0.0/33", "443")).isInstanceOf(
+                IllegalArgumentException.class).hasMessageContaining("10.0.0.0/33");
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("example.com/24", "443")).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("[::1", "443")).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("example.com", "0")).isInstanceOf(
+                IllegalArgumentException.class).hasMessageContaining("'0'");
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("example.com", "8444-8443")).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("example.com:https", "443")).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> SslScanner.parseEndpoints(" , ", "443")).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("10.0.0.0/16", "443-444")).isInstanceOf(
+                IllegalArgumentException.class).hasMessageContaining("65");
+        assertThatThrownBy(() -> SslScanner.parseEndpoints("10.0.0.0/8", "443")).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    void examinesEndpoints() throws Exception {
+        InetSocketAddress open = local(server.getPort());
+        InetSocketAddress closed = local(closedPort());
+        SslScanner scanner = new SslScanner();
+        Summary[] summary = new Summary[1];
+
+        List<Result> results = scan(scanner, Collections.nCopies(5, open), summary);
+        results.addAll(scan(scanner, Collections.singletonList(closed), summary));
+
+        assertThat(results).hasSize(6);
+        for (Result result : results.subList(0, 5)) {
+            assertThat(result.getEndpoint()).isEqualTo(open);
+            assertThat(result.getError()).isNull();
+            assertThat(result.getSslConnectionInfos().getProtocol()).startsWith("TLS");
+            assertThat(result.getSslConnectionInfos().getCipherSuite()).isNotEmpty();
+            assertThat(result.getSslConnectionInfos().getServerCertificates()).containsExactly(cert);
+            assertThat(result.getSslConnectionInfos().getPeerPort()).isEqualTo(server.getPort());
+        }
+
+        Result failure = results.get(5);
+        assertThat(failure.getSslConnectionInfos()).isNull();
+        assertThat(failure.getError()).isInstanceOf(ConnectException.class);
+        assertThat(summary[0].getTotal()).isEqualTo(1);
+        assertThat(summary[0].getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void examinesEndpointsConcurrently() throws Exception {
+        try (TlsTestServer slowServer = new TlsTestServer(rsaKeyPair, cert)) {
+            slowServer.setDelay(300);
+            SslScanner scanner = new SslScanner();
+            scanner.setThreads(10);
+            Summary[] summary = new Summary[1];
+
+            List<Result> results = scan(scanner, Collections.nCopies(10, local(slowServer.getPort())), summary);
+
+            assertThat(results).allSatisfy(result -> assertThat(result.getError()).isNull());
+            assertThat(slowServer.getHandshakes()).isEqualTo(10);
+            assertThat(summary[0].getFailed()).isZero();
+            // one after another this takes at least 3 seconds
+            assertThat(summary[0].getElapsed()).isLessThan(2000);
+        }
+    }
+
+    @Test
+    void timesOutSilentEndpoints() throws Exception {
+        try (TlsTestServer silentServer = new TlsTestServer(rsaKeyPair, cert)) {
+            silentServer.setSilent(true);
+            SslScanner scanner = new SslScanner();
+            scanner.setTimeout(300);
+            Summary[] summary = new Summary[1];
+
+            List<Result> results = scan(scanner, List.of(local(silentServer.getPort()), local(server.getPort())),
+                                        summary);
+
+            assertThat(results).hasSize(2);
+            // the answering endpoint does not wait for the silent one
+            assertThat(results.get(0).getEndpoint().getPort()).isEqualTo(server.getPort());
+            assertThat(results.get(1).getError()).isInstanceOf(SocketTimeoutException.class);
+            assertThat(results.get(1).getElapsed()).isBetween(250L, 2000L);
+        }
+    }
+
+    @Test
+    void connectsThroughSelectedProxy() throws Exception {
+        InetSocketAddress closedProxy = local(closedPort());
+        List<URI> selected = Collections.synchronizedList(new ArrayList<>());
+        ProxySelector defaultProxySelector = ProxySelector.getDefault();
+        ProxySelector.setDefault(new ProxySelector() {
+            @Override
+            public List<Proxy> select(URI uri) {
+                selected.add(uri);
+                return List.of(new Proxy(Proxy.Type.SOCKS, closedProxy));
+            }
+
+            @Override
+            public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+            }
+        });
+
+        try (TlsTestServer proxiedServer = new TlsTestServer(rsaKeyPair, cert)) {
+            InetSocketAddress endpoint = local(proxiedServer.getPort());
+            Summary[] summary = new Summary[1];
+
+            List<Result> results = scan(new SslScanner(), Collections.singletonList(endpoint), summary);
+
+            // the endpoint is not connected to directly if the proxy is unreachable
+            assertThat(results).hasSize(1);
+            assertThat(results.get(0).getError()).isInstanceOf(IOException.class);
+            assertThat(proxiedServer.getHandshakes()).isZero();
+            assertThat(selected).isNotEmpty().allSatisfy(uri -> {
+                assertThat(uri.getScheme()).isEqualTo("https");
+                assertThat(uri.getHost()).isEqualTo(endpoint.getHostString());
+                assertThat(uri.getPort()).isEqualTo(endpoint.getPort());
+            });
+        } finally {
+            ProxySelector.setDefault(defaultProxySelector);
+        }
+    }
+
+    @Test
+    void interruptAbortsHandshakes() throws Exception {
+        try (TlsTestServer silentServer = new TlsTestServer(rsaKeyPair, cert)) {
+            silentServer.setSilent(true);
+            SslScanner scanner = new SslScanner();
+            scanner.setTimeout(0);
+            AtomicReference<Exception> error = new AtomicReference<>();
+
+            Thread thread = new Thread(() -> {
+                try {
+                    scanner.scan(Collections.nCopies(4, local(silentServer.getPort())), result -> {
+                    });
+                } catch (Exception ex) {
+                    error.set(ex);
+                }
+            });
+            thread.start();
+            Thread.sleep(300);
+            thread.interrupt();
+            thread.join(5000);
+
+            assertThat(thread.isAlive()).isFalse();
+            assertThat(error.get()).isInstanceOf(InterruptedException.class);
+        }
+    }
+}
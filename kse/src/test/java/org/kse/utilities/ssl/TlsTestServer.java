@@ -0,0 +1,143 @@
+/*
+ * Copyright 2004 - 2013 Wayne Grant
+ *           2013 - 2025 Kai Kramer
+ *
+ * This file is part of KeyStore Explorer.
+ *
+ * KeyStore Explorer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * KeyStore Explorer is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with KeyStore Explorer.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.kse.utilities.ssl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+
+/**
+ * Minimal TLS server on a local port for tests and benchmarks. It completes the handshake of every connection with
+ * the given key pair and certificate and closes the connection.
+ */
+public class TlsTestServer implements Closeable {
+
+    private static final char[] PASSWORD = "password".toCharArray();
+
+    private final SSLServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final AtomicInteger handshakes = new AtomicInteger();
+    private volatile long delay;
+    private volatile boolean silent;
+
+    /**
+     * Start a server.
+     *
+     * @param keyPair Key pair of the server
+     * @param cert    Certificate of the server
+     * @throws Exception If the server could not be started
+     */
+    public TlsTestServer(KeyPair keyPair, X509Certificate cert) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("server", keyPair.getPrivate(), PASSWORD, new Certificate[] { cert });
+
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance("SunX509", "SunJSSE");
+        keyManagerFactory.init(keyStore, PASSWORD);
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        serverSocket = (SSLServerSocket) context.getServerSocketFactory()
+                                                .createServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "kse-tls-test-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getHandshakes() {
+        return handshakes.get();
+    }
+
+    /**
+     * Wait before the handshake, to simulate the latency of a remote server.
+     */
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Accept connections but never answer.
+     */
+    public void setSilent(boolean silent) {
+        this.silent = silent;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> handle((SSLSocket) socket));
+            } catch (IOException ex) {
+                // closed
+            }
+        }
+    }
+
+    private void handle(SSLSocket socket) {
+        try (SSLSocket sslSocket = socket) {
+            if (silent) {
+                // reading would start the handshake, keep the connection open until the server is closed
+                while (!serverSocket.isClosed()) {
+                    Thread.sleep(50);
+                }
+                return;
+            }
+
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            sslSocket.startHandshake();
+            handshakes.incrementAndGet();
+        } catch (IOException ex) {
+            // client gone
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}